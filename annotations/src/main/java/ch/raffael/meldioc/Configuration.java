@@ -99,4 +99,29 @@ public @interface Configuration {
    * Make the shell package local or public.
    */
   boolean packageLocal() default true;
+
+  /**
+   * Generate a lightweight shell for short-lived configurations, e.g. one
+   * instance per request. The shell extends the configuration directly
+   * instead of using a separate dispatcher, singleton provisions are
+   * stored in plain fields instead of thread-safe holder objects.
+   *
+   * <p>A lightweight configuration must be confined to one thread after
+   * it has been built (except for {@code THREAD_LOCAL} provisions, which
+   * retain their semantics). The builder doesn't support eager
+   * initialisation using an executor.
+   */
+  boolean lightweight() default false;
+
+  /**
+   * Generate a lightweight shell that can be reused: the shell class gets
+   * a nested {@code Pool} to acquire instances from and release them
+   * back to. On release, all singleton provisions are cleared, when the
+   * instance is acquired again, the parameters are resolved and the setup
+   * methods are called again. Implies {@link #lightweight()}.
+   *
+   * <p>A poolable configuration must not keep any state outside of its
+   * provisions, as it won't be reset.
+   */
+  boolean poolable() default false;
 }
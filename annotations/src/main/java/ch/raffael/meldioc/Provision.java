@@ -52,11 +52,48 @@ import static java.lang.annotation.RetentionPolicy.CLASS;
  * or just {@code @Provision}. It is possible to "downgrade" a singleton
  * provision to unscoped by additionally specifying the override attribute:
  * {@code @Provision(singleton=false, override=true)}.</p>
+ *
+ * <p>Singleton provisions may specify a {@link Strategy} that determines
+ * how the instance is initialized and shared between threads. It's an
+ * error to specify a strategy for non-singleton provisions.</p>
  */
 @Documented
 @Target(METHOD)
 @Retention(CLASS)
 public @interface Provision {
   boolean singleton() default false;
+  Strategy strategy() default Strategy.DEFAULT;
   boolean override() default false;
+
+  /**
+   * Initialization and concurrency strategies for singleton provisions.
+   */
+  enum Strategy {
+    /**
+     * Use the default strategy, currently {@link #LAZY_LOCKING}.
+     */
+    DEFAULT,
+    /**
+     * Initialize the instance when the shell is built, after all setup
+     * methods have been called. Exceptions are thrown by the shell's
+     * {@code build()} method.
+     */
+    EAGER,
+    /**
+     * Lazily initialize the instance using double checked locking. The
+     * provision method is guaranteed to be called at most once.
+     */
+    LAZY_LOCKING,
+    /**
+     * Lazily initialize the instance without locking. Concurrent first
+     * calls may call the provision method several times, the first
+     * instance published wins and the others will be discarded. Use this
+     * for cheap, idempotent provisions only.
+     */
+    LAZY_RACY,
+    /**
+     * Lazily initialize one instance per thread.
+     */
+    THREAD_LOCAL
+  }
 }
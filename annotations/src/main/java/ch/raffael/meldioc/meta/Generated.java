@@ -38,6 +38,12 @@ public @interface Generated {
   String TIMESTAMP_ATTR = "timestamp";
   String VERSION_ATTR = "version";
 
+  /**
+   * Suffix of the dependency manifest written next to a shell, e.g.
+   * {@code MyContextShell.dependencies}.
+   */
+  String DEPENDENCY_MANIFEST_SUFFIX = ".dependencies";
+
   String timestamp();
   String version();
 }
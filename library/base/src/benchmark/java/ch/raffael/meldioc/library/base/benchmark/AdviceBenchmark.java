@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.benchmark;
+
+import ch.raffael.meldioc.util.Exceptions;
+import ch.raffael.meldioc.util.advice.AdviceException;
+import ch.raffael.meldioc.util.advice.AroundAdvice;
+import ch.raffael.meldioc.util.advice.CompositeAroundAdvice;
+import io.vavr.control.Option;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * Measures the time and allocation per advised task of
+ * {@link CompositeAroundAdvice} with an increasing number of hooks,
+ * compared to the nested closures used by earlier versions.
+ *
+ * <p>Usage: {@code AdviceBenchmark [iterations per run] [hook counts...]}.
+ */
+public final class AdviceBenchmark {
+
+  private static final Runnable HOOK = () -> {};
+  private static volatile int sink;
+
+  private AdviceBenchmark() {
+  }
+
+  public static void main(String[] args) {
+    int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    int[] hookCounts = args.length > 1
+                       ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                       : new int[] {0, 1, 4, 8};
+    // warmup
+    for (int h : hookCounts) {
+      run(nested(h), iterations / 2);
+      run(flat(h), iterations / 2);
+    }
+    System.out.printf("%6s %12s %12s %12s %12s%n", "hooks", "nested ns", "flat ns", "nested B", "flat B");
+    for (int h : hookCounts) {
+      var nested = run(nested(h), iterations);
+      var flat = run(flat(h), iterations);
+      System.out.printf("%6d %12.2f %12.2f %12.2f %12.2f%n", h, nested[0], flat[0], nested[1], flat[1]);
+    }
+  }
+
+  @SuppressWarnings("try")
+  private static double[] run(AroundAdvice advice, int iterations) {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    long thread = Thread.currentThread().getId();
+    long bytes = threads.getThreadAllocatedBytes(thread);
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      try (var __ = advice.before()) {
+        sink = i;
+      }
+    }
+    long nanos = System.nanoTime() - start;
+    bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+    return new double[] {(double) nanos / iterations, (double) bytes / iterations};
+  }
+
+  private static CompositeAroundAdvice flat(int hooks) {
+    var builder = CompositeAroundAdvice.builder();
+    for (int i = 0; i < hooks; i++) {
+      builder.before(() -> HOOK).after(() -> HOOK);
+    }
+    return builder.advice();
+  }
+
+  private static CompositeAroundAdvice nested(int hooks) {
+    var profile = new NestedProfile();
+    for (int i = 0; i < hooks; i++) {
+      profile.before(() -> HOOK).after(() -> HOOK);
+    }
+    return profile.advice();
+  }
+
+  /**
+   * The nested closures of earlier versions.
+   */
+  private static final class NestedProfile extends CompositeAroundAdvice.AbstractProfile<NestedProfile> {
+    private static final Runnable BEFORE_TERMINATOR = () -> {};
+    private static final Function<Option<AdviceException>, Option<AdviceException>> AFTER_TERMINATOR =
+        Function.identity();
+
+    @Override
+    public CompositeAroundAdvice advice() {
+      return super.advice();
+    }
+
+    @Override
+    protected Runnable beforeRunnable() {
+      return before().map(Supplier::get).foldLeft(BEFORE_TERMINATOR, (n, r) ->
+          () -> {
+            n.run();
+            try {
+              r.run();
+            } catch (Throwable e) {
+              throw AdviceException.onBefore(e);
+            }
+          });
+    }
+
+    @Override
+    protected Runnable afterRunnable() {
+      var teardownChain = after().map(Supplier::get).foldRight(AFTER_TERMINATOR, (r, n) ->
+          exc -> {
+            exc = n.apply(exc);
+            try {
+              r.run();
+              return exc;
+            } catch (Throwable e) {
+              Exceptions.rethrowIfFatal(e, exc.getOrNull());
+              return exc.map(ae -> {
+                ae.addSuppressed(e);
+                return ae;
+              }).orElse(() -> some(AdviceException.onAfter(e)));
+            }
+          });
+      return () -> teardownChain.apply(none()).forEach(e -> {
+        throw e;
+      });
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.benchmark;
+
+import ch.raffael.meldioc.library.base.lifecycle.ExecutorShutdownController;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Measures the throughput of {@code runPreventingShutdown()} with an
+ * increasing number of threads, compared to a monitor based counter as
+ * used by earlier versions of {@link ExecutorShutdownController}.
+ *
+ * <p>Usage: {@code ShutdownControllerBenchmark [millis per run] [threads...]}.
+ */
+public final class ShutdownControllerBenchmark {
+
+  private ShutdownControllerBenchmark() {
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+    long millis = args.length > 0 ? Long.parseLong(args[0]) : 2000;
+    int[] threads = args.length > 1
+                    ? Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                    : new int[] {1, 4, 16, 32, 64};
+    // warmup
+    run(new MonitorController()::getPreventingShutdown, 4, millis / 2);
+    run(new ExecutorShutdownController(() -> Runnable::run)::getPreventingShutdown, 4, millis / 2);
+    System.out.printf("%8s %16s %16s%n", "threads", "monitor ops/s", "lock-free ops/s");
+    for (int t : threads) {
+      var monitor = run(new MonitorController()::getPreventingShutdown, t, millis);
+      var lockFree = run(new ExecutorShutdownController(() -> Runnable::run)::getPreventingShutdown, t, millis);
+      System.out.printf("%8d %16.0f %16.0f%n", t, monitor, lockFree);
+    }
+  }
+
+  private static double run(Controller controller, int threads, long millis) throws InterruptedException {
+    var ops = new LongAdder();
+    var start = new CountDownLatch(1);
+    var running = new AtomicBoolean(true);
+    Supplier<Object> action = () -> null;
+    var workers = new Thread[threads];
+    for (int i = 0; i < threads; i++) {
+      workers[i] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          return;
+        }
+        long count = 0;
+        while (running.get()) {
+          controller.getPreventingShutdown(action);
+          count++;
+        }
+        ops.add(count);
+      });
+      workers[i].start();
+    }
+    long begin = System.nanoTime();
+    start.countDown();
+    Thread.sleep(millis);
+    running.set(false);
+    for (var w : workers) {
+      w.join();
+    }
+    return ops.sum() * 1e9 / (System.nanoTime() - begin);
+  }
+
+  @FunctionalInterface
+  private interface Controller {
+    Object getPreventingShutdown(Supplier<Object> supplier);
+  }
+
+  /**
+   * The monitor based counter of earlier versions.
+   */
+  private static final class MonitorController {
+    private final Object sync = new Object();
+    private int preventDepth = 0;
+
+    <T> T getPreventingShutdown(Supplier<T> supplier) {
+      synchronized (sync) {
+        preventDepth++;
+      }
+      try {
+        return supplier.get();
+      } finally {
+        synchronized (sync) {
+          preventDepth--;
+          sync.notifyAll();
+        }
+      }
+    }
+  }
+}
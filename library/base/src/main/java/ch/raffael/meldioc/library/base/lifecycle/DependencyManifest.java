@@ -0,0 +1,356 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle;
+
+import ch.raffael.meldioc.meta.Generated;
+import ch.raffael.meldioc.util.Classes;
+import ch.raffael.meldioc.util.Exceptions;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.LinkedHashMap;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+import io.vavr.collection.Traversable;
+import io.vavr.control.Option;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * The dependency manifest the processor writes next to each shell with the
+ * processor option {@code ch.raffael.meldioc.dependencyManifest=true}. It
+ * lists the provisions of the configuration with their providing feature
+ * and singleton status, and the setup methods with their parameters.
+ *
+ * <p>Combined with a {@link StartupProfile} (processor option
+ * {@code ch.raffael.meldioc.profile=true}), it tells which singletons are
+ * instantiated during startup and which aren't. The former can be
+ * pre-touched in production instead of initialising all singletons
+ * eagerly, the latter are candidates for removal.
+ *
+ * @see Lifecycle#reportDeadProvisions(org.slf4j.Logger, DependencyManifest)
+ */
+public final class DependencyManifest {
+
+  private static final int FORMAT_VERSION = 2;
+
+  private final String configuration;
+  private final String shell;
+  private final Seq<Provision> provisions;
+  private final Seq<Setup> setupMethods;
+
+  private DependencyManifest(String configuration, String shell, Seq<Provision> provisions, Seq<Setup> setupMethods) {
+    this.configuration = configuration;
+    this.shell = shell;
+    this.provisions = provisions;
+    this.setupMethods = setupMethods;
+  }
+
+  /**
+   * Load the manifest of the shell the given class belongs to, i.e. the
+   * shell class itself or one of its nested classes. None if no manifest
+   * has been written for the shell.
+   */
+  public static Option<DependencyManifest> of(Class<?> shellClass) {
+    var outermost = Classes.outermost(shellClass);
+    var in = outermost.getResourceAsStream(outermost.getSimpleName() + Generated.DEPENDENCY_MANIFEST_SUFFIX);
+    if (in == null) {
+      return none();
+    }
+    try (var reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+      return some(read(reader));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading dependency manifest of " + outermost.getName(), e);
+    }
+  }
+
+  /**
+   * Load the manifest of the shell that built the given configuration
+   * instance.
+   */
+  public static Option<DependencyManifest> ofInstance(Object instance) {
+    return of(instance.getClass());
+  }
+
+  /**
+   * Read a manifest in the line based format written by the processor:
+   * one entry per line, the kind of the entry followed by tab separated
+   * {@code key=value} pairs. Unknown entry kinds and keys are ignored.
+   */
+  public static DependencyManifest read(Reader reader) throws IOException {
+    Option<Map<String, String>> header = none();
+    Seq<Provision> provisions = List.empty();
+    Seq<Setup> setupMethods = List.empty();
+    var lines = new BufferedReader(reader);
+    for (String line; (line = lines.readLine()) != null; ) {
+      if (line.isBlank()) {
+        continue;
+      }
+      var fields = line.split("\t");
+      Map<String, String> values = LinkedHashMap.empty();
+      for (int i = 1; i < fields.length; i++) {
+        var eq = fields[i].indexOf('=');
+        if (eq < 0) {
+          throw new IOException("Malformed dependency manifest entry: " + line);
+        }
+        values = values.put(fields[i].substring(0, eq), fields[i].substring(eq + 1));
+      }
+      switch (fields[0]) {
+        case "manifest":
+          header = some(values);
+          break;
+        case "provision":
+          provisions = provisions.append(new Provision(values));
+          break;
+        case "setup":
+          setupMethods = setupMethods.append(new Setup(values));
+          break;
+        default:
+          // mounts and extension points aren't needed at runtime
+      }
+    }
+    var h = header.getOrElseThrow(() -> new IOException("Missing dependency manifest header"));
+    if (!h.get("format").contains(String.valueOf(FORMAT_VERSION))) {
+      throw new IOException("Unsupported dependency manifest format: " + h.get("format").getOrElse("?"));
+    }
+    return new DependencyManifest(string(h, "configuration"), string(h, "shell"), provisions, setupMethods);
+  }
+
+  public String configuration() {
+    return configuration;
+  }
+
+  public String shell() {
+    return shell;
+  }
+
+  public Seq<Provision> provisions() {
+    return provisions;
+  }
+
+  public Seq<Provision> singletons() {
+    return provisions.filter(Provision::singleton);
+  }
+
+  public Seq<Setup> setupMethods() {
+    return setupMethods;
+  }
+
+  /**
+   * The latest startup profile recorded by this shell.
+   */
+  public Option<StartupProfile> startupProfile() {
+    return List.ofAll(StartupProfile.profiles()).findLast(p -> p.root().name().equals(shell));
+  }
+
+  /**
+   * The singletons instantiated during the given profile, i.e. the ones
+   * reachable from setup methods and startup actions.
+   */
+  public Seq<Provision> reachable(StartupProfile profile) {
+    var steps = steps(profile.root());
+    return singletons().filter(p -> p.probe().exists(steps::contains));
+  }
+
+  /**
+   * The singletons not instantiated during the given profile.
+   */
+  public Seq<Provision> deadProvisions(StartupProfile profile) {
+    var steps = steps(profile.root());
+    return singletons().filter(p -> p.probe().isDefined() && !p.probe().exists(steps::contains));
+  }
+
+  /**
+   * Call the given provisions of a configuration instance, e.g. the names
+   * of the {@link #reachable(StartupProfile) reachable} provisions recorded
+   * in a profiling run. Provisions that are not exposed by the
+   * configuration are ignored.
+   *
+   * @return The provisions that have been called.
+   */
+  public Seq<Provision> preTouch(Object instance, Traversable<String> names) throws Exception {
+    var touch = names.toSet();
+    var touched = provisions.filter(p -> p.exposed() && touch.contains(p.name()));
+    for (var p : touched) {
+      var method = findMethod(instance.getClass(), p.name());
+      try {
+        method.invoke(instance);
+      } catch (InvocationTargetException e) {
+        throw Exceptions.alwaysRethrow(e.getCause(), Exception.class);
+      }
+    }
+    return touched;
+  }
+
+  private static String string(Map<String, String> values, String name) {
+    return values.get(name).getOrElseThrow(
+        () -> new IllegalArgumentException("Missing '" + name + "' in dependency manifest"));
+  }
+
+  private static Set<String> steps(StartupProfile.Node node) {
+    return List.ofAll(node.children()).foldLeft(HashSet.of(node.name()), (s, c) -> s.addAll(steps(c)));
+  }
+
+  private static Method findMethod(Class<?> type, String name) throws NoSuchMethodException {
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      try {
+        var method = c.getDeclaredMethod(name);
+        method.setAccessible(true);
+        return method;
+      } catch (NoSuchMethodException e) {
+        // continue with the super class
+      }
+    }
+    return type.getMethod(name);
+  }
+
+  @Override
+  public String toString() {
+    return "DependencyManifest{" + shell + "}";
+  }
+
+  public static final class Provision {
+    private final String name;
+    private final String type;
+    private final String feature;
+    private final Option<String> mount;
+    private final boolean exposed;
+    private final boolean singleton;
+    private final Option<String> strategy;
+    private final Option<String> probe;
+
+    private Provision(Map<String, String> values) {
+      name = string(values, "name");
+      type = string(values, "type");
+      feature = string(values, "feature");
+      mount = values.get("mount");
+      exposed = values.get("exposed").contains("true");
+      singleton = values.get("singleton").contains("true");
+      strategy = values.get("strategy");
+      probe = values.get("probe");
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public String type() {
+      return type;
+    }
+
+    /**
+     * The feature implementing the provision.
+     */
+    public String feature() {
+      return feature;
+    }
+
+    /**
+     * The mount through which the provision is provided, if any.
+     */
+    public Option<String> mount() {
+      return mount;
+    }
+
+    /**
+     * {@code false} for provisions of mounted features that the
+     * configuration doesn't expose.
+     */
+    public boolean exposed() {
+      return exposed;
+    }
+
+    public boolean singleton() {
+      return singleton;
+    }
+
+    public Option<String> strategy() {
+      return strategy;
+    }
+
+    /**
+     * The name of the startup profile step instantiating the singleton,
+     * none for non-singletons and provisions of injected mounts.
+     */
+    public Option<String> probe() {
+      return probe;
+    }
+
+    @Override
+    public String toString() {
+      return mount.map(m -> m + ".").getOrElse("") + name;
+    }
+  }
+
+  public static final class Setup {
+    private final String name;
+    private final String feature;
+    private final Option<String> mount;
+    private final Seq<String> parameters;
+
+    private Setup(Map<String, String> values) {
+      name = string(values, "name");
+      feature = string(values, "feature");
+      mount = values.get("mount");
+      parameters = values.get("parameters")
+          .filter(p -> !p.isEmpty())
+          .map(p -> List.of(p.split(",")))
+          .getOrElse(List.empty());
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public String feature() {
+      return feature;
+    }
+
+    public Option<String> mount() {
+      return mount;
+    }
+
+    /**
+     * The names of the extension points passed to the setup method,
+     * {@code @config} for the configuration.
+     */
+    public Seq<String> parameters() {
+      return parameters;
+    }
+
+    @Override
+    public String toString() {
+      return mount.map(m -> m + ".").getOrElse("") + name + parameters.mkString("(", ", ", ")");
+    }
+  }
+}
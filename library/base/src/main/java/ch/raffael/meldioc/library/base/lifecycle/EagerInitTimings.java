@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the initialisation times reported by a shell built with
+ * {@code Builder.eagerInit(executor, timings)}.
+ *
+ * @see Lifecycle#eagerInitTimings(EagerInitTimings)
+ * @see Lifecycle.StartupResult#eagerInitTimings()
+ */
+public class EagerInitTimings implements BiConsumer<String, Duration> {
+
+  private final AtomicReference<Seq<Tuple2<String, Duration>>> timings = new AtomicReference<>(List.empty());
+  private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+  @Override
+  public void accept(String name, Duration duration) {
+    long end = System.nanoTime();
+    firstStart.accumulateAndGet(end - duration.toNanos(), Math::min);
+    lastEnd.accumulateAndGet(end, Math::max);
+    var timing = Tuple.of(name, duration);
+    timings.updateAndGet(t -> t.append(timing));
+  }
+
+  /**
+   * The initialisation times, slowest first.
+   */
+  public Seq<Tuple2<String, Duration>> timings() {
+    return timings.get().sortBy(Tuple2::_2).reverse();
+  }
+
+  /**
+   * The cumulative initialisation time of all singletons.
+   */
+  public Duration total() {
+    return timings.get().map(Tuple2::_2).foldLeft(Duration.ZERO, Duration::plus);
+  }
+
+  /**
+   * The wall-clock time from the start of the first to the end of the
+   * last initialisation.
+   */
+  public Duration wallClock() {
+    long start = firstStart.get();
+    long end = lastEnd.get();
+    return end < start ? Duration.ZERO : Duration.ofNanos(end - start);
+  }
+
+  public String timingInfoString() {
+    return timings().map(t -> t._1 + "=" + t._2).mkString(", ");
+  }
+
+  @Override
+  public String toString() {
+    return "EagerInitTimings{" + timingInfoString() + "}";
+  }
+}
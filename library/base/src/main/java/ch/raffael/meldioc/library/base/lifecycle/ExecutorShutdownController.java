@@ -32,7 +32,9 @@ import org.slf4j.LoggerFactory;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
 
 
@@ -46,21 +48,28 @@ import java.util.function.Supplier;
  * <p>The <em>finalize</em> callback will be called serially the thread
  * initiating the shutdown (finalizing the shutdown usually includes to
  * destroying the work thread pool).
+ *
+ * <p>The controller doesn't lock: the state and the callbacks are swapped
+ * atomically, and shutdown preventing actions are counted in a striped
+ * counter, so they don't contend on a shared monitor.
  */
 public class ExecutorShutdownController implements ShutdownController, ShutdownController.Actuator {
 
   private static final Logger LOG = LoggerFactory.getLogger(ExecutorShutdownController.class);
 
-  private final Lazy<Executor> executor;
+  // one stripe per cache line
+  private static final int STRIPE_PADDING = 8;
+  private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
 
-  private Seq<CheckedRunnable> prepareCallbacks = List.empty();
-  private Seq<CheckedRunnable> performCallbacks = List.empty();
-  private Seq<CheckedRunnable> finalizeCallbacks = List.empty();
+  private final Lazy<Executor> executor;
 
-  private final Object sync = new Object();
-  private volatile State state = State.DORMANT;
-  private int preventDepth = 0;
-  private final CountDownLatch shutdownLatch = new CountDownLatch(1);
+  private final AtomicReference<Phase> phase = new AtomicReference<>(
+      new Phase(State.DORMANT, List.empty(), List.empty(), List.empty()));
+  // a thread always uses the same stripe, so a stripe never shows less than
+  // the number of actions of that stripe still running
+  private final AtomicLongArray preventing = new AtomicLongArray(STRIPES * STRIPE_PADDING);
+  private volatile Thread shutdownThread = null;
+  private final AtomicReference<Attempt> shutdownAttempt = new AtomicReference<>(null);
   private final AtomicReference<Seq<Throwable>> shutdownErrors = new AtomicReference<>(null);
   private final ShutdownController isolatedController = new ShutdownController.Wrapper(this);
 
@@ -70,26 +79,26 @@ public class ExecutorShutdownController implements ShutdownController, ShutdownC
 
   @Override
   public void onPrepare(CheckedRunnable callback) {
-    synchronized (sync) {
-      state.checkStateBefore(State.PREPARING);
-      prepareCallbacks = prepareCallbacks.prepend(callback);
-    }
+    phase.updateAndGet(p -> {
+      p.state.checkStateBefore(State.PREPARING);
+      return new Phase(p.state, p.prepareCallbacks.prepend(callback), p.performCallbacks, p.finalizeCallbacks);
+    });
   }
 
   @Override
   public void onPerform(CheckedRunnable callback) {
-    synchronized (sync) {
-      state.checkStateBefore(State.PERFORMING);
-      performCallbacks = performCallbacks.prepend(callback);
-    }
+    phase.updateAndGet(p -> {
+      p.state.checkStateBefore(State.PERFORMING);
+      return new Phase(p.state, p.prepareCallbacks, p.performCallbacks.prepend(callback), p.finalizeCallbacks);
+    });
   }
 
   @Override
   public void onFinalize(CheckedRunnable callback) {
-    synchronized (sync) {
-      state.checkStateBefore(State.FINALIZING);
-      finalizeCallbacks = finalizeCallbacks.prepend(callback);
-    }
+    phase.updateAndGet(p -> {
+      p.state.checkStateBefore(State.FINALIZING);
+      return new Phase(p.state, p.prepareCallbacks, p.performCallbacks, p.finalizeCallbacks.prepend(callback));
+    });
   }
 
   @Override
@@ -98,7 +107,7 @@ public class ExecutorShutdownController implements ShutdownController, ShutdownC
   }
 
   public State state() {
-    return state;
+    return phase.get().state;
   }
 
   public ExecutorShutdownController actuator() {
@@ -106,58 +115,48 @@ public class ExecutorShutdownController implements ShutdownController, ShutdownC
   }
 
   public <T> T getPreventingShutdown(Supplier<T> supplier) {
-    synchronized (sync) {
-      state.checkStateBeforeOrEqual(State.DORMANT);
-      preventDepth++;
-    }
+    var stripe = stripe();
+    // increment before checking the state: performShutdown() changes the
+    // state before summing up, so either it sees this action or we see the
+    // new state
+    preventing.incrementAndGet(stripe);
     try {
+      state().checkStateBeforeOrEqual(State.DORMANT);
       return supplier.get();
     } finally {
-      synchronized (sync) {
-        preventDepth--;
-        sync.notifyAll();
+      preventing.decrementAndGet(stripe);
+      var t = shutdownThread;
+      if (t != null) {
+        LockSupport.unpark(t);
       }
     }
   }
 
   public void announceShutdown() {
-    synchronized (sync) {
-      if (state.isBefore(State.ANNOUNCED)) {
-        state = State.ANNOUNCED;
-      }
-    }
+    advance(State.ANNOUNCED);
   }
 
   public Seq<Throwable> performShutdown() throws InterruptedException {
-    synchronized (sync) {
-      if (state.isBefore(State.INITIATED)) {
-        state = State.INITIATED;
-      }
-      boolean preventLogged = false;
-      while (preventDepth > 0) {
-        if (preventLogged) {
-          LOG.trace("Awaiting {} more shutdown preventing actions", preventDepth);
-        } else {
-          LOG.debug("Awaiting {} shutdown preventing actions", preventDepth);
-          preventLogged = true;
-        }
-        try {
-          sync.wait();
-        } catch (InterruptedException e) {
-          throw new InterruptedException("Interrupted while waiting for shutdown preventing actions to finish");
+    advance(State.INITIATED);
+    while (true) {
+      var attempt = shutdownAttempt.get();
+      if (attempt == null) {
+        attempt = new Attempt();
+        if (!shutdownAttempt.compareAndSet(null, attempt)) {
+          continue;
         }
+        initiateShutdown(attempt);
       }
-      if (shutdownErrors.compareAndSet(null, List.empty())) {
-        assert state == State.INITIATED;
-        doShutdown();
+      try {
+        attempt.latch.await();
+      } catch (InterruptedException e) {
+        throw new InterruptedException("Interrupted while awaiting shutdown completion (state: " + state() + ")");
       }
+      if (!attempt.abandoned) {
+        return Objects.requireNonNull(shutdownErrors.get(), "shutdownErrors.get()");
+      }
+      // the initiating thread has been interrupted, retry
     }
-    try {
-      shutdownLatch.await();
-    } catch (InterruptedException e) {
-      throw new InterruptedException("Interrupted while awaiting shutdown completion (state: " + state() + ")");
-    }
-    return Objects.requireNonNull(shutdownErrors.get(), "shutdownErrors.get()");
   }
 
   protected void onShutdownComplete(Seq<Throwable> exceptions) {
@@ -172,33 +171,85 @@ public class ExecutorShutdownController implements ShutdownController, ShutdownC
     LOG.info("Performing shutdown");
   }
 
-  private void doShutdown() throws InterruptedException {
+  private void initiateShutdown(Attempt attempt) throws InterruptedException {
+    shutdownThread = Thread.currentThread();
     try {
-      onDoShutdown();
-      Seq<CheckedRunnable> callbacks;
-      synchronized (sync) {
-        state = State.PREPARING;
-        callbacks = prepareCallbacks;
-      }
-      runCallbacks(executor.get(), "prepare", callbacks);
-      synchronized (sync) {
-        state = State.PERFORMING;
-        callbacks = performCallbacks;
+      awaitPreventing();
+    } catch (InterruptedException e) {
+      // allow another thread to retry, waiting threads will retry, too
+      shutdownAttempt.set(null);
+      attempt.abandon();
+      throw e;
+    } finally {
+      shutdownThread = null;
+    }
+    assert state() == State.INITIATED;
+    shutdownErrors.set(List.empty());
+    doShutdown(attempt);
+  }
+
+  private void awaitPreventing() throws InterruptedException {
+    boolean preventLogged = false;
+    long count;
+    while ((count = preventingCount()) > 0) {
+      if (preventLogged) {
+        LOG.trace("Awaiting {} more shutdown preventing actions", count);
+      } else {
+        LOG.debug("Awaiting {} shutdown preventing actions", count);
+        preventLogged = true;
       }
-      runCallbacks(executor.get(), "perform", callbacks);
-      synchronized (sync) {
-        state = State.FINALIZING;
-        callbacks = finalizeCallbacks;
+      LockSupport.park(this);
+      if (Thread.interrupted()) {
+        throw new InterruptedException("Interrupted while waiting for shutdown preventing actions to finish");
       }
-      runCallbacks(Runnable::run, "finalize", callbacks);
+    }
+  }
+
+  private long preventingCount() {
+    long count = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      count += preventing.get(i * STRIPE_PADDING);
+    }
+    return count;
+  }
+
+  private static int stripe() {
+    var id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+    return ((int) (id >>> 32) & (STRIPES - 1)) * STRIPE_PADDING;
+  }
+
+  private void advance(State state) {
+    phase.updateAndGet(p -> p.state.isBefore(state)
+                            ? new Phase(state, p.prepareCallbacks, p.performCallbacks, p.finalizeCallbacks)
+                            : p);
+  }
+
+  private Seq<CheckedRunnable> enter(State state) {
+    var p = phase.updateAndGet(c -> new Phase(state, c.prepareCallbacks, c.performCallbacks, c.finalizeCallbacks));
+    switch (state) {
+      case PREPARING:
+        return p.prepareCallbacks;
+      case PERFORMING:
+        return p.performCallbacks;
+      default:
+        return p.finalizeCallbacks;
+    }
+  }
+
+  private void doShutdown(Attempt attempt) throws InterruptedException {
+    try {
+      onDoShutdown();
+      runCallbacks(executor.get(), "prepare", enter(State.PREPARING));
+      runCallbacks(executor.get(), "perform", enter(State.PERFORMING));
+      runCallbacks(Runnable::run, "finalize", enter(State.FINALIZING));
       onShutdownComplete(shutdownErrors.get());
     } finally {
-      state = State.COMPLETE;
-      shutdownLatch.countDown();
+      advance(State.COMPLETE);
+      attempt.latch.countDown();
     }
   }
 
-  private void runCallbacks(Executor executor, String phase, Seq<CheckedRunnable> callbacks)
+  private void runCallbacks(Executor executor, String phaseName, Seq<CheckedRunnable> callbacks)
       throws InterruptedException {
     if (!callbacks.isEmpty()) {
       CountDownLatch latch = new CountDownLatch(callbacks.size());
@@ -206,7 +257,7 @@ public class ExecutorShutdownController implements ShutdownController, ShutdownC
         try {
           cb.run();
         } catch (Throwable e) {
-          LOG.error("Shutdown {} callback failed: {}", phase, cb, e);
+          LOG.error("Shutdown {} callback failed: {}", phaseName, cb, e);
           shutdownErrors.updateAndGet(s -> s.append(e));
         } finally {
           latch.countDown();
@@ -215,4 +266,29 @@ public class ExecutorShutdownController implements ShutdownController, ShutdownC
       latch.await();
     }
   }
+
+  private static final class Attempt {
+    private final CountDownLatch latch = new CountDownLatch(1);
+    private volatile boolean abandoned = false;
+
+    private void abandon() {
+      abandoned = true;
+      latch.countDown();
+    }
+  }
+
+  private static final class Phase {
+    private final State state;
+    private final Seq<CheckedRunnable> prepareCallbacks;
+    private final Seq<CheckedRunnable> performCallbacks;
+    private final Seq<CheckedRunnable> finalizeCallbacks;
+
+    private Phase(State state, Seq<CheckedRunnable> prepareCallbacks, Seq<CheckedRunnable> performCallbacks,
+                  Seq<CheckedRunnable> finalizeCallbacks) {
+      this.state = state;
+      this.prepareCallbacks = prepareCallbacks;
+      this.performCallbacks = performCallbacks;
+      this.finalizeCallbacks = finalizeCallbacks;
+    }
+  }
 }
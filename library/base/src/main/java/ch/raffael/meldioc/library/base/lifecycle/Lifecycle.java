@@ -32,6 +32,9 @@ import io.vavr.collection.Traversable;
 import io.vavr.control.Option;
 import org.slf4j.Logger;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import java.lang.management.ManagementFactory;
 import java.time.Duration;
 import java.time.Instant;
@@ -78,6 +81,7 @@ public class Lifecycle {
   private Consumer<StartupSuccess> onSuccess = __ -> {};
   private Consumer<StartupError> onError = __ -> {};
   private Option<Integer> exitOnError = none();
+  private Option<EagerInitTimings> eagerInitTimings = none();
 
   protected Lifecycle(Supplier<? extends Traversable<? extends CheckedRunnable>> startupActions,
                       Supplier<? extends Executor> executor,
@@ -127,11 +131,30 @@ public class Lifecycle {
     return this;
   }
 
+  /**
+   * Include the initialisation times of a shell built with
+   * {@code eagerInit()} in the startup result and log.
+   */
+  public Lifecycle eagerInitTimings(EagerInitTimings timings) {
+    eagerInitTimings = some(timings);
+    return this;
+  }
+
   public Lifecycle log(Logger log) {
     onSuccess(r -> {
       if (log.isInfoEnabled()) {
         log.info("Startup completed successfully in {}", r.timingInfoString());
       }
+      if (r.startupTimings().criticalPath().nonEmpty() && log.isDebugEnabled()) {
+        log.debug("Startup critical path ({}): {}", r.startupTimings().criticalPathDuration(),
+            r.startupTimings().timingInfoString());
+      }
+      r.eagerInitTimings().filter(t -> !t.timings().isEmpty()).forEach(t -> {
+        if (log.isInfoEnabled()) {
+          log.info("Eager initialisation of singletons took {} ({} cumulative): {}",
+              t.wallClock(), t.total(), t.timingInfoString());
+        }
+      });
     });
     onError(err -> {
       if (!err.errors().isEmpty() && log.isErrorEnabled()) {
@@ -146,6 +169,55 @@ public class Lifecycle {
     return this;
   }
 
+  /**
+   * Log the startup profiles recorded by shells generated with the
+   * processor option {@code ch.raffael.meldioc.profile=true}.
+   */
+  public Lifecycle logStartupProfile(Logger log) {
+    onSuccess(r -> r.startupProfiles().forEach(p -> {
+      if (log.isInfoEnabled()) {
+        log.info("Startup profile:\n{}", p);
+      }
+    }));
+    return this;
+  }
+
+  /**
+   * Log the singletons of a shell that haven't been instantiated during
+   * startup. Requires a startup profile, i.e. the processor option
+   * {@code ch.raffael.meldioc.profile=true}.
+   */
+  public Lifecycle reportDeadProvisions(Logger log, DependencyManifest manifest) {
+    onSuccess(r -> manifest.startupProfile().forEach(p -> {
+      var dead = manifest.deadProvisions(p);
+      if (dead.nonEmpty() && log.isInfoEnabled()) {
+        log.info("Singletons of {} not instantiated during startup: {}", manifest.shell(), dead.mkString(", "));
+      }
+    }));
+    return this;
+  }
+
+  /**
+   * Register a {@link StartupProfileMXBean} on successful startup.
+   */
+  public Lifecycle startupProfileMBean() {
+    onSuccess(r -> {
+      try {
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = new ObjectName(StartupProfileMXBean.OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+          StartupProfileMXBean mbean = () -> StartupProfile.profiles().stream()
+              .map(StartupProfile::toString)
+              .toArray(String[]::new);
+          server.registerMBean(new StandardMBean(mbean, StartupProfileMXBean.class, true), name);
+        }
+      } catch (JMException e) {
+        throw new IllegalStateException("Cannot register " + StartupProfileMXBean.OBJECT_NAME, e);
+      }
+    });
+    return this;
+  }
+
   public Lifecycle asApplication(Logger log) {
     return asApplication(some(log));
   }
@@ -182,8 +254,9 @@ public class Lifecycle {
 
   public StartupResult start(long timeout, TimeUnit timeoutUnit) {
     Seq<Throwable> errors;
+    var startup = new Startup(startupActions.get(), executor.get(), shutdownActuator.get());
     try {
-      errors = new Startup(startupActions.get(), executor.get(), shutdownActuator.get()).start(timeout, timeoutUnit);
+      errors = startup.start(timeout, timeoutUnit);
     } catch (TimeoutException | InterruptedException e) {
       if (e instanceof InterruptedException) {
         Thread.currentThread().interrupt();
@@ -191,7 +264,7 @@ public class Lifecycle {
       return doOnError(new StartupError(e));
     }
     if (errors.isEmpty()) {
-      var success = new StartupSuccess();
+      var success = new StartupSuccess(startup.timings());
       onSuccess.accept(success);
       return success;
     } else {
@@ -243,6 +316,15 @@ public class Lifecycle {
       return duration;
     }
 
+    /**
+     * The initialisation times of the singletons if the shell has been
+     * built with {@code eagerInit()} and they have been passed to
+     * {@link Lifecycle#eagerInitTimings(EagerInitTimings)}.
+     */
+    public Option<EagerInitTimings> eagerInitTimings() {
+      return eagerInitTimings;
+    }
+
     public Duration jvmUptime() {
       return Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
     }
@@ -254,11 +336,31 @@ public class Lifecycle {
     public String timingInfoString(boolean jvmUptime) {
       return jvmUptime ? duration() + " (JVM uptime " + jvmUptime() + ")" : duration().toString();
     }
+
+    /**
+     * The startup profiles recorded by shells generated with the processor
+     * option {@code ch.raffael.meldioc.profile=true}, empty if profiling is
+     * not enabled. Only the most recent {@value StartupProfile#MAX_PROFILES}
+     * profiles are retained.
+     */
+    public Seq<StartupProfile> startupProfiles() {
+      return List.ofAll(StartupProfile.profiles());
+    }
   }
 
   public final class StartupSuccess extends StartupResult {
-    private StartupSuccess() {
+    private final StartupTimings startupTimings;
+
+    private StartupSuccess(StartupTimings startupTimings) {
       super(true, List.empty(), none());
+      this.startupTimings = startupTimings;
+    }
+
+    /**
+     * The timings of the startup actions, including the critical path.
+     */
+    public StartupTimings startupTimings() {
+      return startupTimings;
     }
   }
 
@@ -32,10 +32,14 @@ import io.vavr.control.Try;
 import org.slf4j.Logger;
 
 import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -44,13 +48,17 @@ import static io.vavr.control.Try.failure;
 import static io.vavr.control.Try.success;
 
 /**
- * TODO JavaDoc
+ * Runs the startup actions in parallel, respecting the dependencies
+ * declared by {@link StartupActions.Action named actions}: an action is
+ * run as soon as all its dependencies completed successfully. If an
+ * action fails, its dependents are skipped and a shutdown is initiated.
  */
 public class Startup {
 
   private static final Logger LOG = logger();
 
   private final AtomicReference<CountDownLatch> startupLatch = new AtomicReference<>(null);
+  private volatile StartupTimings timings = StartupTimings.empty();
 
   public final Traversable<? extends CheckedRunnable> startupActions;
   public final Executor executor;
@@ -101,15 +109,25 @@ public class Startup {
     return errors;
   }
 
+  /**
+   * The timings of the startup actions, empty until the startup completed.
+   */
+  public StartupTimings timings() {
+    return timings;
+  }
+
   private Try<Seq<Throwable>> innerStart(Executor executor, long timeout, TimeUnit timeoutUnit) {
+    Seq<Node> nodes;
+    try {
+      nodes = graph(startupActions);
+    } catch (IllegalArgumentException e) {
+      LOG.error("Invalid startup actions: {}", e.getMessage());
+      return success(List.of(e));
+    }
     var errors = new AtomicReference<Seq<Throwable>>(List.empty());
-    var counter = new AtomicInteger(0);
-    startupActions.forEach(a -> {
-      counter.incrementAndGet();
-      executor.execute(() -> {
-        outerStartupAction(counter, errors, a);
-      });
-    });
+    var remaining = new AtomicInteger(nodes.size());
+    var t0 = System.nanoTime();
+    nodes.filter(n -> n.dependencies.isEmpty()).forEach(n -> submit(executor, t0, remaining, errors, n));
     try {
       boolean timedOut;
       if (timeout <= 0) {
@@ -122,28 +140,130 @@ public class Startup {
         return failure(new TimeoutException("Timeout awaiting startup completion ("
             + Duration.of(timeout, timeoutUnit.toChronoUnit()) + ")"));
       }
+      timings = timings(nodes);
       return success(errors.get());
     } catch (InterruptedException e) {
       return failure(e);
     }
   }
 
-  private void outerStartupAction(AtomicInteger counter, AtomicReference<Seq<Throwable>> errors, CheckedRunnable a) {
-    try {
-      if (!errors.get().isEmpty()) {
-        LOG.debug("Skipping startup action {} because startup is being aborted", a);
+  /**
+   * Build the dependency graph of the startup actions, actions that aren't
+   * {@link StartupActions.Action named} don't have any dependencies.
+   */
+  private static Seq<Node> graph(Traversable<? extends CheckedRunnable> actions) {
+    var nodes = List.ofAll(actions).zipWithIndex().map(a -> a._1 instanceof StartupActions.Action
+                                                            ? new Node((StartupActions.Action) a._1)
+                                                            : new Node("#" + a._2, List.empty(), a._1));
+    var byName = new HashMap<String, Node>();
+    for (var n : nodes) {
+      if (byName.put(n.name, n) != null) {
+        throw new IllegalArgumentException("Duplicate startup action: " + n.name);
+      }
+    }
+    for (var n : nodes) {
+      for (var d : n.dependencyNames) {
+        var dependency = byName.get(d);
+        if (dependency == null) {
+          throw new IllegalArgumentException("Unknown dependency of startup action " + n.name + ": " + d);
+        }
+        n.dependencies.add(dependency);
+        dependency.dependents.add(n);
       }
-      shutdownActuator.runPreventingShutdown(() -> innerStartupAction(errors, a));
-    } finally {
-      if (counter.decrementAndGet() == 0) {
+      n.pending.set(n.dependencies.size());
+    }
+    checkCycles(nodes);
+    return nodes;
+  }
+
+  private static void checkCycles(Seq<Node> nodes) {
+    // Kahn's algorithm: whatever can't be sorted topologically is part of or depends on a cycle
+    var inDegree = new HashMap<Node, Integer>();
+    var ready = new ArrayDeque<Node>();
+    nodes.forEach(n -> {
+      inDegree.put(n, n.dependencies.size());
+      if (n.dependencies.isEmpty()) {
+        ready.add(n);
+      }
+    });
+    int sorted = 0;
+    while (!ready.isEmpty()) {
+      var n = ready.remove();
+      sorted++;
+      for (var d : n.dependents) {
+        if (inDegree.merge(d, -1, Integer::sum) == 0) {
+          ready.add(d);
+        }
+      }
+    }
+    if (sorted < nodes.size()) {
+      throw new IllegalArgumentException("Cyclic dependencies in startup actions: "
+          + nodes.filter(n -> inDegree.get(n) > 0).map(n -> n.name).mkString(", "));
+    }
+  }
+
+  private void submit(Executor executor, long t0, AtomicInteger remaining, AtomicReference<Seq<Throwable>> errors,
+                      Node node) {
+    executor.execute(() -> {
+      boolean success = false;
+      try {
+        if (!errors.get().isEmpty()) {
+          LOG.debug("Skipping startup action {} because startup is being aborted", node.name);
+        } else {
+          node.start = System.nanoTime() - t0;
+          success = shutdownActuator.getPreventingShutdown(() -> innerStartupAction(errors, node.action));
+          node.end = System.nanoTime() - t0;
+        }
+      } catch (ShutdownController.IllegalShutdownStateException e) {
+        LOG.debug("Skipping startup action {} because of shutdown: {}", node.name, e.toString());
+      } finally {
+        if (success) {
+          for (var d : node.dependents) {
+            if (d.pending.decrementAndGet() == 0) {
+              submit(executor, t0, remaining, errors, d);
+            }
+          }
+        } else {
+          node.dependents.forEach(d -> skip(remaining, d));
+        }
+        settle(remaining, node);
+      }
+    });
+  }
+
+  private void skip(AtomicInteger remaining, Node node) {
+    if (settle(remaining, node)) {
+      LOG.debug("Skipping startup action {} because a dependency failed", node.name);
+      node.dependents.forEach(d -> skip(remaining, d));
+    }
+  }
+
+  private boolean settle(AtomicInteger remaining, Node node) {
+    if (node.settled.compareAndSet(false, true)) {
+      if (remaining.decrementAndGet() == 0) {
         startupLatch.get().countDown();
       }
+      return true;
+    }
+    return false;
+  }
+
+  private static StartupTimings timings(Seq<Node> nodes) {
+    var ran = nodes.filter(n -> n.end >= 0).sortBy(n -> n.start);
+    var actions = ran.map(Node::timing);
+    Seq<StartupTimings.ActionTiming> criticalPath = List.empty();
+    var last = ran.maxBy(n -> n.end);
+    while (last.isDefined()) {
+      criticalPath = criticalPath.prepend(last.get().timing());
+      last = List.ofAll(last.get().dependencies).filter(n -> n.end >= 0).maxBy(n -> n.end);
     }
+    return new StartupTimings(actions, criticalPath);
   }
 
-  private void innerStartupAction(AtomicReference<Seq<Throwable>> errors, CheckedRunnable a) {
+  private boolean innerStartupAction(AtomicReference<Seq<Throwable>> errors, CheckedRunnable a) {
     try {
       a.run();
+      return true;
     } catch (Throwable e) {
       try {
         LOG.error("Error in startup action {}", a, e);
@@ -153,6 +273,34 @@ public class Startup {
         Exceptions.rethrowIfFatal(e2, e);
       }
       Exceptions.rethrowIfFatal(e);
+      return false;
+    }
+  }
+
+  private static final class Node {
+    private final String name;
+    private final Seq<String> dependencyNames;
+    private final CheckedRunnable action;
+    private final java.util.List<Node> dependencies = new ArrayList<>();
+    private final java.util.List<Node> dependents = new ArrayList<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean settled = new AtomicBoolean();
+    private volatile long start = -1;
+    private volatile long end = -1;
+
+    private Node(StartupActions.Action action) {
+      this(action.name(), action.dependencies(), action);
+    }
+
+    private Node(String name, Seq<String> dependencyNames, CheckedRunnable action) {
+      this.name = name;
+      this.dependencyNames = dependencyNames;
+      this.action = action;
+    }
+
+    private StartupTimings.ActionTiming timing() {
+      return new StartupTimings.ActionTiming(name, dependencyNames, Duration.ofNanos(start),
+          Duration.ofNanos(end - start));
     }
   }
 }
@@ -26,25 +26,103 @@ import ch.raffael.meldioc.ExtensionPoint;
 import io.vavr.CheckedRunnable;
 import io.vavr.collection.List;
 import io.vavr.collection.Seq;
+import io.vavr.collection.Traversable;
 
+/**
+ * Actions to run on startup. Actions are run in parallel, named actions
+ * may declare dependencies to other actions, they're run after all their
+ * dependencies completed successfully.
+ */
 @ExtensionPoint
 public interface StartupActions {
 
   StartupActions add(CheckedRunnable action);
 
+  /**
+   * Add a named action that runs after the given actions completed
+   * successfully. Names starting with {@code '#'} are reserved for unnamed
+   * actions.
+   *
+   * <p>The default implementation supports actions without dependencies
+   * only, it adds them as unnamed actions.
+   */
+  default StartupActions add(String name, Traversable<String> dependencies, CheckedRunnable action) {
+    if (!dependencies.isEmpty()) {
+      throw new UnsupportedOperationException(getClass().getName() + " doesn't support action dependencies");
+    }
+    return add(action);
+  }
+
+  default StartupActions add(String name, CheckedRunnable action) {
+    return add(name, List.empty(), action);
+  }
+
+  final class Action implements CheckedRunnable {
+    private final String name;
+    private final Seq<String> dependencies;
+    private final CheckedRunnable action;
+
+    private Action(String name, Seq<String> dependencies, CheckedRunnable action) {
+      this.name = name;
+      this.dependencies = dependencies;
+      this.action = action;
+    }
+
+    public static Action of(String name, Traversable<String> dependencies, CheckedRunnable action) {
+      return new Action(name, List.ofAll(dependencies), action);
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public Seq<String> dependencies() {
+      return dependencies;
+    }
+
+    @Override
+    public void run() throws Throwable {
+      action.run();
+    }
+
+    @Override
+    public String toString() {
+      return name + "[" + action + "]";
+    }
+  }
+
   @ExtensionPoint
   class Default implements StartupActions {
-    private Seq<CheckedRunnable> startupActions = List.empty();
+    private static final String UNNAMED_PREFIX = "#";
+
+    private Seq<Action> startupActions = List.empty();
 
     @Override
     public StartupActions.Default add(CheckedRunnable action) {
-      startupActions = startupActions.append(action);
-      return this;
+      return append(Action.of(UNNAMED_PREFIX + startupActions.size(), List.empty(), action));
     }
 
-    public Seq<CheckedRunnable> startupActions() {
+    @Override
+    public StartupActions.Default add(String name, Traversable<String> dependencies, CheckedRunnable action) {
+      if (name.startsWith(UNNAMED_PREFIX)) {
+        throw new IllegalArgumentException("Action names starting with '" + UNNAMED_PREFIX + "' are reserved: " + name);
+      }
+      return append(Action.of(name, dependencies, action));
+    }
+
+    @Override
+    public StartupActions.Default add(String name, CheckedRunnable action) {
+      return add(name, List.empty(), action);
+    }
+
+    public Seq<Action> startupActions() {
       return startupActions;
     }
+
+    private StartupActions.Default append(Action action) {
+      startupActions = startupActions.append(action);
+      return this;
+    }
   }
 
   @ch.raffael.meldioc.Feature
@@ -0,0 +1,254 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Records the time spent in setup methods and singleton instantiations of
+ * a shell as a tree. Only shells generated with the processor option
+ * {@code ch.raffael.meldioc.profile=true} record a profile, other shells
+ * don't reference this class at all. Shells recording a profile need this
+ * library at runtime.
+ *
+ * <p>Profiles are registered weakly, they're dropped when the shell that
+ * created them is garbage collected or when they're
+ * {@link #unregister() unregistered} explicitly. At most
+ * {@value #MAX_PROFILES} profiles are retained, creating more drops the
+ * oldest ones.
+ *
+ * <p>Steps nest per thread. Work done on other threads on behalf of a step
+ * (e.g. by {@code eagerInit()}) is {@link Probe#attach() attached} to that
+ * step explicitly, otherwise it's recorded as a top-level step.
+ */
+public final class StartupProfile {
+
+  /**
+   * The maximum number of profiles retained.
+   */
+  public static final int MAX_PROFILES = 16;
+
+  private static final AtomicLong SEQUENCE = new AtomicLong();
+  private static final ConcurrentSkipListMap<Long, Registration> PROFILES = new ConcurrentSkipListMap<>();
+  private static final ReferenceQueue<StartupProfile> COLLECTED = new ReferenceQueue<>();
+
+  private final long id;
+  private final Node root;
+  private final ThreadLocal<Node> current = new ThreadLocal<>();
+
+  private StartupProfile(long id, String name) {
+    this.id = id;
+    root = new Node(name);
+  }
+
+  /**
+   * Create a new profile and register it. By convention, the name is the
+   * fully qualified name of the shell.
+   */
+  public static StartupProfile create(String name) {
+    expunge();
+    var profile = new StartupProfile(SEQUENCE.incrementAndGet(), name);
+    PROFILES.put(profile.id, new Registration(profile));
+    while (PROFILES.size() > MAX_PROFILES) {
+      PROFILES.pollFirstEntry();
+    }
+    return profile;
+  }
+
+  /**
+   * All registered profiles in the order they have been created.
+   */
+  public static List<StartupProfile> profiles() {
+    expunge();
+    return PROFILES.values().stream()
+        .map(WeakReference::get)
+        .filter(Objects::nonNull)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  /**
+   * Remove this profile from the registered profiles.
+   */
+  public void unregister() {
+    PROFILES.remove(id);
+  }
+
+  private static void expunge() {
+    for (Object r; (r = COLLECTED.poll()) != null; ) {
+      PROFILES.remove(((Registration) r).id);
+    }
+  }
+
+  public Node root() {
+    return root;
+  }
+
+  /**
+   * Start timing a named step, nested in the current step of the calling
+   * thread. Use with try-with-resources.
+   */
+  public Probe enter(String name) {
+    var parent = current.get();
+    var node = (parent == null ? root : parent).add(name);
+    current.set(node);
+    return new Probe(node, parent);
+  }
+
+  private void restore(Node previous) {
+    if (previous == null) {
+      current.remove();
+    } else {
+      current.set(previous);
+    }
+  }
+
+  @Override
+  public String toString() {
+    var buf = new StringBuilder();
+    root.render(buf, 0);
+    return buf.toString();
+  }
+
+  public final class Probe implements AutoCloseable {
+    private final Node node;
+    private final Node previous;
+    private final long start = System.nanoTime();
+
+    private Probe(Node node, Node previous) {
+      this.node = node;
+      this.previous = previous;
+    }
+
+    /**
+     * Nest the steps entered by the calling thread in this step until the
+     * attachment is closed. Use with try-with-resources on the thread doing
+     * the work.
+     */
+    public Attachment attach() {
+      var attachment = new Attachment(current.get());
+      current.set(node);
+      return attachment;
+    }
+
+    @Override
+    public void close() {
+      node.nanos = System.nanoTime() - start;
+      restore(previous);
+    }
+  }
+
+  public final class Attachment implements AutoCloseable {
+    private final Node previous;
+
+    private Attachment(Node previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      restore(previous);
+    }
+  }
+
+  private static final class Registration extends WeakReference<StartupProfile> {
+    private final long id;
+
+    private Registration(StartupProfile profile) {
+      super(profile, COLLECTED);
+      this.id = profile.id;
+    }
+  }
+
+  public static final class Node {
+    private final String name;
+    private final List<Node> children = new ArrayList<>();
+    private volatile long nanos = -1;
+
+    private Node(String name) {
+      this.name = name;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public synchronized List<Node> children() {
+      return List.copyOf(children);
+    }
+
+    /**
+     * The total time spent in this step including all nested steps. For the
+     * root, this is the sum of all top-level steps.
+     */
+    public Duration total() {
+      var n = nanos;
+      return n < 0 ? childrenTotal() : Duration.ofNanos(n);
+    }
+
+    /**
+     * The time spent in this step excluding nested steps. Zero if the nested
+     * steps ran concurrently and took longer than this step in total.
+     */
+    public Duration self() {
+      if (nanos < 0) {
+        return Duration.ZERO;
+      }
+      var self = total().minus(childrenTotal());
+      return self.isNegative() ? Duration.ZERO : self;
+    }
+
+    private Duration childrenTotal() {
+      return children().stream().map(Node::total).reduce(Duration.ZERO, Duration::plus);
+    }
+
+    private synchronized Node add(String name) {
+      var node = new Node(name);
+      children.add(node);
+      return node;
+    }
+
+    private void render(StringBuilder buf, int depth) {
+      buf.append("  ".repeat(depth)).append(name).append(' ').append(total().toNanos() / 1000 / 1000.0).append("ms");
+      if (nanos >= 0) {
+        buf.append(" (self ").append(self().toNanos() / 1000 / 1000.0).append("ms)");
+      }
+      buf.append('\n');
+      children().forEach(c -> c.render(buf, depth + 1));
+    }
+
+    @Override
+    public String toString() {
+      var buf = new StringBuilder();
+      render(buf, 0);
+      return buf.toString();
+    }
+  }
+}
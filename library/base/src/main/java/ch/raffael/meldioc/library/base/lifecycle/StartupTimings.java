@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle;
+
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+
+import java.time.Duration;
+
+/**
+ * The timings of the startup actions run by {@link Startup}, including
+ * the critical path, i.e. the chain of dependent actions that determined
+ * the total startup time.
+ *
+ * @see Lifecycle.StartupSuccess#startupTimings()
+ */
+public final class StartupTimings {
+
+  private static final StartupTimings EMPTY = new StartupTimings(List.empty(), List.empty());
+
+  private final Seq<ActionTiming> actions;
+  private final Seq<ActionTiming> criticalPath;
+
+  StartupTimings(Seq<ActionTiming> actions, Seq<ActionTiming> criticalPath) {
+    this.actions = actions;
+    this.criticalPath = criticalPath;
+  }
+
+  public static StartupTimings empty() {
+    return EMPTY;
+  }
+
+  /**
+   * The timings of all actions that have been run, in the order they
+   * were started.
+   */
+  public Seq<ActionTiming> actions() {
+    return actions;
+  }
+
+  /**
+   * The chain of actions that ended last, each one waiting for the
+   * previous one.
+   */
+  public Seq<ActionTiming> criticalPath() {
+    return criticalPath;
+  }
+
+  /**
+   * The total time spent on the critical path.
+   */
+  public Duration criticalPathDuration() {
+    return criticalPath.map(ActionTiming::duration).foldLeft(Duration.ZERO, Duration::plus);
+  }
+
+  public String timingInfoString() {
+    return criticalPath.map(a -> a.name() + "=" + a.duration()).mkString(" -> ");
+  }
+
+  @Override
+  public String toString() {
+    return "StartupTimings{" + timingInfoString() + "}";
+  }
+
+  public static final class ActionTiming {
+    private final String name;
+    private final Seq<String> dependencies;
+    private final Duration start;
+    private final Duration duration;
+
+    ActionTiming(String name, Seq<String> dependencies, Duration start, Duration duration) {
+      this.name = name;
+      this.dependencies = dependencies;
+      this.start = start;
+      this.duration = duration;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public Seq<String> dependencies() {
+      return dependencies;
+    }
+
+    /**
+     * The time the action was started, relative to the start of the
+     * startup.
+     */
+    public Duration start() {
+      return start;
+    }
+
+    public Duration duration() {
+      return duration;
+    }
+
+    public Duration end() {
+      return start.plus(duration);
+    }
+
+    @Override
+    public String toString() {
+      return "ActionTiming{" + name + ": start=" + start + ", duration=" + duration + "}";
+    }
+  }
+}
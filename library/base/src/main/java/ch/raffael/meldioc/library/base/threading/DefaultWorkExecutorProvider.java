@@ -26,12 +26,19 @@ import ch.raffael.meldioc.ExtensionPoint;
 import ch.raffael.meldioc.util.advice.AdvisingExecutorService;
 import ch.raffael.meldioc.util.advice.AroundAdvice;
 import ch.raffael.meldioc.util.advice.CompositeAroundAdvice;
+import ch.raffael.meldioc.util.advice.ContextPropagation;
+import ch.raffael.meldioc.util.concurrent.ExecutorInstrumentation;
+import ch.raffael.meldioc.util.concurrent.InstrumentedExecutorService;
 import ch.raffael.meldioc.util.concurrent.RestrictedExecutorService;
+import io.vavr.control.Option;
 import org.slf4j.MDC;
 
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
 /**
  * TODO JavaDoc
  */
@@ -40,6 +47,7 @@ public class DefaultWorkExecutorProvider {
   private final Supplier<? extends ExecutorService> workExecutorImplementation;
   private final MyTaskAdviceProfile taskAdviceProfile = new MyTaskAdviceProfile();
   private final Supplier<Runnable> defaultTaskFinalizer = () -> this::defaultFinalizeTask;
+  private Option<ExecutorInstrumentation> instrumentation = none();
 
   public DefaultWorkExecutorProvider(Supplier<? extends ExecutorService> workExecutorImplementation) {
     this.workExecutorImplementation = workExecutorImplementation;
@@ -51,15 +59,58 @@ public class DefaultWorkExecutorProvider {
     return this;
   }
 
+  /**
+   * Record queue wait and run time of the tasks submitted to the work
+   * executor, sampling one in {@link ExecutorInstrumentation#DEFAULT_SAMPLE_INTERVAL}
+   * tasks. This must be enabled before the work executor is created.
+   */
+  public DefaultWorkExecutorProvider withInstrumentation() {
+    return withInstrumentation(ExecutorInstrumentation.DEFAULT_SAMPLE_INTERVAL);
+  }
+
+  /**
+   * Record queue wait and run time of one in {@code sampleInterval} tasks
+   * submitted to the work executor.
+   *
+   * @see ExecutorInstrumentation#ExecutorInstrumentation(int)
+   */
+  public DefaultWorkExecutorProvider withInstrumentation(int sampleInterval) {
+    if (instrumentation.isEmpty()) {
+      instrumentation = some(new ExecutorInstrumentation(sampleInterval));
+    }
+    return this;
+  }
+
   public ExecutorService workExecutor() {
-    return RestrictedExecutorService.wrap(new AdvisingExecutorService<ExecutorService>(
-        workExecutorImplementation.get(), taskAdviceProfile.advice()));
+    var implementation = workExecutorImplementation.get();
+    var advising = new AdvisingExecutorService<ExecutorService>(
+        implementation, taskAdviceProfile.advice(), taskAdviceProfile.contextPropagation());
+    return RestrictedExecutorService.wrap(instrumentation
+        .<ExecutorService>map(i -> {
+          if (implementation instanceof MeteredThreadPoolExecutor) {
+            ((MeteredThreadPoolExecutor) implementation).droppedTasksListener(i::dropped);
+          }
+          return new InstrumentedExecutorService<>(advising, i);
+        })
+        .getOrElse(advising));
+  }
+
+  /**
+   * Queue wait and run time of the tasks submitted to the work executor,
+   * if {@link #withInstrumentation() enabled}.
+   */
+  public Option<ExecutorInstrumentation> instrumentation() {
+    return instrumentation;
   }
 
   public AroundAdvice taskAdvice() {
     return taskAdviceProfile.advice();
   }
 
+  public ContextPropagation contextPropagation() {
+    return taskAdviceProfile.contextPropagation();
+  }
+
   public void defaultFinalizeTask() {
     MDC.clear();
   }
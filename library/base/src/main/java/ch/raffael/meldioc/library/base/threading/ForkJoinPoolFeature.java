@@ -23,9 +23,30 @@
 package ch.raffael.meldioc.library.base.threading;
 
 import ch.raffael.meldioc.Feature;
+import ch.raffael.meldioc.Feature.DependsOn;
+import ch.raffael.meldioc.Parameter;
 import ch.raffael.meldioc.Provision;
+import ch.raffael.meldioc.library.base.jmx.registry.MBeanRegistryFeature;
+import ch.raffael.meldioc.library.base.lifecycle.ShutdownFeature;
+import ch.raffael.meldioc.logging.Logging;
+import ch.raffael.meldioc.util.advice.AroundAdvice;
+import ch.raffael.meldioc.util.concurrent.ExecutorInstrumentation;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * Feature providing a fork/join pool. If you're doing parallel
@@ -45,4 +66,266 @@ public interface ForkJoinPoolFeature {
       return ForkJoinPool.commonPool();
     }
   }
+
+  /**
+   * A dedicated fork/join pool, so CPU-bound parallel work doesn't compete
+   * with every library using the common pool.
+   *
+   * <p>The {@link TaskAdviceFeature task advice} is applied to each
+   * {@code Runnable} and {@code Callable} submitted to the pool.
+   * {@code ForkJoinTask}s, including the tasks they fork and parallel
+   * streams, run without advice, wrapping them would break their join
+   * semantics.
+   */
+  @Feature
+  @Parameter.Prefix("fork-join-pool")
+  abstract class Dedicated implements ForkJoinPoolFeature, @DependsOn TaskAdviceFeature {
+
+    private static final Logger LOG = Logging.logger();
+
+    @Provision(singleton = true)
+    @Override
+    public ForkJoinPool forkJoinPool() {
+      return createForkJoinPool();
+    }
+
+    @Parameter
+    protected int parallelism() {
+      return Runtime.getRuntime().availableProcessors();
+    }
+
+    @Parameter
+    protected boolean asyncMode() {
+      return false;
+    }
+
+    @Parameter
+    protected int minRunnable() {
+      return 1;
+    }
+
+    @Parameter
+    protected int maxPoolSize() {
+      return parallelism() + 256;
+    }
+
+    @Parameter
+    protected Duration keepAliveTime() {
+      return Duration.ofMinutes(1);
+    }
+
+    @Parameter
+    protected SaturationPolicy saturationPolicy() {
+      return SaturationPolicy.REJECT;
+    }
+
+    protected ForkJoinPool createForkJoinPool() {
+      return new AdvisedForkJoinPool(
+          taskAdvice(),
+          parallelism(),
+          createThreadFactory(),
+          this::uncaughtException,
+          asyncMode(),
+          0,
+          maxPoolSize(),
+          minRunnable(),
+          saturationPolicy().predicate(),
+          keepAliveTime().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    protected ForkJoinPool.ForkJoinWorkerThreadFactory createThreadFactory() {
+      var counter = new AtomicInteger();
+      return pool -> {
+        var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName(threadName(counter.getAndIncrement()));
+        return thread;
+      };
+    }
+
+    protected String threadName(int index) {
+      return "fork-join-" + index;
+    }
+
+    protected void uncaughtException(Thread thread, Throwable exception) {
+      LOG.error("Uncaught exception in fork/join thread {}", thread.getName(), exception);
+    }
+
+    public enum SaturationPolicy {
+      /**
+       * Throw a {@code RejectedExecutionException} when a blocking task
+       * can't be compensated because the maximum pool size is reached.
+       */
+      REJECT(null),
+      /**
+       * Continue with fewer runnable threads than the target parallelism.
+       */
+      CONTINUE(p -> true);
+
+      @Nullable
+      private final Predicate<? super ForkJoinPool> predicate;
+
+      SaturationPolicy(@Nullable Predicate<? super ForkJoinPool> predicate) {
+        this.predicate = predicate;
+      }
+
+      @Nullable
+      Predicate<? super ForkJoinPool> predicate() {
+        return predicate;
+      }
+    }
+
+    /**
+     * Advises the {@code Runnable}s and {@code Callable}s submitted to the
+     * pool and records their queue wait and run time. Forked tasks and
+     * submitted {@code ForkJoinTask}s are neither advised nor instrumented,
+     * wrapping them would break their join semantics.
+     */
+    private static final class AdvisedForkJoinPool extends ForkJoinPool implements ForkJoinPoolMXBean {
+      private final AroundAdvice advice;
+      private final ExecutorInstrumentation instrumentation =
+          new ExecutorInstrumentation(ExecutorInstrumentation.DEFAULT_SAMPLE_INTERVAL);
+
+      private AdvisedForkJoinPool(AroundAdvice advice, int parallelism, ForkJoinWorkerThreadFactory factory,
+                                  Thread.UncaughtExceptionHandler handler, boolean asyncMode,
+                                  int corePoolSize, int maximumPoolSize, int minimumRunnable,
+                                  @Nullable Predicate<? super ForkJoinPool> saturate,
+                                  long keepAliveTime, TimeUnit unit) {
+        super(parallelism, factory, handler, asyncMode, corePoolSize, maximumPoolSize, minimumRunnable,
+            saturate, keepAliveTime, unit);
+        this.advice = advice;
+      }
+
+      @Override
+      public void execute(Runnable task) {
+        try {
+          super.execute(task instanceof ForkJoinTask ? task : decorate(task));
+        } catch (RejectedExecutionException e) {
+          instrumentation.rejected();
+          throw e;
+        }
+      }
+
+      @Override
+      public ForkJoinTask<?> submit(Runnable task) {
+        try {
+          return super.submit(task instanceof ForkJoinTask ? task : decorate(task));
+        } catch (RejectedExecutionException e) {
+          instrumentation.rejected();
+          throw e;
+        }
+      }
+
+      @Override
+      public <T> ForkJoinTask<T> submit(Runnable task, T result) {
+        try {
+          return super.submit(decorate(task), result);
+        } catch (RejectedExecutionException e) {
+          instrumentation.rejected();
+          throw e;
+        }
+      }
+
+      @Override
+      public <T> ForkJoinTask<T> submit(Callable<T> task) {
+        try {
+          return super.submit(decorate(task));
+        } catch (RejectedExecutionException e) {
+          instrumentation.rejected();
+          throw e;
+        }
+      }
+
+      @Override
+      public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) {
+        return super.invokeAll(tasks.stream().map(this::<T>decorate).collect(toList()));
+      }
+
+      @SuppressWarnings("try")
+      private Runnable decorate(Runnable task) {
+        return instrumentation.decorate(() -> {
+          try (var __ = advice.before()) {
+            task.run();
+          }
+        });
+      }
+
+      @SuppressWarnings("try")
+      private <T> Callable<T> decorate(Callable<? extends T> task) {
+        return instrumentation.decorate(() -> {
+          try (var __ = advice.before()) {
+            return task.call();
+          }
+        });
+      }
+
+      @Override
+      public List<Runnable> shutdownNow() {
+        // the pool cancels queued submissions without returning them
+        instrumentation.dropped(getQueuedSubmissionCount());
+        return super.shutdownNow();
+      }
+    }
+
+    /**
+     * A {@link Dedicated} fork/join pool that is drained on finalizing the
+     * shutdown.
+     */
+    @Feature
+    @Parameter.Prefix("fork-join-pool")
+    public static abstract class WithShutdown extends Dedicated implements @DependsOn ShutdownFeature {
+      @Parameter
+      protected Duration drainTimeout() {
+        return Duration.ofSeconds(30);
+      }
+
+      @Override
+      protected ForkJoinPool createForkJoinPool() {
+        return WorkExecutorFeature.Util.applyExecutorServiceShutdown(super.createForkJoinPool(), this, drainTimeout());
+      }
+    }
+
+    /**
+     * A {@link Dedicated} fork/join pool that registers its
+     * {@link ForkJoinPoolMXBean metrics} and the queue wait and run time
+     * of externally submitted tasks with the MBean registry.
+     */
+    @Feature
+    public static abstract class WithMBean extends Dedicated implements @DependsOn MBeanRegistryFeature {
+      @Override
+      protected ForkJoinPool createForkJoinPool() {
+        return registerMBean(this, super.createForkJoinPool(), mbeanName());
+      }
+
+      protected String mbeanName() {
+        return "fork-join-pool";
+      }
+    }
+
+    /**
+     * A {@link WithMBean} that is drained on finalizing the shutdown.
+     */
+    @Feature
+    @Parameter.Prefix("fork-join-pool")
+    public static abstract class WithShutdownAndMBean extends WithMBean implements @DependsOn ShutdownFeature {
+      @Parameter
+      protected Duration drainTimeout() {
+        return Duration.ofSeconds(30);
+      }
+
+      @Override
+      protected ForkJoinPool createForkJoinPool() {
+        return WorkExecutorFeature.Util.applyExecutorServiceShutdown(super.createForkJoinPool(), this, drainTimeout());
+      }
+    }
+
+    private static ForkJoinPool registerMBean(MBeanRegistryFeature registry, ForkJoinPool pool, String name) {
+      if (pool instanceof ForkJoinPoolMXBean) {
+        registry.mbeanRegistry().registrationBuilder().type(ForkJoinPoolMXBean.class, false).name(name).register(pool);
+      }
+      if (pool instanceof AdvisedForkJoinPool) {
+        WorkExecutorFeature.Util.registerInstrumentation(registry, name, ((AdvisedForkJoinPool) pool).instrumentation);
+      }
+      return pool;
+    }
+  }
 }
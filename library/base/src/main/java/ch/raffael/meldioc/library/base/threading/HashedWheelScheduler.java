@@ -0,0 +1,487 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading;
+
+import ch.raffael.meldioc.logging.Logging;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A scheduled executor service backed by a hashed timing wheel. It's
+ * optimised for large numbers of short, mostly cancelled timeouts:
+ * scheduling and cancelling are lock-free and O(1), no matter how many
+ * tasks are pending.
+ *
+ * <p>A single daemon ticker thread advances the wheel. Due tasks are
+ * handed off to an executor, usually the work executor, they never run on
+ * the ticker thread. Tasks fire at most one tick late. While no tasks are
+ * pending, the ticker parks until the next task is scheduled.
+ *
+ * <p>Tasks with a delay longer than the wheel's span go to an overflow
+ * wheel with one bucket per rotation of the main wheel. They're moved to
+ * the main wheel at the start of their rotation. Cancelled tasks are
+ * unlinked from either wheel in O(1).
+ *
+ * <p>Unlike {@link java.util.concurrent.ScheduledThreadPoolExecutor},
+ * {@link #shutdown()} cancels all pending delayed tasks instead of waiting
+ * for them to fire. The scheduler is meant for timeouts, which are
+ * pointless once the application is shutting down.
+ */
+public class HashedWheelScheduler extends AbstractExecutorService implements ScheduledExecutorService {
+
+  private static final Logger LOG = Logging.logger();
+
+  private static final int RUNNING = 0;
+  private static final int SHUTDOWN = 1;
+  private static final int STOP = 2;
+
+  private final Executor executor;
+  private final long tickNanos;
+  private final Bucket[] wheel;
+  private final Bucket[] overflow;
+  private final int mask;
+  private final int shift;
+  private final Queue<ScheduledTask<?>> added = new ConcurrentLinkedQueue<>();
+  private final Queue<ScheduledTask<?>> cancelled = new ConcurrentLinkedQueue<>();
+  private final Thread ticker;
+  private final long startTime;
+  private final CountDownLatch terminated = new CountDownLatch(1);
+  private final List<Runnable> unprocessed = new ArrayList<>();
+  private volatile int state = RUNNING;
+  private volatile boolean idle = false;
+  // accessed by the ticker thread only:
+  private long tick = 0;
+  private int pending = 0;
+
+  public HashedWheelScheduler(Executor executor, Duration tickDuration, int wheelSize, ThreadFactory threadFactory) {
+    if (tickDuration.isNegative() || tickDuration.isZero()) {
+      throw new IllegalArgumentException("Tick duration must be positive: " + tickDuration);
+    }
+    if (wheelSize < 1 || wheelSize > (1 << 30)) {
+      throw new IllegalArgumentException("Illegal wheel size: " + wheelSize);
+    }
+    this.executor = executor;
+    this.tickNanos = tickDuration.toNanos();
+    int size = Integer.highestOneBit(wheelSize - 1) << 1;
+    wheel = new Bucket[Math.max(size, 1)];
+    overflow = new Bucket[wheel.length];
+    for (int i = 0; i < wheel.length; i++) {
+      wheel[i] = new Bucket();
+      overflow[i] = new Bucket();
+    }
+    mask = wheel.length - 1;
+    shift = Integer.numberOfTrailingZeros(wheel.length);
+    startTime = System.nanoTime();
+    ticker = threadFactory.newThread(this::runTicker);
+    ticker.setDaemon(true);
+    ticker.start();
+  }
+
+  public HashedWheelScheduler(Executor executor, Duration tickDuration, int wheelSize) {
+    this(executor, tickDuration, wheelSize, new CountingThreadFactory("scheduler-ticker-%d"));
+  }
+
+  public Duration tickDuration() {
+    return Duration.ofNanos(tickNanos);
+  }
+
+  public int wheelSize() {
+    return wheel.length;
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return schedule(new ScheduledTask<>(Executors.callable(command, null), deadline(delay, unit), 0));
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return schedule(new ScheduledTask<>(callable, deadline(delay, unit), 0));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    if (period <= 0) {
+      throw new IllegalArgumentException("Period must be positive: " + period);
+    }
+    return schedule(new ScheduledTask<>(Executors.callable(command, null), deadline(initialDelay, unit), unit.toNanos(period)));
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    if (delay <= 0) {
+      throw new IllegalArgumentException("Delay must be positive: " + delay);
+    }
+    return schedule(new ScheduledTask<>(Executors.callable(command, null), deadline(initialDelay, unit), -unit.toNanos(delay)));
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (state != RUNNING) {
+      throw new RejectedExecutionException("Scheduler has been shut down");
+    }
+    executor.execute(command);
+  }
+
+  /**
+   * Shut down the scheduler, cancelling all pending tasks. Tasks already
+   * handed off to the executor aren't affected.
+   */
+  @Override
+  public void shutdown() {
+    terminate(SHUTDOWN);
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    terminate(STOP);
+    boolean interrupted = false;
+    while (true) {
+      try {
+        terminated.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    synchronized (unprocessed) {
+      return new ArrayList<>(unprocessed);
+    }
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return state != RUNNING;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return terminated.getCount() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    return terminated.await(timeout, unit);
+  }
+
+  private long deadline(long delay, TimeUnit unit) {
+    return System.nanoTime() + Math.max(0, unit.toNanos(delay));
+  }
+
+  private <V> ScheduledTask<V> schedule(ScheduledTask<V> task) {
+    if (state != RUNNING) {
+      throw new RejectedExecutionException("Scheduler has been shut down");
+    }
+    enqueue(task);
+    if (state != RUNNING) {
+      // lost the race against the ticker collecting the pending tasks
+      task.cancel(false);
+    }
+    return task;
+  }
+
+  private void enqueue(ScheduledTask<?> task) {
+    added.add(task);
+    if (idle) {
+      LockSupport.unpark(ticker);
+    }
+  }
+
+  private void terminate(int newState) {
+    synchronized (unprocessed) {
+      if (state < newState) {
+        state = newState;
+      }
+    }
+    LockSupport.unpark(ticker);
+  }
+
+  private void runTicker() {
+    try {
+      while (state == RUNNING) {
+        if (pending == 0 && added.isEmpty()) {
+          awaitTasks();
+          continue;
+        }
+        long tickDeadline = startTime + (tick + 1) * tickNanos;
+        long now;
+        while ((now = System.nanoTime()) - tickDeadline < 0 && state == RUNNING) {
+          LockSupport.parkNanos(this, tickDeadline - now);
+        }
+        if (state != RUNNING) {
+          break;
+        }
+        removeCancelled();
+        if ((tick & mask) == 0) {
+          cascadeOverflow();
+        }
+        transferAdded();
+        wheel[(int) (tick & mask)].expire();
+        tick++;
+      }
+    } catch (Throwable e) {
+      LOG.error("Scheduler ticker failed", e);
+    } finally {
+      collectUnprocessed();
+      terminated.countDown();
+    }
+  }
+
+  /**
+   * Park until a task is added. The wheels are empty, so the ticks passed
+   * meanwhile are skipped.
+   */
+  private void awaitTasks() {
+    idle = true;
+    while (added.isEmpty() && state == RUNNING) {
+      LockSupport.park(this);
+    }
+    idle = false;
+    tick = Math.max(tick, (System.nanoTime() - startTime) / tickNanos);
+  }
+
+  private void cascadeOverflow() {
+    var bucket = overflow[(int) ((tick >>> shift) & mask)];
+    var task = bucket.head;
+    while (task != null) {
+      var next = task.next;
+      if (task.isCancelled()) {
+        bucket.remove(task);
+      } else if (task.remainingRounds <= 0) {
+        bucket.remove(task);
+        place(task);
+      } else {
+        task.remainingRounds--;
+      }
+      task = next;
+    }
+  }
+
+  private void removeCancelled() {
+    ScheduledTask<?> task;
+    while ((task = cancelled.poll()) != null) {
+      if (task.bucket != null) {
+        task.bucket.remove(task);
+      }
+    }
+  }
+
+  private void transferAdded() {
+    ScheduledTask<?> task;
+    while ((task = added.poll()) != null) {
+      if (!task.isCancelled()) {
+        place(task);
+      }
+    }
+  }
+
+  private void place(ScheduledTask<?> task) {
+    long deadlineTick = Math.max(tick, (task.deadline - startTime + tickNanos - 1) / tickNanos - 1);
+    if (deadlineTick - tick < wheel.length) {
+      wheel[(int) (deadlineTick & mask)].add(task);
+    } else {
+      // the overflow bucket of the current rotation has already been cascaded
+      long rotation = deadlineTick >>> shift;
+      task.remainingRounds = (rotation - (tick >>> shift) - 1) >>> shift;
+      overflow[(int) (rotation & mask)].add(task);
+    }
+  }
+
+  private void dispatch(ScheduledTask<?> task) {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.reject(e);
+    }
+  }
+
+  private void collectUnprocessed() {
+    List<ScheduledTask<?>> tasks = new ArrayList<>();
+    for (Bucket bucket : wheel) {
+      bucket.drainTo(tasks);
+    }
+    for (Bucket bucket : overflow) {
+      bucket.drainTo(tasks);
+    }
+    ScheduledTask<?> task;
+    while ((task = added.poll()) != null) {
+      tasks.add(task);
+    }
+    cancelled.clear();
+    synchronized (unprocessed) {
+      for (var t : tasks) {
+        if (!t.isDone()) {
+          unprocessed.add(t);
+          if (state == SHUTDOWN) {
+            t.cancel(false);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * A doubly linked list of tasks, only accessed by the ticker thread.
+   */
+  private final class Bucket {
+    @Nullable
+    private ScheduledTask<?> head;
+    @Nullable
+    private ScheduledTask<?> tail;
+
+    void add(ScheduledTask<?> task) {
+      pending++;
+      task.bucket = this;
+      task.prev = tail;
+      task.next = null;
+      if (tail == null) {
+        head = task;
+      } else {
+        tail.next = task;
+      }
+      tail = task;
+    }
+
+    void remove(ScheduledTask<?> task) {
+      if (task.prev == null) {
+        head = task.next;
+      } else {
+        task.prev.next = task.next;
+      }
+      if (task.next == null) {
+        tail = task.prev;
+      } else {
+        task.next.prev = task.prev;
+      }
+      task.bucket = null;
+      task.prev = null;
+      task.next = null;
+      pending--;
+    }
+
+    void expire() {
+      var task = head;
+      while (task != null) {
+        var next = task.next;
+        remove(task);
+        if (!task.isCancelled()) {
+          dispatch(task);
+        }
+        task = next;
+      }
+    }
+
+    void drainTo(List<ScheduledTask<?>> tasks) {
+      while (head != null) {
+        var task = head;
+        remove(task);
+        tasks.add(task);
+      }
+    }
+  }
+
+  private final class ScheduledTask<V> extends FutureTask<V> implements ScheduledFuture<V> {
+    /**
+     * Positive for fixed rate, negative for fixed delay, 0 for one-shot.
+     */
+    private final long period;
+    private volatile long deadline;
+    // accessed by the ticker thread only:
+    @Nullable
+    private Bucket bucket;
+    @Nullable
+    private ScheduledTask<?> prev;
+    @Nullable
+    private ScheduledTask<?> next;
+    private long remainingRounds;
+
+    private ScheduledTask(Callable<V> callable, long deadline, long period) {
+      super(callable);
+      this.deadline = deadline;
+      this.period = period;
+    }
+
+    @Override
+    public void run() {
+      if (period == 0) {
+        super.run();
+      } else if (runAndReset()) {
+        deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+        if (state == RUNNING) {
+          enqueue(this);
+        }
+        if (state != RUNNING) {
+          cancel(false);
+        }
+      }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean result = super.cancel(mayInterruptIfRunning);
+      if (result) {
+        cancelled.add(this);
+      }
+      return result;
+    }
+
+    void reject(RejectedExecutionException exception) {
+      setException(exception);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+      return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed that) {
+      if (that == this) {
+        return 0;
+      }
+      return Long.compare(getDelay(TimeUnit.NANOSECONDS), that.getDelay(TimeUnit.NANOSECONDS));
+    }
+  }
+}
@@ -23,18 +23,22 @@
 package ch.raffael.meldioc.library.base.threading;
 
 import ch.raffael.meldioc.Feature;
+import ch.raffael.meldioc.Feature.DependsOn;
 import ch.raffael.meldioc.Parameter;
+import ch.raffael.meldioc.library.base.jmx.registry.MBeanRegistryFeature;
 import ch.raffael.meldioc.library.base.lifecycle.ShutdownFeature;
 import io.vavr.control.Option;
 
 import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
 
 import static io.vavr.control.Option.none;
 import static io.vavr.control.Option.some;
@@ -42,6 +46,12 @@ import static io.vavr.control.Option.some;
 
 /**
  * A {@link WorkExecutorFeature} that uses a Java {@link ThreadPoolExecutor}.
+ *
+ * <p>Note that with the default {@link QueueStrategy#LINKED LINKED} queue
+ * strategy and an unlimited queue capacity, the pool never grows beyond
+ * the core pool size. Use {@link QueueStrategy#SCALE_THREADS_FIRST
+ * SCALE_THREADS_FIRST} to start threads up to the maximum pool size
+ * before queuing.
  */
 @Feature
 @Parameter.Prefix("workers")
@@ -67,26 +77,30 @@ public abstract class JavaThreadPoolFeature extends AbstractWorkExecutorFeature.
     return Integer.MAX_VALUE;
   }
 
+  @Parameter
+  protected QueueStrategy queueStrategy() {
+    return QueueStrategy.LINKED;
+  }
+
+  @Parameter
+  protected RejectionPolicy rejectionPolicy() {
+    return RejectionPolicy.ABORT;
+  }
+
   @Override
   protected ExecutorService workExecutorImplementation() {
-    return createRejectedExecutionHandler()
-        .map((reh) -> new ThreadPoolExecutor(
-            corePoolSize(),
-            maxPoolSize(),
-            keepAliveTime().toMillis(), TimeUnit.MILLISECONDS,
-            createQueue(),
-            createThreadFactory(),
-            reh))
-        .getOrElse(() -> new ThreadPoolExecutor(
-            corePoolSize(),
-            maxPoolSize(),
-            keepAliveTime().toMillis(), TimeUnit.MILLISECONDS,
-            createQueue(),
-            createThreadFactory()));
+    return new MeteredThreadPoolExecutor(
+        corePoolSize(),
+        maxPoolSize(),
+        keepAliveTime(),
+        createQueue(),
+        createThreadFactory(),
+        Option.<RejectedExecutionHandler>narrow(createRejectedExecutionHandler())
+            .getOrElse(() -> rejectionPolicy().createHandler()));
   }
 
   protected BlockingQueue<Runnable> createQueue() {
-    return new LinkedBlockingDeque<>(queueCapacity());
+    return queueStrategy().createQueue(queueCapacity());
   }
 
   protected ThreadFactory createThreadFactory() {
@@ -97,6 +111,10 @@ public abstract class JavaThreadPoolFeature extends AbstractWorkExecutorFeature.
     return some(new ThreadGroup("workers"));
   }
 
+  /**
+   * Override to use a custom rejected execution handler instead of the
+   * {@link #rejectionPolicy() rejection policy}.
+   */
   protected Option<? extends RejectedExecutionHandler> createRejectedExecutionHandler() {
     return none();
   }
@@ -112,4 +130,129 @@ public abstract class JavaThreadPoolFeature extends AbstractWorkExecutorFeature.
       return Util.applyExecutorServiceShutdown(super.workExecutorImplementation(), this);
     }
   }
+
+  /**
+   * A {@link JavaThreadPoolFeature} that registers its
+   * {@link ThreadPoolMXBean pool metrics} and the queue wait and run time
+   * of its tasks with the MBean registry.
+   */
+  @Feature
+  public static abstract class WithMBean extends JavaThreadPoolFeature implements @DependsOn MBeanRegistryFeature {
+
+    protected WithMBean() {
+      workExecutorProvider.withInstrumentation();
+    }
+
+    @Override
+    protected ExecutorService workExecutorImplementation() {
+      var executor = super.workExecutorImplementation();
+      if (executor instanceof ThreadPoolMXBean) {
+        mbeanRegistry().registrationBuilder().type(ThreadPoolMXBean.class, false).name(mbeanName()).register(executor);
+      }
+      workExecutorProvider.instrumentation().forEach(i -> Util.registerInstrumentation(this, mbeanName(), i));
+      return executor;
+    }
+
+    protected String mbeanName() {
+      return "workers";
+    }
+  }
+
+  /**
+   * A {@link WithMBean} that destroys the thread pool on finalizing the
+   * shutdown.
+   */
+  @Feature
+  public static abstract class WithShutdownAndMBean extends WithMBean implements ShutdownFeature {
+    @Override
+    protected ExecutorService workExecutorImplementation() {
+      return Util.applyExecutorServiceShutdown(super.workExecutorImplementation(), this);
+    }
+  }
+
+  public enum QueueStrategy {
+    /**
+     * A linked queue, the pool only grows beyond the core pool size when
+     * the queue is full.
+     */
+    LINKED {
+      @Override
+      public BlockingQueue<Runnable> createQueue(int capacity) {
+        return new LinkedBlockingDeque<>(capacity);
+      }
+    },
+    /**
+     * No queue, tasks are handed directly to threads. Tasks are rejected
+     * when the maximum pool size is reached.
+     */
+    DIRECT_HANDOFF {
+      @Override
+      public BlockingQueue<Runnable> createQueue(int capacity) {
+        return new SynchronousQueue<>();
+      }
+    },
+    /**
+     * An array backed queue, requires a queue capacity.
+     */
+    BOUNDED_ARRAY {
+      @Override
+      public BlockingQueue<Runnable> createQueue(int capacity) {
+        if (capacity == Integer.MAX_VALUE) {
+          throw new IllegalArgumentException(this + " requires a bounded queue capacity");
+        }
+        return new ArrayBlockingQueue<>(capacity);
+      }
+    },
+    /**
+     * A {@link LinkedTransferQueue}, unbounded, the capacity is ignored.
+     */
+    LINKED_TRANSFER {
+      @Override
+      public BlockingQueue<Runnable> createQueue(int capacity) {
+        return new LinkedTransferQueue<>();
+      }
+    },
+    /**
+     * Start threads up to the maximum pool size before queuing.
+     *
+     * @see ScalingTaskQueue
+     */
+    SCALE_THREADS_FIRST {
+      @Override
+      public BlockingQueue<Runnable> createQueue(int capacity) {
+        return new ScalingTaskQueue(capacity);
+      }
+    };
+
+    public abstract BlockingQueue<Runnable> createQueue(int capacity);
+  }
+
+  public enum RejectionPolicy {
+    ABORT {
+      @Override
+      public RejectedExecutionHandler createHandler() {
+        return new ThreadPoolExecutor.AbortPolicy();
+      }
+    },
+    CALLER_RUNS {
+      @Override
+      public RejectedExecutionHandler createHandler() {
+        return new ThreadPoolExecutor.CallerRunsPolicy();
+      }
+    },
+    DISCARD {
+      @Override
+      public RejectedExecutionHandler createHandler() {
+        return new ThreadPoolExecutor.DiscardPolicy();
+      }
+    },
+    DISCARD_OLDEST {
+      @Override
+      public RejectedExecutionHandler createHandler() {
+        return new ThreadPoolExecutor.DiscardOldestPolicy();
+      }
+    };
+
+    public abstract RejectedExecutionHandler createHandler();
+  }
 }
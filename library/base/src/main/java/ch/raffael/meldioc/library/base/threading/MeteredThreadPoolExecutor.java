@@ -0,0 +1,223 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor.DiscardOldestPolicy;
+import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+/**
+ * A {@link ThreadPoolExecutor} that records rejections and the time tasks
+ * spend in the queue and exposes them as {@link ThreadPoolMXBean}.
+ *
+ * <p>Tasks are wrapped to record the time they were queued.
+ * {@link #shutdownNow()}, {@link #remove(Runnable)} and the rejected
+ * execution handler take care of this, {@link #getQueue()} returns the
+ * wrapped tasks.
+ */
+public class MeteredThreadPoolExecutor extends ThreadPoolExecutor implements ThreadPoolMXBean {
+
+  private final AtomicInteger submittedCount = new AtomicInteger();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder dequeuedCount = new LongAdder();
+  private final LongAdder queueWaitNanos = new LongAdder();
+  private final LongAccumulator maxQueueWaitNanos = new LongAccumulator(Math::max, 0);
+  private volatile RejectedExecutionHandler rejectedExecutionHandler;
+  private volatile IntConsumer droppedTasksListener = count -> {};
+
+  public MeteredThreadPoolExecutor(int corePoolSize, int maximumPoolSize, Duration keepAliveTime,
+                                   BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory,
+                                   RejectedExecutionHandler handler) {
+    super(corePoolSize, maximumPoolSize, keepAliveTime.toNanos(), TimeUnit.NANOSECONDS, workQueue, threadFactory);
+    this.rejectedExecutionHandler = handler;
+    super.setRejectedExecutionHandler(this::rejected);
+    if (workQueue instanceof ScalingTaskQueue) {
+      ((ScalingTaskQueue) workQueue).attach(this);
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    submittedCount.incrementAndGet();
+    super.execute(command instanceof QueuedTask ? command : new QueuedTask(command));
+  }
+
+  private void rejected(Runnable task, ThreadPoolExecutor executor) {
+    if (!isShutdown() && getQueue() instanceof ScalingTaskQueue && ((ScalingTaskQueue) getQueue()).force(task)) {
+      return;
+    }
+    submittedCount.decrementAndGet();
+    rejectedCount.increment();
+    var handler = rejectedExecutionHandler;
+    if (handler.getClass() == DiscardOldestPolicy.class) {
+      // the policy would poll the queue itself, bypassing the submitted count
+      if (!isShutdown()) {
+        if (getQueue().poll() != null) {
+          submittedCount.decrementAndGet();
+          droppedTasksListener.accept(1);
+        }
+        execute(task);
+      } else {
+        droppedTasksListener.accept(1);
+      }
+    } else {
+      handler.rejectedExecution(unwrap(task), executor);
+      if (handler.getClass() == DiscardPolicy.class) {
+        droppedTasksListener.accept(1);
+      }
+    }
+  }
+
+  @Override
+  protected void beforeExecute(Thread thread, Runnable task) {
+    if (task instanceof QueuedTask) {
+      long wait = System.nanoTime() - ((QueuedTask) task).queuedNanos;
+      dequeuedCount.increment();
+      queueWaitNanos.add(wait);
+      maxQueueWaitNanos.accumulate(wait);
+    }
+    super.beforeExecute(thread, task);
+  }
+
+  @Override
+  protected void afterExecute(Runnable task, Throwable exception) {
+    super.afterExecute(task, exception);
+    submittedCount.decrementAndGet();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    var tasks = super.shutdownNow();
+    droppedTasksListener.accept(tasks.size());
+    var unwrapped = new ArrayList<Runnable>(tasks.size());
+    tasks.forEach(t -> unwrapped.add(unwrap(t)));
+    return unwrapped;
+  }
+
+  @Override
+  public boolean remove(Runnable task) {
+    for (var queued : getQueue()) {
+      if (queued instanceof QueuedTask && ((QueuedTask) queued).task == task) {
+        task = queued;
+        break;
+      }
+    }
+    if (super.remove(task)) {
+      submittedCount.decrementAndGet();
+      return true;
+    } else {
+      return false;
+    }
+  }
+
+  @Override
+  public RejectedExecutionHandler getRejectedExecutionHandler() {
+    return rejectedExecutionHandler;
+  }
+
+  @Override
+  public void setRejectedExecutionHandler(RejectedExecutionHandler handler) {
+    if (handler == null) {
+      throw new NullPointerException("handler");
+    }
+    rejectedExecutionHandler = handler;
+  }
+
+  /**
+   * Set a listener that is notified about tasks that are dropped without
+   * running them or throwing a {@code RejectedExecutionException}: tasks
+   * discarded by {@link DiscardPolicy} or {@link DiscardOldestPolicy} and
+   * tasks drained by {@link #shutdownNow()}.
+   */
+  public void droppedTasksListener(IntConsumer listener) {
+    droppedTasksListener = Objects.requireNonNull(listener, "listener");
+  }
+
+  /**
+   * The number of tasks queued or running.
+   */
+  public int submittedCount() {
+    return submittedCount.get();
+  }
+
+  @Override
+  public int getQueuedCount() {
+    return getQueue().size();
+  }
+
+  @Override
+  public int getRemainingQueueCapacity() {
+    return getQueue().remainingCapacity();
+  }
+
+  @Override
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  @Override
+  public double getAverageQueueWaitMillis() {
+    long count = dequeuedCount.sum();
+    return count == 0 ? 0 : queueWaitNanos.sum() / (count * 1_000_000.0);
+  }
+
+  @Override
+  public long getMaxQueueWaitMillis() {
+    return TimeUnit.NANOSECONDS.toMillis(maxQueueWaitNanos.get());
+  }
+
+  private static Runnable unwrap(Runnable task) {
+    return task instanceof QueuedTask ? ((QueuedTask) task).task : task;
+  }
+
+  private static final class QueuedTask implements Runnable {
+    private final Runnable task;
+    private final long queuedNanos = System.nanoTime();
+
+    private QueuedTask(Runnable task) {
+      this.task = task;
+    }
+
+    @Override
+    public void run() {
+      task.run();
+    }
+
+    @Override
+    public String toString() {
+      return task.toString();
+    }
+  }
+}
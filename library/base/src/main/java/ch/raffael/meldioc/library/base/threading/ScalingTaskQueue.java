@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading;
+
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * A task queue that makes the executor start new threads up to the
+ * maximum pool size before queuing tasks (like Tomcat's {@code TaskQueue}).
+ * A plain {@code ThreadPoolExecutor} only starts threads beyond the core
+ * pool size if the queue is full.
+ *
+ * <p>Only effective with a {@link MeteredThreadPoolExecutor}, otherwise it
+ * behaves like a {@link LinkedBlockingQueue}.
+ */
+public class ScalingTaskQueue extends LinkedBlockingQueue<Runnable> {
+
+  private volatile MeteredThreadPoolExecutor executor = null;
+
+  public ScalingTaskQueue() {
+    super();
+  }
+
+  public ScalingTaskQueue(int capacity) {
+    super(capacity);
+  }
+
+  void attach(MeteredThreadPoolExecutor executor) {
+    this.executor = executor;
+  }
+
+  @Override
+  public boolean offer(Runnable task) {
+    var executor = this.executor;
+    if (executor == null) {
+      return super.offer(task);
+    }
+    int poolSize = executor.getPoolSize();
+    if (poolSize >= executor.getMaximumPoolSize() || executor.submittedCount() <= poolSize) {
+      // no more threads allowed or there are idle threads
+      return super.offer(task);
+    }
+    // make the executor start a new thread
+    return false;
+  }
+
+  /**
+   * Queue a task after the executor failed to start a new thread.
+   */
+  boolean force(Runnable task) {
+    return super.offer(task);
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading;
+
+import ch.raffael.meldioc.Feature;
+import ch.raffael.meldioc.Feature.DependsOn;
+import ch.raffael.meldioc.Parameter;
+import ch.raffael.meldioc.Provision;
+import ch.raffael.meldioc.library.base.lifecycle.ShutdownFeature;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Feature providing a scheduler for delayed and periodic tasks.
+ */
+@Feature
+public interface SchedulerFeature {
+  @Provision
+  ScheduledExecutorService scheduler();
+
+  /**
+   * A {@link HashedWheelScheduler} handing the due tasks off to the work
+   * executor, so they run with the usual task advice.
+   */
+  @Feature
+  @Parameter.Prefix("scheduler")
+  abstract class Default implements SchedulerFeature, @DependsOn WorkExecutorFeature {
+
+    @Provision(singleton = true)
+    @Override
+    public ScheduledExecutorService scheduler() {
+      return createScheduler();
+    }
+
+    /**
+     * The resolution of the scheduler, tasks fire at most one tick late.
+     */
+    @Parameter
+    protected Duration tickDuration() {
+      return Duration.ofMillis(10);
+    }
+
+    /**
+     * The number of buckets of the timing wheel, rounded up to a power of
+     * two. Tasks with delays longer than {@code tick-duration * wheel-size}
+     * wait in an overflow wheel until they come into the wheel's range.
+     * The default covers about 40 seconds, so typical request timeouts
+     * never overflow.
+     */
+    @Parameter
+    protected int wheelSize() {
+      return 4096;
+    }
+
+    protected HashedWheelScheduler createScheduler() {
+      return new HashedWheelScheduler(workExecutor(), tickDuration(), wheelSize(),
+          new CountingThreadFactory(CountingThreadFactory.formatNameBuilder("scheduler-%d")));
+    }
+  }
+
+  /**
+   * A {@link Default} scheduler that is shut down on finalizing the
+   * shutdown, before the work executor. Pending tasks are cancelled.
+   */
+  @Feature
+  @Parameter.Prefix("scheduler")
+  abstract class WithShutdown extends Default implements @DependsOn ShutdownFeature {
+    @Override
+    protected HashedWheelScheduler createScheduler() {
+      var scheduler = super.createScheduler();
+      shutdownController().onFinalize(scheduler::shutdown);
+      return scheduler;
+    }
+  }
+}
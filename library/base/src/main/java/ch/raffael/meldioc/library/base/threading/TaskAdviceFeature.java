@@ -27,6 +27,8 @@ import ch.raffael.meldioc.Feature;
 import ch.raffael.meldioc.Provision;
 import ch.raffael.meldioc.util.advice.AroundAdvice;
 import ch.raffael.meldioc.util.advice.CompositeAroundAdvice;
+import ch.raffael.meldioc.util.advice.ContextPropagation;
+import ch.raffael.meldioc.util.advice.ContextSlot;
 
 /**
  * Feature providing an around advice for tasks, usually used in conjunction
@@ -46,5 +48,27 @@ public interface TaskAdviceFeature {
    */
   @ExtensionPoint
   class Profile extends CompositeAroundAdvice.AbstractProfile<Profile> {
+    private ContextPropagation contextPropagation = ContextPropagation.none();
+
+    /**
+     * Propagate the given context slot from the submitting thread to the
+     * tasks.
+     */
+    public Profile propagate(ContextSlot<?> slot) {
+      contextPropagation = contextPropagation.with(slot);
+      return self();
+    }
+
+    /**
+     * Propagate the given MDC entry from the submitting thread to the
+     * tasks.
+     */
+    public Profile propagateMdc(String key) {
+      return propagate(MdcContextSlot.of(key));
+    }
+
+    public ContextPropagation contextPropagation() {
+      return contextPropagation;
+    }
   }
 }
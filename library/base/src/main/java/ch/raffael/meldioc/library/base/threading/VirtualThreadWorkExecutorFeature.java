@@ -0,0 +1,253 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading;
+
+import ch.raffael.meldioc.Feature;
+import ch.raffael.meldioc.Feature.DependsOn;
+import ch.raffael.meldioc.Parameter;
+import ch.raffael.meldioc.library.base.jmx.registry.MBeanRegistryFeature;
+import ch.raffael.meldioc.library.base.lifecycle.ShutdownFeature;
+import ch.raffael.meldioc.logging.Logging;
+import ch.raffael.meldioc.util.advice.AdviceException;
+import ch.raffael.meldioc.util.advice.AdvisingExecutorService;
+import ch.raffael.meldioc.util.advice.AroundAdvice;
+import ch.raffael.meldioc.util.concurrent.DecoratingExecutorService;
+import io.vavr.control.Option;
+import jdk.jfr.consumer.RecordedEvent;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import static io.vavr.control.Option.none;
+
+/**
+ * A {@link WorkExecutorFeature} that starts a new virtual thread for each
+ * task. Requires Java 21.
+ *
+ * <p>Optionally, the number of concurrently running tasks can be limited
+ * to protect downstream resources. Tasks exceeding the limit wait for a
+ * permit in their virtual thread, submitting never blocks.
+ *
+ * <p>If {@code report-pinning} is enabled, virtual threads pinning their
+ * carrier thread longer than the {@code pinning-threshold} are logged
+ * using JFR event streaming. The event stream is closed when the executor
+ * is shut down.
+ */
+@Feature
+@Parameter.Prefix("workers")
+public abstract class VirtualThreadWorkExecutorFeature extends AbstractWorkExecutorFeature.WithTaskAdvice {
+
+  private static final Logger LOG = Logging.logger();
+  private static final int MAX_STACK_FRAMES = 8;
+
+  private volatile Option<AutoCloseable> pinningMonitor = none();
+
+  @Parameter
+  protected int maxConcurrency() {
+    return Integer.MAX_VALUE;
+  }
+
+  @Parameter
+  protected boolean reportPinning() {
+    return false;
+  }
+
+  @Parameter
+  protected Duration pinningThreshold() {
+    return Duration.ofMillis(20);
+  }
+
+  @Override
+  protected ExecutorService workExecutorImplementation() {
+    ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor(threadNamePrefix());
+    if (reportPinning()) {
+      pinningMonitor = VirtualThreads.monitorPinning(pinningThreshold(), this::reportPinnedEvent);
+      if (pinningMonitor.isEmpty()) {
+        LOG.warn("JFR event streaming not available, cannot report pinned virtual threads");
+      } else {
+        executor = new PinningMonitorStop(executor, this::stopPinningMonitor);
+      }
+    }
+    if (maxConcurrency() < Integer.MAX_VALUE) {
+      executor = new AdvisingExecutorService<>(executor, new ConcurrencyLimit(maxConcurrency()));
+    }
+    return executor;
+  }
+
+  protected String threadNamePrefix() {
+    return "worker-";
+  }
+
+  protected void reportPinnedEvent(RecordedEvent event) {
+    var thread = event.getThread("eventThread");
+    var stackTrace = event.getStackTrace();
+    LOG.warn("Virtual thread {} pinned its carrier for {}{}",
+        thread == null ? "?" : thread.getJavaName(), event.getDuration(),
+        stackTrace == null ? "" : stackTrace.getFrames().stream()
+            .limit(MAX_STACK_FRAMES)
+            .map(f -> "\n\tat " + f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                + "(line " + f.getLineNumber() + ")")
+            .collect(Collectors.joining()));
+  }
+
+  protected void stopPinningMonitor() {
+    var monitor = pinningMonitor;
+    pinningMonitor = none();
+    monitor.forEach(m -> {
+      try {
+        m.close();
+      } catch (Exception e) {
+        LOG.warn("Error closing pinned virtual thread monitor", e);
+      }
+    });
+  }
+
+  /**
+   * Closes the pinning monitor when the executor is shut down.
+   */
+  private static final class PinningMonitorStop extends DecoratingExecutorService<ExecutorService> {
+    private final Runnable stop;
+
+    private PinningMonitorStop(ExecutorService delegate, Runnable stop) {
+      super(delegate);
+      this.stop = stop;
+    }
+
+    @Override
+    protected Runnable decorateRunnable(Runnable original) {
+      return original;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> Callable<T> decorateCallable(Callable<? extends T> original) {
+      return (Callable<T>) original;
+    }
+
+    @Override
+    public void shutdown() {
+      try {
+        super.shutdown();
+      } finally {
+        stop.run();
+      }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      try {
+        return super.shutdownNow();
+      } finally {
+        stop.run();
+      }
+    }
+  }
+
+  private static final class ConcurrencyLimit implements AroundAdvice {
+    private final Semaphore permits;
+    private final AdviceCloseable release;
+
+    private ConcurrencyLimit(int maxConcurrency) {
+      permits = new Semaphore(maxConcurrency);
+      release = permits::release;
+    }
+
+    @Override
+    public AdviceCloseable before() {
+      try {
+        permits.acquire();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw AdviceException.onBefore(e);
+      }
+      return release;
+    }
+  }
+
+  /**
+   * A {@link VirtualThreadWorkExecutorFeature} that drains running tasks
+   * on finalizing the shutdown, interrupting them after the drain
+   * timeout.
+   */
+  @Feature
+  @Parameter.Prefix("workers")
+  public static abstract class WithShutdown extends VirtualThreadWorkExecutorFeature implements ShutdownFeature {
+
+    @Parameter
+    protected Duration drainTimeout() {
+      return Duration.ofSeconds(30);
+    }
+
+    @Override
+    protected ExecutorService workExecutorImplementation() {
+      return Util.applyExecutorServiceShutdown(super.workExecutorImplementation(), this, drainTimeout());
+    }
+  }
+
+  /**
+   * A {@link VirtualThreadWorkExecutorFeature} that registers the queue
+   * wait and run time of its tasks with the MBean registry.
+   */
+  @Feature
+  public static abstract class WithMBean extends VirtualThreadWorkExecutorFeature implements @DependsOn MBeanRegistryFeature {
+
+    protected WithMBean() {
+      workExecutorProvider.withInstrumentation();
+    }
+
+    @Override
+    protected ExecutorService workExecutorImplementation() {
+      var executor = super.workExecutorImplementation();
+      workExecutorProvider.instrumentation().forEach(i -> Util.registerInstrumentation(this, mbeanName(), i));
+      return executor;
+    }
+
+    protected String mbeanName() {
+      return "workers";
+    }
+  }
+
+  /**
+   * A {@link WithMBean} that drains running tasks on finalizing the
+   * shutdown.
+   */
+  @Feature
+  @Parameter.Prefix("workers")
+  public static abstract class WithShutdownAndMBean extends WithMBean implements ShutdownFeature {
+
+    @Parameter
+    protected Duration drainTimeout() {
+      return Duration.ofSeconds(30);
+    }
+
+    @Override
+    protected ExecutorService workExecutorImplementation() {
+      return Util.applyExecutorServiceShutdown(super.workExecutorImplementation(), this, drainTimeout());
+    }
+  }
+}
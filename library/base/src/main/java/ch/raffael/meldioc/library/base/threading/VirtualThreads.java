@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading;
+
+import io.vavr.control.Option;
+import jdk.jfr.consumer.RecordedEvent;
+
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * Access to the virtual thread and JFR streaming APIs, which aren't
+ * available in the base Java version. Uses reflection.
+ */
+final class VirtualThreads {
+
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private VirtualThreads() {
+  }
+
+  static boolean isSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+    try {
+      var builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = Class.forName("java.lang.Thread$Builder$OfVirtual")
+          .getMethod("name", String.class, long.class)
+          .invoke(builder, namePrefix, 0L);
+      var factory = (ThreadFactory) Class.forName("java.lang.Thread$Builder")
+          .getMethod("factory")
+          .invoke(builder);
+      return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+          .invoke(null, factory);
+    } catch (NoSuchMethodException | ClassNotFoundException e) {
+      throw new UnsupportedOperationException("Virtual threads are not supported by Java "
+          + Runtime.version().feature(), e);
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("Error creating virtual thread executor: " + e.getCause(), e.getCause());
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("Error creating virtual thread executor: " + e, e);
+    }
+  }
+
+  /**
+   * Start a JFR recording stream reporting carrier threads pinned longer
+   * than the given threshold.
+   *
+   * @return The recording stream to close, {@code none()} if JFR streaming
+   *         is not available.
+   */
+  static Option<AutoCloseable> monitorPinning(Duration threshold, Consumer<? super RecordedEvent> handler) {
+    try {
+      var streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+      var stream = (AutoCloseable) streamClass.getConstructor().newInstance();
+      var settingsClass = Class.forName("jdk.jfr.EventSettings");
+      var settings = streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT);
+      settingsClass.getMethod("withThreshold", Duration.class).invoke(settings, threshold);
+      settingsClass.getMethod("withStackTrace").invoke(settings);
+      Consumer<RecordedEvent> consumer = handler::accept;
+      streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT, consumer);
+      streamClass.getMethod("startAsync").invoke(stream);
+      return some(stream);
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return none();
+    }
+  }
+}
@@ -24,10 +24,15 @@ package ch.raffael.meldioc.library.base.threading;
 
 import ch.raffael.meldioc.Feature;
 import ch.raffael.meldioc.Provision;
+import ch.raffael.meldioc.library.base.jmx.registry.MBeanRegistryFeature;
 import ch.raffael.meldioc.library.base.lifecycle.ShutdownController;
 import ch.raffael.meldioc.library.base.lifecycle.ShutdownFeature;
+import ch.raffael.meldioc.util.concurrent.ExecutorInstrumentation;
+import ch.raffael.meldioc.util.concurrent.ExecutorInstrumentationMXBean;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Feature providing a work executor, usually a thread pool.
@@ -50,5 +55,31 @@ public interface WorkExecutorFeature {
       shutdownFeature.onFinalize(executorService::shutdownNow);
       return executorService;
     }
+    /**
+     * On finalizing the shutdown, let running and queued tasks finish
+     * until the drain timeout, then shut down forcibly.
+     */
+    public static <T extends ExecutorService> T applyExecutorServiceShutdown(T executorService, ShutdownFeature shutdownFeature, Duration drainTimeout) {
+      return applyExecutorServiceShutdown(executorService, shutdownFeature.shutdownController(), drainTimeout);
+    }
+    public static <T extends ExecutorService> T applyExecutorServiceShutdown(T executorService, ShutdownController shutdownController, Duration drainTimeout) {
+      shutdownController.onFinalize(() -> {
+        executorService.shutdown();
+        if (!executorService.awaitTermination(drainTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+          executorService.shutdownNow();
+        }
+      });
+      return executorService;
+    }
+    /**
+     * Register the queue wait and run time metrics of an executor with the
+     * MBean registry.
+     */
+    public static ExecutorInstrumentation registerInstrumentation(MBeanRegistryFeature registry, String name, ExecutorInstrumentation instrumentation) {
+      return registry.mbeanRegistry().registrationBuilder()
+          .type(ExecutorInstrumentationMXBean.class, false)
+          .name(name)
+          .register(instrumentation);
+    }
   }
 }
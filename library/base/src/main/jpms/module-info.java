@@ -14,6 +14,7 @@ module ch.raffael.meldioc.library.base {
   requires transitive typesafe.config;
 
   requires static transitive java.management;
+  requires static jdk.jfr;
   requires static transitive ch.raffael.meldioc.annotations;
   requires static org.jetbrains.annotations;
   requires static org.immutables.value.annotations;
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle
+
+import io.vavr.collection.List
+import spock.lang.Specification
+
+class DependencyManifestSpec extends Specification {
+
+  static final String MANIFEST = [
+      'manifest\tformat=2\tconfiguration=my.Context\tshell=my.ContextShell',
+      'provision\tname=used\ttype=my.Used\tfeature=my.Context\texposed=true\tsingleton=true'
+          + '\tstrategy=LAZY_LOCKING\tprobe=Context.used',
+      'provision\tname=unused\ttype=my.Unused\tfeature=my.Context\texposed=true\tsingleton=true'
+          + '\tstrategy=LAZY_LOCKING\tprobe=Context.unused',
+      'provision\tname=plain\ttype=my.Plain\tfeature=my.Context\texposed=true\tsingleton=false',
+      'provision\tname=a\ttype=my.A\tfeature=my.FeatureA\tmount=featureA\texposed=false\tsingleton=true'
+          + '\tstrategy=LAZY_RACY\tprobe=FeatureA.a',
+      'mount\tname=featureA\tfeature=my.FeatureA\tinjected=false',
+      'setup\tname=setup\tfeature=my.Context\tparameters=@config,startupActionsEP',
+      ''].join('\n')
+
+  def "Provisions and setup methods are read from the manifest"() {
+    when:
+    def manifest = DependencyManifest.read(new StringReader(MANIFEST))
+
+    then:
+    manifest.shell() == 'my.ContextShell'
+    manifest.provisions()*.toString() == ['used', 'unused', 'plain', 'featureA.a']
+    manifest.singletons()*.name() == ['used', 'unused', 'a']
+    manifest.provisions().last().strategy().get() == 'LAZY_RACY'
+    manifest.setupMethods()*.toString() == ['setup(@config, startupActionsEP)']
+  }
+
+  def "Manifests of other format versions are rejected"() {
+    when:
+    DependencyManifest.read(new StringReader('manifest\tformat=1\tconfiguration=my.Context\tshell=my.ContextShell\n'))
+
+    then:
+    thrown IOException
+  }
+
+  def "Singletons not instantiated during startup are reported as dead"() {
+    given:
+    def manifest = DependencyManifest.read(new StringReader(MANIFEST))
+    def profile = StartupProfile.create('my.ContextShell')
+
+    when:
+    profile.enter('@Setup setup').withCloseable {
+      profile.enter('Context.used').close()
+      profile.enter('FeatureA.a').close()
+    }
+
+    then:
+    manifest.reachable(profile)*.name() == ['used', 'a']
+    manifest.deadProvisions(profile)*.name() == ['unused']
+
+    cleanup:
+    profile?.unregister()
+  }
+
+  def "The startup profile is matched by the fully qualified shell name"() {
+    given:
+    def manifest = DependencyManifest.read(new StringReader(MANIFEST))
+    def own = StartupProfile.create('my.ContextShell')
+    def other = StartupProfile.create('other.ContextShell')
+
+    expect:
+    manifest.startupProfile().get().is own
+
+    when:
+    own.unregister()
+
+    then:
+    manifest.startupProfile().isEmpty()
+
+    cleanup:
+    own?.unregister()
+    other?.unregister()
+  }
+
+  def "Only exposed provisions are pre-touched"() {
+    given:
+    def manifest = DependencyManifest.read(new StringReader(MANIFEST))
+    def context = new TouchedContext()
+
+    when:
+    def touched = manifest.preTouch(context, List.of('used', 'a'))
+
+    then:
+    touched*.name() == ['used']
+    context.touched == ['used']
+  }
+
+  static class TouchedContext {
+    def touched = []
+
+    Object used() {
+      touched << 'used'
+    }
+
+    Object a() {
+      touched << 'a'
+    }
+  }
+}
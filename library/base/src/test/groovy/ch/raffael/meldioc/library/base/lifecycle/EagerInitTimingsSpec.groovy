@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle
+
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class EagerInitTimingsSpec extends Specification {
+
+  @AutoCleanup('shutdownNow')
+  ExecutorService executor = Executors.newFixedThreadPool(2)
+
+  def "Timings are reported slowest first with their cumulative and wall-clock time"() {
+    given:
+    def timings = new EagerInitTimings()
+
+    when:
+    timings.accept('fast', Duration.ofMillis(10))
+    timings.accept('slow', Duration.ofMillis(30))
+
+    then:
+    timings.timings()*._1 == ['slow', 'fast']
+    timings.total() == Duration.ofMillis(40)
+    timings.wallClock() >= Duration.ofMillis(30)
+    timings.wallClock() < Duration.ofMillis(40)
+  }
+
+  def "The wall-clock time is zero without any timings"() {
+    expect:
+    new EagerInitTimings().wallClock() == Duration.ZERO
+  }
+
+  def "The startup result includes the eager initialisation timings"() {
+    given:
+    def timings = new EagerInitTimings()
+    timings.accept('foo', Duration.ofMillis(5))
+    def actions = new StartupActions.Default()
+    def lifecycle = Lifecycle.of({executor}, {actions.startupActions()}, {Lifecycle.nullShutdownActuator()})
+        .eagerInitTimings(timings)
+
+    when:
+    def result = lifecycle.start(10)
+
+    then:
+    result.success()
+    result.eagerInitTimings().get().is timings
+  }
+
+  def "The startup result has no eager initialisation timings by default"() {
+    given:
+    def actions = new StartupActions.Default()
+    def lifecycle = Lifecycle.of({executor}, {actions.startupActions()}, {Lifecycle.nullShutdownActuator()})
+
+    when:
+    def result = lifecycle.start(10)
+
+    then:
+    result.success()
+    result.eagerInitTimings().empty
+  }
+}
@@ -169,6 +169,62 @@ class ExecutorShutdownControllerSpec extends Specification {
     secondHookCounter.get() == 1
   }
 
+  def "Waiting threads retry the shutdown when the initiating thread is interrupted"() {
+    given: "A shutdown controller and an action preventing shutdown"
+    def executor = {r -> r.run()} as Executor
+    def sctl = new ExecutorShutdownController({executor})
+    def preventLatch = new CountDownLatch(1)
+    def finishLatch = new CountDownLatch(1)
+    def preventThread = Thread.start {
+      sctl.actuator().runPreventingShutdown({
+        preventLatch.countDown()
+        finishLatch.await()
+      })
+    }
+    preventLatch.await()
+    def hookCounter = new AtomicInteger(0)
+    sctl.onPerform({hookCounter.incrementAndGet()})
+    Throwable initiatorError = null
+    Seq<Throwable> waiterResult = null
+    def polling = new PollingConditions(timeout: 1, delay: 0.01)
+
+    when: "Initiate a shutdown and start another thread waiting for it"
+    def initiator = Thread.start {
+      try {
+        sctl.actuator().performShutdown()
+      } catch (InterruptedException e) {
+        initiatorError = e
+      }
+    }
+    polling.eventually {
+      assert sctl.state() == ShutdownController.State.INITIATED
+    }
+    Thread.sleep(50)
+    def waiter = Thread.start {
+      waiterResult = sctl.actuator().performShutdown()
+    }
+    Thread.sleep(50)
+    and: "Interrupt the initiating thread"
+    initiator.interrupt()
+    initiator.join()
+
+    then: "The initiating thread fails, the waiting thread is still waiting"
+    initiatorError instanceof InterruptedException
+    waiter.isAlive()
+
+    when: "Finish the action preventing shutdown"
+    finishLatch.countDown()
+    preventThread.join()
+    waiter.join(5000)
+
+    then: "The waiting thread has completed the shutdown"
+    !waiter.isAlive()
+    waiterResult != null
+    waiterResult.empty
+    sctl.state() == ShutdownController.State.COMPLETE
+    hookCounter.get() == 1
+  }
+
   private CheckedRunnable newRunnable(List calls, String name, Closure closure = {}) {
     return new CheckedRunnable() {
       @Override
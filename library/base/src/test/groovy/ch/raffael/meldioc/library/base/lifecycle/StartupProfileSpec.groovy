@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle
+
+import spock.lang.Specification
+
+class StartupProfileSpec extends Specification {
+
+  def "Profiles are listed in creation order until they're unregistered"() {
+    given:
+    def a = StartupProfile.create('a.Shell')
+    def b = StartupProfile.create('b.Shell')
+
+    expect:
+    StartupProfile.profiles().takeRight(2) == [a, b]
+
+    when:
+    a.unregister()
+
+    then:
+    !StartupProfile.profiles().contains(a)
+    StartupProfile.profiles().last().is b
+
+    cleanup:
+    a?.unregister()
+    b?.unregister()
+  }
+
+  def "Steps are recorded as a tree"() {
+    given:
+    def profile = StartupProfile.create('my.Shell')
+
+    when:
+    profile.enter('@Setup setup').withCloseable {
+      profile.enter('Context.a').withCloseable {
+        profile.enter('Context.b').close()
+      }
+      profile.enter('Context.c').close()
+    }
+
+    then:
+    def root = profile.root()
+    root.name() == 'my.Shell'
+    root.children()*.name() == ['@Setup setup']
+    root.children()[0].children()*.name() == ['Context.a', 'Context.c']
+    root.children()[0].children()[0].children()*.name() == ['Context.b']
+    root.total() == root.children()[0].total()
+
+    cleanup:
+    profile?.unregister()
+  }
+
+  def "Only the most recent profiles are retained"() {
+    when:
+    def profiles = (0..StartupProfile.MAX_PROFILES).collect {StartupProfile.create("s${it}.Shell")}
+
+    then:
+    StartupProfile.profiles() == profiles.drop(1)
+
+    cleanup:
+    profiles*.unregister()
+  }
+
+  def "Steps on other threads are nested in the attached step"() {
+    given:
+    def profile = StartupProfile.create('my.Shell')
+
+    when:
+    profile.enter('eagerInit').withCloseable {probe ->
+      def thread = Thread.start {
+        probe.attach().withCloseable {
+          profile.enter('Context.a').close()
+        }
+        profile.enter('Context.b').close()
+      }
+      thread.join()
+    }
+
+    then:
+    def root = profile.root()
+    root.children()*.name() == ['eagerInit', 'Context.b']
+    root.children()[0].children()*.name() == ['Context.a']
+
+    cleanup:
+    profile?.unregister()
+  }
+}
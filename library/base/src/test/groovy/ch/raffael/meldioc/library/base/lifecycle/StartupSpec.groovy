@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.lifecycle
+
+import io.vavr.collection.List
+import spock.lang.AutoCleanup
+import spock.lang.Specification
+
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+
+class StartupSpec extends Specification {
+
+  @AutoCleanup('shutdownNow')
+  ExecutorService executor = Executors.newFixedThreadPool(4)
+
+  def "Actions are run after their dependencies, the critical path is reported"() {
+    given:
+    def calls = new CopyOnWriteArrayList()
+    def actions = new StartupActions.Default()
+    actions.add('undertow', List.of('db', 'caches'), {calls << 'undertow'})
+    actions.add('db', {sleep(50); calls << 'db'})
+    actions.add('caches', {calls << 'caches'})
+    actions.add({calls << 'anonymous'})
+    def startup = new Startup(actions.startupActions(), executor, new ExecutorShutdownController({executor}))
+
+    when:
+    def errors = startup.start(10)
+
+    then:
+    errors.isEmpty()
+    calls.size() == 4
+    calls.last() == 'undertow'
+    and:
+    startup.timings().actions()*.name() as Set == ['undertow', 'db', 'caches', '#3'] as Set
+    startup.timings().criticalPath()*.name() == ['db', 'undertow']
+  }
+
+  def "Names starting with '#' are reserved for unnamed actions"() {
+    given:
+    def actions = new StartupActions.Default()
+    actions.add({})
+
+    when:
+    actions.add('#0', List.of(), {})
+
+    then:
+    thrown IllegalArgumentException
+    actions.startupActions()*.name() == ['#0']
+  }
+
+  def "Dependents of a failed action are skipped"() {
+    given:
+    def calls = new CopyOnWriteArrayList()
+    def actions = new StartupActions.Default()
+    actions.add('db', {throw new IllegalStateException('db')})
+    actions.add('undertow', List.of('db'), {calls << 'undertow'})
+    def startup = new Startup(actions.startupActions(), executor, new ExecutorShutdownController({executor}))
+
+    when:
+    def errors = startup.start(10)
+
+    then:
+    errors*.message == ['db']
+    calls.isEmpty()
+  }
+
+  def "Cyclic and unknown dependencies are reported as errors without running any action"() {
+    given:
+    def calls = new CopyOnWriteArrayList()
+    def actions = new StartupActions.Default()
+    actions.add('a', List.of('b'), {calls << 'a'})
+    actions.add('b', List.of(dependency), {calls << 'b'})
+    actions.add('c', {calls << 'c'})
+    def startup = new Startup(actions.startupActions(), executor, new ExecutorShutdownController({executor}))
+
+    when:
+    def errors = startup.start(10)
+
+    then:
+    errors.size() == 1
+    errors[0] instanceof IllegalArgumentException
+    errors[0].message.startsWith(message)
+    calls.isEmpty()
+
+    where:
+    dependency | message
+    'a'        | 'Cyclic dependencies in startup actions: a, b'
+    'x'        | 'Unknown dependency of startup action b: x'
+  }
+}
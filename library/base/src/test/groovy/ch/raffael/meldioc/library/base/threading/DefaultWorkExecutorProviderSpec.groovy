@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.SynchronousQueue
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.function.Supplier
+
+class DefaultWorkExecutorProviderSpec extends Specification {
+
+  def started = new CountDownLatch(1)
+  def latch = new CountDownLatch(1)
+  def implementation = new MeteredThreadPoolExecutor(1, 1, Duration.ofSeconds(1), new SynchronousQueue<Runnable>(),
+      Executors.defaultThreadFactory(), new ThreadPoolExecutor.DiscardPolicy())
+  def provider = new DefaultWorkExecutorProvider({implementation} as Supplier)
+
+  def cleanup() {
+    latch.countDown()
+    implementation.shutdown()
+    assert implementation.awaitTermination(5, TimeUnit.SECONDS)
+  }
+
+  def "Tasks aren't instrumented by default"() {
+    when:
+    provider.workExecutor().submit({} as Runnable).get()
+
+    then:
+    provider.instrumentation().isEmpty()
+  }
+
+  def "With instrumentation enabled, completed and discarded tasks are counted"() {
+    given:
+    def executor = provider.withInstrumentation().workExecutor()
+    def instrumentation = provider.instrumentation().get()
+
+    when: "A second task is discarded while the only thread is busy"
+    executor.execute {started.countDown(); latch.await()}
+    started.await()
+    executor.execute {}
+
+    then:
+    instrumentation.droppedTaskCount == 1
+    instrumentation.queuedTaskCount == 0
+
+    when:
+    latch.countDown()
+    implementation.shutdown()
+    implementation.awaitTermination(5, TimeUnit.SECONDS)
+
+    then:
+    instrumentation.completedTaskCount == 1
+    instrumentation.submittedTaskCount == 2
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading
+
+import ch.raffael.meldioc.library.base.jmx.registry.MBeanRegistry
+import ch.raffael.meldioc.library.base.jmx.registry.std.DefaultMBeanRegistry
+import ch.raffael.meldioc.library.base.jmx.registry.util.DomainMappings
+import ch.raffael.meldioc.library.base.jmx.registry.util.ObjectNames
+import ch.raffael.meldioc.library.base.lifecycle.ExecutorShutdownController
+import ch.raffael.meldioc.library.base.lifecycle.ShutdownController
+import ch.raffael.meldioc.util.advice.AroundAdvice
+import spock.lang.Specification
+
+import javax.management.MBeanServer
+import java.lang.management.ManagementFactory
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.ForkJoinTask
+import java.util.concurrent.RecursiveTask
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class ForkJoinPoolFeatureSpec extends Specification {
+
+  static final AtomicInteger COUNTER = new AtomicInteger()
+
+  def advised = new ThreadLocal<Boolean>()
+  def adviceCount = new AtomicInteger()
+  def advice = {->
+    adviceCount.incrementAndGet()
+    advised.set(true)
+    return {-> advised.remove()} as AroundAdvice.AdviceCloseable
+  } as AroundAdvice
+  def shutdown = new ExecutorShutdownController({{Runnable r -> r.run()} as Executor} as Supplier)
+  def registryHandle = DefaultMBeanRegistry.create(ManagementFactory.platformMBeanServer,
+      DomainMappings.of(ObjectNames.packageName(ForkJoinPoolFeatureSpec) + COUNTER.getAndIncrement()))
+  ForkJoinPool pool = null
+
+  def cleanup() {
+    pool?.shutdownNow()
+    registryHandle.shutdown()
+  }
+
+  def "The task advice is applied to each task submitted to a dedicated pool"() {
+    given:
+    pool = new ForkJoinPoolFeature.Dedicated() {
+      @Override
+      AroundAdvice taskAdvice() {advice}
+    }.forkJoinPool()
+
+    when:
+    def results = (1..10).collect {pool.submit({advised.get()} as Callable)}*.get()
+    def latch = new CountDownLatch(1)
+    pool.execute {assert advised.get(); latch.countDown()}
+
+    then:
+    results == [true] * 10
+    latch.await(5, TimeUnit.SECONDS)
+    adviceCount.get() == 11
+  }
+
+  def "ForkJoinTasks run without advice and keep their join semantics"() {
+    given:
+    pool = new ForkJoinPoolFeature.Dedicated() {
+      @Override
+      AroundAdvice taskAdvice() {advice}
+    }.forkJoinPool()
+
+    expect:
+    pool.invoke(new Sum(0, 100)) == 4950
+    pool.submit(ForkJoinTask.adapt({advised.get()} as Callable)).get() == null
+    adviceCount.get() == 0
+  }
+
+  def "Parameters configure the dedicated pool"() {
+    given:
+    pool = new ForkJoinPoolFeature.Dedicated() {
+      @Override
+      AroundAdvice taskAdvice() {advice}
+
+      @Override
+      protected int parallelism() {3}
+
+      @Override
+      protected boolean asyncMode() {true}
+
+      @Override
+      protected String threadName(int index) {"test-fj-$index"}
+    }.forkJoinPool()
+
+    when:
+    def threadName = pool.submit({Thread.currentThread().name} as Callable).get()
+
+    then:
+    pool.parallelism == 3
+    pool.asyncMode
+    threadName.startsWith('test-fj-')
+  }
+
+  def "WithShutdown drains the pool on finalizing the shutdown"() {
+    given:
+    pool = new ForkJoinPoolFeature.Dedicated.WithShutdown() {
+      @Override
+      AroundAdvice taskAdvice() {advice}
+
+      @Override
+      ShutdownController shutdownController() {shutdown.controller()}
+    }.forkJoinPool()
+    def done = new CountDownLatch(1)
+    pool.execute {Thread.sleep(100); done.countDown()}
+
+    when:
+    def errors = shutdown.performShutdown()
+
+    then:
+    errors.isEmpty()
+    done.count == 0
+    pool.terminated
+  }
+
+  def "WithMBean registers the pool with the MBean registry"() {
+    given:
+    pool = new ForkJoinPoolFeature.Dedicated.WithMBean() {
+      @Override
+      AroundAdvice taskAdvice() {advice}
+
+      @Override
+      MBeanServer registryMBeanServer() {ManagementFactory.platformMBeanServer}
+
+      @Override
+      MBeanRegistry mbeanRegistry() {registryHandle.registry()}
+    }.forkJoinPool()
+
+    expect:
+    registryHandle.registry().nameOf(pool).defined
+  }
+
+  def "WithShutdownAndMBean registers the pool and drains it on finalizing the shutdown"() {
+    given:
+    pool = new ForkJoinPoolFeature.Dedicated.WithShutdownAndMBean() {
+      @Override
+      AroundAdvice taskAdvice() {advice}
+
+      @Override
+      MBeanServer registryMBeanServer() {ManagementFactory.platformMBeanServer}
+
+      @Override
+      MBeanRegistry mbeanRegistry() {registryHandle.registry()}
+
+      @Override
+      ShutdownController shutdownController() {shutdown.controller()}
+    }.forkJoinPool()
+
+    when:
+    def errors = shutdown.performShutdown()
+
+    then:
+    registryHandle.registry().nameOf(pool).defined
+    errors.isEmpty()
+    pool.terminated
+  }
+
+  static class Sum extends RecursiveTask<Integer> {
+    final int from
+    final int to
+
+    Sum(int from, int to) {
+      this.from = from
+      this.to = to
+    }
+
+    @Override
+    protected Integer compute() {
+      if (to - from <= 10) {
+        return (from..<to).sum(0) as Integer
+      }
+      int mid = (from + to).intdiv(2)
+      def left = new Sum(from, mid).fork()
+      return new Sum(mid, to).compute() + left.join()
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.lang.ref.WeakReference
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CancellationException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class HashedWheelSchedulerSpec extends Specification {
+
+  def workers = Executors.newFixedThreadPool(2)
+  def scheduler = new HashedWheelScheduler(workers, Duration.ofMillis(10), 16)
+
+  def cleanup() {
+    scheduler.shutdownNow()
+    workers.shutdownNow()
+  }
+
+  def "Tasks run on the executor after their delay"() {
+    given:
+    def start = System.nanoTime()
+
+    when:
+    def future = scheduler.schedule({ Thread.currentThread() } as Callable, 50, TimeUnit.MILLISECONDS)
+    def thread = future.get(1, TimeUnit.SECONDS)
+
+    then:
+    System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50)
+    thread.name.startsWith('pool-')
+  }
+
+  def "Tasks beyond the wheel's span are parked and fire on time"() {
+    given: "A delay longer than 16 ticks of 10ms"
+    def start = System.nanoTime()
+
+    when:
+    def future = scheduler.schedule({ System.nanoTime() } as Callable, 300, TimeUnit.MILLISECONDS)
+    def firedAt = future.get(2, TimeUnit.SECONDS)
+
+    then:
+    firedAt - start >= TimeUnit.MILLISECONDS.toNanos(300)
+  }
+
+  def "Cancelled tasks don't run"() {
+    given:
+    def counter = new AtomicInteger()
+    def futures = (1..1000).collect { scheduler.schedule({ counter.incrementAndGet() }, 500 + it % 200, TimeUnit.MILLISECONDS) }
+
+    when:
+    futures.each { it.cancel(false) }
+    sleep 800
+
+    then:
+    counter.get() == 0
+    futures.every { it.cancelled }
+  }
+
+  def "Tasks beyond the span of the overflow wheel fire on time"() {
+    given: "A scheduler with a span of 4 ticks and an overflow span of 16 ticks"
+    def small = new HashedWheelScheduler(workers, Duration.ofMillis(10), 4)
+    def start = System.nanoTime()
+
+    when:
+    def futures = [30, 70, 250].collect { delay ->
+      small.schedule({ System.nanoTime() } as Callable, delay, TimeUnit.MILLISECONDS)
+    }
+    def firedAt = futures.collect { it.get(2, TimeUnit.SECONDS) }
+
+    then:
+    firedAt[0] - start >= TimeUnit.MILLISECONDS.toNanos(30)
+    firedAt[1] - start >= TimeUnit.MILLISECONDS.toNanos(70)
+    firedAt[2] - start >= TimeUnit.MILLISECONDS.toNanos(250)
+    firedAt[2] - start < TimeUnit.MILLISECONDS.toNanos(1000)
+
+    cleanup:
+    small.shutdownNow()
+  }
+
+  def "Cancelled tasks beyond the wheel's span are released"() {
+    given:
+    def future = scheduler.schedule({ 42 } as Callable, 1, TimeUnit.MINUTES)
+    def ref = new WeakReference(future)
+
+    when:
+    future.cancel(false)
+    future = null
+    sleep 50
+    System.gc()
+
+    then:
+    new PollingConditions(timeout: 2).eventually {
+      System.gc()
+      assert ref.get() == null
+    }
+  }
+
+  def "Periodic tasks are rescheduled until cancelled"() {
+    given:
+    def counter = new AtomicInteger()
+
+    when:
+    def future = scheduler.scheduleAtFixedRate({ counter.incrementAndGet() }, 0, 20, TimeUnit.MILLISECONDS)
+    sleep 200
+    future.cancel(false)
+    def count = counter.get()
+    sleep 100
+
+    then:
+    count >= 5
+    counter.get() <= count + 1
+  }
+
+  def "The ticker is a daemon thread parking while no tasks are pending"() {
+    given:
+    Thread ticker = null
+    def idle = new HashedWheelScheduler(workers, Duration.ofMillis(10), 16, { Runnable r -> ticker = new Thread(r) })
+    def conditions = new PollingConditions(timeout: 2)
+
+    expect:
+    ticker.daemon
+    conditions.eventually {
+      assert ticker.state == Thread.State.WAITING
+    }
+
+    when:
+    def future = idle.schedule({ 42 } as Callable, 50, TimeUnit.MILLISECONDS)
+
+    then:
+    future.get(1, TimeUnit.SECONDS) == 42
+    conditions.eventually {
+      assert ticker.state == Thread.State.WAITING
+    }
+
+    cleanup:
+    idle.shutdownNow()
+  }
+
+  def "Shutdown cancels the pending tasks"() {
+    given:
+    def future = scheduler.schedule({ 42 }, 1, TimeUnit.MINUTES)
+
+    when:
+    scheduler.shutdown()
+    scheduler.awaitTermination(1, TimeUnit.SECONDS)
+    future.get()
+
+    then:
+    thrown CancellationException
+    scheduler.terminated
+  }
+}
@@ -0,0 +1,174 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading
+
+import ch.raffael.meldioc.library.base.threading.JavaThreadPoolFeature.QueueStrategy
+import ch.raffael.meldioc.library.base.threading.JavaThreadPoolFeature.RejectionPolicy
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.RejectedExecutionHandler
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+class MeteredThreadPoolExecutorSpec extends Specification {
+
+  def latch = new CountDownLatch(1)
+
+  def "The linked queue strategy doesn't grow the pool beyond its core size"() {
+    given:
+    def executor = executor(QueueStrategy.LINKED, Integer.MAX_VALUE)
+
+    when:
+    def rejected = submitBlocking(executor, 4)
+
+    then:
+    executor.poolSize == 1
+    executor.queuedCount == 3
+    rejected == 0
+
+    cleanup:
+    shutdown(executor)
+  }
+
+  def "The scale-threads-first strategy grows the pool before queuing"() {
+    given:
+    def executor = executor(QueueStrategy.SCALE_THREADS_FIRST, 2)
+
+    when:
+    def rejected = submitBlocking(executor, 7)
+
+    then:
+    executor.poolSize == 4
+    executor.queuedCount == 2
+    rejected == 1
+    executor.rejectedCount == 1
+    executor.submittedCount() == 6
+
+    when:
+    shutdown(executor)
+
+    then:
+    executor.completedTaskCount == 6
+    executor.submittedCount() == 0
+    executor.maxQueueWaitMillis >= 0
+  }
+
+  def "Direct handoff rejects tasks when all threads are busy"() {
+    given:
+    def executor = executor(QueueStrategy.DIRECT_HANDOFF, Integer.MAX_VALUE)
+
+    when:
+    def rejected = submitBlocking(executor, 5)
+
+    then:
+    executor.poolSize == 4
+    rejected == 1
+
+    cleanup:
+    shutdown(executor)
+  }
+
+  def "Discard-oldest keeps the submitted count consistent when scaling threads first"() {
+    given:
+    def executor = executor(QueueStrategy.SCALE_THREADS_FIRST, 2, RejectionPolicy.DISCARD_OLDEST)
+    def executed = new CopyOnWriteArrayList()
+
+    when:
+    submitBlocking(executor, 4)
+    4.times {int i -> executor.execute {executed.add(i)}}
+
+    then:
+    executor.poolSize == 4
+    executor.queuedCount == 2
+    executor.rejectedCount == 2
+    executor.submittedCount() == 6
+
+    when:
+    shutdown(executor)
+
+    then:
+    executed as Set == [2, 3] as Set
+    executor.completedTaskCount == 6
+    executor.submittedCount() == 0
+  }
+
+  def "The rejected execution handler receives the submitted task"() {
+    given:
+    Runnable rejectedTask = null
+    def executor = executor(QueueStrategy.DIRECT_HANDOFF, Integer.MAX_VALUE,
+        {Runnable r, ThreadPoolExecutor e -> rejectedTask = r} as RejectedExecutionHandler)
+    Runnable task = {}
+
+    when:
+    submitBlocking(executor, 4)
+    executor.execute(task)
+
+    then:
+    rejectedTask.is(task)
+    executor.submittedCount() == 4
+
+    cleanup:
+    shutdown(executor)
+  }
+
+  def "Bounded array queues require a capacity"() {
+    when:
+    QueueStrategy.BOUNDED_ARRAY.createQueue(Integer.MAX_VALUE)
+
+    then:
+    thrown IllegalArgumentException
+  }
+
+  private MeteredThreadPoolExecutor executor(QueueStrategy strategy, int capacity,
+                                             RejectionPolicy policy = RejectionPolicy.ABORT) {
+    executor(strategy, capacity, policy.createHandler())
+  }
+
+  private MeteredThreadPoolExecutor executor(QueueStrategy strategy, int capacity, RejectedExecutionHandler handler) {
+    new MeteredThreadPoolExecutor(1, 4, Duration.ofSeconds(1), strategy.createQueue(capacity),
+        Executors.defaultThreadFactory(), handler)
+  }
+
+  private int submitBlocking(MeteredThreadPoolExecutor executor, int count) {
+    int rejected = 0
+    count.times {
+      try {
+        executor.execute { latch.await() }
+      } catch (RejectedExecutionException ignored) {
+        rejected++
+      }
+    }
+    rejected
+  }
+
+  private void shutdown(MeteredThreadPoolExecutor executor) {
+    latch.countDown()
+    executor.shutdown()
+    assert executor.awaitTermination(5, TimeUnit.SECONDS)
+  }
+}
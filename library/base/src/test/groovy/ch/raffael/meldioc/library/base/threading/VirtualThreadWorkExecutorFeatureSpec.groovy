@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.base.threading
+
+import ch.raffael.meldioc.library.base.lifecycle.ExecutorShutdownController
+import ch.raffael.meldioc.library.base.lifecycle.ShutdownController
+import spock.lang.IgnoreIf
+import spock.lang.Requires
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class VirtualThreadWorkExecutorFeatureSpec extends Specification {
+
+  def shutdown = new ExecutorShutdownController({{Runnable r -> r.run()} as Executor} as Supplier)
+  ExecutorService implementation = null
+
+  def cleanup() {
+    implementation?.shutdownNow()
+  }
+
+  @Requires({VirtualThreads.isSupported()})
+  def "Tasks run on named virtual threads"() {
+    given:
+    def executor = feature().workExecutor()
+    def thread = null
+
+    when:
+    executor.submit({thread = Thread.currentThread()} as Runnable).get(5, TimeUnit.SECONDS)
+
+    then:
+    thread.virtual
+    thread.name.startsWith('worker-')
+  }
+
+  @Requires({VirtualThreads.isSupported()})
+  def "The number of concurrently running tasks is capped at the max concurrency"() {
+    given:
+    def executor = feature(2).workExecutor()
+    def running = new AtomicInteger()
+    def maxRunning = new AtomicInteger()
+    def done = new CountDownLatch(10)
+
+    when:
+    10.times {
+      executor.execute {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math.&max)
+        Thread.sleep(50)
+        running.decrementAndGet()
+        done.countDown()
+      }
+    }
+
+    then:
+    done.await(10, TimeUnit.SECONDS)
+    maxRunning.get() == 2
+  }
+
+  @Requires({VirtualThreads.isSupported()})
+  def "WithShutdown drains running tasks, then interrupts the remaining ones after the drain timeout"() {
+    given:
+    def executor = new VirtualThreadWorkExecutorFeature.WithShutdown() {
+      @Override
+      protected Duration drainTimeout() {Duration.ofMillis(500)}
+
+      @Override
+      ShutdownController shutdownController() {shutdown.controller()}
+
+      @Override
+      protected ExecutorService workExecutorImplementation() {implementation = super.workExecutorImplementation()}
+    }.workExecutor()
+    def started = new CountDownLatch(2)
+    def drained = new AtomicBoolean()
+    def interrupted = new AtomicBoolean()
+    executor.execute {
+      started.countDown()
+      Thread.sleep(100)
+      drained.set(true)
+    }
+    executor.execute {
+      started.countDown()
+      try {
+        Thread.sleep(60_000)
+      } catch (InterruptedException ignored) {
+        interrupted.set(true)
+      }
+    }
+    started.await(5, TimeUnit.SECONDS)
+
+    when:
+    def errors = shutdown.performShutdown()
+
+    then:
+    errors.isEmpty()
+    drained.get()
+    new PollingConditions(timeout: 5).eventually {
+      assert interrupted.get()
+      assert implementation.terminated
+    }
+  }
+
+  @Requires({VirtualThreads.isSupported()})
+  def "The pinning monitor is closed when the executor is shut down"() {
+    given:
+    def stopped = new AtomicBoolean()
+    new VirtualThreadWorkExecutorFeature() {
+      @Override
+      protected boolean reportPinning() {true}
+
+      @Override
+      protected void stopPinningMonitor() {
+        super.stopPinningMonitor()
+        stopped.set(true)
+      }
+
+      @Override
+      protected ExecutorService workExecutorImplementation() {implementation = super.workExecutorImplementation()}
+    }.workExecutor()
+
+    when:
+    implementation.shutdown()
+
+    then:
+    stopped.get()
+  }
+
+  @IgnoreIf({VirtualThreads.isSupported()})
+  def "Creating the work executor without virtual thread support throws UnsupportedOperationException"() {
+    when:
+    feature().workExecutor()
+
+    then:
+    thrown UnsupportedOperationException
+  }
+
+  private VirtualThreadWorkExecutorFeature feature(int limit = Integer.MAX_VALUE) {
+    new VirtualThreadWorkExecutorFeature() {
+      @Override
+      protected int maxConcurrency() {limit}
+
+      @Override
+      protected ExecutorService workExecutorImplementation() {implementation = super.workExecutorImplementation()}
+    }
+  }
+}
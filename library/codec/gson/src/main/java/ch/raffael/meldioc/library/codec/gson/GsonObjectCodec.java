@@ -36,6 +36,8 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapterFactory;
 import com.google.gson.stream.JsonReader;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
 import io.vavr.control.Option;
 import org.jetbrains.annotations.Nullable;
 
@@ -119,6 +121,8 @@ public class GsonObjectCodec<T> extends AbstractCharDataObjectCodec<T> {
   }
 
   public static class Factory implements ObjectCodecFactory {
+    private static final Seq<ContentType> SUPPORTED_CONTENT_TYPES = List.of(ContentTypes.JSON);
+
     private final Gson gson;
     private final int bufferSize;
     private final Charset defaultCharset;
@@ -172,5 +176,10 @@ public class GsonObjectCodec<T> extends AbstractCharDataObjectCodec<T> {
       return true;
     }
 
+    @Override
+    public Seq<ContentType> supportedContentTypes() {
+      return SUPPORTED_CONTENT_TYPES;
+    }
+
   }
 }
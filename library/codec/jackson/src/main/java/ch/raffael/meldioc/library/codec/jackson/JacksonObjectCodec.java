@@ -36,6 +36,8 @@ import com.fasterxml.jackson.databind.deser.UnresolvedForwardReference;
 import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
 import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
 import io.vavr.collection.Set;
 import io.vavr.control.Option;
 import org.jetbrains.annotations.Nullable;
@@ -111,6 +113,8 @@ public class JacksonObjectCodec<T> extends AbstractCharDataObjectCodec<T> {
   }
 
   public static class Factory implements ObjectCodecFactory {
+    private static final Seq<ContentType> SUPPORTED_CONTENT_TYPES = List.of(ContentTypes.JSON);
+
     private final ObjectMapper objectMapper;
     private final int bufferSize;
     private final Charset defaultCharset;
@@ -163,5 +167,10 @@ public class JacksonObjectCodec<T> extends AbstractCharDataObjectCodec<T> {
     public boolean canDecodeAs(Class<?> type) {
       return true;
     }
+
+    @Override
+    public Seq<ContentType> supportedContentTypes() {
+      return SUPPORTED_CONTENT_TYPES;
+    }
   }
 }
@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec.json;
+
+import ch.raffael.meldioc.library.codec.ContentType;
+import ch.raffael.meldioc.library.codec.ContentTypes;
+import ch.raffael.meldioc.library.codec.ObjectCodecFactory;
+import ch.raffael.meldioc.library.codec.ObjectDecoder;
+import ch.raffael.meldioc.library.codec.ObjectEncoder;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+
+import static io.vavr.control.Option.none;
+
+/**
+ * An {@link ObjectCodecFactory} using the given (usually generated)
+ * {@link JsonCodec JsonCodecs}. The {@link JsonObjectCodec} adapters are
+ * created once, so there's no per-call allocation.
+ *
+ * <p>Decoders are looked up by their exact type. Encoders are also found
+ * for subtypes (e.g. the implementation classes generated by Immutables),
+ * the nearest supertype with a codec wins; the result of this search is
+ * cached per class.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ * GeneratedObjectCodecFactory.of(Person_JsonCodec.INSTANCE, Address_JsonCodec.INSTANCE)</pre>
+ */
+public class GeneratedObjectCodecFactory implements ObjectCodecFactory {
+
+  private static final Seq<ContentType> SUPPORTED_CONTENT_TYPES = List.of(ContentTypes.JSON);
+
+  private final Map<Class<?>, JsonObjectCodec<?>> codecs;
+  private final ClassValue<Option<JsonObjectCodec<?>>> encoders = new ClassValue<>() {
+    @Override
+    protected Option<JsonObjectCodec<?>> computeValue(Class<?> type) {
+      return findEncoder(type);
+    }
+  };
+
+  public GeneratedObjectCodecFactory(Seq<? extends JsonCodec<?>> codecs) {
+    this.codecs = codecs.toMap(JsonCodec::type, GeneratedObjectCodecFactory::adapter);
+  }
+
+  public static GeneratedObjectCodecFactory of(JsonCodec<?>... codecs) {
+    return new GeneratedObjectCodecFactory(List.of(codecs));
+  }
+
+  public GeneratedObjectCodecFactory with(JsonCodec<?>... codecs) {
+    return new GeneratedObjectCodecFactory(this.codecs.values()
+        .<JsonCodec<?>>map(JsonObjectCodec::codec)
+        .appendAll(List.of(codecs)));
+  }
+
+  private static <T> JsonObjectCodec<T> adapter(JsonCodec<T> codec) {
+    return new JsonObjectCodec<>(codec);
+  }
+
+  public <T> Option<JsonObjectCodec<T>> codec(Class<T> type) {
+    @SuppressWarnings("unchecked")
+    var codec = codecs.get(type).map(c -> (JsonObjectCodec<T>) c);
+    return codec;
+  }
+
+  private Option<JsonObjectCodec<?>> findEncoder(Class<?> type) {
+    Seq<Class<?>> candidates = List.of(type);
+    while (!candidates.isEmpty()) {
+      var codec = candidates.flatMap(codecs::get).headOption();
+      if (codec.isDefined()) {
+        return codec;
+      }
+      candidates = candidates.flatMap(GeneratedObjectCodecFactory::supertypes).distinct();
+    }
+    return none();
+  }
+
+  private static Seq<Class<?>> supertypes(Class<?> type) {
+    return Option.<Class<?>>of(type.getSuperclass()).toList().appendAll(List.of(type.getInterfaces()));
+  }
+
+  @Override
+  public <T> Option<ObjectEncoder<T>> encoder(Class<T> type, Option<ContentType> contentType) {
+    if (contentType.map(ct -> ct.equalsTypeOnly(ContentTypes.JSON)).getOrElse(true)) {
+      @SuppressWarnings("unchecked")
+      var encoder = encoders.get(type).map(c -> (ObjectEncoder<T>) c);
+      return encoder;
+    } else {
+      return none();
+    }
+  }
+
+  @Override
+  public <T> Option<ObjectDecoder<T>> decoder(Option<ContentType> contentType, Class<T> type) {
+    if (contentType.map(ct -> ct.equalsTypeOnly(ContentTypes.JSON)).getOrElse(true)) {
+      return codec(type).map(c -> c);
+    } else {
+      return none();
+    }
+  }
+
+  @Override
+  public boolean canEncode(Class<?> type) {
+    return encoders.get(type).isDefined();
+  }
+
+  @Override
+  public boolean canEncodeAs(ContentType contentType) {
+    return contentType.equalsTypeOnly(ContentTypes.JSON);
+  }
+
+  @Override
+  public boolean canDecode(ContentType contentType) {
+    return contentType.equalsTypeOnly(ContentTypes.JSON);
+  }
+
+  @Override
+  public boolean canDecodeAs(Class<?> type) {
+    return codecs.containsKey(type);
+  }
+
+  @Override
+  public Seq<ContentType> supportedContentTypes() {
+    return SUPPORTED_CONTENT_TYPES;
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec.json;
+
+import java.io.IOException;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A reflection-free JSON codec for a specific type. Implementations are
+ * usually generated at compile time for immutables annotated with
+ * {@link Generate @JsonCodec.Generate} and collected in a
+ * {@link GeneratedObjectCodecFactory}.
+ */
+public interface JsonCodec<T> {
+
+  Class<T> type();
+
+  void write(JsonWriter writer, T value) throws IOException;
+
+  T read(JsonReader reader) throws IOException;
+
+  /**
+   * Generate a {@code JsonCodec} for the annotated immutable (see
+   * {@code ch.raffael.meldioc.util.immutables.Immutable.Pure}). The codec
+   * will be named {@code <Type>_JsonCodec} and provides a singleton in the
+   * static field {@code INSTANCE}.
+   *
+   * <p>The type needs a static {@code builder()} method returning a builder
+   * with a setter for each attribute and a {@code build()} method. Records
+   * without such a method are read using their canonical constructor.
+   * Supported attribute types are primitives and their boxes, strings,
+   * {@code BigDecimal}, {@code BigInteger}, enums, other types annotated
+   * with {@code @JsonCodec.Generate}, vavr {@code Option}, Java
+   * {@code Optional} and vavr or Java lists, sequences and sets of these.
+   *
+   * <p>Empty options are omitted when writing, unknown properties are
+   * skipped when reading. JSON {@code null} maps to an empty option, it's
+   * rejected as malformed input anywhere else.
+   */
+  @Documented
+  @Retention(RetentionPolicy.CLASS)
+  @Target(ElementType.TYPE)
+  @interface Generate {
+  }
+
+  @FunctionalInterface
+  interface ValueWriter<T> {
+    void write(JsonWriter writer, T value) throws IOException;
+  }
+
+  @FunctionalInterface
+  interface ValueReader<T> {
+    T read(JsonReader reader) throws IOException;
+  }
+}
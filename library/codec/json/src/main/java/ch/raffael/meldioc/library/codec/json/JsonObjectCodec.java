@@ -0,0 +1,85 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec.json;
+
+import ch.raffael.meldioc.library.codec.ContentType;
+import ch.raffael.meldioc.library.codec.ContentTypes;
+import ch.raffael.meldioc.library.codec.ObjectCodec;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Adapts a {@link JsonCodec} to an {@link ObjectCodec}. The codecs are
+ * stateless and thread-safe.
+ */
+public class JsonObjectCodec<T> implements ObjectCodec<T> {
+
+  private final JsonCodec<T> codec;
+
+  public JsonObjectCodec(JsonCodec<T> codec) {
+    this.codec = codec;
+  }
+
+  public JsonCodec<T> codec() {
+    return codec;
+  }
+
+  @Override
+  public ContentType encode(T value, OutputStream target) throws IOException {
+    var writer = new JsonWriter(target);
+    codec.write(writer, value);
+    writer.flush();
+    return ContentTypes.JSON;
+  }
+
+  @Override
+  public Tuple2<byte[], ContentType> encode(T value) throws IOException {
+    var out = new ByteArrayOutputStream();
+    var ct = encode(value, out);
+    return Tuple.of(out.toByteArray(), ct);
+  }
+
+  @Override
+  public T decode(InputStream stream) throws IOException {
+    var reader = new JsonReader(stream);
+    var value = codec.read(reader);
+    reader.endDocument();
+    return value;
+  }
+
+  @Override
+  public T decode(byte[] data) throws IOException {
+    return decode(new ByteArrayInputStream(data));
+  }
+
+  @Override
+  public boolean isInvalidInput(Throwable exception) {
+    return exception instanceof MalformedJsonException;
+  }
+}
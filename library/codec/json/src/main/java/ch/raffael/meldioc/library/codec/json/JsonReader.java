@@ -0,0 +1,534 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec.json;
+
+import io.vavr.control.Option;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * A minimal pull parser reading UTF-8 encoded JSON from a byte source.
+ */
+public final class JsonReader {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private static final int EOF = -1;
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private final InputStream in;
+  private final byte[] buffer;
+  private int pos = 0;
+  private int limit = 0;
+  private long offset = 0;
+
+  private int[] stack = new int[16];
+  private int depth = 1;
+  @Nullable
+  private Token peeked = null;
+
+  private final StringBuilder chars = new StringBuilder();
+
+  public JsonReader(InputStream in) {
+    this(in, DEFAULT_BUFFER_SIZE);
+  }
+
+  public JsonReader(InputStream in, int bufferSize) {
+    this.in = in;
+    this.buffer = new byte[Math.max(bufferSize, 16)];
+    stack[0] = EMPTY_DOCUMENT;
+  }
+
+  public enum Token {
+    BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+  }
+
+  public Token peek() throws IOException {
+    if (peeked != null) {
+      return peeked;
+    }
+    int c;
+    switch (stack[depth - 1]) {
+      case EMPTY_ARRAY:
+        stack[depth - 1] = NONEMPTY_ARRAY;
+        c = readNonWhitespace();
+        if (c == ']') {
+          return peeked = Token.END_ARRAY;
+        }
+        return peeked = peekValue(c);
+      case NONEMPTY_ARRAY:
+        c = readNonWhitespace();
+        if (c == ']') {
+          return peeked = Token.END_ARRAY;
+        } else if (c != ',') {
+          throw syntaxError("Expected ',' or ']'");
+        }
+        return peeked = peekValue(readNonWhitespace());
+      case EMPTY_OBJECT:
+      case NONEMPTY_OBJECT:
+        c = readNonWhitespace();
+        if (c == '}') {
+          return peeked = Token.END_OBJECT;
+        }
+        if (stack[depth - 1] == NONEMPTY_OBJECT) {
+          if (c != ',') {
+            throw syntaxError("Expected ',' or '}'");
+          }
+          c = readNonWhitespace();
+        }
+        if (c != '"') {
+          throw syntaxError("Expected name");
+        }
+        stack[depth - 1] = DANGLING_NAME;
+        return peeked = Token.NAME;
+      case DANGLING_NAME:
+        if (readNonWhitespace() != ':') {
+          throw syntaxError("Expected ':'");
+        }
+        stack[depth - 1] = NONEMPTY_OBJECT;
+        return peeked = peekValue(readNonWhitespace());
+      case EMPTY_DOCUMENT:
+        stack[depth - 1] = NONEMPTY_DOCUMENT;
+        return peeked = peekValue(readNonWhitespace());
+      case NONEMPTY_DOCUMENT:
+        if (readNonWhitespace() != EOF) {
+          throw syntaxError("Unexpected data after end of document");
+        }
+        return peeked = Token.END_DOCUMENT;
+      default:
+        throw new IllegalStateException("Invalid reader state: " + stack[depth - 1]);
+    }
+  }
+
+  public void beginObject() throws IOException {
+    consume(Token.BEGIN_OBJECT);
+    push(EMPTY_OBJECT);
+  }
+
+  public void endObject() throws IOException {
+    consume(Token.END_OBJECT);
+    depth--;
+  }
+
+  public void beginArray() throws IOException {
+    consume(Token.BEGIN_ARRAY);
+    push(EMPTY_ARRAY);
+  }
+
+  public void endArray() throws IOException {
+    consume(Token.END_ARRAY);
+    depth--;
+  }
+
+  /**
+   * Returns {@code true}, if the current array or object has more
+   * elements.
+   */
+  public boolean hasNext() throws IOException {
+    var t = peek();
+    return t != Token.END_OBJECT && t != Token.END_ARRAY && t != Token.END_DOCUMENT;
+  }
+
+  public String nextName() throws IOException {
+    consume(Token.NAME);
+    return readString();
+  }
+
+  public String nextString() throws IOException {
+    consume(Token.STRING);
+    return readString();
+  }
+
+  /**
+   * Read a string and map it to the enum constant of that name. Unknown
+   * names are reported as {@link MalformedJsonException}.
+   */
+  public <E extends Enum<E>> E nextEnum(Class<E> type) throws IOException {
+    var name = nextString();
+    try {
+      return Enum.valueOf(type, name);
+    } catch (IllegalArgumentException e) {
+      throw syntaxError("Unknown " + type.getSimpleName() + " '" + name + "'", e);
+    }
+  }
+
+  public boolean nextBoolean() throws IOException {
+    consume(Token.BOOLEAN);
+    int c = read();
+    if (c == 't') {
+      expectLiteral("rue");
+      return true;
+    } else {
+      expectLiteral("alse");
+      return false;
+    }
+  }
+
+  public void nextNull() throws IOException {
+    consume(Token.NULL);
+    expectLiteral("null");
+  }
+
+  public int nextInt() throws IOException {
+    long value = nextLong();
+    if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+      throw syntaxError("Number out of range for int: " + value);
+    }
+    return (int) value;
+  }
+
+  public long nextLong() throws IOException {
+    var str = readNumber();
+    try {
+      return Long.parseLong(str);
+    } catch (NumberFormatException e) {
+      throw syntaxError("Expected an integer: " + str, e);
+    }
+  }
+
+  public double nextDouble() throws IOException {
+    var str = readNumber();
+    try {
+      return Double.parseDouble(str);
+    } catch (NumberFormatException e) {
+      throw syntaxError("Invalid number: " + str, e);
+    }
+  }
+
+  public BigDecimal nextBigDecimal() throws IOException {
+    var str = readNumber();
+    try {
+      return new BigDecimal(str);
+    } catch (NumberFormatException e) {
+      throw syntaxError("Invalid number: " + str, e);
+    }
+  }
+
+  public BigInteger nextBigInteger() throws IOException {
+    var str = readNumber();
+    try {
+      return new BigInteger(str);
+    } catch (NumberFormatException e) {
+      throw syntaxError("Expected an integer: " + str, e);
+    }
+  }
+
+  public <T> java.util.List<T> nextArray(JsonCodec.ValueReader<? extends T> elementReader) throws IOException {
+    var result = new ArrayList<T>();
+    beginArray();
+    while (hasNext()) {
+      result.add(elementReader.read(this));
+    }
+    endArray();
+    return result;
+  }
+
+  public <T> Option<T> nextOption(JsonCodec.ValueReader<? extends T> valueReader) throws IOException {
+    if (peek() == Token.NULL) {
+      nextNull();
+      return none();
+    } else {
+      return some(valueReader.read(this));
+    }
+  }
+
+  /**
+   * Fail with a {@link MalformedJsonException}, if the next value is
+   * {@code null}.
+   *
+   * @return {@code this}
+   */
+  public JsonReader nonNull(String name) throws IOException {
+    if (peek() == Token.NULL) {
+      throw syntaxError("Property '" + name + "' must not be null");
+    }
+    return this;
+  }
+
+  /**
+   * Fail with a {@link MalformedJsonException}, if the required property
+   * {@code name} was missing in the object just read.
+   */
+  public <T> T required(@Nullable T value, String name) throws MalformedJsonException {
+    if (value == null) {
+      throw syntaxError("Missing property '" + name + "'");
+    }
+    return value;
+  }
+
+  /**
+   * Fail with a {@link MalformedJsonException}, if the required property
+   * {@code name} was not present in the object just read.
+   */
+  public void requirePresent(boolean present, String name) throws MalformedJsonException {
+    if (!present) {
+      throw syntaxError("Missing property '" + name + "'");
+    }
+  }
+
+  /**
+   * Report a value rejected by the constructor or builder of
+   * {@code type} as invalid input.
+   */
+  public MalformedJsonException invalidValue(Class<?> type, RuntimeException cause) {
+    return syntaxError("Invalid " + type.getSimpleName() + ": " + cause.getMessage(), cause);
+  }
+
+  public void skipValue() throws IOException {
+    int level = 0;
+    do {
+      switch (peek()) {
+        case BEGIN_OBJECT:
+          beginObject();
+          level++;
+          break;
+        case BEGIN_ARRAY:
+          beginArray();
+          level++;
+          break;
+        case END_OBJECT:
+          endObject();
+          level--;
+          break;
+        case END_ARRAY:
+          endArray();
+          level--;
+          break;
+        case NAME:
+          nextName();
+          break;
+        case STRING:
+          nextString();
+          break;
+        case NUMBER:
+          readNumber();
+          break;
+        case BOOLEAN:
+          nextBoolean();
+          break;
+        case NULL:
+          nextNull();
+          break;
+        case END_DOCUMENT:
+          throw syntaxError("Unexpected end of document");
+      }
+    } while (level > 0);
+  }
+
+  /**
+   * Make sure the document has been read completely.
+   */
+  public void endDocument() throws IOException {
+    consume(Token.END_DOCUMENT);
+  }
+
+  private Token peekValue(int c) throws IOException {
+    switch (c) {
+      case '{':
+        return Token.BEGIN_OBJECT;
+      case '[':
+        return Token.BEGIN_ARRAY;
+      case '"':
+        return Token.STRING;
+      case 't':
+      case 'f':
+        unread();
+        return Token.BOOLEAN;
+      case 'n':
+        unread();
+        return Token.NULL;
+      case EOF:
+        throw syntaxError("Unexpected end of document");
+      default:
+        if (c == '-' || (c >= '0' && c <= '9')) {
+          unread();
+          return Token.NUMBER;
+        }
+        throw syntaxError("Unexpected character '" + (char) c + "'");
+    }
+  }
+
+  private void consume(Token expected) throws IOException {
+    var actual = peek();
+    if (actual != expected) {
+      throw syntaxError("Expected " + expected + ", but was " + actual);
+    }
+    peeked = null;
+  }
+
+  private void push(int state) {
+    if (depth == stack.length) {
+      stack = Arrays.copyOf(stack, stack.length * 2);
+    }
+    stack[depth++] = state;
+  }
+
+  private String readString() throws IOException {
+    chars.setLength(0);
+    while (true) {
+      int c = read();
+      if (c == '"') {
+        return chars.toString();
+      } else if (c == '\\') {
+        readEscape();
+      } else if (c == EOF) {
+        throw syntaxError("Unterminated string");
+      } else if (c < 0x20) {
+        throw syntaxError("Unescaped control character in string");
+      } else if (c < 0x80) {
+        chars.append((char) c);
+      } else if ((c & 0xe0) == 0xc0) {
+        chars.append((char) (((c & 0x1f) << 6) | continuation()));
+      } else if ((c & 0xf0) == 0xe0) {
+        chars.append((char) (((c & 0x0f) << 12) | (continuation() << 6) | continuation()));
+      } else if ((c & 0xf8) == 0xf0) {
+        chars.appendCodePoint(((c & 0x07) << 18) | (continuation() << 12) | (continuation() << 6) | continuation());
+      } else {
+        throw syntaxError("Invalid UTF-8 sequence");
+      }
+    }
+  }
+
+  private int continuation() throws IOException {
+    int c = read();
+    if ((c & 0xc0) != 0x80) {
+      throw syntaxError("Invalid UTF-8 sequence");
+    }
+    return c & 0x3f;
+  }
+
+  private void readEscape() throws IOException {
+    int c = read();
+    switch (c) {
+      case '"':
+      case '\\':
+      case '/':
+        chars.append((char) c);
+        break;
+      case 'b':
+        chars.append('\b');
+        break;
+      case 'f':
+        chars.append('\f');
+        break;
+      case 'n':
+        chars.append('\n');
+        break;
+      case 'r':
+        chars.append('\r');
+        break;
+      case 't':
+        chars.append('\t');
+        break;
+      case 'u':
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+          int h = Character.digit(read(), 16);
+          if (h < 0) {
+            throw syntaxError("Invalid unicode escape");
+          }
+          value = (value << 4) | h;
+        }
+        chars.append((char) value);
+        break;
+      default:
+        throw syntaxError("Invalid escape sequence");
+    }
+  }
+
+  private String readNumber() throws IOException {
+    consume(Token.NUMBER);
+    chars.setLength(0);
+    while (true) {
+      int c = read();
+      if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+        chars.append((char) c);
+      } else {
+        if (c != EOF) {
+          unread();
+        }
+        return chars.toString();
+      }
+    }
+  }
+
+  private void expectLiteral(String literal) throws IOException {
+    for (int i = 0; i < literal.length(); i++) {
+      if (read() != literal.charAt(i)) {
+        throw syntaxError("Expected '" + literal + "'");
+      }
+    }
+  }
+
+  private int readNonWhitespace() throws IOException {
+    int c;
+    do {
+      c = read();
+    } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+    return c;
+  }
+
+  private int read() throws IOException {
+    if (pos == limit) {
+      offset += limit;
+      limit = in.read(buffer);
+      pos = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return EOF;
+      }
+    }
+    return buffer[pos++] & 0xff;
+  }
+
+  /**
+   * Push back the last character read. Only valid directly after a
+   * successful {@link #read()}, which guarantees it's still in the buffer.
+   */
+  private void unread() {
+    pos--;
+  }
+
+  private MalformedJsonException syntaxError(String message) {
+    return new MalformedJsonException(message + " at offset " + (offset + pos));
+  }
+
+  private MalformedJsonException syntaxError(String message, Throwable cause) {
+    return new MalformedJsonException(message + " at offset " + (offset + pos), cause);
+  }
+}
@@ -0,0 +1,283 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec.json;
+
+import io.vavr.control.Option;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * A minimal streaming JSON writer writing UTF-8 directly to a byte sink.
+ * The writer keeps track of the separators, it doesn't validate the
+ * structure though.
+ *
+ * <p>Output is buffered, call {@link #flush()} when done.
+ */
+public final class JsonWriter {
+
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private static final byte[] HEX = "0123456789abcdef".getBytes();
+  private static final byte[] NULL = "null".getBytes();
+  private static final byte[] TRUE = "true".getBytes();
+  private static final byte[] FALSE = "false".getBytes();
+
+  private final OutputStream out;
+  private final byte[] buffer;
+  private int pos = 0;
+
+  private boolean[] needsSeparator = new boolean[16];
+  private int depth = 0;
+  private boolean afterName = false;
+
+  public JsonWriter(OutputStream out) {
+    this(out, DEFAULT_BUFFER_SIZE);
+  }
+
+  public JsonWriter(OutputStream out, int bufferSize) {
+    this.out = out;
+    this.buffer = new byte[Math.max(bufferSize, 16)];
+  }
+
+  public JsonWriter beginObject() throws IOException {
+    beforeValue();
+    write('{');
+    push();
+    return this;
+  }
+
+  public JsonWriter endObject() throws IOException {
+    depth--;
+    write('}');
+    return this;
+  }
+
+  public JsonWriter beginArray() throws IOException {
+    beforeValue();
+    write('[');
+    push();
+    return this;
+  }
+
+  public JsonWriter endArray() throws IOException {
+    depth--;
+    write(']');
+    return this;
+  }
+
+  public JsonWriter name(String name) throws IOException {
+    beforeValue();
+    writeString(name);
+    write(':');
+    afterName = true;
+    return this;
+  }
+
+  public JsonWriter value(String value) throws IOException {
+    beforeValue();
+    writeString(value);
+    return this;
+  }
+
+  public JsonWriter value(boolean value) throws IOException {
+    beforeValue();
+    write(value ? TRUE : FALSE);
+    return this;
+  }
+
+  public JsonWriter value(int value) throws IOException {
+    return value((long) value);
+  }
+
+  public JsonWriter value(long value) throws IOException {
+    beforeValue();
+    writeAscii(Long.toString(value));
+    return this;
+  }
+
+  public JsonWriter value(double value) throws IOException {
+    if (!Double.isFinite(value)) {
+      throw new IllegalArgumentException("Numeric value must be finite: " + value);
+    }
+    beforeValue();
+    writeAscii(Double.toString(value));
+    return this;
+  }
+
+  public JsonWriter value(BigDecimal value) throws IOException {
+    beforeValue();
+    writeAscii(value.toString());
+    return this;
+  }
+
+  public JsonWriter value(BigInteger value) throws IOException {
+    beforeValue();
+    writeAscii(value.toString());
+    return this;
+  }
+
+  public JsonWriter nullValue() throws IOException {
+    beforeValue();
+    write(NULL);
+    return this;
+  }
+
+  public <T> JsonWriter array(Iterable<? extends T> values, JsonCodec.ValueWriter<? super T> elementWriter)
+      throws IOException {
+    beginArray();
+    for (T v : values) {
+      elementWriter.write(this, v);
+    }
+    return endArray();
+  }
+
+  public <T> JsonWriter option(Option<? extends T> value, JsonCodec.ValueWriter<? super T> valueWriter)
+      throws IOException {
+    if (value.isDefined()) {
+      valueWriter.write(this, value.get());
+    } else {
+      nullValue();
+    }
+    return this;
+  }
+
+  public void flush() throws IOException {
+    if (pos > 0) {
+      out.write(buffer, 0, pos);
+      pos = 0;
+    }
+  }
+
+  private void push() {
+    if (++depth == needsSeparator.length) {
+      needsSeparator = Arrays.copyOf(needsSeparator, needsSeparator.length * 2);
+    }
+    needsSeparator[depth] = false;
+  }
+
+  private void beforeValue() throws IOException {
+    if (afterName) {
+      afterName = false;
+    } else if (depth > 0) {
+      if (needsSeparator[depth]) {
+        write(',');
+      } else {
+        needsSeparator[depth] = true;
+      }
+    }
+  }
+
+  private void writeString(String str) throws IOException {
+    write('"');
+    int len = str.length();
+    for (int i = 0; i < len; i++) {
+      char c = str.charAt(i);
+      if (c < 0x80) {
+        if (c == '"' || c == '\\') {
+          write('\\');
+          write(c);
+        } else if (c >= 0x20) {
+          write(c);
+        } else {
+          writeControl(c);
+        }
+      } else if (c < 0x800) {
+        write(0xc0 | (c >> 6));
+        write(0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(str.charAt(i + 1))) {
+        int cp = Character.toCodePoint(c, str.charAt(++i));
+        write(0xf0 | (cp >> 18));
+        write(0x80 | ((cp >> 12) & 0x3f));
+        write(0x80 | ((cp >> 6) & 0x3f));
+        write(0x80 | (cp & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        // lone surrogate: not representable in UTF-8
+        writeUnicodeEscape(c);
+      } else {
+        write(0xe0 | (c >> 12));
+        write(0x80 | ((c >> 6) & 0x3f));
+        write(0x80 | (c & 0x3f));
+      }
+    }
+    write('"');
+  }
+
+  private void writeControl(char c) throws IOException {
+    switch (c) {
+      case '\n':
+        write('\\');
+        write('n');
+        break;
+      case '\r':
+        write('\\');
+        write('r');
+        break;
+      case '\t':
+        write('\\');
+        write('t');
+        break;
+      case '\b':
+        write('\\');
+        write('b');
+        break;
+      case '\f':
+        write('\\');
+        write('f');
+        break;
+      default:
+        writeUnicodeEscape(c);
+    }
+  }
+
+  private void writeUnicodeEscape(char c) throws IOException {
+    write('\\');
+    write('u');
+    write(HEX[(c >> 12) & 0xf]);
+    write(HEX[(c >> 8) & 0xf]);
+    write(HEX[(c >> 4) & 0xf]);
+    write(HEX[c & 0xf]);
+  }
+
+  private void writeAscii(String str) throws IOException {
+    int len = str.length();
+    for (int i = 0; i < len; i++) {
+      write(str.charAt(i));
+    }
+  }
+
+  private void write(byte[] bytes) throws IOException {
+    for (byte b : bytes) {
+      write(b);
+    }
+  }
+
+  private void write(int b) throws IOException {
+    if (pos == buffer.length) {
+      flush();
+    }
+    buffer[pos++] = (byte) b;
+  }
+}
@@ -0,0 +1,8 @@
+module ch.raffael.meldioc.library.codec.json {
+  exports ch.raffael.meldioc.library.codec.json;
+
+  requires transitive io.vavr;
+  requires transitive ch.raffael.meldioc.library.codec;
+
+  requires static org.jetbrains.annotations;
+}
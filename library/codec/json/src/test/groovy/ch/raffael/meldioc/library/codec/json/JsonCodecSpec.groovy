@@ -0,0 +1,250 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec.json
+
+import ch.raffael.meldioc.library.codec.ContentTypes
+import io.vavr.collection.List as VList
+import io.vavr.control.Option
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+class JsonCodecSpec extends Specification {
+
+  def "Strings with escapes and non-ASCII characters survive a round-trip"() {
+    when:
+    def json = write { it.value(string) }
+
+    then:
+    json == expected
+    read(json) { it.nextString() } == string
+
+    where:
+    string                 | expected
+    'plain'                | '"plain"'
+    'q"b\\s/'              | '"q\\"b\\\\s/"'
+    'tab\tnl\ncr\r'        | '"tab\\tnl\\ncr\\r"'
+    'bs\bff\f'             | '"bs\\bff\\f"'
+    'ctl\u0001\u001f'      | '"ctl\\u0001\\u001f"'
+    'äöü €'                | '"äöü €"'
+    '😀'                   | '"😀"'
+  }
+
+  def "Unicode escape sequences are decoded"() {
+    expect:
+    read(json) { it.nextString() } == expected
+
+    where:
+    json                                  | expected
+    '"\\u0041\\u00e4"'                    | 'Aä'
+    '"\\u20AC"'                           | '€'
+    '"\\ud83d\\ude00"'                    | '😀'
+    '"\\/\\b\\f\\n\\r\\t\\"\\\\"'         | '/\b\f\n\r\t"\\'
+  }
+
+  def "Numbers survive a round-trip"() {
+    expect:
+    read(write { it.value(Long.MIN_VALUE) }) { it.nextLong() } == Long.MIN_VALUE
+    read(write { it.value(Long.MAX_VALUE) }) { it.nextLong() } == Long.MAX_VALUE
+    read(write { it.value(-0.125d) }) { it.nextDouble() } == -0.125d
+    read(write { it.value(1.5e-300d) }) { it.nextDouble() } == 1.5e-300d
+    read(write { it.value(new BigDecimal('-12345678901234567890.000001')) }) { it.nextBigDecimal() } ==
+        new BigDecimal('-12345678901234567890.000001')
+    read(write { it.value(new BigInteger('123456789012345678901234567890')) }) { it.nextBigInteger() } ==
+        new BigInteger('123456789012345678901234567890')
+    read('1E3') { it.nextDouble() } == 1000d
+  }
+
+  def "Generated codecs round-trip interfaces and records with nested values"() {
+    given:
+    def codec = new JsonObjectCodec<>(Person_JsonCodec.INSTANCE)
+    def person = Person.builder()
+        .name('Jane "J" Doe')
+        .id(42)
+        .score(0.5)
+        .balance(new BigDecimal('-1.25'))
+        .nickname('jd')
+        .address(Option.some(new Address('Main St. 1', 8000, Option.none(), Optional.of('CH'))))
+        .tags(['a', 'b'])
+        .kinds([Person.Kind.FRIEND] as Set)
+        .ratings(VList.of(Option.some(1), Option.none(), Option.some(3)))
+        .build()
+
+    when:
+    def json = new String(codec.encode(person)._1, StandardCharsets.UTF_8)
+
+    then:
+    json == '{"name":"Jane \\"J\\" Doe","id":42,"score":0.5,"balance":-1.25,"nickname":"jd",' +
+        '"address":{"street":"Main St. 1","zip":8000,"country":"CH"},' +
+        '"tags":["a","b"],"kinds":["FRIEND"],"ratings":[1,null,3]}'
+    codec.decode(json.getBytes(StandardCharsets.UTF_8)) == person
+  }
+
+  def "Nulls and missing properties map to empty optionals, unknown properties are skipped"() {
+    given:
+    def codec = new JsonObjectCodec<>(Person_JsonCodec.INSTANCE)
+
+    when:
+    def person = codec.decode(('{"unknown":{"x":[1,{"y":null}]},"name":"x","id":1,"score":1,"balance":1,' +
+        '"nickname":null,"address":null,"tags":[],"kinds":[],"ratings":[null]}').getBytes(StandardCharsets.UTF_8))
+
+    then:
+    person.nickname() == Optional.empty()
+    person.address() == Option.none()
+    person.tags().isEmpty()
+    person.ratings() == VList.of(Option.none())
+
+    when:
+    person = codec.decode('{"name":"x","id":1,"score":1,"balance":1}'.getBytes(StandardCharsets.UTF_8))
+
+    then:
+    person.nickname() == Optional.empty()
+    person.address() == Option.none()
+    person.tags().isEmpty()
+    person.kinds().isEmpty()
+    person.ratings().isEmpty()
+
+    when:
+    def address = Address_JsonCodec.INSTANCE.read(new JsonReader(
+        new ByteArrayInputStream('{"zip":1,"street":"s","city":null}'.getBytes(StandardCharsets.UTF_8))))
+
+    then:
+    address == new Address('s', 1, Option.none(), Optional.empty())
+  }
+
+  def "Malformed input is reported as invalid input"() {
+    given:
+    def codec = new JsonObjectCodec<>(Person_JsonCodec.INSTANCE)
+    def valid = '"name":"x","id":1,"score":1,"balance":1,"tags":[],"kinds":[],"ratings":[]'
+
+    when:
+    codec.decode(json.replace('$valid', valid).getBytes(StandardCharsets.UTF_8))
+
+    then:
+    def e = thrown(Exception)
+    codec.isInvalidInput(e)
+
+    where:
+    json << [
+        '',
+        '{',
+        '{$valid',
+        '{$valid}}',
+        '{$valid} x',
+        '{$valid,}',
+        '{"name" "x"}',
+        '{$valid,"id":"1"}',
+        '{$valid,"id":1.5}',
+        '{$valid,"id":99999999999999999999}',
+        '{$valid,"name":"\\x"}',
+        '{$valid,"name":"\\u00g0"}',
+        '{$valid,"name":"unterminated}',
+        '{$valid,"name":null}',
+        '{$valid,"tags":null}',
+        '{$valid,"tags":["a",null]}',
+        '{$valid,"ratings":[[1]]}',
+        '{$valid,"kinds":["NONE"]}',
+        '{$valid,"address":{"street":"s"}}',
+        '{$valid,"address":{"street":null,"zip":1}}',
+        '{$valid,"address":{"street":"s","zip":-1}}',
+        '{"name":"x"}',
+        '[]',
+        'nul',
+    ]
+  }
+
+  def "Missing required properties, unknown enum constants and rejected values are reported as MalformedJsonException"() {
+    given:
+    def codec = new JsonObjectCodec<>(Person_JsonCodec.INSTANCE)
+
+    when:
+    codec.decode(json.getBytes(StandardCharsets.UTF_8))
+
+    then:
+    def e = thrown(MalformedJsonException)
+    e.message.startsWith(message)
+
+    where:
+    json                                                                   | message
+    '{"name":"x","score":1,"balance":1}'                                   | "Missing property 'id'"
+    '{"name":"x","id":1,"score":1,"balance":1,"kinds":["NONE"]}'           | "Unknown Kind 'NONE'"
+    '{"name":"x","id":1,"score":1,"balance":1,"address":{"street":"s","zip":-1}}' | 'Invalid Address: Negative zip: -1'
+  }
+
+  def "Only malformed input is reported as invalid input"() {
+    given:
+    def codec = new JsonObjectCodec<>(Person_JsonCodec.INSTANCE)
+
+    expect:
+    codec.isInvalidInput(new MalformedJsonException('x'))
+    !codec.isInvalidInput(new IllegalStateException('x'))
+    !codec.isInvalidInput(new IllegalArgumentException('x'))
+    !codec.isInvalidInput(new NullPointerException('x'))
+  }
+
+  def "Encoders are found for subtypes of the codec's type"() {
+    given:
+    def factory = GeneratedObjectCodecFactory.of(Person_JsonCodec.INSTANCE)
+    def person = Person.builder().name('x').id(1).score(1).balance(BigDecimal.ONE)
+        .address(Option.none()).ratings(VList.empty()).build()
+
+    expect:
+    person.getClass() != Person
+    factory.canEncode(person.getClass())
+    new String(factory.encoder(person.getClass(), Option.none()).get().encode(person)._1, StandardCharsets.UTF_8) ==
+        '{"name":"x","id":1,"score":1.0,"balance":1,"tags":[],"kinds":[],"ratings":[]}'
+    !factory.canDecodeAs(person.getClass())
+    !factory.canEncode(Object)
+  }
+
+  def "GeneratedObjectCodecFactory provides codecs for JSON only"() {
+    given:
+    def factory = GeneratedObjectCodecFactory.of(Person_JsonCodec.INSTANCE).with(Address_JsonCodec.INSTANCE)
+
+    expect:
+    factory.canEncode(Person)
+    factory.canDecodeAs(Address)
+    !factory.canEncode(String)
+    factory.encoder(Address, Option.none()).isDefined()
+    factory.encoder(Address, Option.some(ContentTypes.JSON)).isDefined()
+    factory.encoder(Address, Option.some(ContentTypes.XML)).isEmpty()
+    factory.decoder(Option.some(ContentTypes.JSON), Person).isDefined()
+    factory.decoder(Option.some(ContentTypes.PLAIN_TEXT), Person).isEmpty()
+    factory.supportedContentTypes() == VList.of(ContentTypes.JSON)
+  }
+
+  private static String write(Closure<?> writer) {
+    def out = new ByteArrayOutputStream()
+    def w = new JsonWriter(out)
+    writer.call(w)
+    w.flush()
+    new String(out.toByteArray(), StandardCharsets.UTF_8)
+  }
+
+  private static <T> T read(String json, Closure<T> reader) {
+    def r = new JsonReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))
+    def value = reader.call(r)
+    r.endDocument()
+    value
+  }
+}
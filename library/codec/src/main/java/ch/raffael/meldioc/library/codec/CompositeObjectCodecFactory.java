@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec;
+
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+
+import static io.vavr.control.Option.none;
+
+/**
+ * Combines several object codec factories, e.g. for supporting JSON and
+ * XML. The factories are consulted in the given order, the first one that
+ * supports the requested type and content type wins. If no content type is
+ * given, the first factory supporting the type is used.
+ *
+ * <p>Combine with {@link EncoderTable} and {@link DecoderTable} to
+ * precompute the content negotiation.
+ */
+public class CompositeObjectCodecFactory implements ObjectCodecFactory {
+
+  private final Seq<ObjectCodecFactory> factories;
+  private final Seq<ContentType> supportedContentTypes;
+
+  public CompositeObjectCodecFactory(Seq<? extends ObjectCodecFactory> factories) {
+    this.factories = List.narrow(factories.toList());
+    this.supportedContentTypes = this.factories.exists(f -> f.supportedContentTypes().isEmpty())
+                                 ? List.empty()
+                                 : this.factories
+                                     .flatMap(ObjectCodecFactory::supportedContentTypes)
+                                     .map(ContentType::withoutAttributes)
+                                     .distinct();
+  }
+
+  public static CompositeObjectCodecFactory of(ObjectCodecFactory... factories) {
+    return new CompositeObjectCodecFactory(List.of(factories));
+  }
+
+  public Seq<ObjectCodecFactory> factories() {
+    return factories;
+  }
+
+  @Override
+  public <T> Option<ObjectEncoder<T>> encoder(Class<T> type, Option<ContentType> contentType) {
+    for (var f : factories) {
+      if (f.canEncode(type) && contentType.map(f::canEncodeAs).getOrElse(true)) {
+        var encoder = f.encoder(type, contentType);
+        if (encoder.isDefined()) {
+          return encoder;
+        }
+      }
+    }
+    return none();
+  }
+
+  @Override
+  public <T> Option<ObjectDecoder<T>> decoder(Option<ContentType> contentType, Class<T> type) {
+    for (var f : factories) {
+      if (f.canDecodeAs(type) && contentType.map(f::canDecode).getOrElse(true)) {
+        var decoder = f.decoder(contentType, type);
+        if (decoder.isDefined()) {
+          return decoder;
+        }
+      }
+    }
+    return none();
+  }
+
+  @Override
+  public boolean canEncode(Class<?> type) {
+    return factories.exists(f -> f.canEncode(type));
+  }
+
+  @Override
+  public boolean canEncodeAs(ContentType contentType) {
+    return factories.exists(f -> f.canEncodeAs(contentType));
+  }
+
+  @Override
+  public boolean canDecode(ContentType contentType) {
+    return factories.exists(f -> f.canDecode(contentType));
+  }
+
+  @Override
+  public boolean canDecodeAs(Class<?> type) {
+    return factories.exists(f -> f.canDecodeAs(type));
+  }
+
+  /**
+   * The union of the supported content types of all factories. If any of
+   * the factories doesn't know its supported content types, the result is
+   * empty (i.e. unknown) as well.
+   */
+  @Override
+  public Seq<ContentType> supportedContentTypes() {
+    return supportedContentTypes;
+  }
+}
@@ -46,6 +46,7 @@ public final class ContentTypes {
   public static final String Q_ATTR = "q";
   public static final ContentType XML = ContentType.of("application", "xml");
   public static final ContentType JSON = ContentType.of("application", "json");
+  public static final ContentType NDJSON = ContentType.of("application", "x-ndjson");
   public static final ContentType HTML = ContentType.of("text", "html");
   public static final ContentType XHTML = ContentType.of("application", "xhtml+xml");
   public static final ContentType JAVASCRIPT = ContentType.of("application", "javascript");
@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec;
+
+import io.vavr.Tuple;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+import io.vavr.control.Option;
+
+/**
+ * Precomputed content negotiation for decoding a specific type, see
+ * {@link EncoderTable}.
+ */
+public final class DecoderTable<T> {
+
+  private final ObjectCodecFactory factory;
+  private final Class<T> type;
+  private final Map<ContentType, ObjectDecoder<T>> decoders;
+  private final Option<ObjectDecoder<T>> defaultDecoder;
+  private final boolean complete;
+
+  private DecoderTable(ObjectCodecFactory factory, Class<T> type) {
+    this.factory = factory;
+    this.type = type;
+    var contentTypes = factory.supportedContentTypes().map(ContentType::withoutAttributes).distinct();
+    this.decoders = HashMap.ofEntries(contentTypes
+        .flatMap(ct -> factory.decoder(ct, type).map(d -> Tuple.of(ct, d))));
+    this.defaultDecoder = factory.decoder(type);
+    this.complete = !contentTypes.isEmpty();
+  }
+
+  public static <T> DecoderTable<T> of(ObjectCodecFactory factory, Class<T> type) {
+    return new DecoderTable<>(factory, type);
+  }
+
+  public Class<T> type() {
+    return type;
+  }
+
+  public Option<ObjectDecoder<T>> defaultDecoder() {
+    return defaultDecoder;
+  }
+
+  public Option<ObjectDecoder<T>> decoder(Option<ContentType> contentType) {
+    return contentType.isEmpty() ? defaultDecoder : decoder(contentType.get());
+  }
+
+  public Option<ObjectDecoder<T>> decoder(ContentType contentType) {
+    if (contentType.attributes().containsKey(ContentTypes.CHARSET_ATTR)) {
+      return factory.decoder(contentType, type);
+    }
+    var decoder = decoders.get(contentType.attributes().isEmpty() ? contentType : contentType.withoutAttributes());
+    return decoder.isDefined() || complete ? decoder : factory.decoder(contentType, type);
+  }
+}
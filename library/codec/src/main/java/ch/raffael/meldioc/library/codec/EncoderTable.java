@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec;
+
+import io.vavr.Tuple;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+
+import static io.vavr.control.Option.none;
+
+/**
+ * Precomputed content negotiation for encoding a specific type. The table
+ * is computed once from the {@link ObjectCodecFactory#supportedContentTypes()
+ * supported content types}, looking up the encoder for a requested content
+ * type is then a single hash lookup, reusing the encoder instances.
+ *
+ * <p>Content types with a charset attribute, and all content types if the
+ * factory doesn't know its supported content types, are delegated to the
+ * factory.
+ */
+public final class EncoderTable<T> {
+
+  private final ObjectCodecFactory factory;
+  private final Class<T> type;
+  private final Map<ContentType, ObjectEncoder<T>> encoders;
+  private final Option<ObjectEncoder<T>> defaultEncoder;
+  private final boolean complete;
+
+  private EncoderTable(ObjectCodecFactory factory, Class<T> type) {
+    this.factory = factory;
+    this.type = type;
+    var contentTypes = factory.supportedContentTypes().map(ContentType::withoutAttributes).distinct();
+    this.encoders = HashMap.ofEntries(contentTypes
+        .flatMap(ct -> factory.encoder(type, ct).map(e -> Tuple.of(ct, e))));
+    this.defaultEncoder = factory.encoder(type);
+    this.complete = !contentTypes.isEmpty();
+  }
+
+  public static <T> EncoderTable<T> of(ObjectCodecFactory factory, Class<T> type) {
+    return new EncoderTable<>(factory, type);
+  }
+
+  public Class<T> type() {
+    return type;
+  }
+
+  public Option<ObjectEncoder<T>> defaultEncoder() {
+    return defaultEncoder;
+  }
+
+  public Option<ObjectEncoder<T>> encoder(ContentType contentType) {
+    if (contentType.attributes().containsKey(ContentTypes.CHARSET_ATTR)) {
+      return factory.encoder(type, contentType);
+    }
+    var encoder = encoders.get(contentType.attributes().isEmpty() ? contentType : contentType.withoutAttributes());
+    return encoder.isDefined() || complete ? encoder : factory.encoder(type, contentType);
+  }
+
+  /**
+   * Returns the encoder for the first matching content type, usually a
+   * list sorted by quality as returned by {@link
+   * ContentTypes#parseContentTypeListQ(String)}.
+   */
+  public Option<ObjectEncoder<T>> negotiate(Seq<ContentType> accepted) {
+    for (var ct : accepted) {
+      var encoder = encoder(ct);
+      if (encoder.isDefined()) {
+        return encoder;
+      }
+    }
+    return none();
+  }
+}
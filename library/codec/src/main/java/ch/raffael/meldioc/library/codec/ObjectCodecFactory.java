@@ -22,6 +22,8 @@
 
 package ch.raffael.meldioc.library.codec;
 
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
 import io.vavr.control.Option;
 
 import static io.vavr.control.Option.none;
@@ -53,4 +55,14 @@ public interface ObjectCodecFactory {
   boolean canEncodeAs(ContentType contentType);
   boolean canDecode(ContentType contentType);
   boolean canDecodeAs(Class<?> type);
+
+  /**
+   * The content types (without attributes) supported by this factory. This
+   * is used to precompute the content negotiation, see {@link EncoderTable}
+   * and {@link DecoderTable}. An empty sequence means unknown, content
+   * negotiation will then always consult the factory.
+   */
+  default Seq<ContentType> supportedContentTypes() {
+    return List.empty();
+  }
 }
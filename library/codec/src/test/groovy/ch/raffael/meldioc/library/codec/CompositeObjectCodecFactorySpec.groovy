@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec
+
+import io.vavr.collection.List
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+import static io.vavr.control.Option.none
+
+class CompositeObjectCodecFactorySpec extends Specification {
+
+  def json1 = new FixedCodecFactory('json1', List.of(ContentTypes.JSON))
+  def json2 = new FixedCodecFactory('json2', List.of(ContentTypes.JSON, ContentTypes.NDJSON), List.of(String, Integer))
+  def xml = new FixedCodecFactory('xml', List.of(ContentTypes.XML))
+  def composite = CompositeObjectCodecFactory.of(json1, json2, xml)
+
+  def "The first factory supporting the type and content type wins"() {
+    expect:
+    composite.encoder(String, ContentTypes.JSON).get().is json1.codec
+    composite.encoder(String, ContentTypes.NDJSON).get().is json2.codec
+    composite.encoder(String, ContentTypes.XML).get().is xml.codec
+    composite.decoder(ContentTypes.JSON, String).get().is json1.codec
+    composite.decoder(ContentTypes.XML, String).get().is xml.codec
+
+    and: "Without content type, the first factory supporting the type wins"
+    composite.encoder(String).get().is json1.codec
+    composite.decoder(String).get().is json1.codec
+  }
+
+  def "Factories not supporting the type are skipped"() {
+    expect:
+    composite.encoder(Integer, ContentTypes.JSON).get().is json2.codec
+    composite.decoder(ContentTypes.JSON, Integer).get().is json2.codec
+    composite.encoder(Integer).get().is json2.codec
+    composite.canEncode(Integer)
+    !composite.canEncode(Long)
+  }
+
+  def "Unsupported content types or types yield no codec"() {
+    expect:
+    composite.encoder(String, ContentTypes.PLAIN_TEXT) == none()
+    composite.decoder(ContentTypes.PLAIN_TEXT, String) == none()
+    composite.encoder(Integer, ContentTypes.XML) == none()
+    composite.encoder(Long) == none()
+    !composite.canEncodeAs(ContentTypes.PLAIN_TEXT)
+    !composite.canDecode(ContentTypes.PLAIN_TEXT)
+  }
+
+  def "The supported content types are the distinct union of all factories' content types without attributes"() {
+    given:
+    def charsetJson = new FixedCodecFactory('charsetJson', List.of(ContentTypes.JSON.addCharsetAttribute(StandardCharsets.UTF_8)))
+
+    expect:
+    CompositeObjectCodecFactory.of(json1, charsetJson, json2, xml).supportedContentTypes() ==
+        List.of(ContentTypes.JSON, ContentTypes.NDJSON, ContentTypes.XML)
+  }
+
+  def "The supported content types are unknown if any factory doesn't know its content types"() {
+    given:
+    def unknown = new FixedCodecFactory('unknown', List.of(ContentTypes.XML), List.of(String), false)
+
+    expect:
+    CompositeObjectCodecFactory.of(json1, unknown).supportedContentTypes().isEmpty()
+    CompositeObjectCodecFactory.of(json1, unknown).encoder(String, ContentTypes.XML).get().is unknown.codec
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec
+
+import io.vavr.collection.List
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+import static io.vavr.control.Option.none
+import static io.vavr.control.Option.some
+
+class DecoderTableSpec extends Specification {
+
+  def json = new FixedCodecFactory('json', List.of(ContentTypes.JSON))
+  def xml = new FixedCodecFactory('xml', List.of(ContentTypes.XML))
+  def composite = CompositeObjectCodecFactory.of(json, xml)
+
+  def "Decoders for the supported content types are looked up once"() {
+    given:
+    def table = DecoderTable.of(composite, String)
+    json.lookups = 0
+    xml.lookups = 0
+
+    expect:
+    table.decoder(ContentTypes.JSON).get().is json.codec
+    table.decoder(some(ContentTypes.XML)).get().is xml.codec
+    json.lookups == 0
+    xml.lookups == 0
+  }
+
+  def "Without content type, the default decoder is used"() {
+    expect:
+    DecoderTable.of(composite, String).decoder(none()).get().is json.codec
+  }
+
+  def "Unsupported content types yield no decoder"() {
+    given:
+    def table = DecoderTable.of(composite, String)
+
+    expect:
+    table.decoder(ContentTypes.PLAIN_TEXT) == none()
+    table.decoder(ContentTypes.PLAIN_TEXT.addCharsetAttribute(StandardCharsets.UTF_8)) == none()
+  }
+
+  def "Content types with a charset are delegated to the factory"() {
+    given:
+    def table = DecoderTable.of(composite, String)
+    json.lookups = 0
+
+    expect:
+    table.decoder(ContentTypes.JSON.addCharsetAttribute(StandardCharsets.UTF_8)).get().is json.codec
+    json.lookups == 1
+  }
+}
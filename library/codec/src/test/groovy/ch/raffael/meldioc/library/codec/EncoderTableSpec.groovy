@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec
+
+import io.vavr.collection.List
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+
+import static io.vavr.control.Option.none
+
+class EncoderTableSpec extends Specification {
+
+  def json = new FixedCodecFactory('json', List.of(ContentTypes.JSON))
+  def xml = new FixedCodecFactory('xml', List.of(ContentTypes.XML))
+  def composite = CompositeObjectCodecFactory.of(json, xml)
+
+  def "Encoders for the supported content types are looked up once"() {
+    given:
+    def table = EncoderTable.of(composite, String)
+    json.lookups = 0
+    xml.lookups = 0
+
+    expect:
+    table.encoder(ContentTypes.JSON).get().is json.codec
+    table.encoder(ContentTypes.XML).get().is xml.codec
+    table.defaultEncoder().get().is json.codec
+    json.lookups == 0
+    xml.lookups == 0
+  }
+
+  def "Unsupported content types yield no encoder without consulting the factory"() {
+    given:
+    def table = EncoderTable.of(composite, String)
+    json.lookups = 0
+
+    expect:
+    table.encoder(ContentTypes.PLAIN_TEXT) == none()
+    json.lookups == 0
+  }
+
+  def "Content types with a charset are delegated to the factory"() {
+    given:
+    def table = EncoderTable.of(composite, String)
+    xml.lookups = 0
+
+    expect:
+    table.encoder(ContentTypes.XML.addCharsetAttribute(StandardCharsets.UTF_8)).get().is xml.codec
+    xml.lookups == 1
+  }
+
+  def "All content types are delegated to the factory if it doesn't know its content types"() {
+    given:
+    def unknown = new FixedCodecFactory('unknown', List.of(ContentTypes.JSON), List.of(String), false)
+    def table = EncoderTable.of(unknown, String)
+    unknown.lookups = 0
+
+    expect:
+    table.encoder(ContentTypes.JSON).get().is unknown.codec
+    table.encoder(ContentTypes.PLAIN_TEXT) == none()
+    unknown.lookups == 2
+  }
+
+  def "Negotiation returns the encoder of the first supported content type"() {
+    given:
+    def table = EncoderTable.of(composite, String)
+
+    expect:
+    table.negotiate(List.of(ContentTypes.PLAIN_TEXT, ContentTypes.XML, ContentTypes.JSON)).get().is xml.codec
+    table.negotiate(ContentTypes.parseContentTypeListQ('application/json;q=0.5, application/xml')).get().is xml.codec
+  }
+
+  def "Negotiation yields no encoder if no accepted content type is supported"() {
+    expect:
+    EncoderTable.of(composite, String).negotiate(List.of(ContentTypes.PLAIN_TEXT, ContentTypes.HTML)) == none()
+  }
+}
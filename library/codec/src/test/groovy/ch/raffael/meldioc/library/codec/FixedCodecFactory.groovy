@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.codec
+
+import io.vavr.collection.List
+import io.vavr.collection.Seq
+import io.vavr.control.Option
+
+import static io.vavr.control.Option.none
+import static io.vavr.control.Option.some
+
+/**
+ * A factory supporting fixed types and content types, returning the same
+ * codec for all of them. Counts the encoder/decoder lookups.
+ */
+class FixedCodecFactory implements ObjectCodecFactory {
+
+  final String name
+  final Seq<ContentType> contentTypes
+  final Seq<Class<?>> types
+  final boolean knownContentTypes
+  final ObjectCodec<?> codec = [:] as ObjectCodec
+  int lookups = 0
+
+  FixedCodecFactory(String name, List<ContentType> contentTypes, List<Class<?>> types = List.of(String),
+                    boolean knownContentTypes = true) {
+    this.name = name
+    this.contentTypes = contentTypes
+    this.types = types
+    this.knownContentTypes = knownContentTypes
+  }
+
+  @Override
+  <T> Option<ObjectEncoder<T>> encoder(Class<T> type, Option<ContentType> contentType) {
+    lookups++
+    canEncode(type) && (contentType.empty || canEncodeAs(contentType.get())) ? some(codec as ObjectEncoder<T>) : none()
+  }
+
+  @Override
+  <T> Option<ObjectDecoder<T>> decoder(Option<ContentType> contentType, Class<T> type) {
+    lookups++
+    canDecodeAs(type) && (contentType.empty || canDecode(contentType.get())) ? some(codec as ObjectDecoder<T>) : none()
+  }
+
+  @Override
+  boolean canEncode(Class<?> type) {
+    types.contains(type)
+  }
+
+  @Override
+  boolean canEncodeAs(ContentType contentType) {
+    contentTypes.toJavaList().any {it.equalsTypeOnly(contentType)}
+  }
+
+  @Override
+  boolean canDecode(ContentType contentType) {
+    canEncodeAs(contentType)
+  }
+
+  @Override
+  boolean canDecodeAs(Class<?> type) {
+    canEncode(type)
+  }
+
+  @Override
+  Seq<ContentType> supportedContentTypes() {
+    knownContentTypes ? contentTypes : List.empty()
+  }
+
+  @Override
+  String toString() {
+    "FixedCodecFactory[$name]"
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow;
+
+import ch.raffael.meldioc.logging.Logging;
+import io.undertow.Undertow;
+import io.undertow.server.HttpHandler;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.server.handlers.GracefulShutdownHandler;
+import io.undertow.util.Headers;
+import io.undertow.util.StatusCodes;
+import org.slf4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Graceful connection draining for an Undertow server, built on Undertow's
+ * {@link GracefulShutdownHandler}.
+ *
+ * <p>On {@link #drain()}, the listeners are suspended so no new connections
+ * are accepted, new requests on existing keep-alive connections are
+ * answered with 503 and {@code Connection: close}, and in-flight requests
+ * are given until the drain timeout to complete.
+ *
+ * @see UndertowConfig#gracefulShutdown(GracefulShutdown)
+ */
+public final class GracefulShutdown implements GracefulShutdownMXBean {
+
+  private static final Logger LOG = Logging.logger();
+
+  private final Duration drainTimeout;
+  private final AtomicReference<State> state = new AtomicReference<>(State.ACCEPTING);
+  private final LongAdder activeRequests = new LongAdder();
+  private final LongAdder rejectedRequests = new LongAdder();
+  private volatile GracefulShutdownHandler handler;
+  private volatile Undertow undertow;
+  private volatile long deadline;
+  private volatile boolean mbeanRegistered = false;
+
+  public GracefulShutdown(Duration drainTimeout) {
+    if (drainTimeout.isNegative()) {
+      throw new IllegalArgumentException("Negative drain timeout: " + drainTimeout);
+    }
+    this.drainTimeout = drainTimeout;
+  }
+
+  HttpHandler wrap(HttpHandler next) {
+    var handler = new GracefulShutdownHandler(next);
+    this.handler = handler;
+    return exchange -> {
+      if (state.get() != State.ACCEPTING) {
+        reject(exchange);
+      } else {
+        activeRequests.increment();
+        exchange.addExchangeCompleteListener((ex, nextListener) -> {
+          activeRequests.decrement();
+          nextListener.proceed();
+        });
+        handler.handleRequest(exchange);
+      }
+    };
+  }
+
+  void attach(Undertow undertow) {
+    this.undertow = undertow;
+  }
+
+  private void reject(HttpServerExchange exchange) {
+    rejectedRequests.increment();
+    exchange.setPersistent(false);
+    exchange.setStatusCode(StatusCodes.SERVICE_UNAVAILABLE);
+    exchange.getResponseHeaders().put(Headers.CONNECTION, "close");
+    exchange.endExchange();
+  }
+
+  /**
+   * Stop accepting connections and requests and wait for the in-flight
+   * requests to complete until the drain timeout.
+   *
+   * @return {@code true}, if all in-flight requests completed in time.
+   */
+  public boolean drain() throws InterruptedException {
+    if (!state.compareAndSet(State.ACCEPTING, State.DRAINING)) {
+      return state.get() == State.DRAINED;
+    }
+    deadline = System.nanoTime() + drainTimeout.toNanos();
+    var undertow = this.undertow;
+    if (undertow != null) {
+      undertow.getListenerInfo().forEach(Undertow.ListenerInfo::suspend);
+    }
+    var handler = this.handler;
+    if (handler == null) {
+      state.set(State.DRAINED);
+      return true;
+    }
+    LOG.info("Draining {} in-flight requests, timeout {}", activeRequests.sum(), drainTimeout);
+    handler.shutdown();
+    boolean drained = false;
+    try {
+      drained = handler.awaitShutdown(drainTimeout.toMillis());
+    } finally {
+      state.set(drained ? State.DRAINED : State.TIMED_OUT);
+    }
+    if (drained) {
+      LOG.info("All in-flight requests completed");
+    } else {
+      LOG.warn("Drain timeout {} expired with {} requests still in flight", drainTimeout, activeRequests.sum());
+    }
+    return drained;
+  }
+
+  public State state() {
+    return state.get();
+  }
+
+  public Duration drainTimeout() {
+    return drainTimeout;
+  }
+
+  @Override
+  public String getState() {
+    return state().name();
+  }
+
+  @Override
+  public long getActiveRequests() {
+    return activeRequests.sum();
+  }
+
+  @Override
+  public long getRejectedRequests() {
+    return rejectedRequests.sum();
+  }
+
+  @Override
+  public long getDrainTimeoutMillis() {
+    return drainTimeout.toMillis();
+  }
+
+  @Override
+  public long getRemainingMillis() {
+    if (state.get() != State.DRAINING) {
+      return -1;
+    }
+    return Math.max(0, Duration.ofNanos(deadline - System.nanoTime()).toMillis());
+  }
+
+  /**
+   * Register this as {@link GracefulShutdownMXBean} with the platform MBean
+   * server, unless another one is already registered.
+   *
+   * @return {@code true}, if registered.
+   */
+  public boolean registerMBean() {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        return false;
+      }
+      server.registerMBean(new StandardMBean(this, GracefulShutdownMXBean.class, true), name);
+      mbeanRegistered = true;
+      return true;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+    }
+  }
+
+  public void unregisterMBean() {
+    if (!mbeanRegistered) {
+      return;
+    }
+    mbeanRegistered = false;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      LOG.warn("Cannot unregister {}", OBJECT_NAME, e);
+    }
+  }
+
+  public enum State {
+    ACCEPTING, DRAINING, DRAINED, TIMED_OUT
+  }
+}
@@ -26,9 +26,11 @@ import ch.raffael.meldioc.ExtensionPoint;
 import ch.raffael.meldioc.library.http.server.undertow.handler.AdvisedDispatchHandler;
 import ch.raffael.meldioc.library.http.server.undertow.handler.DispatchToWorkerHandler;
 import ch.raffael.meldioc.library.http.server.undertow.handler.ErrorMessageHandler;
+import ch.raffael.meldioc.library.http.server.undertow.handler.RouteTimeouts;
 import ch.raffael.meldioc.library.http.server.undertow.routing.RoutingDefinition;
 import ch.raffael.meldioc.library.http.server.undertow.routing.RoutingDefinitions;
 import ch.raffael.meldioc.util.advice.AroundAdvice;
+import ch.raffael.meldioc.util.advice.ContextPropagation;
 import io.undertow.Undertow;
 import io.undertow.security.api.AuthenticationMechanism;
 import io.undertow.security.api.AuthenticationMode;
@@ -77,6 +79,9 @@ public final class UndertowConfig {
   private Seq<Consumer<? super Undertow>> postConstruct = List.empty();
   private Seq<Consumer<? super Undertow>> postStart = List.empty();
   private Option<? extends Supplier<? extends AroundAdvice>> dispatchAdvice = none();
+  private Option<GracefulShutdown> gracefulShutdown = none();
+  private volatile Option<RouteTimeouts> routeTimeouts = none();
+  private Supplier<ContextPropagation> contextPropagation = ContextPropagation::none;
 
   public static Handle create(Supplier<? extends Undertow.Builder> undertowBuilderSupplier) {
     return new Handle(new UndertowConfig(), undertowBuilderSupplier);
@@ -127,6 +132,15 @@ public final class UndertowConfig {
     return this;
   }
 
+  /**
+   * Propagate context from the I/O thread to the worker when dispatching.
+   * The supplier is called when the server is built.
+   */
+  public UndertowConfig contextPropagation(Supplier<ContextPropagation> contextPropagation) {
+    this.contextPropagation = contextPropagation;
+    return this;
+  }
+
   public SecurityBuilder security(IdentityManager identityManager) {
     return new SecurityBuilder(this, identityManager);
   }
@@ -154,7 +168,19 @@ public final class UndertowConfig {
   }
 
   public UndertowConfig routing(Supplier<? extends RoutingDefinition> routing) {
-    return customMainHandler(() -> RoutingDefinitions.materialize(routing.get()));
+    return customMainHandler(() -> {
+      var definition = routing.get();
+      routeTimeouts = some(definition.routeTimeouts());
+      return RoutingDefinitions.materialize(definition);
+    });
+  }
+
+  /**
+   * The expiry counters of the routing's endpoints with a timeout,
+   * available after the routing has been materialized.
+   */
+  public Option<RouteTimeouts> routeTimeouts() {
+    return routeTimeouts;
   }
 
   public UndertowConfig disableCompression() {
@@ -219,6 +245,15 @@ public final class UndertowConfig {
     return this;
   }
 
+  /**
+   * Drain connections gracefully on {@link GracefulShutdown#drain()}. The
+   * graceful shutdown handler is always the outermost handler.
+   */
+  public UndertowConfig gracefulShutdown(GracefulShutdown gracefulShutdown) {
+    this.gracefulShutdown = some(gracefulShutdown);
+    return this;
+  }
+
   public UndertowConfig postConstruct(Consumer<? super Undertow> consumer) {
     postConstruct = postConstruct.append(consumer);
     return this;
@@ -307,14 +342,16 @@ public final class UndertowConfig {
       }
       var builder = undertowBuilderSupplier.get();
       config.listeners.forEach(l -> l.accept(builder));
-      HttpHandler handler = config.handlerChain.foldRight((HttpHandler) config.mainHandler.get(),
-          Function::apply);
-      builder.setHandler(AdvisedDispatchHandler.prepend(handler, config.dispatchAdvice));
+      HttpHandler handler = AdvisedDispatchHandler.prepend(
+          config.handlerChain.foldRight((HttpHandler) config.mainHandler.get(), Function::apply),
+          config.dispatchAdvice, config.contextPropagation.get());
+      builder.setHandler(config.gracefulShutdown.map(g -> g.wrap(handler)).getOrElse(handler));
       return builder;
     }
 
     public Undertow build(Undertow.Builder builder) {
       var undertow = builder.build();
+      config.gracefulShutdown.forEach(g -> g.attach(undertow));
       config.postConstruct.forEach(h -> h.accept(undertow));
       return undertow;
     }
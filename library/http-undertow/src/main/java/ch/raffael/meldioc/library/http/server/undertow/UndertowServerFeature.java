@@ -27,6 +27,7 @@ import ch.raffael.meldioc.Feature;
 import ch.raffael.meldioc.Feature.DependsOn;
 import ch.raffael.meldioc.Parameter;
 import ch.raffael.meldioc.Provision;
+import ch.raffael.meldioc.library.base.jmx.registry.MBeanRegistryFeature;
 import ch.raffael.meldioc.library.base.lifecycle.ShutdownFeature;
 import ch.raffael.meldioc.library.base.threading.DefaultWorkExecutorProvider;
 import ch.raffael.meldioc.library.base.threading.TaskAdviceFeature;
@@ -39,6 +40,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import io.undertow.Undertow;
 import io.undertow.UndertowOptions;
+import io.vavr.control.Option;
 import org.slf4j.Logger;
 import org.xnio.Options;
 import org.xnio.Xnio;
@@ -49,6 +51,9 @@ import java.time.Duration;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
 /**
  * Default Undertow server.
  */
@@ -65,6 +70,7 @@ public abstract class UndertowServerFeature {
   protected final Object startStopLock = new Object();
   private final Disposer workerDisposer = new Disposer(startStopLock);
   private final Disposer undertowDisposer = new Disposer(startStopLock);
+  private volatile Option<GracefulShutdown> gracefulShutdown = none();
 
   public void start() {
     undertowServer();
@@ -81,6 +87,30 @@ public abstract class UndertowServerFeature {
     }
   }
 
+  /**
+   * Drain in-flight requests if {@link #gracefulShutdown() graceful
+   * shutdown} is enabled, then stop everything.
+   */
+  public void drainAndStopAll() throws InterruptedException {
+    try {
+      drain();
+    } finally {
+      stopAll();
+    }
+  }
+
+  /**
+   * Stop accepting connections and requests and wait for in-flight
+   * requests until the {@link #drainTimeout() drain timeout}. Does
+   * nothing if graceful shutdown is disabled.
+   */
+  public void drain() throws InterruptedException {
+    var gracefulShutdown = this.gracefulShutdown;
+    if (gracefulShutdown.isDefined()) {
+      gracefulShutdown.get().drain();
+    }
+  }
+
   public void stopWorker() {
     workerDisposer.dispose();
   }
@@ -129,6 +159,16 @@ public abstract class UndertowServerFeature {
     return ConfigFactory.empty();
   }
 
+  @Parameter
+  protected boolean gracefulShutdown() {
+    return false;
+  }
+
+  @Parameter
+  protected Duration drainTimeout() {
+    return Duration.ofSeconds(30);
+  }
+
   @ExtensionPoint
   protected UndertowConfig undertowConfiguration() {
     var config = undertowConfig.config();
@@ -142,6 +182,21 @@ public abstract class UndertowServerFeature {
       u.stop();
     }));
     config.postStart(u -> LOG.info("Undertow started: {}", u.getListenerInfo()));
+    config.postStart(u -> config.routeTimeouts().filter(t -> !t.isEmpty()).forEach(t -> {
+      if (t.registerMBean()) {
+        undertowDisposer.onDispose(t::unregisterMBean);
+      }
+    }));
+    if (gracefulShutdown()) {
+      var drain = new GracefulShutdown(drainTimeout());
+      gracefulShutdown = some(drain);
+      config.gracefulShutdown(drain);
+      config.postStart(u -> {
+        if (drain.registerMBean()) {
+          undertowDisposer.onDispose(drain::unregisterMBean);
+        }
+      });
+    }
   }
 
   @Provision(singleton = true)
@@ -201,7 +256,7 @@ public abstract class UndertowServerFeature {
     @Provision(singleton = true)
     @Override
     protected XnioWorker xnioWorker() {
-      shutdownController().onPrepare(this::stopAll);
+      shutdownController().onPrepare(this::drainAndStopAll);
       return super.xnioWorker();
     }
   }
@@ -210,7 +265,7 @@ public abstract class UndertowServerFeature {
   public static abstract class WithSharedWorkers extends UndertowServerFeature
       implements WorkExecutorFeature, TaskAdviceFeature {
 
-    private final DefaultWorkExecutorProvider workExecutorProvider = new DefaultWorkExecutorProvider(this::xnioWorker);
+    protected final DefaultWorkExecutorProvider workExecutorProvider = new DefaultWorkExecutorProvider(this::xnioWorker);
 
     @Provision(singleton = true)
     @Override
@@ -236,6 +291,7 @@ public abstract class UndertowServerFeature {
     protected void preConfigure(UndertowConfig config) {
       super.preConfigure(config);
       config.dispatchAdvice(this::taskAdvice);
+      config.contextPropagation(workExecutorProvider::contextPropagation);
     }
   }
 
@@ -247,8 +303,42 @@ public abstract class UndertowServerFeature {
     @Override
     protected XnioWorker xnioWorker() {
       shutdownController().onFinalize(this::stopWorker);
-      shutdownController().onPrepare(this::stopUndertow);
+      shutdownController().onPrepare(() -> {
+        try {
+          drain();
+        } finally {
+          stopUndertow();
+        }
+      });
       return super.xnioWorker();
     }
   }
+
+  /**
+   * Shared workers that register the queue wait and run time of the tasks
+   * submitted to the work executor with the MBean registry. Undertow's
+   * own dispatches go to the XNIO worker directly and aren't covered,
+   * XNIO's MBeans report on those.
+   */
+  @Feature
+  public static abstract class WithSharedWorkersAndMBean extends WithSharedWorkersAndShutdown
+      implements @DependsOn MBeanRegistryFeature
+  {
+    protected WithSharedWorkersAndMBean() {
+      workExecutorProvider.withInstrumentation();
+    }
+
+    @Provision(singleton = true)
+    @Override
+    public ExecutorService workExecutor() {
+      var executor = super.workExecutor();
+      workExecutorProvider.instrumentation().forEach(
+          i -> WorkExecutorFeature.Util.registerInstrumentation(this, mbeanName(), i));
+      return executor;
+    }
+
+    protected String mbeanName() {
+      return "xnio-workers";
+    }
+  }
 }
@@ -24,8 +24,9 @@ package ch.raffael.meldioc.library.http.server.undertow.codec;
 
 import ch.raffael.meldioc.library.codec.ContentType;
 import ch.raffael.meldioc.library.codec.ContentTypes;
+import ch.raffael.meldioc.library.codec.DecoderTable;
+import ch.raffael.meldioc.library.codec.EncoderTable;
 import ch.raffael.meldioc.library.codec.ObjectCodecFactory;
-import ch.raffael.meldioc.library.codec.ObjectEncoder;
 import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatusException;
 import io.undertow.util.Headers;
 import io.vavr.Tuple2;
@@ -46,6 +47,23 @@ public interface HttpObjectCodecFactory {
 
   <T> Option<HttpEncoder<? super T>> encoder(Class<T> type);
 
+  /**
+   * Returns an encoder that writes a sequence of elements incrementally in
+   * the given format. The default implementation doesn't support streaming.
+   */
+  default <T> Option<StreamingEncoder<T>> streamingEncoder(Class<T> elementType, StreamFormat format) {
+    return none();
+  }
+
+  /**
+   * Returns a decoder that reads a sequence of elements incrementally. If
+   * no format is given, it will be determined by the request's content
+   * type. The default implementation doesn't support streaming.
+   */
+  default <T> Option<StreamingDecoder<T>> streamingDecoder(Class<T> elementType, Option<StreamFormat> format) {
+    return none();
+  }
+
   static HttpObjectCodecFactory wrapBuffered(ObjectCodecFactory factory) {
     return new Adapter(factory);
   }
@@ -60,13 +78,12 @@ public interface HttpObjectCodecFactory {
     @Override
     public <T> Option<HttpEncoder<? super T>> encoder(Class<T> type) {
       if (factory.canEncode(type)) {
+        var table = EncoderTable.of(factory, type);
         return some((exchange, value) -> {
-          var encoder = Option.of(exchange.getRequestHeaders().getFirst(Headers.ACCEPT))
-              .filter(s -> !s.isBlank())
-              .map(ContentTypes::parseContentTypeListQ)
-              .<ObjectEncoder<T>>flatMap(ctl -> ctl.foldLeft(none(),
-                  (cur, ct) -> cur.orElse(() -> factory.encoder(type, ct))))
-              .orElse(() -> factory.encoder(type))
+          var accept = exchange.getRequestHeaders().getFirst(Headers.ACCEPT);
+          var encoder = (accept == null || accept.isBlank()
+                         ? table.defaultEncoder()
+                         : table.negotiate(ContentTypes.parseContentTypeListQ(accept)).orElse(table::defaultEncoder))
               .getOrElseThrow(() -> new IllegalStateException("No encoder returned"));
           Tuple2<byte[], ContentType> encoded;
           try {
@@ -83,11 +100,32 @@ public interface HttpObjectCodecFactory {
       }
     }
 
+    @Override
+    public <T> Option<StreamingEncoder<T>> streamingEncoder(Class<T> elementType, StreamFormat format) {
+      if (factory.canEncode(elementType)) {
+        return factory.encoder(elementType, format.elementContentType())
+            .map(e -> new StreamingEncoder<>(format, e));
+      } else {
+        return none();
+      }
+    }
+
+    @Override
+    public <T> Option<StreamingDecoder<T>> streamingDecoder(Class<T> elementType, Option<StreamFormat> format) {
+      if (factory.canDecodeAs(elementType)) {
+        return factory.decoder(ContentTypes.JSON, elementType)
+            .map(d -> new StreamingDecoder<>(format, d));
+      } else {
+        return none();
+      }
+    }
+
     @Override
     public <T> Option<HttpDecoder<? extends T>> decoder(Class<T> type) {
       if (factory.canDecodeAs(type)) {
+        var table = DecoderTable.of(factory, type);
         return some((exchange, consumer) -> exchange.getRequestReceiver().receiveFullBytes((ex, bytes) -> {
-          var decoder = factory.decoder(HttpContentTypes.contentType(exchange), type);
+          var decoder = table.decoder(HttpContentTypes.contentType(exchange));
           if (decoder.isDefined()) {
             try {
               consumer.accept(exchange, decoder.get().decode(bytes));
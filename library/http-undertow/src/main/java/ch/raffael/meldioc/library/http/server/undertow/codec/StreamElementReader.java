@@ -0,0 +1,226 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.codec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Splits an input stream into the raw bytes of the individual elements of a
+ * {@link StreamFormat}. This is not a full JSON parser, it only tracks
+ * strings and nesting depth to find the element boundaries, the actual
+ * parsing is left to the element decoder. Only one element at a time is
+ * held in memory, the element buffer is reused.
+ */
+abstract class StreamElementReader {
+
+  private static final int EOF = -1;
+
+  private final InputStream input;
+  private final byte[] readBuffer = new byte[8192];
+  private int readPos = 0;
+  private int readLimit = 0;
+
+  private byte[] element = new byte[1024];
+  private int elementLength = 0;
+
+  StreamElementReader(InputStream input) {
+    this.input = input;
+  }
+
+  static StreamElementReader of(StreamFormat format, InputStream input) {
+    switch (format) {
+      case JSON_ARRAY:
+        return new JsonArray(input);
+      case NDJSON:
+        return new NdJson(input);
+      default:
+        throw new IllegalArgumentException("Unknown stream format: " + format);
+    }
+  }
+
+  /**
+   * Read the next element.
+   *
+   * @return {@code true}, if an element has been read, {@code false} on
+   *         end of stream.
+   */
+  abstract boolean next() throws IOException, InvalidStreamException;
+
+  /**
+   * Returns the current element's data, valid until the next call to
+   * {@link #next()}.
+   */
+  InputStream element() {
+    return new ByteArrayInputStream(element, 0, elementLength);
+  }
+
+  int read() throws IOException {
+    if (readPos >= readLimit) {
+      readLimit = input.read(readBuffer);
+      readPos = 0;
+      if (readLimit <= 0) {
+        readLimit = 0;
+        return EOF;
+      }
+    }
+    return readBuffer[readPos++] & 0xff;
+  }
+
+  int readNonWhitespace() throws IOException {
+    int c;
+    do {
+      c = read();
+    } while (isWhitespace(c));
+    return c;
+  }
+
+  void resetElement() {
+    elementLength = 0;
+  }
+
+  void append(int c) {
+    if (elementLength == element.length) {
+      element = Arrays.copyOf(element, element.length * 2);
+    }
+    element[elementLength++] = (byte) c;
+  }
+
+  int elementLength() {
+    return elementLength;
+  }
+
+  static boolean isWhitespace(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\r';
+  }
+
+  static final class NdJson extends StreamElementReader {
+    NdJson(InputStream input) {
+      super(input);
+    }
+
+    @Override
+    boolean next() throws IOException {
+      resetElement();
+      boolean blank = true;
+      while (true) {
+        int c = read();
+        if (c == EOF || c == '\n') {
+          if (!blank) {
+            return true;
+          } else if (c == EOF) {
+            return false;
+          } else {
+            resetElement();
+          }
+        } else {
+          blank &= isWhitespace(c);
+          append(c);
+        }
+      }
+    }
+  }
+
+  static final class JsonArray extends StreamElementReader {
+    private boolean started = false;
+    private boolean done = false;
+
+    JsonArray(InputStream input) {
+      super(input);
+    }
+
+    @Override
+    boolean next() throws IOException, InvalidStreamException {
+      if (done) {
+        return false;
+      }
+      resetElement();
+      int c = readNonWhitespace();
+      if (!started) {
+        if (c != '[') {
+          throw new InvalidStreamException("Expected '['");
+        }
+        started = true;
+        c = readNonWhitespace();
+        if (c == ']') {
+          return finish();
+        }
+      }
+      int depth = 0;
+      boolean inString = false;
+      boolean escape = false;
+      while (true) {
+        if (c == EOF) {
+          throw new InvalidStreamException("Unexpected end of stream");
+        }
+        if (inString) {
+          append(c);
+          if (escape) {
+            escape = false;
+          } else if (c == '\\') {
+            escape = true;
+          } else if (c == '"') {
+            inString = false;
+          }
+        } else {
+          if (depth == 0 && (c == ',' || c == ']')) {
+            if (elementLength() == 0) {
+              throw new InvalidStreamException("Empty array element");
+            }
+            if (c == ']') {
+              finish();
+            }
+            return true;
+          }
+          append(c);
+          if (c == '"') {
+            inString = true;
+          } else if (c == '{' || c == '[') {
+            depth++;
+          } else if (c == '}' || c == ']') {
+            if (--depth < 0) {
+              throw new InvalidStreamException("Unbalanced '" + (char) c + "'");
+            }
+          }
+        }
+        c = read();
+      }
+    }
+
+    private boolean finish() throws IOException, InvalidStreamException {
+      done = true;
+      if (readNonWhitespace() != EOF) {
+        throw new InvalidStreamException("Unexpected data after end of array");
+      }
+      return false;
+    }
+  }
+
+  static final class InvalidStreamException extends Exception {
+    InvalidStreamException(String message) {
+      super(message);
+    }
+  }
+}
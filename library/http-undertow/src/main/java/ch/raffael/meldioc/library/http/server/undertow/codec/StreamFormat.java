@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.codec;
+
+import ch.raffael.meldioc.library.codec.ContentType;
+import ch.raffael.meldioc.library.codec.ContentTypes;
+import io.vavr.collection.Array;
+import io.vavr.control.Option;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Formats for streaming a sequence of objects, see {@link StreamingEncoder}
+ * and {@link StreamingDecoder}.
+ */
+public enum StreamFormat {
+  /**
+   * A JSON array: {@code [e1,e2,...]}.
+   */
+  JSON_ARRAY(ContentTypes.JSON) {
+    @Override
+    void start(OutputStream out) throws IOException {
+      out.write('[');
+    }
+    @Override
+    void beforeElement(OutputStream out, boolean first) throws IOException {
+      if (!first) {
+        out.write(',');
+      }
+    }
+    @Override
+    void end(OutputStream out) throws IOException {
+      out.write(']');
+    }
+  },
+  /**
+   * Newline delimited JSON, one element per line.
+   */
+  NDJSON(ContentTypes.NDJSON) {
+    @Override
+    void afterElement(OutputStream out) throws IOException {
+      out.write('\n');
+    }
+  };
+
+  private final ContentType contentType;
+
+  StreamFormat(ContentType contentType) {
+    this.contentType = contentType;
+  }
+
+  public ContentType contentType() {
+    return contentType;
+  }
+
+  /**
+   * Find the stream format matching the given content type.
+   */
+  public static Option<StreamFormat> of(ContentType contentType) {
+    return Array.of(values()).find(f -> f.contentType.equalsTypeOnly(contentType));
+  }
+
+  /**
+   * The content type to request from the object codec factory for the
+   * individual elements.
+   */
+  public ContentType elementContentType() {
+    return ContentTypes.JSON;
+  }
+
+  void start(OutputStream out) throws IOException {
+  }
+
+  void beforeElement(OutputStream out, boolean first) throws IOException {
+  }
+
+  void afterElement(OutputStream out) throws IOException {
+  }
+
+  void end(OutputStream out) throws IOException {
+  }
+}
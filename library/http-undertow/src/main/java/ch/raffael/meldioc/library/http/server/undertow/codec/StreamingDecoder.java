@@ -0,0 +1,134 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.codec;
+
+import ch.raffael.meldioc.library.codec.ObjectDecoder;
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatusException;
+import ch.raffael.meldioc.util.Exceptions;
+import io.undertow.server.HttpServerExchange;
+import io.vavr.control.Option;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Decodes a request body consisting of a sequence of objects (JSON array or
+ * NDJSON) incrementally. The consumer receives an iterator that reads and
+ * decodes the next element from the request on demand, so memory usage is
+ * bounded by the size of the largest element, not the size of the request.
+ *
+ * <p>The request is read using blocking IO, the consumer must therefore
+ * consume the iterator on the worker thread that received it. Errors
+ * reading or decoding the elements are thrown from the iterator as
+ * {@link HttpStatusException.Unchecked}, resulting in a 400 (invalid input)
+ * or 500 status.
+ *
+ * <p>If no format has been specified, it's determined by the request's
+ * content type, defaulting to JSON array.
+ */
+public class StreamingDecoder<T> implements HttpDecoder<Iterator<T>> {
+
+  private final Option<StreamFormat> format;
+  private final ObjectDecoder<? extends T> elementDecoder;
+
+  public StreamingDecoder(Option<StreamFormat> format, ObjectDecoder<? extends T> elementDecoder) {
+    this.format = format;
+    this.elementDecoder = elementDecoder;
+  }
+
+  @Override
+  public void decode(HttpServerExchange exchange, Consumer<? super Iterator<T>> consumer) throws Exception {
+    if (exchange.isInIoThread()) {
+      exchange.dispatch(() -> {
+        try {
+          decode(exchange, consumer);
+        } catch (Exception e) {
+          HttpStatusException.serverError(e).endRequest(exchange);
+        }
+      });
+      return;
+    }
+    var actualFormat = format
+        .orElse(() -> HttpContentTypes.contentType(exchange).flatMap(StreamFormat::of))
+        .getOrElse(StreamFormat.JSON_ARRAY);
+    exchange.startBlocking();
+    consumer.accept(exchange, new ElementIterator(StreamElementReader.of(actualFormat, exchange.getInputStream())));
+  }
+
+  private final class ElementIterator implements Iterator<T> {
+    private final StreamElementReader reader;
+    private boolean fetched = false;
+    private boolean end = false;
+    @Nullable
+    private T next;
+
+    private ElementIterator(StreamElementReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      fetch();
+      return !end;
+    }
+
+    @Override
+    public T next() {
+      fetch();
+      if (end) {
+        throw new NoSuchElementException();
+      }
+      fetched = false;
+      var current = next;
+      next = null;
+      return current;
+    }
+
+    private void fetch() {
+      if (fetched || end) {
+        return;
+      }
+      try {
+        if (reader.next()) {
+          next = elementDecoder.decode(reader.element());
+          fetched = true;
+        } else {
+          end = true;
+        }
+      } catch (IOException | StreamElementReader.InvalidStreamException e) {
+        end = true;
+        throw HttpStatusException.badRequest(e.toString(), e).unchecked();
+      } catch (Throwable e) {
+        Exceptions.rethrowIfFatal(e);
+        end = true;
+        if (elementDecoder.isInvalidInput(e)) {
+          throw HttpStatusException.badRequest(e.toString(), e).unchecked();
+        } else {
+          throw HttpStatusException.serverError(e.toString(), e).unchecked();
+        }
+      }
+    }
+  }
+}
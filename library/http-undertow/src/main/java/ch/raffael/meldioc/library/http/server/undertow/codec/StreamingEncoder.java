@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.codec;
+
+import ch.raffael.meldioc.library.codec.ObjectEncoder;
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatusException;
+import ch.raffael.meldioc.util.Exceptions;
+import io.undertow.io.UndertowOutputStream;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.Headers;
+import org.slf4j.Logger;
+import org.xnio.IoUtils;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import static ch.raffael.meldioc.logging.Logging.logger;
+
+/**
+ * Encodes a sequence of objects incrementally, element by element, as JSON
+ * array or as newline delimited JSON (NDJSON).
+ *
+ * <p>The response is written using blocking IO to the exchange's output
+ * stream without setting a content length, i.e. Undertow will use chunked
+ * transfer encoding. Blocking writes provide the backpressure: if the
+ * client doesn't keep up, the worker thread waits until the response
+ * channel is writable again. Only the internal buffer of the output stream
+ * is held in memory, the whole response is never materialised.
+ *
+ * <p>Errors that happen before the response has been started result in a
+ * regular server error. Once the response has been started, the status
+ * can't be changed anymore, the connection will be closed, leaving the
+ * client with a truncated response.
+ *
+ * <p>Note that NDJSON requires the element encoder to write each element
+ * on a single line, i.e. pretty printing must be turned off.
+ */
+public class StreamingEncoder<E> implements HttpEncoder<Iterable<? extends E>> {
+
+  private static final Logger LOG = logger();
+
+  private final StreamFormat format;
+  private final ObjectEncoder<? super E> elementEncoder;
+
+  public StreamingEncoder(StreamFormat format, ObjectEncoder<? super E> elementEncoder) {
+    this.format = format;
+    this.elementEncoder = elementEncoder;
+  }
+
+  public StreamFormat format() {
+    return format;
+  }
+
+  @Override
+  public void encode(HttpServerExchange exchange, Iterable<? extends E> value) {
+    encodeElements(exchange, value.iterator());
+  }
+
+  /**
+   * Returns an encoder that streams the elements of an iterator.
+   */
+  public HttpEncoder<Iterator<? extends E>> iterator() {
+    return this::encodeElements;
+  }
+
+  public void encodeElements(HttpServerExchange exchange, Iterator<? extends E> elements) {
+    if (exchange.isInIoThread()) {
+      exchange.dispatch(() -> encodeElements(exchange, elements));
+      return;
+    }
+    exchange.getResponseHeaders().put(Headers.CONTENT_TYPE, format.contentType().render());
+    exchange.startBlocking();
+    var out = new NonClosingOutputStream(exchange.getOutputStream());
+    try {
+      format.start(out);
+      boolean first = true;
+      while (elements.hasNext()) {
+        format.beforeElement(out, first);
+        first = false;
+        elementEncoder.encode(elements.next(), out);
+        format.afterElement(out);
+      }
+      format.end(out);
+      exchange.getOutputStream().close();
+    } catch (Throwable e) {
+      Exceptions.rethrowIfFatal(e);
+      if (!exchange.isResponseStarted()) {
+        // discard the partial response still in the buffer
+        if (exchange.getOutputStream() instanceof UndertowOutputStream) {
+          ((UndertowOutputStream) exchange.getOutputStream()).resetBuffer();
+        }
+        exchange.getResponseHeaders().remove(Headers.CONTENT_TYPE);
+        HttpStatusException.serverError("Error writing response: " + e, e).endRequest(exchange);
+      } else {
+        LOG.error("{} {}: Error writing streamed response, closing connection",
+            exchange.getRequestMethod(), exchange.getRequestURI(), e);
+        IoUtils.safeClose(exchange.getConnection());
+      }
+    }
+  }
+
+  /**
+   * Make sure element encoders don't close the response stream.
+   */
+  private static final class NonClosingOutputStream extends FilterOutputStream {
+    private NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -23,6 +23,7 @@
 package ch.raffael.meldioc.library.http.server.undertow.handler;
 
 import ch.raffael.meldioc.util.advice.AroundAdvice;
+import ch.raffael.meldioc.util.advice.ContextPropagation;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import io.undertow.util.AttachmentKey;
@@ -41,13 +42,22 @@ import static io.vavr.control.Option.some;
 public class AdvisedDispatchHandler implements HttpHandler {
 
   private static final AttachmentKey<AroundAdvice> DISPATCH_ADVICE = AttachmentKey.create(AroundAdvice.class);
+  private static final AttachmentKey<ContextPropagation> CONTEXT_PROPAGATION =
+      AttachmentKey.create(ContextPropagation.class);
 
   private final HttpHandler next;
   private final Supplier<? extends AroundAdvice> advice;
+  private final ContextPropagation contextPropagation;
 
   public AdvisedDispatchHandler(HttpHandler next, Supplier<? extends AroundAdvice> advice) {
+    this(next, advice, ContextPropagation.none());
+  }
+
+  public AdvisedDispatchHandler(HttpHandler next, Supplier<? extends AroundAdvice> advice,
+                                ContextPropagation contextPropagation) {
     this.advice = advice;
     this.next = next;
+    this.contextPropagation = contextPropagation;
   }
 
   public static HttpHandler prepend(HttpHandler next, Supplier<? extends AroundAdvice> advice) {
@@ -55,31 +65,53 @@ public class AdvisedDispatchHandler implements HttpHandler {
   }
 
   public static HttpHandler prepend(HttpHandler next, Option<? extends Supplier<? extends AroundAdvice>> advice) {
-    return advice.<HttpHandler>map(a -> new AdvisedDispatchHandler(next, a)).getOrElse(next);
+    return prepend(next, advice, ContextPropagation.none());
+  }
+
+  public static HttpHandler prepend(HttpHandler next, Option<? extends Supplier<? extends AroundAdvice>> advice,
+                                    ContextPropagation contextPropagation) {
+    if (advice.isEmpty() && contextPropagation.isEmpty()) {
+      return next;
+    }
+    Supplier<? extends AroundAdvice> adviceSupplier = advice.isDefined() ? advice.get() : AroundAdvice::nop;
+    return new AdvisedDispatchHandler(next, adviceSupplier, contextPropagation);
   }
 
   @Override
   public void handleRequest(HttpServerExchange exchange) throws Exception {
     var advice = this.advice.get();
     exchange.putAttachment(DISPATCH_ADVICE, advice);
+    if (!contextPropagation.isEmpty()) {
+      exchange.putAttachment(CONTEXT_PROPAGATION, contextPropagation);
+    }
     exchange.setDispatchExecutor(standardExecutor(exchange));
     next.handleRequest(exchange);
   }
 
   public static Executor standardExecutor(HttpServerExchange exchange) {
-    return advise(exchange, exchange.getAttachment(DISPATCH_ADVICE), null);
+    return advise(exchange, exchange.getAttachment(DISPATCH_ADVICE),
+        exchange.getAttachment(CONTEXT_PROPAGATION), null);
   }
 
   public static Executor advise(HttpServerExchange exchange, Executor executor) {
-    return advise(exchange, exchange.getAttachment(DISPATCH_ADVICE), executor);
+    return advise(exchange, exchange.getAttachment(DISPATCH_ADVICE),
+        exchange.getAttachment(CONTEXT_PROPAGATION), executor);
   }
 
+  /**
+   * The context is captured when a task is passed to the executor (usually
+   * in the I/O thread) and applied in the worker thread.
+   */
   @SuppressWarnings("try")
   private static Executor advise(HttpServerExchange exchange,
-      @Nullable AroundAdvice advice, @Nullable Executor executor) {
+      @Nullable AroundAdvice advice, @Nullable ContextPropagation contextPropagation, @Nullable Executor executor) {
     Executor x = Objects.requireNonNullElse(executor, r -> exchange.getConnection().getWorker().execute(r));
+    if (contextPropagation != null) {
+      x = contextPropagation.executor(x);
+    }
     if (advice != null) {
-      return (r) -> x.execute(() -> {
+      Executor advised = x;
+      return (r) -> advised.execute(() -> {
         try (var __ = advice.before()) {
           r.run();
         }
@@ -34,6 +34,7 @@ import io.undertow.server.HttpServerExchange;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 
+import java.time.Duration;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -48,20 +49,33 @@ public class EndpointHandler<B, T> implements HttpHandler {
   private static final Function<? super HttpServerExchange, ?> INITIAL_CONTEXT = e -> {
     throw new IllegalStateException("Context factory not set");
   };
+  private static final Runnable NOP_LISTENER = () -> {};
 
   private final HttpStatus defaultStatus;
   private final Supplier<? extends HttpDecoder<? extends B>> decoder;
   private final Processor<? super B, ? extends T> processor;
   private final Option<Supplier<? extends HttpEncoder<? super T>>> encoder;
+  private final Option<Timeout> timeout;
+  private final Runnable timeoutListener;
 
   public EndpointHandler(
       HttpStatus defaultStatus, Supplier<? extends HttpDecoder<? extends B>> decoder,
       Processor<? super B, ? extends T> processor,
       Option<Supplier<? extends HttpEncoder<? super T>>> encoder) {
+    this(defaultStatus, decoder, processor, encoder, none(), NOP_LISTENER);
+  }
+
+  private EndpointHandler(
+      HttpStatus defaultStatus, Supplier<? extends HttpDecoder<? extends B>> decoder,
+      Processor<? super B, ? extends T> processor,
+      Option<Supplier<? extends HttpEncoder<? super T>>> encoder,
+      Option<Timeout> timeout, Runnable timeoutListener) {
     this.defaultStatus = defaultStatus;
     this.decoder = decoder;
     this.processor = processor;
     this.encoder = encoder;
+    this.timeout = timeout;
+    this.timeoutListener = timeoutListener;
   }
 
   public static EndpointHandler<EmptyBody, EmptyBody> initial() {
@@ -72,11 +86,11 @@ public class EndpointHandler<B, T> implements HttpHandler {
   }
 
   public EndpointHandler<B, T> defaultStatus(HttpStatus defaultStatus) {
-    return new EndpointHandler<>(defaultStatus, decoder, processor, encoder);
+    return new EndpointHandler<>(defaultStatus, decoder, processor, encoder, timeout, timeoutListener);
   }
 
   public <BB> EndpointHandler<BB, BB> decoder(Supplier<? extends HttpDecoder<? extends BB>> decoder) {
-    return new EndpointHandler<>(defaultStatus, decoder, Processor.nop(), none());
+    return new EndpointHandler<>(defaultStatus, decoder, Processor.nop(), none(), timeout, timeoutListener);
   }
 
   public <BB> EndpointHandler<BB, BB> decoder(HttpDecoder<? extends BB> decoder) {
@@ -84,11 +98,11 @@ public class EndpointHandler<B, T> implements HttpHandler {
   }
 
   public <U> EndpointHandler<B, U> processor(Processor<? super T, ? extends U> next) {
-    return new EndpointHandler<>(defaultStatus, decoder, processor.append(next), none());
+    return new EndpointHandler<>(defaultStatus, decoder, processor.append(next), none(), timeout, timeoutListener);
   }
 
   public EndpointHandler<B, T> encoder(Supplier<? extends HttpEncoder<? super T>> encoder) {
-    return new EndpointHandler<>(defaultStatus, decoder, processor, some(encoder));
+    return new EndpointHandler<>(defaultStatus, decoder, processor, some(encoder), timeout, timeoutListener);
   }
 
   public EndpointHandler<B, T> encoder(HttpEncoder<? super T> encoder) {
@@ -106,19 +120,75 @@ public class EndpointHandler<B, T> implements HttpHandler {
     return fallbackEncoder(() -> encoder);
   }
 
+  public EndpointHandler<B, T> timeout(Timeout timeout) {
+    return new EndpointHandler<>(defaultStatus, decoder, processor, encoder, some(timeout), timeoutListener);
+  }
+
+  public EndpointHandler<B, T> fallbackTimeout(Option<Timeout> timeout) {
+    if (this.timeout.isDefined() || timeout.isEmpty()) {
+      return this;
+    }
+    return timeout(timeout.get());
+  }
+
+  public Option<Timeout> timeout() {
+    return timeout;
+  }
+
+  /**
+   * Called when the deadline of a request to this endpoint expired.
+   */
+  public EndpointHandler<B, T> timeoutListener(Runnable timeoutListener) {
+    return new EndpointHandler<>(defaultStatus, decoder, processor, encoder, timeout, timeoutListener);
+  }
+
   @Override
+  @SuppressWarnings("try")
   public void handleRequest(HttpServerExchange exchange) throws Exception {
+    if (timeout.isDefined()) {
+      RequestDeadline.arm(exchange, timeout.get().duration(), timeout.get().status(), timeoutListener);
+    }
     if (exchange.isInIoThread()) {
       exchange.dispatch(this);
       return;
     }
-    decoder.get().decode(exchange, this::consumeBody);
+    var deadline = RequestDeadline.of(exchange);
+    if (deadline.isEmpty()) {
+      decoder.get().decode(exchange, this::consumeBody);
+      return;
+    }
+    try (var __ = deadline.get().enter()) {
+      decoder.get().decode(exchange, this::consumeBody);
+    } catch (Exception e) {
+      if (deadline.get().claimResponse()) {
+        throw e;
+      }
+      // expired: the error response has been committed, don't respond
+    }
   }
 
+  @SuppressWarnings("try")
   private void consumeBody(HttpServerExchange exchange, B body) {
-    var result = Processor.invoke(State.of(exchange, body), processor);
+    var deadline = RequestDeadline.of(exchange);
+    State<? extends T> result;
+    if (deadline.isDefined()) {
+      if (deadline.get().isExpired()) {
+        return;
+      }
+      try (var __ = deadline.get().enter()) {
+        result = Processor.invoke(State.of(exchange, body), processor);
+      }
+      if (!deadline.get().claimResponse()) {
+        return;
+      }
+    } else {
+      result = Processor.invoke(State.of(exchange, body), processor);
+    }
     if (result.isException()) {
       Throwable exception = result.exception();
+      if (exception instanceof HttpStatusException.Unchecked) {
+        exception = exception.getCause();
+      }
       ErrorMessageHandler.addMessage(exchange, exception);
       if (result.exceptionHttpStatus().isDefined()) {
         applyHttpStatus(exchange, result.exceptionHttpStatus().get());
@@ -142,6 +212,44 @@ public class EndpointHandler<B, T> implements HttpHandler {
     exchange.setReasonPhrase(status.reason());
   }
 
+  /**
+   * The time an endpoint may run and the status to respond with when
+   * the deadline expires.
+   */
+  public static final class Timeout {
+    private final Duration duration;
+    private final HttpStatus status;
+
+    private Timeout(Duration duration, HttpStatus status) {
+      if (duration.isNegative() || duration.isZero()) {
+        throw new IllegalArgumentException("Timeout must be positive: " + duration);
+      }
+      this.duration = duration;
+      this.status = status;
+    }
+
+    public static Timeout of(Duration duration) {
+      return of(duration, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    public static Timeout of(Duration duration, HttpStatus status) {
+      return new Timeout(duration, status);
+    }
+
+    public Duration duration() {
+      return duration;
+    }
+
+    public HttpStatus status() {
+      return status;
+    }
+
+    @Override
+    public String toString() {
+      return "Timeout[" + duration + "->" + status + "]";
+    }
+  }
+
   @FunctionalInterface
   public interface Processor<T, R> {
     State<? extends R> process(State<? extends T> state) throws Exception;
@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.handler;
+
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus;
+import ch.raffael.meldioc.util.advice.AroundAdvice;
+import ch.raffael.meldioc.util.advice.Deadline;
+import io.undertow.server.HttpServerExchange;
+import io.undertow.util.AttachmentKey;
+import io.vavr.control.Option;
+import org.jetbrains.annotations.Nullable;
+import org.xnio.IoUtils;
+import org.xnio.XnioExecutor;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The deadline of an exchange. When it expires, the worker owning the
+ * exchange (if any) is interrupted and the error status is committed on
+ * the exchange's I/O thread, the {@link ErrorMessageHandler} renders the
+ * response:
+ *
+ * <ul>
+ *   <li>non-blocking exchanges are ended right away on the I/O thread;
+ *   <li>blocking exchanges are ended by Undertow when the worker returns,
+ *     blocking streams can't be used from the I/O thread;
+ *   <li>if the response has already been started, or a blocking exchange
+ *     isn't owned by any worker, the connection is closed.
+ * </ul>
+ *
+ * <p>Every response path must {@link #claimResponse() claim the response}
+ * first. The late result of the endpoint is discarded.
+ *
+ * <p>While the endpoint's actions run, the deadline is the
+ * {@link Deadline#current() current deadline}. Add {@link Deadline#slot()}
+ * to the context propagation of the work executor to make it available to
+ * async continuations.
+ */
+public final class RequestDeadline {
+
+  private static final AttachmentKey<RequestDeadline> ATTACHMENT_KEY = AttachmentKey.create(RequestDeadline.class);
+
+  private static final int PENDING = 0;
+  private static final int RESPONDING = 1;
+  private static final int EXPIRED = 2;
+
+  private final HttpServerExchange exchange;
+  private final Deadline deadline;
+  private final Duration timeout;
+  private final HttpStatus status;
+  private final Runnable expiryListener;
+  private final AtomicInteger state = new AtomicInteger(PENDING);
+  @Nullable
+  private Thread worker = null;
+  @Nullable
+  private volatile XnioExecutor.Key timer = null;
+
+  private RequestDeadline(HttpServerExchange exchange, Duration timeout, HttpStatus status, Runnable expiryListener) {
+    this.exchange = exchange;
+    this.deadline = Deadline.in(timeout);
+    this.timeout = timeout;
+    this.status = status;
+    this.expiryListener = expiryListener;
+  }
+
+  public static Option<RequestDeadline> of(HttpServerExchange exchange) {
+    return Option.of(exchange.getAttachment(ATTACHMENT_KEY));
+  }
+
+  /**
+   * Arm a deadline for the exchange, unless it already has one.
+   */
+  public static RequestDeadline arm(HttpServerExchange exchange, Duration timeout, HttpStatus status,
+                                    Runnable expiryListener) {
+    var existing = exchange.getAttachment(ATTACHMENT_KEY);
+    if (existing != null) {
+      return existing;
+    }
+    var armed = new RequestDeadline(exchange, timeout, status, expiryListener);
+    exchange.putAttachment(ATTACHMENT_KEY, armed);
+    armed.timer = exchange.getIoThread().executeAfter(armed::expire, timeout.toNanos(), TimeUnit.NANOSECONDS);
+    exchange.addExchangeCompleteListener((e, next) -> {
+      armed.disarm();
+      next.proceed();
+    });
+    return armed;
+  }
+
+  public Deadline deadline() {
+    return deadline;
+  }
+
+  public Duration remaining() {
+    return deadline.remaining();
+  }
+
+  public boolean isExpired() {
+    if (state.get() != EXPIRED) {
+      return false;
+    }
+    synchronized (this) {
+      // see claimResponse()
+      return true;
+    }
+  }
+
+  /**
+   * Make this the current deadline and the current thread the worker to
+   * interrupt on expiry until the returned closeable is closed.
+   */
+  public AroundAdvice.AdviceCloseable enter() {
+    var scope = deadline.enter();
+    if (exchange.isInIoThread()) {
+      return scope;
+    }
+    Thread previous;
+    synchronized (this) {
+      previous = worker;
+      worker = Thread.currentThread();
+    }
+    return () -> {
+      try {
+        synchronized (this) {
+          worker = previous;
+          if (previous == null && state.get() == EXPIRED) {
+            // don't leak the interrupt to the next task of this worker
+            //noinspection ResultOfMethodCallIgnored
+            Thread.interrupted();
+          }
+        }
+      } finally {
+        scope.close();
+      }
+    };
+  }
+
+  /**
+   * Claim the right to send the response.
+   *
+   * @return {@code false}, if the deadline expired and the error
+   *         response has been committed.
+   */
+  public boolean claimResponse() {
+    if (state.compareAndSet(PENDING, RESPONDING) || state.get() == RESPONDING) {
+      return true;
+    }
+    synchronized (this) {
+      // wait until the expiry committed the error response, Undertow may
+      // end the exchange as soon as the caller returns
+      return false;
+    }
+  }
+
+  /**
+   * Claim the right to send the response, if the exchange has a deadline.
+   *
+   * @return {@code false}, if the deadline expired and the error
+   *         response has been committed.
+   */
+  public static boolean claimResponse(HttpServerExchange exchange) {
+    return of(exchange).map(RequestDeadline::claimResponse).getOrElse(true);
+  }
+
+  private void expire() {
+    synchronized (this) {
+      if (!state.compareAndSet(PENDING, EXPIRED)) {
+        return;
+      }
+      if (worker != null) {
+        worker.interrupt();
+      }
+      if (exchange.isResponseStarted()) {
+        IoUtils.safeClose(exchange.getConnection());
+      } else {
+        commitExpired();
+      }
+    }
+    expiryListener.run();
+  }
+
+  private void commitExpired() {
+    ErrorMessageHandler.addMessage(exchange, "Request timed out after " + timeout.toMillis() + "ms");
+    exchange.setStatusCode(status.code());
+    exchange.setReasonPhrase(status.reason());
+    // the worker may still be reading the request:
+    exchange.setPersistent(false);
+    if (!exchange.isBlocking()) {
+      exchange.endExchange();
+    } else if (worker == null) {
+      IoUtils.safeClose(exchange.getConnection());
+    }
+    // else: blocking streams can't be used from the I/O thread, Undertow
+    // ends the exchange with the status set above when the worker returns
+  }
+
+  private void disarm() {
+    var t = timer;
+    if (t != null) {
+      t.remove();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "RequestDeadline[" + deadline.remaining() + (state.get() == EXPIRED ? ",expired" : "") + "]";
+  }
+}
@@ -22,6 +22,8 @@
 
 package ch.raffael.meldioc.library.http.server.undertow.handler;
 
+import ch.raffael.meldioc.library.base.threading.MdcContextSlot;
+import ch.raffael.meldioc.util.advice.ContextSlot;
 import io.undertow.server.ExchangeCompletionListener;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
@@ -45,6 +47,15 @@ public class RequestLoggingHandler implements HttpHandler {
 
   public static final String STANDARD_REQUEST_ID_MDC_KEY = "http-request-id";
 
+  /**
+   * A context slot propagating the request ID with the
+   * {@link #STANDARD_REQUEST_ID_MDC_KEY standard MDC key}.
+   *
+   * @see ch.raffael.meldioc.library.base.threading.TaskAdviceFeature.Profile#propagate(ContextSlot)
+   * @see ch.raffael.meldioc.library.http.server.undertow.UndertowConfig#contextPropagation(java.util.function.Supplier)
+   */
+  public static final ContextSlot<String> STANDARD_REQUEST_ID_SLOT = MdcContextSlot.of(STANDARD_REQUEST_ID_MDC_KEY);
+
   private final AttachmentKey<Info> startNanosKey = AttachmentKey.create(Info.class);
   private final AtomicInteger counter;
   private final Level level;
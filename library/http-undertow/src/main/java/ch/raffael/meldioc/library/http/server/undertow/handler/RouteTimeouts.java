@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.handler;
+
+import ch.raffael.meldioc.logging.Logging;
+import org.slf4j.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the expired {@link RequestDeadline request deadlines} per route.
+ */
+public final class RouteTimeouts implements RouteTimeoutsMXBean {
+
+  public static final String OBJECT_NAME = "ch.raffael.meldioc:type=RouteTimeouts";
+
+  private static final Logger LOG = Logging.logger();
+
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private volatile boolean mbeanRegistered = false;
+
+  /**
+   * Get the listener incrementing the counter of the given route.
+   */
+  public Runnable expiryListener(String route) {
+    return counters.computeIfAbsent(route, __ -> new LongAdder())::increment;
+  }
+
+  public boolean isEmpty() {
+    return counters.isEmpty();
+  }
+
+  public long expiredRequests(String route) {
+    var counter = counters.get(route);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  @Override
+  public Map<String, Long> getExpiredRequests() {
+    var result = new TreeMap<String, Long>();
+    counters.forEach((r, c) -> result.put(r, c.sum()));
+    return result;
+  }
+
+  @Override
+  public long getTotalExpiredRequests() {
+    return counters.values().stream().mapToLong(LongAdder::sum).sum();
+  }
+
+  public boolean registerMBean() {
+    try {
+      var server = ManagementFactory.getPlatformMBeanServer();
+      var name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        return false;
+      }
+      server.registerMBean(new StandardMBean(this, RouteTimeoutsMXBean.class, true), name);
+      mbeanRegistered = true;
+      return true;
+    } catch (JMException e) {
+      throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+    }
+  }
+
+  public void unregisterMBean() {
+    if (!mbeanRegistered) {
+      return;
+    }
+    mbeanRegistered = false;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+    } catch (JMException e) {
+      LOG.warn("Cannot unregister {}", OBJECT_NAME, e);
+    }
+  }
+}
@@ -25,6 +25,7 @@ package ch.raffael.meldioc.library.http.server.undertow.routing;
 import ch.raffael.meldioc.library.http.server.undertow.codec.EmptyBody;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpDecoder;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpEncoder;
+import ch.raffael.meldioc.library.http.server.undertow.codec.StreamFormat;
 import ch.raffael.meldioc.library.http.server.undertow.handler.EndpointHandler;
 import ch.raffael.meldioc.library.http.server.undertow.handler.EndpointHandler.State;
 import ch.raffael.meldioc.library.http.server.undertow.util.HttpMethod;
@@ -32,7 +33,9 @@ import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus;
 import io.vavr.collection.Set;
 import io.vavr.control.Option;
 
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -45,6 +48,7 @@ import static ch.raffael.meldioc.library.http.server.undertow.routing.Actions.Ac
 import static ch.raffael.meldioc.library.http.server.undertow.routing.Actions.Action2Void;
 import static ch.raffael.meldioc.library.http.server.undertow.routing.Actions.Action3;
 import static ch.raffael.meldioc.library.http.server.undertow.routing.Actions.Action3Void;
+import static io.vavr.control.Option.none;
 import static io.vavr.control.Option.some;
 ///<<< n: 4..count
 ///> "import static ch.raffael.meldioc.library.http.server.undertow.routing.Actions.Action$n;"
@@ -164,6 +168,22 @@ import static io.vavr.control.Option.some;
     public Method delete() {
       return method(HttpMethod.DELETE);
     }
+
+    /**
+     * Bound the time this endpoint may run, overriding the timeout of the
+     * frame. On expiry, the request is answered with 503 (Service
+     * Unavailable) and the worker is interrupted.
+     *
+     * @see ch.raffael.meldioc.library.http.server.undertow.handler.RequestDeadline
+     */
+    public Method timeout(Duration timeout) {
+      return timeout(timeout, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    public Method timeout(Duration timeout, HttpStatus status) {
+      var t = EndpointHandler.Timeout.of(timeout, status);
+      return new Method(this, addInit(h -> h.timeout(t)));
+    }
   }
 
   public static class Decoding extends Processing<EmptyBody, EmptyBody> {
@@ -194,6 +214,19 @@ import static io.vavr.control.Option.some;
     public <T> Processing<T, T> accept(Class<T> type) {
       return new Processing<>(this, addInit((f, h) -> h.decoder(f.dec.object(type))));
     }
+
+    /**
+     * Accept a sequence of objects, decoding them one by one while the
+     * action iterates. The format (JSON array or NDJSON) is determined by
+     * the request's content type.
+     */
+    public <T> Processing<Iterator<T>, Iterator<T>> acceptStream(Class<T> elementType) {
+      return new Processing<>(this, addInit((f, h) -> h.decoder(f.dec.stream(elementType, none()))));
+    }
+
+    public <T> Processing<Iterator<T>, Iterator<T>> acceptStream(Class<T> elementType, StreamFormat format) {
+      return new Processing<>(this, addInit((f, h) -> h.decoder(f.dec.stream(elementType, some(format)))));
+    }
   }
 
   public static class Processing<B, T> extends Response<B, T> {
@@ -22,19 +22,27 @@
 
 package ch.raffael.meldioc.library.http.server.undertow.routing;
 
+import ch.raffael.meldioc.library.codec.CompositeObjectCodecFactory;
 import ch.raffael.meldioc.library.codec.ContentType;
 import ch.raffael.meldioc.library.codec.ObjectCodecFactory;
 import ch.raffael.meldioc.library.http.server.undertow.codec.EmptyBody;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpObjectCodecFactory;
 import ch.raffael.meldioc.library.http.server.undertow.handler.AccessCheckHandler;
+import ch.raffael.meldioc.library.http.server.undertow.handler.EndpointHandler;
+import ch.raffael.meldioc.library.http.server.undertow.handler.RequestDeadline;
+import ch.raffael.meldioc.library.http.server.undertow.handler.RouteTimeouts;
 import ch.raffael.meldioc.library.http.server.undertow.security.Role;
 import ch.raffael.meldioc.library.http.server.undertow.util.HttpMethod;
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus;
+import ch.raffael.meldioc.util.advice.Deadline;
 import io.undertow.server.HttpHandler;
 import io.vavr.collection.HashSet;
 import io.vavr.collection.LinkedHashSet;
+import io.vavr.collection.List;
 import io.vavr.collection.Set;
 import io.vavr.control.Option;
 
+import java.time.Duration;
 import java.util.function.Function;
 
 import static io.vavr.control.Option.none;
@@ -68,6 +76,7 @@ import static io.vavr.control.Option.some;
   Frame currentFrame;
 
   private final Codecs codec = new Codecs();
+  final RouteTimeouts routeTimeouts = new RouteTimeouts();
 
   ///<<<
   /// = `$.x()
@@ -233,6 +242,45 @@ import static io.vavr.control.Option.some;
     objectCodec(HttpObjectCodecFactory.wrapBuffered(objectCodecFactory));
   }
 
+  /**
+   * Use several object codecs, the first one supporting the requested
+   * content type wins.
+   *
+   * @see CompositeObjectCodecFactory
+   */
+  public void objectCodec(ObjectCodecFactory first, ObjectCodecFactory... more) {
+    objectCodec(new CompositeObjectCodecFactory(List.of(more).prepend(first)));
+  }
+
+  /**
+   * Bound the time the endpoints of the current frame and its children
+   * may run. On expiry, the request is answered with 503 (Service
+   * Unavailable) and the worker is interrupted.
+   *
+   * @see RequestDeadline
+   */
+  public void timeout(Duration timeout) {
+    timeout(timeout, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
+  public void timeout(Duration timeout, HttpStatus status) {
+    currentFrame.timeout = some(EndpointHandler.Timeout.of(timeout, status));
+  }
+
+  /**
+   * Capture the deadline of the request, if the endpoint has a timeout.
+   */
+  public Capture<Option<Deadline>> deadline() {
+    return Capture.of("deadline", e -> RequestDeadline.of(e).map(RequestDeadline::deadline));
+  }
+
+  /**
+   * The expiry counters of the endpoints with a timeout, by route.
+   */
+  public RouteTimeouts routeTimeouts() {
+    return routeTimeouts;
+  }
+
   public void merge(RoutingDefinition that) {
     currentFrame.merge(that.rootFrame);
   }
@@ -26,8 +26,10 @@ import ch.raffael.meldioc.library.codec.ContentType;
 import ch.raffael.meldioc.library.http.server.undertow.codec.BinaryCodec;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpDecoder;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpEncoder;
+import ch.raffael.meldioc.library.http.server.undertow.codec.StreamFormat;
 import io.vavr.collection.Traversable;
 
+import java.util.Iterator;
 import java.util.function.Function;
 
 /**
@@ -82,6 +84,35 @@ public final class Codecs {
     return CodecSupplier.combined(__ -> new BinaryCodec.ByteArray(types));
   }
 
+  /**
+   * Stream the elements as JSON array using the object codec.
+   */
+  public <E> EncoderSupplier<Iterable<? extends E>> jsonArray(Class<E> elementType) {
+    return f -> f.enc.stream(elementType, StreamFormat.JSON_ARRAY);
+  }
+
+  /**
+   * Stream the elements of an iterator as JSON array using the object codec.
+   */
+  public <E> EncoderSupplier<Iterator<? extends E>> jsonArrayIterator(Class<E> elementType) {
+    return f -> f.enc.stream(elementType, StreamFormat.JSON_ARRAY).iterator();
+  }
+
+  /**
+   * Stream the elements as newline delimited JSON using the object codec.
+   */
+  public <E> EncoderSupplier<Iterable<? extends E>> ndJson(Class<E> elementType) {
+    return f -> f.enc.stream(elementType, StreamFormat.NDJSON);
+  }
+
+  /**
+   * Stream the elements of an iterator as newline delimited JSON using the
+   * object codec.
+   */
+  public <E> EncoderSupplier<Iterator<? extends E>> ndJsonIterator(Class<E> elementType) {
+    return f -> f.enc.stream(elementType, StreamFormat.NDJSON).iterator();
+  }
+
   @FunctionalInterface
   interface DecoderSupplier<T> {
     HttpDecoder<? extends T> decoder(Frame frame);
@@ -25,8 +25,12 @@ package ch.raffael.meldioc.library.http.server.undertow.routing;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpDecoder;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpEncoder;
 import ch.raffael.meldioc.library.http.server.undertow.codec.HttpObjectCodecFactory;
+import ch.raffael.meldioc.library.http.server.undertow.codec.StreamFormat;
+import ch.raffael.meldioc.library.http.server.undertow.codec.StreamingDecoder;
+import ch.raffael.meldioc.library.http.server.undertow.codec.StreamingEncoder;
 import ch.raffael.meldioc.library.http.server.undertow.codec.TextCodec;
 import ch.raffael.meldioc.library.http.server.undertow.handler.AccessCheckHandler;
+import ch.raffael.meldioc.library.http.server.undertow.handler.EndpointHandler;
 import ch.raffael.meldioc.library.http.server.undertow.handler.HttpMethodHandler;
 import ch.raffael.meldioc.library.http.server.undertow.handler.PathSegmentHandler;
 import ch.raffael.meldioc.library.http.server.undertow.util.HttpMethod;
@@ -67,6 +71,7 @@ final class Frame {
   private Map<HttpMethod, EndpointBuilder<?, ?>> endpoints = LinkedHashMap.empty();
   Option<AccessCheckHandler.AccessRestriction> restriction = none();
   Option<HttpObjectCodecFactory> objectCodecFactory = none();
+  Option<EndpointHandler.Timeout> timeout = none();
 
   private Seq<Function<? super HttpHandler, ? extends HttpHandler>> handlers = List.empty();
 
@@ -162,12 +167,16 @@ final class Frame {
               if (LOG.isDebugEnabled()) {
                 LOG.debug("Materializing endpoint: {}", endpointTrace(a));
               }
-              return h2.add(a._1,
-                  a._2.handler(this)
-                      .fallbackEncoder(() -> find(f -> f.objectCodecFactory)
-                          .flatMap(f -> f.encoder(Object.class))
-                          .getOrElseThrow(() ->
-                              new RoutingDefinitionException("No object codec set: " + endpointTrace(a)))));
+              var handler = a._2.handler(this)
+                  .fallbackEncoder(() -> find(f -> f.objectCodecFactory)
+                      .flatMap(f -> f.encoder(Object.class))
+                      .getOrElseThrow(() ->
+                          new RoutingDefinitionException("No object codec set: " + endpointTrace(a))))
+                  .fallbackTimeout(find(f -> f.timeout));
+              if (handler.timeout().isDefined()) {
+                handler = handler.timeoutListener(routingDefinition.routeTimeouts.expiryListener(routeName(a)));
+              }
+              return h2.add(a._1, handler);
             }))
         .forEach(routing::hereHandler);
     pathSegments.forEach(seg -> routing.exactSegment(seg._1, seg._2.materialize()));
@@ -181,6 +190,11 @@ final class Frame {
           (p, n) -> n.apply(p));
   }
 
+  private String routeName(Tuple2<HttpMethod, ? extends EndpointBuilder<?, ?>> ep) {
+    var path = ep._2.trace.description();
+    return ep._1 + " " + (path.isEmpty() ? "/" : path);
+  }
+
   private String endpointTrace(Tuple2<HttpMethod, ? extends EndpointBuilder<?, ?>> ep) {
     return endpointTrace(ep._1(), ep._2());
   }
@@ -197,6 +211,9 @@ final class Frame {
     if (that.objectCodecFactory.isDefined()) {
       this.objectCodecFactory = some(that.objectCodecFactory.get());
     }
+    if (that.timeout.isDefined()) {
+      this.timeout = some(that.timeout.get());
+    }
     // for loop instead of forEach to keep the stack trace clean for DslTrace:
     for (EndpointBuilder<?, ?> ep : that.endpoints.values().distinct()) {
       addEndpoint(ep.fork(ep.trace.reroot(mergeTrace), this::endpointUpdate));
@@ -230,6 +247,12 @@ final class Frame {
           f -> f.objectCodecFactory.flatMap(ocf -> ocf.decoder(type)))
           .getOrElseThrow(() -> new IllegalStateException("No object decoder for " + type));
     }
+
+    public <T> StreamingDecoder<T> stream(Class<T> elementType, Option<StreamFormat> format) {
+      return Frame.this.find(
+          f -> f.objectCodecFactory.flatMap(ocf -> ocf.streamingDecoder(elementType, format)))
+          .getOrElseThrow(() -> new IllegalStateException("No streaming decoder for " + elementType));
+    }
   }
 
   public final class StandardEncoders {
@@ -255,5 +278,10 @@ final class Frame {
           .getOrElseThrow(() -> new IllegalStateException("No object decoder for " + type));
     }
 
+    public <T> StreamingEncoder<T> stream(Class<T> elementType, StreamFormat format) {
+      return Frame.this.find(
+          f -> f.objectCodecFactory.flatMap(ocf -> ocf.streamingEncoder(elementType, format)))
+          .getOrElseThrow(() -> new IllegalStateException("No streaming encoder (" + format + ") for " + elementType));
+    }
   }
 }
@@ -24,6 +24,7 @@ package ch.raffael.meldioc.library.http.server.undertow.util;
 
 import ch.raffael.meldioc.library.http.server.undertow.handler.ErrorMessageHandler;
 import ch.raffael.meldioc.library.http.server.undertow.handler.ExceptionLogger;
+import ch.raffael.meldioc.library.http.server.undertow.handler.RequestDeadline;
 import io.undertow.server.HttpHandler;
 import io.undertow.server.HttpServerExchange;
 import org.jetbrains.annotations.Nullable;
@@ -103,7 +104,18 @@ public class HttpStatusException extends Exception {
     }
   }
 
+  /**
+   * Wrap this exception in an unchecked exception, e.g. to throw it from an
+   * {@code Iterator}. The {@code EndpointHandler} unwraps it again.
+   */
+  public Unchecked unchecked() {
+    return new Unchecked(this);
+  }
+
   public void endRequest(HttpServerExchange exchange) {
+    if (!RequestDeadline.claimResponse(exchange)) {
+      return;
+    }
     ExceptionLogger.get(exchange).log(exchange, this);
     ErrorMessageHandler.addMessage(exchange, this);
     status.apply(exchange);
@@ -121,6 +133,17 @@ public class HttpStatusException extends Exception {
     serverError(reason).endRequest(exchange);
   }
 
+  public static final class Unchecked extends RuntimeException {
+    private Unchecked(HttpStatusException cause) {
+      super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized HttpStatusException getCause() {
+      return (HttpStatusException) super.getCause();
+    }
+  }
+
   public enum Kind {
     INFO, SUCCESS, REDIRECT, CLIENT_ERROR, SERVER_ERROR;
 
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow
+
+import io.undertow.Undertow
+import io.undertow.server.HttpHandler
+import spock.lang.Specification
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class GracefulShutdownSpec extends Specification {
+
+  def entered = new CountDownLatch(1)
+  def release = new CountDownLatch(1)
+  def client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()
+  Undertow undertow
+
+  def cleanup() {
+    release.countDown()
+    undertow?.stop()
+  }
+
+  def "Drain waits for in-flight requests to complete"() {
+    given: "A server with a request in flight"
+    def drain = new GracefulShutdown(Duration.ofSeconds(10))
+    def response = startWithRequestInFlight(drain)
+
+    when: "Start draining"
+    def drained = CompletableFuture.supplyAsync { drain.drain() }
+    while (drain.state() == GracefulShutdown.State.ACCEPTING) {
+      Thread.sleep(10)
+    }
+    then: "The request is still active"
+    drain.state() == GracefulShutdown.State.DRAINING
+    drain.activeRequests == 1
+    drain.remainingMillis > 0
+
+    when: "The request completes"
+    release.countDown()
+    then: "The drain completes successfully"
+    response.get(10, TimeUnit.SECONDS).statusCode() == 200
+    drained.get(10, TimeUnit.SECONDS)
+    drain.state() == GracefulShutdown.State.DRAINED
+    drain.activeRequests == 0
+  }
+
+  def "Drain gives up after the drain timeout"() {
+    given: "A server with a request in flight"
+    def drain = new GracefulShutdown(Duration.ofMillis(100))
+    startWithRequestInFlight(drain)
+
+    when: "Drain while the request hangs"
+    def drained = drain.drain()
+
+    then: "The drain times out"
+    !drained
+    drain.state() == GracefulShutdown.State.TIMED_OUT
+    drain.activeRequests == 1
+  }
+
+  private CompletableFuture<HttpResponse<String>> startWithRequestInFlight(GracefulShutdown drain) {
+    def handle = UndertowConfig.create { Undertow.builder() }
+    handle.config()
+        .http(UndertowConfig.ADDRESS_LOCAL, 0)
+        .gracefulShutdown(drain)
+        .customMainHandler {
+          { exchange ->
+            entered.countDown()
+            release.await()
+            exchange.responseSender.send('done')
+          } as HttpHandler
+        }
+    undertow = handle.apply()
+    def port = (undertow.listenerInfo[0].address as InetSocketAddress).port
+    def response = client.sendAsync(
+        HttpRequest.newBuilder(URI.create("http://localhost:$port/")).build(),
+        HttpResponse.BodyHandlers.ofString())
+    assert entered.await(10, TimeUnit.SECONDS)
+    response
+  }
+}
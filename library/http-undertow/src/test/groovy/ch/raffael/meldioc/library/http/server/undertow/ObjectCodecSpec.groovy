@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow
+
+import ch.raffael.meldioc.library.codec.ContentTypes
+import ch.raffael.meldioc.library.http.server.undertow.testlib.UndertowSpecification
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus
+import spock.lang.Unroll
+
+class ObjectCodecSpec extends UndertowSpecification {
+
+  @Unroll
+  def "The first object codec supporting the accepted content type wins (Accept: '#accept')"() {
+    when:
+    def res = http {
+      path '/item'
+      if (accept) {
+        header 'Accept', accept
+      }
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.headers().firstValue('Content-Type').get() == contentType.render()
+    res.body() == "{\"name\":\"a-$tag\"}"
+
+    where:
+    accept                                    | contentType       | tag
+    null                                      | ContentTypes.JSON | 'json1'
+    'application/json'                        | ContentTypes.JSON | 'json1'
+    'application/xml'                         | ContentTypes.XML  | 'xml'
+    'text/plain, application/xml'             | ContentTypes.XML  | 'xml'
+    'application/json;q=0.5, application/xml' | ContentTypes.XML  | 'xml'
+  }
+
+  def "Unsupported accepted content types fall back to the first object codec"() {
+    when:
+    def res = http {
+      path '/item'
+      header 'Accept', 'text/plain'
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.headers().firstValue('Content-Type').get() == ContentTypes.JSON.render()
+    res.body() == '{"name":"a-json1"}'
+  }
+
+  @Unroll
+  def "Request bodies are decoded by the object codec supporting their content type (#contentType)"() {
+    when:
+    def res = http {
+      path '/item'
+      contentType contentType
+      POST '{"name":"b"}'
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.body() == '{"name":"b-json1"}'
+
+    where:
+    contentType << ['application/json', 'application/xml', 'application/xml;charset=UTF-8']
+  }
+
+  def "Request bodies with an unsupported content type are rejected"() {
+    when:
+    def res = http {
+      path '/item'
+      contentType 'text/plain'
+      POST '{"name":"b"}'
+    }
+
+    then:
+    res.statusCode() == HttpStatus.INTERNAL_SERVER_ERROR.code()
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow
+
+import ch.raffael.meldioc.library.http.server.undertow.codec.StreamFormat
+import ch.raffael.meldioc.library.http.server.undertow.testlib.UndertowSpecification
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus
+import spock.lang.Unroll
+
+class StreamingSpec extends UndertowSpecification {
+
+  @Unroll
+  def "Elements are streamed in the requested format (#path)"() {
+    when:
+    def res = http {
+      path "/stream/$path"
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.headers().firstValue('Content-Type').get() == format.contentType().render()
+    res.body() == expected
+
+    where:
+    path              | format                  | expected
+    'array'           | StreamFormat.JSON_ARRAY | '[{"name":"a"},{"name":"b"},{"name":"c"}]'
+    'array-iterator'  | StreamFormat.JSON_ARRAY | '[{"name":"a"},{"name":"b"},{"name":"c"}]'
+    'ndjson'          | StreamFormat.NDJSON     | '{"name":"a"}\n{"name":"b"}\n{"name":"c"}\n'
+    'ndjson-iterator' | StreamFormat.NDJSON     | '{"name":"a"}\n{"name":"b"}\n{"name":"c"}\n'
+  }
+
+  @Unroll
+  def "Empty streams result in an empty #format"() {
+    when:
+    def res = http {
+      path "/stream/$path"
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.body() == expected
+
+    where:
+    path           | format                  | expected
+    'array-empty'  | StreamFormat.JSON_ARRAY | '[]'
+    'ndjson-empty' | StreamFormat.NDJSON     | ''
+  }
+
+  def "An element failing before the response started results in a server error without partial content"() {
+    when:
+    def res = http {
+      path '/stream/fail-early'
+    }
+
+    then:
+    res.statusCode() == HttpStatus.INTERNAL_SERVER_ERROR.code()
+    !res.body().startsWith('[')
+  }
+
+  def "An element failing after the response started closes the connection"() {
+    when:
+    http {
+      path '/stream/fail-late'
+    }
+
+    then:
+    thrown IOException
+  }
+
+  @Unroll
+  def "Accepted streams are decoded element by element (#contentType)"() {
+    when:
+    def res = http {
+      path '/stream/names'
+      contentType contentType
+      POST body
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.body() == 'a,b,c'
+
+    where:
+    contentType            | body
+    'application/json'     | '[{"name":"a"}, {"name":"b"},\n{"name":"c"}]'
+    'application/x-ndjson' | '{"name":"a"}\n{"name":"b"}\n\n{"name":"c"}\n'
+  }
+
+  @Unroll
+  def "A malformed element in the middle of an accepted stream results in 400 (#contentType)"() {
+    when:
+    def res = http {
+      path '/stream/names'
+      contentType contentType
+      POST body
+    }
+
+    then: "The HttpStatusException has been unwrapped from the iterator's unchecked exception"
+    res.statusCode() == HttpStatus.BAD_REQUEST.code()
+
+    where:
+    contentType            | body
+    'application/json'     | '[{"name":"a"},{"nam":"b"},{"name":"c"}]'
+    'application/json'     | '[{"name":"a"} {"name":"b"}]'
+    'application/x-ndjson' | '{"name":"a"}\n{"nam":"b"}\n{"name":"c"}\n'
+  }
+}
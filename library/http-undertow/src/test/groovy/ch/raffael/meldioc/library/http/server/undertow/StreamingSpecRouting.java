@@ -0,0 +1,81 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow;
+
+import ch.raffael.meldioc.library.http.server.undertow.routing.RoutingDefinition;
+import ch.raffael.meldioc.library.http.server.undertow.testlib.Item;
+import ch.raffael.meldioc.library.http.server.undertow.testlib.ItemCodecFactory;
+import io.vavr.collection.List;
+import io.vavr.collection.Stream;
+
+import java.util.Iterator;
+import java.util.StringJoiner;
+
+public class StreamingSpecRouting extends RoutingDefinition {
+
+  static final int LATE_FAILURE_INDEX = 100_000;
+
+  public StreamingSpecRouting() {
+    objectCodec(new ItemCodecFactory());
+    path("stream").route(() -> {
+      get("array")
+          .map(() -> items("a", "b", "c"))
+          .respond(codec().jsonArray(Item.class));
+      get("array-empty")
+          .map(() -> List.<Item>empty())
+          .respond(codec().jsonArray(Item.class));
+      get("array-iterator")
+          .map(() -> items("a", "b", "c").iterator())
+          .respond(codec().jsonArrayIterator(Item.class));
+      get("ndjson")
+          .map(() -> items("a", "b", "c"))
+          .respond(codec().ndJson(Item.class));
+      get("ndjson-empty")
+          .map(() -> List.<Item>empty())
+          .respond(codec().ndJson(Item.class));
+      get("ndjson-iterator")
+          .map(() -> items("a", "b", "c").iterator())
+          .respond(codec().ndJsonIterator(Item.class));
+      get("fail-early")
+          .map(() -> items("a", ItemCodecFactory.FAILING, "c"))
+          .respond(codec().jsonArray(Item.class));
+      get("fail-late")
+          .map(() -> Stream.range(0, LATE_FAILURE_INDEX).map(i -> Item.of("item-" + i))
+              .append(Item.of(ItemCodecFactory.FAILING)))
+          .respond(codec().ndJson(Item.class));
+      post("names").acceptStream(Item.class)
+          .map(this::names)
+          .respond(codec().plainText());
+    });
+  }
+
+  private String names(Iterator<Item> items) {
+    var names = new StringJoiner(",");
+    items.forEachRemaining(i -> names.add(i.name()));
+    return names.toString();
+  }
+
+  private static List<Item> items(String... names) {
+    return List.of(names).map(Item::of);
+  }
+}
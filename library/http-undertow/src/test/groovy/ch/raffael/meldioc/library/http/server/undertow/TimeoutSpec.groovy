@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow
+
+import ch.raffael.meldioc.library.http.server.undertow.testlib.UndertowSpecification
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus
+import spock.util.concurrent.PollingConditions
+
+import java.nio.charset.StandardCharsets
+
+class TimeoutSpec extends UndertowSpecification {
+
+  def "Endpoints finishing before the deadline respond normally"() {
+    when:
+    def res = http {
+      path '/t/fast'
+    }
+
+    then:
+    res.statusCode() == HttpStatus.OK.code()
+    res.body() == 'fast'
+  }
+
+  def "Expired requests owned by a sleeping worker are answered with 503 and the worker is interrupted"() {
+    given:
+    TimeoutSpecRouting.instance.interrupted.set(false)
+    def start = System.nanoTime()
+
+    when:
+    def res = http {
+      path '/t/slow'
+    }
+
+    then: "The error response has been sent after the timeout"
+    res.statusCode() == HttpStatus.SERVICE_UNAVAILABLE.code()
+    res.body().contains('timed out')
+    (System.nanoTime() - start) < 5_000_000_000L
+
+    and: "The worker has been interrupted and the expiry counted"
+    new PollingConditions(timeout: 2).eventually {
+      assert TimeoutSpecRouting.instance.interrupted.get()
+    }
+    TimeoutSpecRouting.instance.routeTimeouts().expiredRequests('GET /t/slow') == 1
+  }
+
+  def "The error response doesn't wait for a worker ignoring the interrupt"() {
+    when:
+    def res = http {
+      path '/t/stubborn'
+    }
+
+    then:
+    res.statusCode() == HttpStatus.SERVICE_UNAVAILABLE.code()
+    res.body().contains('timed out')
+    !TimeoutSpecRouting.instance.stubbornDone.get()
+    TimeoutSpecRouting.instance.routeTimeouts().expiredRequests('GET /t/stubborn') == 1
+  }
+
+  def "Requests expiring while no worker owns them are answered with 503"() {
+    when:
+    def res = partialUpload('/t/upload')
+
+    then:
+    res.startsWith("HTTP/1.1 ${HttpStatus.SERVICE_UNAVAILABLE.code()} ")
+    res.contains('timed out')
+    TimeoutSpecRouting.instance.routeTimeouts().expiredRequests('POST /t/upload') == 1
+  }
+
+  def "Endpoints can override the frame's timeout and status"() {
+    when:
+    def res = partialUpload('/t/gateway')
+
+    then:
+    res.startsWith("HTTP/1.1 ${HttpStatus.GATEWAY_TIME_OUT.code()} ")
+    TimeoutSpecRouting.instance.routeTimeouts().expiredRequests('POST /t/gateway') == 1
+  }
+
+  def "The remaining deadline is available to actions"() {
+    when:
+    def res = http {
+      path '/t/remaining'
+    }
+
+    then:
+    res.body() == 'true'
+
+    when:
+    res = http {
+      path '/unbounded'
+    }
+
+    then:
+    res.body() == 'none'
+  }
+
+  private String partialUpload(String path) {
+    new Socket('localhost', undertow.port).withCloseable {socket ->
+      socket.soTimeout = 5000
+      socket.outputStream.write(("POST $path HTTP/1.1\r\nHost: localhost\r\nContent-Type: text/plain\r\n" +
+          "Content-Length: 100\r\n\r\npartial").getBytes(StandardCharsets.US_ASCII))
+      socket.outputStream.flush()
+      socket.inputStream.getText(StandardCharsets.US_ASCII.name())
+    }
+  }
+}
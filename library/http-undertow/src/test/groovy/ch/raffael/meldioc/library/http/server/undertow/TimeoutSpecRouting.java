@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow;
+
+import ch.raffael.meldioc.library.http.server.undertow.routing.RoutingDefinition;
+import ch.raffael.meldioc.library.http.server.undertow.util.HttpStatus;
+import ch.raffael.meldioc.util.advice.Deadline;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TimeoutSpecRouting extends RoutingDefinition {
+
+  static volatile TimeoutSpecRouting instance;
+
+  final AtomicBoolean interrupted = new AtomicBoolean();
+  final AtomicBoolean stubbornDone = new AtomicBoolean();
+
+  public TimeoutSpecRouting() {
+    instance = this;
+    path("t").route(() -> {
+      timeout(Duration.ofMillis(300));
+      get("fast")
+          .map(() -> "fast")
+          .respond(codec().plainText());
+      get("slow")
+          .map(this::sleep)
+          .respond(codec().plainText());
+      get("stubborn")
+          .map(this::sleepUninterruptibly)
+          .respond(codec().plainText());
+      get("remaining")
+          .map(deadline(), d -> d.map(r -> String.valueOf(r.remaining().toMillis() > 0)).getOrElse("none"))
+          .respond(codec().plainText());
+      post("upload").accept(codec().plainText())
+          .respond(codec().plainText());
+      post("gateway").timeout(Duration.ofMillis(100), HttpStatus.GATEWAY_TIME_OUT)
+          .accept(codec().plainText())
+          .respond(codec().plainText());
+    });
+    get("unbounded")
+        .map(() -> Deadline.current().map(d -> "deadline").getOrElse("none"))
+        .respond(codec().plainText());
+  }
+
+  private String sleep() throws InterruptedException {
+    try {
+      Thread.sleep(10_000);
+    } catch (InterruptedException e) {
+      interrupted.set(true);
+      throw e;
+    }
+    return "slow";
+  }
+
+  private String sleepUninterruptibly() {
+    var until = System.nanoTime() + 2_000_000_000L;
+    while (System.nanoTime() < until) {
+      try {
+        Thread.sleep(Math.max(1, (until - System.nanoTime()) / 1_000_000));
+      } catch (InterruptedException e) {
+        interrupted.set(true);
+      }
+    }
+    stubbornDone.set(true);
+    return "stubborn";
+  }
+}
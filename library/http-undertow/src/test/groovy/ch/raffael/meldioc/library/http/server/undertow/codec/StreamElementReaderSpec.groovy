@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.codec
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+class StreamElementReaderSpec extends Specification {
+
+  @Unroll
+  def "JSON arrays are split into their elements ('#input')"() {
+    when:
+    def elements = readAll(StreamFormat.JSON_ARRAY, input)
+
+    then:
+    elements == expected
+
+    where:
+    input                               | expected
+    '[]'                                | []
+    ' [ ] '                             | []
+    '[1,2,3]'                           | ['1', '2', '3']
+    '[{"a":[1,2]},{"b":{"c":3}}]'       | ['{"a":[1,2]}', '{"b":{"c":3}}']
+    '["x,]", "y\\"]"]'                  | ['"x,]"', '"y\\"]"']
+    '[\n  {"a":1},\n  {"a":2}\n]'       | ['{"a":1}', '{"a":2}']
+  }
+
+  @Unroll
+  def "Invalid JSON arrays are rejected ('#input')"() {
+    when:
+    readAll(StreamFormat.JSON_ARRAY, input)
+
+    then:
+    thrown StreamElementReader.InvalidStreamException
+
+    where:
+    input << ['{}', '[1,2', '[1,]', '[1]]', '[1] 2', '[}]']
+  }
+
+  def "NDJSON is split into lines, skipping blank lines"() {
+    when:
+    def elements = readAll(StreamFormat.NDJSON, '{"a":1}\n\n{"a":2}\r\n  \n{"a":3}')
+
+    then:
+    elements == ['{"a":1}', '{"a":2}', '{"a":3}']
+  }
+
+  private static List<String> readAll(StreamFormat format, String input) {
+    def reader = StreamElementReader.of(format, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)))
+    def result = []
+    while (reader.next()) {
+      result << new String(reader.element().readAllBytes(), StandardCharsets.UTF_8).trim()
+    }
+    result
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.library.http.server.undertow.testlib;
+
+import ch.raffael.meldioc.library.codec.AbstractCharDataObjectCodec;
+import ch.raffael.meldioc.library.codec.ContentType;
+import ch.raffael.meldioc.library.codec.ContentTypes;
+import ch.raffael.meldioc.library.codec.ObjectCodecFactory;
+import ch.raffael.meldioc.library.codec.ObjectDecoder;
+import ch.raffael.meldioc.library.codec.ObjectEncoder;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import io.vavr.control.Option;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.regex.Pattern;
+
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * An object codec factory for {@link Item items} only, writing them as
+ * {@code {"name":"..."}}. An item named {@value #FAILING} can't be encoded.
+ */
+public class ItemCodecFactory implements ObjectCodecFactory {
+
+  public static final String FAILING = "fail";
+
+  private static final Pattern ITEM = Pattern.compile("\\s*\\{\"name\":\"([^\"]*)\"}\\s*");
+
+  private final ContentType contentType;
+  private final String tag;
+
+  public ItemCodecFactory() {
+    this(ContentTypes.JSON, "");
+  }
+
+  /**
+   * A factory for the given content type, appending the tag to the names
+   * of encoded items to tell several factories apart.
+   */
+  public ItemCodecFactory(ContentType contentType, String tag) {
+    this.contentType = contentType;
+    this.tag = tag;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Option<ObjectEncoder<T>> encoder(Class<T> type, Option<ContentType> contentType) {
+    return canEncode(type) && contentType.forAll(this::canEncodeAs) ? some((ObjectEncoder<T>) new Codec()) : none();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Option<ObjectDecoder<T>> decoder(Option<ContentType> contentType, Class<T> type) {
+    return canDecodeAs(type) && contentType.forAll(this::canDecode) ? some((ObjectDecoder<T>) new Codec()) : none();
+  }
+
+  @Override
+  public boolean canEncode(Class<?> type) {
+    return type == Item.class;
+  }
+
+  @Override
+  public boolean canEncodeAs(ContentType contentType) {
+    return this.contentType.equalsTypeOnly(contentType);
+  }
+
+  @Override
+  public boolean canDecode(ContentType contentType) {
+    return this.contentType.equalsTypeOnly(contentType);
+  }
+
+  @Override
+  public boolean canDecodeAs(Class<?> type) {
+    return type == Item.class;
+  }
+
+  @Override
+  public Seq<ContentType> supportedContentTypes() {
+    return List.of(contentType);
+  }
+
+  private final class Codec extends AbstractCharDataObjectCodec<Item> {
+    @Override
+    protected Item decode(Reader source) throws IOException {
+      var buf = new StringBuilder();
+      int c;
+      while ((c = source.read()) >= 0) {
+        buf.append((char) c);
+      }
+      var matcher = ITEM.matcher(buf);
+      if (!matcher.matches()) {
+        throw new InvalidItemException("Invalid item: " + buf);
+      }
+      return Item.of(matcher.group(1));
+    }
+
+    @Override
+    protected void encode(Item value, Writer target) throws IOException {
+      if (value.name().equals(FAILING)) {
+        throw new IOException("Failing item");
+      }
+      target.write("{\"name\":\"" + value.name() + tag + "\"}");
+    }
+
+    @Override
+    protected ContentType baseContentType() {
+      return contentType;
+    }
+
+    @Override
+    public boolean isInvalidInput(Throwable exception) {
+      return exception instanceof InvalidItemException;
+    }
+  }
+
+  public static final class InvalidItemException extends IOException {
+    public InvalidItemException(String message) {
+      super(message);
+    }
+  }
+}
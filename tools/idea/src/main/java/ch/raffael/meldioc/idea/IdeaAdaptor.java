@@ -59,12 +59,14 @@ import com.intellij.psi.PsiClassObjectAccessExpression;
 import com.intellij.psi.PsiClassOwner;
 import com.intellij.psi.PsiClassType;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiEnumConstant;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.PsiMethod;
 import com.intellij.psi.PsiModifier;
 import com.intellij.psi.PsiModifierListOwner;
 import com.intellij.psi.PsiParameter;
 import com.intellij.psi.PsiPrimitiveType;
+import com.intellij.psi.PsiReferenceExpression;
 import com.intellij.psi.PsiSubstitutor;
 import com.intellij.psi.PsiType;
 import com.intellij.psi.PsiTypeParameterList;
@@ -376,7 +378,9 @@ public class IdeaAdaptor implements Adaptor<PsiElement, PsiType> {
           var confBuilder = ConfigurationConfig.<PsiElement>builder()
               .source(a)
               .shellName(annotationValue(a, ConfigurationConfig.SHELL_NAME, String.class))
-              .packageLocal(annotationValue(a, ConfigurationConfig.PACKAGE_LOCAL, Boolean.class));
+              .packageLocal(annotationValue(a, ConfigurationConfig.PACKAGE_LOCAL, Boolean.class))
+              .lightweight(annotationValue(a, ConfigurationConfig.LIGHTWEIGHT, Boolean.class))
+              .poolable(annotationValue(a, ConfigurationConfig.POOLABLE, Boolean.class));
           Option.of(a.findAttributeValue(ConfigurationConfig.MOUNT))
               .<Seq<ClassRef>>map(v -> {
                 if (v instanceof PsiClassObjectAccessExpression) {
@@ -447,6 +451,7 @@ public class IdeaAdaptor implements Adaptor<PsiElement, PsiType> {
           allConfigs = allConfigs.append(ProvisionConfig.<PsiElement>builder()
               .source(a)
               .singleton(annotationValue(a, ProvisionConfig.SINGLETON, Boolean.class))
+              .strategy(enumAnnotationValue(a, ProvisionConfig.STRATEGY, Provision.Strategy.class))
               .override(annotationValue(a, ProvisionConfig.OVERRIDE, Boolean.class))
               .build());
         } catch (AnnotationValueNotAvailableException e) {
@@ -484,6 +489,17 @@ public class IdeaAdaptor implements Adaptor<PsiElement, PsiType> {
         .getOrElseThrow(() -> new AnnotationValueNotAvailableException("No attribute '" + n + "' found in " + a));
   }
 
+  private <E extends Enum<E>> E enumAnnotationValue(PsiAnnotation a, String n, Class<E> type)
+      throws AnnotationValueNotAvailableException {
+    return Option.of(a.findAttributeValue(n))
+        .filter(PsiReferenceExpression.class::isInstance)
+        .map(v -> ((PsiReferenceExpression) v).resolve())
+        .filter(PsiEnumConstant.class::isInstance)
+        .map(c -> ((PsiEnumConstant) c).getName())
+        .flatMap(c -> Array.of(type.getEnumConstants()).find(e -> e.name().equals(c)))
+        .getOrElseThrow(() -> new AnnotationValueNotAvailableException("No attribute '" + n + "' found in " + a));
+  }
+
   private PsiType substituteType(Option<PsiSubstitutor> substitutor, PsiType type) {
     return substitutor.map(s -> s.substitute(type)).getOrElse(type);
   }
@@ -0,0 +1,490 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.processor.json;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.LinkedHashMap;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.control.Option;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * Generates the {@code JsonCodec} for one immutable type.
+ */
+final class JsonCodecGenerator {
+
+  static final String CODEC_SUFFIX = "_JsonCodec";
+  static final String INSTANCE_FIELD = "INSTANCE";
+
+  private static final String JSON_PACKAGE = "ch.raffael.meldioc.library.codec.json";
+  private static final ClassName JSON_CODEC = ClassName.get(JSON_PACKAGE, "JsonCodec");
+  private static final ClassName JSON_WRITER = ClassName.get(JSON_PACKAGE, "JsonWriter");
+  private static final ClassName JSON_READER = ClassName.get(JSON_PACKAGE, "JsonReader");
+  private static final String VALUE_DEFAULT = "org.immutables.value.Value.Default";
+
+  private static final Map<String, ClassName> VAVR_COLLECTIONS = LinkedHashMap.of(
+      "io.vavr.collection.Traversable", ClassName.get("io.vavr.collection", "List"),
+      "io.vavr.collection.Seq", ClassName.get("io.vavr.collection", "List"),
+      "io.vavr.collection.LinearSeq", ClassName.get("io.vavr.collection", "List"),
+      "io.vavr.collection.List", ClassName.get("io.vavr.collection", "List"),
+      "io.vavr.collection.IndexedSeq", ClassName.get("io.vavr.collection", "Vector"),
+      "io.vavr.collection.Vector", ClassName.get("io.vavr.collection", "Vector"),
+      "io.vavr.collection.Array", ClassName.get("io.vavr.collection", "Array"),
+      "io.vavr.collection.Set", ClassName.get("io.vavr.collection", "HashSet"),
+      "io.vavr.collection.HashSet", ClassName.get("io.vavr.collection", "HashSet"),
+      "io.vavr.collection.LinkedHashSet", ClassName.get("io.vavr.collection", "LinkedHashSet"));
+  private static final Map<String, ClassName> JAVA_COLLECTIONS = LinkedHashMap.of(
+      "java.util.Collection", ClassName.get("java.util", "List"),
+      "java.util.List", ClassName.get("java.util", "List"),
+      "java.util.Set", ClassName.get("java.util", "Set"));
+  private static final ClassName OPTION = ClassName.get("io.vavr.control", "Option");
+  private static final ClassName JAVA_OPTIONAL = ClassName.get("java.util", "Optional");
+
+  private final ProcessingEnvironment env;
+  private final TypeElement type;
+  private final ClassName typeName;
+  private final ClassName codecName;
+  private int errors = 0;
+  private int lambdaDepth = 0;
+
+  JsonCodecGenerator(ProcessingEnvironment env, TypeElement type) {
+    this.env = env;
+    this.type = type;
+    this.typeName = ClassName.get(type);
+    this.codecName = codecClassName(type);
+  }
+
+  static ClassName codecClassName(TypeElement type) {
+    var name = ClassName.get(type);
+    return ClassName.get(name.packageName(), String.join("_", name.simpleNames()) + CODEC_SUFFIX);
+  }
+
+  Option<JavaFile> generate() {
+    if (!type.getTypeParameters().isEmpty()) {
+      error(type, "Generic types are not supported");
+    }
+    var record = type.getKind().name().equals("RECORD");
+    var builder = ElementFilter.methodsIn(type.getEnclosedElements()).stream()
+        .anyMatch(m -> m.getSimpleName().contentEquals("builder")
+            && m.getModifiers().contains(Modifier.STATIC)
+            && m.getParameters().isEmpty());
+    if (!builder && !record) {
+      error(type, "Static method builder() required");
+    }
+    var attributes = record ? recordComponents(type) : attributes(type);
+    var write = CodeBlock.builder().addStatement("writer.beginObject()");
+    var read = CodeBlock.builder();
+    var required = builder ? attributes.filter(this::isRequired) : List.<ExecutableElement>empty();
+    var vavrDefaults = builder
+                       ? attributes.flatMap(a -> vavrDefault(a).map(d -> Tuple.of(a, d)))
+                       : List.<Tuple2<ExecutableElement, CodeBlock>>empty();
+    if (builder) {
+      read.addStatement("var builder = $T.builder()", typeName);
+      for (var attr : required.appendAll(vavrDefaults.map(Tuple2::_1))) {
+        read.addStatement("boolean $N = false", local(attr));
+      }
+    } else {
+      for (var attr : attributes) {
+        var optional = optionalKind(attr.getReturnType());
+        read.addStatement("$T $N = $L", TypeName.get(attr.getReturnType()).box(), local(attr),
+            optional.map(o -> CodeBlock.of("$T.$N()", o, o.equals(OPTION) ? "none" : "empty"))
+                .getOrElse(() -> CodeBlock.of("null")));
+      }
+    }
+    read.addStatement("reader.beginObject()")
+        .beginControlFlow("while (reader.hasNext())")
+        .beginControlFlow("switch (reader.nextName())");
+    for (var attr : attributes) {
+      var name = attr.getSimpleName().toString();
+      var attrType = attr.getReturnType();
+      var accessor = CodeBlock.of("value.$N()", name);
+      var optional = optionalKind(attrType);
+      CodeBlock value;
+      if (optional.isDefined()) {
+        var valueType = typeArgument(attrType, optional.get().canonicalName()).get();
+        write.beginControlFlow("if ($L.$N())", accessor, optional.get().equals(OPTION) ? "isDefined" : "isPresent")
+            .addStatement("writer.name($S)", name)
+            .add(writeStatement(attr, valueType, CodeBlock.of("$L.get()", accessor)))
+            .endControlFlow();
+        value = CodeBlock.of(optional.get().equals(OPTION)
+                             ? "reader.nextOption($L)"
+                             : "reader.nextOption($L).toJavaOptional()",
+            reader(attr, valueType));
+      } else {
+        write.addStatement("writer.name($S)", name)
+            .add(writeStatement(attr, attrType, accessor));
+        value = readExpression(attr, attrType, CodeBlock.of("reader.nonNull($S)", name));
+      }
+      read.add("case $S:\n", name).indent();
+      if (builder) {
+        read.addStatement("builder.$N($L)", name, value);
+        if (required.contains(attr) || vavrDefaults.exists(d -> d._1.equals(attr))) {
+          read.addStatement("$N = true", local(attr));
+        }
+      } else {
+        read.addStatement("$N = $L", local(attr), value);
+      }
+      read.addStatement("break").unindent();
+    }
+    write.addStatement("writer.endObject()");
+    read.add("default:\n").indent()
+        .addStatement("reader.skipValue()").unindent()
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("reader.endObject()");
+    for (var attr : required) {
+      read.addStatement("reader.requirePresent($N, $S)", local(attr), attr.getSimpleName().toString());
+    }
+    for (var d : vavrDefaults) {
+      read.beginControlFlow("if (!$N)", local(d._1))
+          .addStatement("builder.$N($L)", d._1.getSimpleName().toString(), d._2)
+          .endControlFlow();
+    }
+    read.beginControlFlow("try");
+    if (builder) {
+      read.addStatement("return builder.build()");
+    } else {
+      read.addStatement("return new $T($L)", typeName, attributes
+          .map(a -> optionalKind(a.getReturnType()).isDefined()
+                    ? CodeBlock.of("$N", local(a))
+                    : CodeBlock.of("reader.required($N, $S)", local(a), a.getSimpleName().toString()))
+          .collect(CodeBlock.joining(", ")));
+    }
+    read.nextControlFlow("catch ($T | $T e)", IllegalArgumentException.class, IllegalStateException.class)
+        .addStatement("throw reader.invalidValue($T.class, e)", typeName)
+        .endControlFlow();
+    if (errors > 0) {
+      return none();
+    }
+    var codec = TypeSpec.classBuilder(codecName)
+        .addOriginatingElement(type)
+        .addModifiers(Modifier.FINAL)
+        .addSuperinterface(ParameterizedTypeName.get(JSON_CODEC, typeName))
+        .addField(FieldSpec.builder(codecName, INSTANCE_FIELD,
+            Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+            .initializer("new $T()", codecName)
+            .build())
+        .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+        .addMethod(MethodSpec.methodBuilder("type")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(ParameterizedTypeName.get(ClassName.get(Class.class), typeName))
+            .addStatement("return $T.class", typeName)
+            .build())
+        .addMethod(MethodSpec.methodBuilder("write")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(JSON_WRITER, "writer")
+            .addParameter(typeName, "value")
+            .addException(IOException.class)
+            .addCode(write.build())
+            .build())
+        .addMethod(MethodSpec.methodBuilder("read")
+            .addAnnotation(Override.class)
+            .addModifiers(Modifier.PUBLIC)
+            .addParameter(JSON_READER, "reader")
+            .returns(typeName)
+            .addException(IOException.class)
+            .addCode(read.build())
+            .build());
+    if (type.getModifiers().contains(Modifier.PUBLIC)) {
+      codec.addModifiers(Modifier.PUBLIC);
+    }
+    return some(JavaFile.builder(codecName.packageName(), codec.build())
+        .addFileComment("Generated by ch.raffael.meldioc")
+        .skipJavaLangImports(true)
+        .build());
+  }
+
+  private List<ExecutableElement> attributes(TypeElement type) {
+    return List.ofAll(ElementFilter.methodsIn(type.getEnclosedElements()))
+        .filter(this::isAttribute)
+        .appendAll(List.ofAll(env.getTypeUtils().directSupertypes(type.asType()))
+            .map(t -> env.getTypeUtils().asElement(t))
+            .filter(e -> e instanceof TypeElement)
+            .filter(e -> !((TypeElement) e).getQualifiedName().contentEquals("java.lang.Object"))
+            .flatMap(e -> attributes((TypeElement) e)))
+        .distinctBy(m -> m.getSimpleName().toString());
+  }
+
+  private List<ExecutableElement> recordComponents(TypeElement type) {
+    var accessors = List.ofAll(ElementFilter.methodsIn(type.getEnclosedElements()))
+        .filter(m -> !m.getModifiers().contains(Modifier.STATIC) && m.getParameters().isEmpty());
+    return List.ofAll(type.getEnclosedElements())
+        .filter(e -> e.getKind().name().equals("RECORD_COMPONENT"))
+        .flatMap(c -> accessors.find(m -> m.getSimpleName().equals(c.getSimpleName())));
+  }
+
+  private static String local(ExecutableElement attribute) {
+    return "_" + attribute.getSimpleName();
+  }
+
+  private boolean isAttribute(ExecutableElement method) {
+    return !method.getModifiers().contains(Modifier.STATIC)
+        && !method.getModifiers().contains(Modifier.PRIVATE)
+        && method.getParameters().isEmpty()
+        && method.getReturnType().getKind() != TypeKind.VOID
+        && (method.getModifiers().contains(Modifier.ABSTRACT)
+            || method.getAnnotationMirrors().stream().anyMatch(a ->
+               ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(VALUE_DEFAULT)));
+  }
+
+  /**
+   * Attributes that must be present when reading via the builder:
+   * everything except defaults, optionals and collections.
+   */
+  private boolean isRequired(ExecutableElement attribute) {
+    return attribute.getModifiers().contains(Modifier.ABSTRACT)
+        && optionalKind(attribute.getReturnType()).isEmpty()
+        && collectionElement(attribute.getReturnType()).isEmpty();
+  }
+
+  /**
+   * Immutables doesn't know vavr's types, so it treats them as required.
+   * Missing optionals and collections are set to empty explicitly.
+   */
+  private Option<CodeBlock> vavrDefault(ExecutableElement attribute) {
+    if (!attribute.getModifiers().contains(Modifier.ABSTRACT)) {
+      return none();
+    }
+    var type = attribute.getReturnType();
+    if (typeArgument(type, OPTION.canonicalName()).isDefined()) {
+      return some(CodeBlock.of("$T.none()", OPTION));
+    }
+    return collectionElement(type)
+        .filter(c -> !c._1.packageName().equals("java.util"))
+        .map(c -> CodeBlock.of("$T.empty()", c._1));
+  }
+
+  private CodeBlock writeStatement(Element source, TypeMirror type, CodeBlock expr) {
+    return CodeBlock.builder().addStatement("$L", writeExpression(source, type, CodeBlock.of("writer"), expr)).build();
+  }
+
+  private CodeBlock writeExpression(Element source, TypeMirror type, CodeBlock writer, CodeBlock expr) {
+    switch (unboxed(type).getKind()) {
+      case BOOLEAN:
+      case BYTE:
+      case SHORT:
+      case INT:
+      case LONG:
+      case FLOAT:
+      case DOUBLE:
+        return CodeBlock.of("$L.value($L)", writer, expr);
+      default:
+    }
+    if (isType(type, "java.lang.String") || isType(type, "java.math.BigDecimal")
+        || isType(type, "java.math.BigInteger")) {
+      return CodeBlock.of("$L.value($L)", writer, expr);
+    }
+    var element = asTypeElement(type);
+    if (element.isDefined() && element.get().getKind() == ElementKind.ENUM) {
+      return CodeBlock.of("$L.value($L.name())", writer, expr);
+    }
+    if (element.isDefined() && isGenerated(element.get())) {
+      return CodeBlock.of("$T.$N.write($L, $L)", codecClassName(element.get()), INSTANCE_FIELD, writer, expr);
+    }
+    var option = typeArgument(type, OPTION.canonicalName());
+    if (option.isDefined()) {
+      return CodeBlock.of("$L.option($L, $L)", writer, expr, writer(source, option.get()));
+    }
+    option = typeArgument(type, JAVA_OPTIONAL.canonicalName());
+    if (option.isDefined()) {
+      return CodeBlock.of("$L.option($T.ofOptional($L), $L)", writer, OPTION, expr, writer(source, option.get()));
+    }
+    var elementType = collectionElement(type);
+    if (elementType.isDefined()) {
+      return CodeBlock.of("$L.array($L, $L)", writer, expr, writer(source, elementType.get()._2));
+    }
+    return unsupported(source, type);
+  }
+
+  private CodeBlock readExpression(Element source, TypeMirror type, CodeBlock reader) {
+    switch (unboxed(type).getKind()) {
+      case BOOLEAN:
+        return CodeBlock.of("$L.nextBoolean()", reader);
+      case BYTE:
+        return CodeBlock.of("(byte) $L.nextInt()", reader);
+      case SHORT:
+        return CodeBlock.of("(short) $L.nextInt()", reader);
+      case INT:
+        return CodeBlock.of("$L.nextInt()", reader);
+      case LONG:
+        return CodeBlock.of("$L.nextLong()", reader);
+      case FLOAT:
+        return CodeBlock.of("(float) $L.nextDouble()", reader);
+      case DOUBLE:
+        return CodeBlock.of("$L.nextDouble()", reader);
+      default:
+    }
+    if (isType(type, "java.lang.String")) {
+      return CodeBlock.of("$L.nextString()", reader);
+    } else if (isType(type, "java.math.BigDecimal")) {
+      return CodeBlock.of("$L.nextBigDecimal()", reader);
+    } else if (isType(type, "java.math.BigInteger")) {
+      return CodeBlock.of("$L.nextBigInteger()", reader);
+    }
+    var element = asTypeElement(type);
+    if (element.isDefined() && element.get().getKind() == ElementKind.ENUM) {
+      return CodeBlock.of("$L.nextEnum($T.class)", reader, ClassName.get(element.get()));
+    }
+    if (element.isDefined() && isGenerated(element.get())) {
+      return CodeBlock.of("$T.$N.read($L)", codecClassName(element.get()), INSTANCE_FIELD, reader);
+    }
+    var option = typeArgument(type, OPTION.canonicalName());
+    if (option.isDefined()) {
+      return CodeBlock.of("$L.nextOption($L)", reader, reader(source, option.get()));
+    }
+    option = typeArgument(type, JAVA_OPTIONAL.canonicalName());
+    if (option.isDefined()) {
+      return CodeBlock.of("$L.nextOption($L).toJavaOptional()", reader, reader(source, option.get()));
+    }
+    var elementType = collectionElement(type);
+    if (elementType.isDefined()) {
+      return CodeBlock.of("$T.$N($L.nextArray($L))", elementType.get()._1,
+          elementType.get()._1.packageName().equals("java.util") ? "copyOf" : "ofAll",
+          reader, reader(source, elementType.get()._2));
+    }
+    return unsupported(source, type);
+  }
+
+  private CodeBlock writer(Element source, TypeMirror type) {
+    var depth = ++lambdaDepth;
+    try {
+      var w = CodeBlock.of("w$L", depth);
+      return CodeBlock.of("($L, v$L) -> $L", w, depth,
+          writeExpression(source, type, w, CodeBlock.of("v$L", depth)));
+    } finally {
+      lambdaDepth--;
+    }
+  }
+
+  private CodeBlock reader(Element source, TypeMirror type) {
+    var depth = ++lambdaDepth;
+    try {
+      var r = CodeBlock.of("r$L", depth);
+      var element = optionalKind(type).isDefined()
+                    ? r
+                    : CodeBlock.of("$L.nonNull($S)", r, source.getSimpleName() + "[]");
+      return CodeBlock.of("$L -> $L", r, readExpression(source, type, element));
+    } finally {
+      lambdaDepth--;
+    }
+  }
+
+  private CodeBlock unsupported(Element source, TypeMirror type) {
+    error(source, "Unsupported type for JSON codec: " + type);
+    return CodeBlock.of("null");
+  }
+
+  private Option<ClassName> optionalKind(TypeMirror type) {
+    return List.of(OPTION, JAVA_OPTIONAL).find(o -> typeArgument(type, o.canonicalName()).isDefined());
+  }
+
+  private Option<TypeMirror> typeArgument(TypeMirror type, String rawType) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return none();
+    }
+    var declared = (DeclaredType) type;
+    if (!((TypeElement) declared.asElement()).getQualifiedName().contentEquals(rawType)
+        || declared.getTypeArguments().size() != 1) {
+      return none();
+    }
+    return some(upperBound(declared.getTypeArguments().get(0)));
+  }
+
+  private Option<Tuple2<ClassName, TypeMirror>> collectionElement(TypeMirror type) {
+    return asTypeElement(type)
+        .map(e -> e.getQualifiedName().toString())
+        .flatMap(n -> VAVR_COLLECTIONS.get(n).orElse(() -> JAVA_COLLECTIONS.get(n))
+            .flatMap(impl -> typeArgument(type, n).map(t -> Tuple.of(impl, t))));
+  }
+
+  private TypeMirror upperBound(TypeMirror type) {
+    if (type.getKind() == TypeKind.WILDCARD) {
+      var bound = ((WildcardType) type).getExtendsBound();
+      return bound == null
+             ? env.getElementUtils().getTypeElement("java.lang.Object").asType()
+             : bound;
+    }
+    return type;
+  }
+
+  private TypeMirror unboxed(TypeMirror type) {
+    if (type.getKind().isPrimitive()) {
+      return type;
+    }
+    try {
+      return env.getTypeUtils().unboxedType(type);
+    } catch (IllegalArgumentException e) {
+      return type;
+    }
+  }
+
+  private Option<TypeElement> asTypeElement(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) {
+      return none();
+    }
+    return some((TypeElement) ((DeclaredType) type).asElement());
+  }
+
+  private boolean isType(TypeMirror type, String name) {
+    return asTypeElement(type).map(e -> e.getQualifiedName().contentEquals(name)).getOrElse(false);
+  }
+
+  private boolean isGenerated(TypeElement element) {
+    return element.getAnnotationMirrors().stream().anyMatch(a ->
+        ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName()
+            .contentEquals(JsonCodecProcessor.GENERATE_ANNOTATION));
+  }
+
+  private void error(Element element, String message) {
+    errors++;
+    env.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.processor.json;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Generates reflection-free JSON codecs for immutables annotated with
+ * {@code @JsonCodec.Generate}.
+ */
+@SupportedAnnotationTypes(JsonCodecProcessor.GENERATE_ANNOTATION)
+public class JsonCodecProcessor extends AbstractProcessor {
+
+  public static final String GENERATE_ANNOTATION = "ch.raffael.meldioc.library.codec.json.JsonCodec.Generate";
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
+    annotations.stream()
+        .flatMap(a -> roundEnv.getElementsAnnotatedWith(a).stream())
+        .forEach(e -> {
+          if (e instanceof TypeElement) {
+            generate((TypeElement) e);
+          } else {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Expected a class", e);
+          }
+        });
+    return true;
+  }
+
+  private void generate(TypeElement type) {
+    var generator = new JsonCodecGenerator(processingEnv, type);
+    var source = generator.generate();
+    if (source.isEmpty()) {
+      return;
+    }
+    try {
+      source.get().writeTo(processingEnv.getFiler());
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+          "Error writing JSON codec for " + type + ": " + e, type);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+import ch.raffael.meldioc.processor.json.JsonCodecProcessor;
+
+import javax.annotation.processing.Processor;
+
+module ch.raffael.meldioc.tools.json.processor {
+  requires io.vavr;
+  requires java.compiler;
+
+  provides Processor with JsonCodecProcessor;
+}
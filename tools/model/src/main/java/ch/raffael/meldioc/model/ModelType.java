@@ -158,9 +158,10 @@ public final class ModelType<S, T> {
   }
 
   private Seq<ModelMethod<S, T>> findAllMethods(Map<Tuple2<String, Seq<SrcElement<?, T>>>, Seq<ModelMethod<S, T>>> superMethods, Seq<ModelMethod<S, T>> declaredMethods) {
+    var declaredSignatures = declaredMethods.map(dm -> dm.element().methodSignature()).toSet();
     return declaredMethods.toStream()
         .appendAll(superMethods.toStream()
-            .filter(sm -> !declaredMethods.exists(dm -> dm.element().methodSignature().equals(sm._1)))
+            .filter(sm -> !declaredSignatures.contains(sm._1))
             .map(Tuple2::_2)
             .map(sm -> sm.size() == 1
                        ? sm.head()
@@ -180,6 +181,7 @@ public final class ModelType<S, T> {
             include &= validateOverridableMethod(m1);
             include &= validateMethodAccessibility(element, m1, false);
             include &= validateProvisionOverrideAttribute(m1);
+            include &= validateProvisionStrategy(m1);
           }
           return include;
         })
@@ -293,16 +295,20 @@ public final class ModelType<S, T> {
             .build())
         .toList();
     var allDeclared = declaredLocal.appendAll(declaredMounted);
+    // index by name/signature, configurations may have thousands of provisions
+    var declaredLocalNames = declaredLocal.map(l -> l.element().name()).toSet();
+    var declaredMountedByName = declaredMounted.groupBy(m -> m.element().name());
+    var nonProvisionsBySignature = allMethods
+        .filter(m -> m.element().provisionConfigOption().isEmpty())
+        .groupBy(m -> m.element().methodSignature());
     // determine implied
     var impliedLocal = declaredMounted.toStream()
-        .reject(p -> declaredLocal.exists(l -> l.element().name().equals(p.element().name())))
+        .reject(p -> declaredLocalNames.contains(p.element().name()))
         .filter(p -> {
           // report mounted provisions that will cause a conflict with methods defined in this class
-          allMethods
-              .filter(m -> m.element().provisionConfigOption().isEmpty())
-              .filter(m -> m.element().methodSignature().equals(p.element().methodSignature()))
+          nonProvisionsBySignature.get(p.element().methodSignature()).forEach(c -> c
               .forEach(m -> message(Message.mountedProvisionOverridesMethod(
-                  findErrorReportElement(m), m.element(), p.via().get().element())));
+                  findErrorReportElement(m), m.element(), p.via().get().element()))));
           return true;
         })
         .groupBy(p -> p.element().name())
@@ -359,17 +365,17 @@ public final class ModelType<S, T> {
         .toMap(p -> p.element().name(), identity());
     var resolved = allLocal.toStream()
         .map(p -> implementations.get(p.element().name())
-            .filter(i -> validateImplementationCompatibility(p, i, declaredMounted))
+            .filter(i -> validateImplementationCompatibility(p, i,
+                declaredMountedByName.get(p.element().name()).getOrElse(List.empty())))
             .map(i -> p.withVia(i.via()))
             // error has been reported
             .getOrElse(p));
     return resolved;
   }
 
-  private boolean validateImplementationCompatibility(ModelMethod<S, T> provision, ModelMethod<S, T> impl, List<ModelMethod<S, T>> mounted) {
-    // check type compatibility
+  private boolean validateImplementationCompatibility(ModelMethod<S, T> provision, ModelMethod<S, T> impl, Seq<ModelMethod<S, T>> mounted) {
+    // check type compatibility (`mounted` contains the mounted provisions with the same name only)
     mounted.toStream()
-        .filter(m -> m.element().name().equals(provision.element().name()))
         .filter(m -> !model.adaptor().isSubtypeOf(impl.element().type(), m.element().type()))
         .forEach(m ->
             message(Message.incompatibleProvisionTypes(findErrorReportElement(m), m.element(),
@@ -381,7 +387,6 @@ public final class ModelType<S, T> {
     }
     // check throws clause compatibility
     mounted.toStream()
-        .filter(m -> m.element().name().equals(provision.element().name()))
         .forEach(m ->
             incompatibleExceptions(m.exceptions(), impl.exceptions()).forEach(e ->
                 message(Message.incompatibleProvisionThrows(findErrorReportElement(m), provision.element(),
@@ -443,6 +448,11 @@ public final class ModelType<S, T> {
   }
 
   private Seq<ModelMethod<S, T>> findSetupMethods(Adaptor<S, T> adaptor) {
+    var isConfiguration = element.configs().exists(c -> c.type().annotationType().equals(Configuration.class));
+    // collect the mounted extension points once instead of once per setup parameter
+    Seq<ModelMethod<S, T>> mountedExtensionPoints = isConfiguration
+        ? mountMethods.flatMap(m -> model.modelOf(m.element().type()).extensionPointMethods().map(ep -> ep.withVia(m)))
+        : List.empty();
     return this.allMethods.toStream()
         .filter(m -> m.element().configs().exists(c -> c.type().annotationType().equals(Setup.class)))
         .map(tap(m -> {
@@ -451,8 +461,8 @@ public final class ModelType<S, T> {
           }
         }))
         .appendAll(collectMounted(ModelType::setupMethods))
-        .map(element.configs().exists(c -> c.type().annotationType().equals(Configuration.class))
-             ? m -> m.withArguments(mapSetupParameters(m))
+        .map(isConfiguration
+             ? m -> m.withArguments(mapSetupParameters(m, mountedExtensionPoints))
              : identity())
         .toList();
   }
@@ -593,6 +603,15 @@ public final class ModelType<S, T> {
     return true;
   }
 
+  private boolean validateProvisionStrategy(ModelMethod<S, T> method) {
+    if (method.element().parent().equals(element)) {
+      method.element().provisionConfigOption()
+          .filter(c -> !c.singleton() && c.strategy() != Provision.Strategy.DEFAULT)
+          .forEach(__ -> message(Message.provisionStrategyRequiresSingleton(method.element())));
+    }
+    return true;
+  }
+
   private boolean validateNoParameters(ModelMethod<S, T> method) {
     if (!method.element().parameters().isEmpty()) {
       message(Message.noParametersAllowed(method.element()));
@@ -622,7 +641,8 @@ public final class ModelType<S, T> {
     return true;
   }
 
-  private Seq<Either<ModelMethod<S, T>, BuiltinArgument>> mapSetupParameters(ModelMethod<S, T> method) {
+  private Seq<Either<ModelMethod<S, T>, BuiltinArgument>> mapSetupParameters(ModelMethod<S, T> method,
+                                                                             Seq<ModelMethod<S, T>> mountedExtensionPoints) {
     return method.element().parameters().map(param -> {
       Seq<Either<ModelMethod<S, T>, BuiltinArgument>> candidates = Vector.ofAll(model.configType()
           .filter(t -> model.adaptor().isSubtypeOf(t, param.type()))
@@ -631,11 +651,8 @@ public final class ModelType<S, T> {
           extensionPointMethods
               .filter(epp -> model.adaptor().isSubtypeOf(epp.element().type(), param.type()))
               .map(Either::left));
-      candidates = candidates.appendAll(mountMethods
-          .map(m -> Tuple.of(m, model.modelOf(m.element().type()).extensionPointMethods()))
-          .flatMap(tplViaEpp -> tplViaEpp._2().map(m -> Tuple.of(tplViaEpp._1(), m)))
-          .filter(tplViaEpp -> model.adaptor().isSubtypeOf(tplViaEpp._2().element().type(), param.type()))
-          .map(tplViaEpp -> tplViaEpp._2().withVia(tplViaEpp._1()))
+      candidates = candidates.appendAll(mountedExtensionPoints
+          .filter(epp -> model.adaptor().isSubtypeOf(epp.element().type(), param.type()))
           .map(Either::left));
       if (candidates.isEmpty()) {
         SrcElement<S, T> epType = model.adaptor().classElement(param.type());
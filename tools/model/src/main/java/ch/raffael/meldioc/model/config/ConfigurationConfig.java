@@ -28,6 +28,7 @@ import ch.raffael.meldioc.util.immutables.Immutable;
 import io.vavr.collection.HashMap;
 import io.vavr.collection.Map;
 import io.vavr.collection.Seq;
+import org.immutables.value.Value;
 
 @Immutable.Pure
 @SuppressWarnings("varargs") // Bug in immutables or immutables-vavr: the builder methods are not annotated correctly
@@ -37,11 +38,23 @@ public abstract class ConfigurationConfig<S> extends ElementConfig<S> implements
   public static final String MOUNT = "mount";
   public static final String SHELL_NAME = "shellName";
   public static final String PACKAGE_LOCAL = "packageLocal";
+  public static final String LIGHTWEIGHT = "lightweight";
+  public static final String POOLABLE = "poolable";
 
   public abstract Seq<ClassRef> mount();
   public abstract String shellName();
   public abstract boolean packageLocal();
 
+  @Value.Default
+  public boolean lightweight() {
+    return false;
+  }
+
+  @Value.Default
+  public boolean poolable() {
+    return false;
+  }
+
   ConfigurationConfig() {}
   public static <S> Builder<S> builder() {return new Builder<>();}
   public static ConfigurationConfig<Configuration> of(Configuration annotation) {
@@ -49,6 +62,8 @@ public abstract class ConfigurationConfig<S> extends ElementConfig<S> implements
         .source(annotation)
         .shellName(annotation.shellName())
         .packageLocal(annotation.packageLocal())
+        .lightweight(annotation.lightweight())
+        .poolable(annotation.poolable())
         .build();
   }
 
@@ -71,7 +86,9 @@ public abstract class ConfigurationConfig<S> extends ElementConfig<S> implements
   public Map<String, Object> valueMap() {
     return HashMap.of(
         SHELL_NAME, shellName(),
-        PACKAGE_LOCAL, packageLocal());
+        PACKAGE_LOCAL, packageLocal(),
+        LIGHTWEIGHT, lightweight(),
+        POOLABLE, poolable());
   }
 
   public static final class Builder<S> extends ConfigurationConfig_Immutable.Builder<S> {
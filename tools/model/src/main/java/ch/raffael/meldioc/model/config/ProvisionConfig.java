@@ -26,12 +26,14 @@ import ch.raffael.meldioc.Provision;
 import ch.raffael.meldioc.util.immutables.Immutable;
 import io.vavr.collection.HashMap;
 import io.vavr.collection.Map;
+import org.immutables.value.Value;
 
 @Immutable.Pure
 public abstract class ProvisionConfig<S> extends ElementConfig<S> implements ProvisionConfig_With<S> {
 
   public static final ModelAnnotationType TYPE = ModelAnnotationType.of(Provision.class);
   public static final String SINGLETON = "singleton";
+  public static final String STRATEGY = "strategy";
   public static final String OVERRIDE = "override";
 
   ProvisionConfig() {}
@@ -40,6 +42,7 @@ public abstract class ProvisionConfig<S> extends ElementConfig<S> implements Pro
     return ProvisionConfig.<Provision>builder()
         .source(annotation)
         .singleton(annotation.singleton())
+        .strategy(annotation.strategy())
         .override(annotation.override())
         .build();
   }
@@ -47,6 +50,15 @@ public abstract class ProvisionConfig<S> extends ElementConfig<S> implements Pro
   public abstract boolean singleton();
   public abstract boolean override();
 
+  @Value.Default
+  public Provision.Strategy strategy() {
+    return Provision.Strategy.DEFAULT;
+  }
+
+  public Provision.Strategy effectiveStrategy() {
+    return strategy() == Provision.Strategy.DEFAULT ? Provision.Strategy.LAZY_LOCKING : strategy();
+  }
+
   @Override
   public final ModelAnnotationType type() {
     return TYPE;
@@ -54,12 +66,18 @@ public abstract class ProvisionConfig<S> extends ElementConfig<S> implements Pro
 
   @Override
   public Map<String, Object> valueMap() {
-    return HashMap.of(SINGLETON, singleton(), OVERRIDE, override());
+    return HashMap.of(SINGLETON, singleton(), STRATEGY, strategy(), OVERRIDE, override());
   }
 
   @Override
   public String displayName() {
-    return type().displayName() + (singleton() ? "(singleton=true)" : "");
+    if (!singleton()) {
+      return type().displayName();
+    } else if (strategy() == Provision.Strategy.DEFAULT) {
+      return type().displayName() + "(singleton=true)";
+    } else {
+      return type().displayName() + "(singleton=true, strategy=" + strategy() + ")";
+    }
   }
 
   public static final class Builder<S> extends ProvisionConfig_Immutable.Builder<S> {
@@ -120,6 +120,11 @@ public interface Message<S, T> {
         conflict);
   }
 
+  static <S, T> SimpleMessage<S, T> provisionStrategyRequiresSingleton(SrcElement<S, T> element) {
+    return SimpleMessage.of(Id.ProvisionStrategyRequiresSingleton, element,
+        "Provision strategy can only be specified for singleton provisions");
+  }
+
   static <S, T> SimpleMessage<S, T> unresolvedProvision(SrcElement<S, T> element, SrcElement<S, T> conflict) {
     return SimpleMessage.of(Id.UnresolvedProvision, element,
         "Unresolved provision '{1:name}'", conflict);
@@ -337,6 +342,7 @@ public interface Message<S, T> {
     IllegalFeatureClass,
     NonOverridableMethod,
     ProvisionOverrideMissing,
+    ProvisionStrategyRequiresSingleton,
     UnresolvedProvision,
     IncompatibleProvisionTypes,
     IncompatibleProvisionThrows,
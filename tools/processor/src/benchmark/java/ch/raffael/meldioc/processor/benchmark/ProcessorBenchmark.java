@@ -0,0 +1,231 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.processor.benchmark;
+
+import ch.raffael.meldioc.processor.MeldProcessor;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Generates a synthetic configuration mounting a configurable number of
+ * features with a configurable number of provisions each, compiles it
+ * in-process with the {@link MeldProcessor} and reports the time and
+ * allocations per processing stage.
+ *
+ * <p>Usage: {@code ProcessorBenchmark [features] [provisions per feature]
+ * [iterations] [warmup iterations]}. The class path for the synthetic
+ * sources must be passed in the system property
+ * {@value #CLASSPATH_PROPERTY}.
+ */
+public final class ProcessorBenchmark {
+
+  public static final String CLASSPATH_PROPERTY = "meldioc.benchmark.classpath";
+
+  private static final String PACKAGE = "bench";
+
+  private final int features;
+  private final int provisions;
+  private final String classpath;
+  private final Path workDir;
+
+  private final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  ProcessorBenchmark(int features, int provisions, String classpath, Path workDir) {
+    this.features = features;
+    this.provisions = provisions;
+    this.classpath = classpath;
+    this.workDir = workDir;
+  }
+
+  public static void main(String[] args) throws Exception {
+    int features = intArg(args, 0, 100);
+    int provisions = intArg(args, 1, 20);
+    int iterations = intArg(args, 2, 10);
+    int warmup = intArg(args, 3, 5);
+    var workDir = Files.createTempDirectory("meldioc-benchmark");
+    try {
+      var benchmark = new ProcessorBenchmark(features, provisions,
+          System.getProperty(CLASSPATH_PROPERTY, System.getProperty("java.class.path")), workDir);
+      benchmark.generateSources();
+      System.out.printf("Configuration with %d features, %d provisions each%n", features, provisions);
+      for (int i = 0; i < warmup; i++) {
+        benchmark.run();
+      }
+      var results = new ArrayList<Result>();
+      for (int i = 0; i < iterations; i++) {
+        results.add(benchmark.run());
+      }
+      report(results);
+    } finally {
+      delete(workDir);
+    }
+  }
+
+  void generateSources() throws IOException {
+    var pkgDir = Files.createDirectories(workDir.resolve("src").resolve(PACKAGE));
+    var context = new StringBuilder()
+        .append("package ").append(PACKAGE).append(";\n\n")
+        .append("import ch.raffael.meldioc.*;\n\n")
+        .append("@Configuration\n")
+        .append("public abstract class Context {\n");
+    for (int f = 0; f < features; f++) {
+      var feature = new StringBuilder()
+          .append("package ").append(PACKAGE).append(";\n\n")
+          .append("import ch.raffael.meldioc.*;\n\n")
+          .append("@Feature\n")
+          .append("public abstract class Feature").append(f).append(" {\n");
+      for (int p = 0; p < provisions; p++) {
+        feature.append("  @Provision(singleton = ").append(p % 2 == 0).append(")\n")
+            .append("  public Service").append(p).append(" f").append(f).append("p").append(p).append("() {\n")
+            .append("    return new Service").append(p).append("();\n")
+            .append("  }\n");
+      }
+      if (f > 0) {
+        // depend on the previous feature, to be resolved by the configuration
+        feature.append("  @Provision\n")
+            .append("  public abstract Service0 f").append(f - 1).append("p0();\n");
+      }
+      feature.append("  @Setup\n")
+          .append("  void setup").append(f).append("() {\n")
+          .append("  }\n")
+          .append("}\n");
+      Files.writeString(pkgDir.resolve("Feature" + f + ".java"), feature, StandardCharsets.UTF_8);
+      context.append("  @Feature.Mount\n")
+          .append("  abstract Feature").append(f).append(" feature").append(f).append("();\n");
+    }
+    context.append("}\n");
+    Files.writeString(pkgDir.resolve("Context.java"), context, StandardCharsets.UTF_8);
+    for (int p = 0; p < provisions; p++) {
+      Files.writeString(pkgDir.resolve("Service" + p + ".java"),
+          "package " + PACKAGE + ";\n\npublic class Service" + p + " {\n}\n", StandardCharsets.UTF_8);
+    }
+  }
+
+  Result run() throws IOException {
+    var out = workDir.resolve("out");
+    delete(out);
+    Files.createDirectories(out);
+    var compiler = ToolProvider.getSystemJavaCompiler();
+    var diagnostics = new DiagnosticCollector<JavaFileObject>();
+    var fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8);
+    List<Path> sources;
+    try (var files = Files.walk(workDir.resolve("src"))) {
+      sources = files.filter(f -> f.toString().endsWith(".java")).collect(Collectors.toList());
+    }
+    var listener = new Listener();
+    var task = compiler.getTask(null, fileManager, diagnostics,
+        List.of("-d", out.toString(), "-s", out.toString(), "-cp", classpath, "-proc:only"),
+        null, fileManager.getJavaFileObjectsFromPaths(sources));
+    task.setProcessors(List.of(new MeldProcessor().stageListener(listener)));
+    long start = System.nanoTime();
+    boolean success = task.call();
+    long total = System.nanoTime() - start;
+    fileManager.close();
+    if (!success) {
+      diagnostics.getDiagnostics().stream()
+          .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+          .forEach(d -> System.err.println(d.getMessage(null)));
+      throw new IllegalStateException("Compilation failed");
+    }
+    return new Result(total, listener.nanos, listener.bytes);
+  }
+
+  private static void report(List<Result> results) {
+    System.out.printf("%-12s %12s %14s%n", "Stage", "Time (ms)", "Alloc (MB)");
+    for (var stage : MeldProcessor.Stage.values()) {
+      System.out.printf("%-12s %12.2f %14.2f%n", stage,
+          results.stream().mapToLong(r -> r.nanos.getOrDefault(stage, 0L)).average().orElse(0) / 1_000_000,
+          results.stream().mapToLong(r -> r.bytes.getOrDefault(stage, 0L)).average().orElse(0) / (1024 * 1024));
+    }
+    System.out.printf("%-12s %12.2f%n", "TOTAL",
+        results.stream().mapToLong(r -> r.total).average().orElse(0) / 1_000_000);
+  }
+
+  private static int intArg(String[] args, int index, int fallback) {
+    return args.length > index ? Integer.parseInt(args[index]) : fallback;
+  }
+
+  private static void delete(Path path) throws IOException {
+    if (!Files.exists(path)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(path)) {
+      files.sorted(Comparator.reverseOrder()).forEach(f -> {
+        try {
+          Files.delete(f);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    }
+  }
+
+  private final class Listener implements MeldProcessor.StageListener {
+    private final Map<MeldProcessor.Stage, Long> nanos = new EnumMap<>(MeldProcessor.Stage.class);
+    private final Map<MeldProcessor.Stage, Long> bytes = new EnumMap<>(MeldProcessor.Stage.class);
+    private long startNanos;
+    private long startBytes;
+
+    @Override
+    public void started(MeldProcessor.Stage stage) {
+      startBytes = threadBean.getCurrentThreadAllocatedBytes();
+      startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void finished(MeldProcessor.Stage stage) {
+      // stages are reported once per round, sum them up
+      nanos.merge(stage, System.nanoTime() - startNanos, Long::sum);
+      bytes.merge(stage, threadBean.getCurrentThreadAllocatedBytes() - startBytes, Long::sum);
+    }
+  }
+
+  private static final class Result {
+    private final long total;
+    private final Map<MeldProcessor.Stage, Long> nanos;
+    private final Map<MeldProcessor.Stage, Long> bytes;
+
+    private Result(long total, Map<MeldProcessor.Stage, Long> nanos, Map<MeldProcessor.Stage, Long> bytes) {
+      this.total = total;
+      this.nanos = nanos;
+      this.bytes = bytes;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.processor;
+
+import ch.raffael.meldioc.model.BuiltinArgument;
+import ch.raffael.meldioc.model.ModelMethod;
+import ch.raffael.meldioc.model.ModelType;
+import ch.raffael.meldioc.model.config.ProvisionConfig;
+import ch.raffael.meldioc.processor.env.Environment;
+import com.squareup.javapoet.ClassName;
+import io.vavr.control.Option;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+
+import static ch.raffael.meldioc.processor.util.Elements.asDeclaredType;
+import static io.vavr.control.Option.none;
+import static io.vavr.control.Option.some;
+
+/**
+ * Writes the dependency manifest of a configuration: provisions with their
+ * providing feature and singleton status, mounts, extension points and
+ * setup methods with their parameters.
+ *
+ * <p>The format is line based, one entry per line. Each line starts with
+ * the kind of the entry followed by tab separated {@code key=value} pairs,
+ * absent values are omitted. The order follows the model, there's no time
+ * stamp, so the output is reproducible.
+ */
+final class DependencyManifest {
+
+  static final int FORMAT_VERSION = 2;
+
+  private final Environment env;
+  private final TypeElement sourceElement;
+  private final ModelType<Element, TypeRef> sourceModel;
+  private final ClassName shellClassName;
+
+  private final StringBuilder out = new StringBuilder();
+
+  DependencyManifest(Environment env, TypeElement sourceElement, ModelType<Element, TypeRef> sourceModel,
+                     ClassName shellClassName) {
+    this.env = env;
+    this.sourceElement = sourceElement;
+    this.sourceModel = sourceModel;
+    this.shellClassName = shellClassName;
+  }
+
+  String write() {
+    out.setLength(0);
+    entry("manifest");
+    value("format", FORMAT_VERSION);
+    value("configuration", sourceElement.getQualifiedName());
+    value("shell", shellClassName.canonicalName());
+    sourceModel.provisionMethods().forEach(m -> provision(m, m.via(), true));
+    sourceModel.mountMethods()
+        .filter(mount -> !mount.element().mountConfig().injected())
+        .forEach(mount -> env.model().modelOf(env.typeRef(asDeclaredType(mount.element().type().mirror())))
+            .provisionMethods()
+            .filter(m -> !m.element().isAbstract())
+            .filter(m -> !exposed(m, mount))
+            .forEach(m -> provision(m, some(mount), false)));
+    sourceModel.mountMethods().forEach(m -> {
+      entry("mount");
+      value("name", m.element().name());
+      value("feature", featureName(m));
+      value("injected", m.element().mountConfig().injected());
+    });
+    sourceModel.extensionPointMethods().forEach(m -> {
+      entry("extensionPoint");
+      value("name", m.element().name());
+      value("type", m.element().type().mirror());
+      value("feature", providingFeature(m, m.via()));
+      m.via().forEach(v -> value("mount", v.element().name()));
+    });
+    sourceModel.setupMethods().forEach(m -> {
+      entry("setup");
+      value("name", m.element().name());
+      value("feature", providingFeature(m, m.via()));
+      m.via().forEach(v -> value("mount", v.element().name()));
+      value("parameters", m.arguments()
+          .map(a -> a.fold(
+              ep -> ep.element().name(),
+              builtin -> "@" + (builtin == BuiltinArgument.CONFIG ? "config" : builtin.name())))
+          .mkString(","));
+    });
+    return out.append('\n').toString();
+  }
+
+  private void provision(ModelMethod<Element, TypeRef> method, Option<ModelMethod<Element, TypeRef>> mount,
+                         boolean exposed) {
+    var config = method.element().provisionConfigOption();
+    var singleton = config.exists(ProvisionConfig::singleton);
+    entry("provision");
+    value("name", method.element().name());
+    value("type", method.element().type().mirror());
+    value("feature", providingFeature(method, mount));
+    mount.forEach(v -> value("mount", v.element().name()));
+    value("exposed", exposed);
+    value("singleton", singleton);
+    if (singleton) {
+      value("strategy", config.get().effectiveStrategy().name());
+      // the name of the step recorded by the startup profile when instantiating the singleton,
+      // singletons of injected mounts aren't instantiated by the shell
+      Option<String> owner;
+      if (mount.isEmpty()) {
+        owner = some(sourceElement.getSimpleName().toString());
+      } else if (mount.get().element().mountConfig().injected()) {
+        owner = none();
+      } else {
+        owner = some(asDeclaredType(mount.get().element().type().mirror()).asElement().getSimpleName().toString());
+      }
+      owner.forEach(o -> value("probe", o + "." + method.element().name()));
+    }
+  }
+
+  private boolean exposed(ModelMethod<Element, TypeRef> method, ModelMethod<Element, TypeRef> mount) {
+    return sourceModel.provisionMethods().exists(p -> p.via().exists(v -> v.element().name().equals(mount.element().name()))
+        && p.element().name().equals(method.element().name()));
+  }
+
+  private String providingFeature(ModelMethod<Element, TypeRef> method, Option<ModelMethod<Element, TypeRef>> mount) {
+    return mount.map(this::featureName)
+        .getOrElse(() -> ((TypeElement) method.element().source().getEnclosingElement()).getQualifiedName().toString());
+  }
+
+  private String featureName(ModelMethod<Element, TypeRef> mount) {
+    return ((TypeElement) asDeclaredType(mount.element().type().mirror()).asElement()).getQualifiedName().toString();
+  }
+
+  private void entry(String kind) {
+    if (out.length() > 0) {
+      out.append('\n');
+    }
+    out.append(kind);
+  }
+
+  private void value(String name, Object value) {
+    // keep each entry on one line
+    out.append('\t').append(name).append('=').append(value.toString().replaceAll("\\s", " "));
+  }
+}
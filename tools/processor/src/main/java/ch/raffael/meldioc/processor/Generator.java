@@ -24,6 +24,7 @@ package ch.raffael.meldioc.processor;
 
 import ch.raffael.meldioc.Configuration;
 import ch.raffael.meldioc.Parameter;
+import ch.raffael.meldioc.Provision;
 import ch.raffael.meldioc.meta.Generated;
 import ch.raffael.meldioc.model.AccessPolicy;
 import ch.raffael.meldioc.model.ClassRef;
@@ -47,8 +48,11 @@ import com.squareup.javapoet.TypeVariableName;
 import com.squareup.javapoet.WildcardTypeName;
 import io.vavr.Tuple;
 import io.vavr.Tuple3;
+import io.vavr.Tuple4;
+import io.vavr.collection.HashSet;
 import io.vavr.collection.List;
 import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
 import io.vavr.collection.Traversable;
 
 import javax.lang.model.element.Element;
@@ -60,6 +64,8 @@ import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -67,6 +73,11 @@ import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
 import static ch.raffael.meldioc.processor.Debug.DEVEL_MODE;
@@ -89,49 +100,78 @@ public class Generator {
   public static final String NEW_DISPATCHER_METHOD = "newDispatcher";
   public static final String SETUP_METHOD = "setup";
   public static final String BUILD_NEW_SHELL_METHOD = "newShell";
+  public static final String EAGER_INIT_METHOD = "eagerInit";
+  public static final String EAGER_INIT_TASK_METHOD = "eagerInitTask";
+  public static final String EAGER_INIT_EXECUTOR_FIELD = "eagerInitExecutor";
+  public static final String EAGER_INIT_TIMINGS_FIELD = "eagerInitTimings";
   public static final String CATCH_EXCEPTION = "ex";
+  public static final String PROFILE_FIELD_NAME = "startupProfile";
+  public static final ClassName PROFILE_CLASS_NAME = ClassName.get("ch.raffael.meldioc.library.base.lifecycle", "StartupProfile");
+  public static final ClassName PROBE_CLASS_NAME = PROFILE_CLASS_NAME.nestedClass("Probe");
+  public static final ClassName ATTACHMENT_CLASS_NAME = PROFILE_CLASS_NAME.nestedClass("Attachment");
   // sometimes, we need to disambiguate class names:
   // if a super class contains an inner/nested class with the same name, this has precedence
   // however, JavaPoet will use the unqualified name -> the generated code will reference the wrong class
   // so, we use a name that won't clash (well, unless the programmer really *wants* to break things)
   public static final String DISAMBIGUATION_PREFIX = "$MeldIoC_";
   public static final String SINGLETON_CLASS_NAME = DISAMBIGUATION_PREFIX + "Singleton";
+  public static final String RACY_SINGLETON_CLASS_NAME = DISAMBIGUATION_PREFIX + "RacySingleton";
+  public static final String THREAD_LOCAL_SINGLETON_CLASS_NAME = DISAMBIGUATION_PREFIX + "ThreadLocalSingleton";
   public static final String SINGLETON_GETTER_NAME = "getSneakyRethrowing";
   public static final String PROVIDER_CLASS_NAME = DISAMBIGUATION_PREFIX + "Provider";
+  public static final String POOL_CLASS_NAME = "Pool";
+  public static final String RESET_METHOD = DISAMBIGUATION_PREFIX + "reset";
+  public static final String RELEASE_METHOD = DISAMBIGUATION_PREFIX + "release";
+  public static final String RELEASED_FIELD = DISAMBIGUATION_PREFIX + "released";
 
   private final Class<?> generatorClass;
   private final Environment env;
+  private final boolean profile;
   private final TypeElement sourceElement;
   private final DeclaredType sourceType;
   private final ModelType<Element, TypeRef> sourceModel;
 
   private final ConfigurationConfig<Element> configurationConfig;
+  private final boolean lightweight;
+  private final boolean poolable;
+  private final String setupMethodName;
   private final ClassName shellClassName;
   private final TypeSpec.Builder shellBuilder;
   private final ClassName builderClassName;
   private final ClassName dispatcherClassName;
   private final TypeSpec.Builder dispatcherBuilder;
   private final ClassName singletonClassName;
+  private final ClassName racySingletonClassName;
+  private final ClassName threadLocalSingletonClassName;
   private final ClassName providerClassName;
 
-  private boolean generateSingleton = false;
+  private Set<Provision.Strategy> singletonStrategies = HashSet.empty();
 
   private Seq<Tuple3<TypeName, String, String>> shellParameters = List.empty();
+  private final CodeBlock.Builder resolveParameters = CodeBlock.builder();
+  private final CodeBlock.Builder releaseSingletons = CodeBlock.builder();
 
-  Generator(Class<?> generatorClass, Environment env, TypeElement sourceElement) throws Abort {
+  Generator(Class<?> generatorClass, Environment env, TypeElement sourceElement, boolean profile) throws Abort {
     this.generatorClass = generatorClass;
     this.env = env;
     this.sourceElement = sourceElement;
+    this.profile = profile;
     this.sourceType = (DeclaredType) sourceElement.asType();
     sourceModel = env.model().modelOf(env.typeRef(sourceType));
     configurationConfig = sourceModel.element().configurationConfigOption().getOrElseThrow(
         () -> new Abort(sourceElement + " not annotated with " + Configuration.class.getSimpleName()));
+    poolable = configurationConfig.poolable();
+    lightweight = configurationConfig.lightweight() || poolable;
+    // lightweight shells extend the configuration, avoid clashes with its methods
+    setupMethodName = lightweight ? DISAMBIGUATION_PREFIX + SETUP_METHOD : SETUP_METHOD;
     ClassRef targetRef = configurationConfig.shellClassRef(
         env.elements().getPackageOf(sourceElement).getQualifiedName().toString(), sourceElement.getSimpleName().toString());
     shellClassName = ClassName.get(targetRef.packageName(), targetRef.className());
     shellBuilder = TypeSpec.classBuilder(shellClassName);
     builderClassName = shellClassName.nestedClass(BUILDER_CLASS_NAME);
     singletonClassName = shellClassName.nestedClass(SINGLETON_CLASS_NAME);
+    racySingletonClassName = shellClassName.nestedClass(RACY_SINGLETON_CLASS_NAME);
+    threadLocalSingletonClassName = shellClassName.nestedClass(THREAD_LOCAL_SINGLETON_CLASS_NAME);
     providerClassName = shellClassName.nestedClass(PROVIDER_CLASS_NAME);
     dispatcherClassName = shellClassName.nestedClass(DISPATCHER_CLASS_NAME);
     dispatcherBuilder = TypeSpec.classBuilder(dispatcherClassName);
@@ -152,6 +192,10 @@ public class Generator {
     return shellClassName.toString();
   }
 
+  String dependencyManifest() {
+    return new DependencyManifest(env, sourceElement, sourceModel, shellClassName).write();
+  }
+
   int errorCount() {
     return env.adaptor().errorCount();
   }
@@ -200,35 +244,66 @@ public class Generator {
             MemberNames.forMount(m.element()),
             MemberNames.forMountApi(m.element()))));
     shellParameters.forEach(tpl -> tpl.apply((t, n, __) -> shellBuilder.
-        addField(FieldSpec.builder(t, n, Modifier.FINAL)
+        addField(FieldSpec.builder(t, n)
+            .addModifiers(conditionalModifiers(!poolable, Modifier.FINAL))
             .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
             .build())));
-    shellBuilder.addField(FieldSpec.builder(dispatcherClassName, DISPATCHER_FIELD_NAME, Modifier.FINAL)
-        .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
-        .build());
+    if (profile) {
+      shellBuilder.addField(FieldSpec.builder(PROFILE_CLASS_NAME, PROFILE_FIELD_NAME, Modifier.FINAL)
+          .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+          .initializer("$T.create($S)", PROFILE_CLASS_NAME, shellClassName.canonicalName())
+          .build());
+    }
+    if (!lightweight) {
+      shellBuilder.addField(FieldSpec.builder(dispatcherClassName, DISPATCHER_FIELD_NAME, Modifier.FINAL)
+          .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+          .build());
+    }
     shellBuilder.addMethod(MethodSpec.methodBuilder(BUILDER_METHOD_NAME)
         .addModifiers(Modifier.STATIC)
         .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
         .returns(builderClassName)
         .addCode(CodeBlock.builder().addStatement("return new $T()", builderClassName).build())
         .build());
-    shellBuilder.addMethod(MethodSpec.methodBuilder(NEW_DISPATCHER_METHOD)
-        .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
-        .returns(dispatcherClassName)
-        .addCode(CodeBlock.builder()
-            .addStatement("return new $T()", dispatcherClassName)
-            .build())
-        .build());
+    if (!lightweight) {
+      shellBuilder.addMethod(MethodSpec.methodBuilder(NEW_DISPATCHER_METHOD)
+          .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+          .returns(dispatcherClassName)
+          .addCode(CodeBlock.builder()
+              .addStatement("return new $T()", dispatcherClassName)
+              .build())
+          .build());
+    }
     var throwing = generateSetupMethod(shellBuilder);
-    shellBuilder.addMethod(generateShellConstructor(throwing));
-    generateBuilder(throwing);
-    generateDispatcher();
+    // lightweight shells are confined to one thread, no concurrent eager initialisation
+    Traversable<DeclaredType> eagerInitThrowing = lightweight ? List.empty() : generateEagerInit();
+    generateBuilder(throwing, eagerInitThrowing);
+    if (lightweight) {
+      // flatten the dispatcher into the shell
+      shellBuilder.superclass(TypeName.get(sourceElement.asType()));
+      generateDispatcherMembers(shellBuilder);
+    } else {
+      generateDispatcher();
+    }
+    // the constructor must be generated last, it resolves the parameters collected above
+    generateShellConstructor(throwing);
+    if (poolable) {
+      generatePool(throwing);
+    }
 
-    shellBuilder.addType(dispatcherBuilder.build());
+    if (!lightweight) {
+      shellBuilder.addType(dispatcherBuilder.build());
+    }
     mounts.map(TypeSpec.Builder::build).forEach(shellBuilder::addType);
-    if (generateSingleton) {
+    if (singletonStrategies.nonEmpty()) {
       generateProvider();
       generateSingleton();
+      if (singletonStrategies.contains(Provision.Strategy.LAZY_RACY)) {
+        generateRacySingleton();
+      }
+      if (singletonStrategies.contains(Provision.Strategy.THREAD_LOCAL)) {
+        generateThreadLocalSingleton();
+      }
     }
 
     var fileBuilder = JavaFile.builder(shellClassName.packageName(), shellBuilder.build())
@@ -243,9 +318,13 @@ public class Generator {
     return fileBuilder.build().toString();
   }
 
-  private MethodSpec generateShellConstructor(Traversable<DeclaredType> throwing) {
+  private void generateShellConstructor(Traversable<DeclaredType> throwing) {
     var builder = MethodSpec.constructorBuilder()
         .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE));
+    // poolable shells initialise in a reset method that is called again when reused
+    var init = poolable
+               ? MethodSpec.methodBuilder(RESET_METHOD).addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+               : builder;
     throwing.forEach(e -> builder.addException(TypeName.get(e)));
     var code = CodeBlock.builder();
     shellParameters.forEach(tpl -> tpl.apply((t, n, m) -> {
@@ -254,16 +333,87 @@ public class Generator {
       if (sourceModel.supportsParameters() && n.equals(CONFIG_FIELD_NAME)) {
         statement += ".resolve()";
       }
-      builder.addStatement(statement, n, Objects.class, n, n + " is null");
+      code.addStatement(statement, n, Objects.class, n, n + " is null");
       return Void.class;
     }));
-    code.addStatement("$L = $L()", DISPATCHER_FIELD_NAME, NEW_DISPATCHER_METHOD);
-    code.addStatement("$L()", SETUP_METHOD);
-    builder.addCode(code.build());
-    return builder.build();
+    code.add(resolveParameters.build());
+    if (!lightweight) {
+      code.addStatement("$L = $L()", DISPATCHER_FIELD_NAME, NEW_DISPATCHER_METHOD);
+    }
+    code.addStatement("$L()", setupMethodName);
+    if (poolable) {
+      shellParameters.forEach(tpl -> init.addParameter(tpl._1, tpl._2));
+      throwing.forEach(e -> init.addException(TypeName.get(e)));
+      shellBuilder.addField(TypeName.BOOLEAN, RELEASED_FIELD, conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE));
+      shellBuilder.addMethod(init.addStatement("$L = false", RELEASED_FIELD).addCode(code.build()).build());
+      builder.addStatement("$L($L)", RESET_METHOD, shellParameters.map(Tuple3::_2).mkString(", "));
+      var release = MethodSpec.methodBuilder(RELEASE_METHOD)
+          .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+          .beginControlFlow("if ($L)", RELEASED_FIELD)
+          .addStatement("throw new $T($S + this)", IllegalStateException.class, "Shell already released: ")
+          .endControlFlow()
+          .addStatement("$L = true", RELEASED_FIELD)
+          .addCode(releaseSingletons.build());
+      shellParameters.forEach(tpl -> release.addStatement("this.$L = null", tpl._2));
+      shellBuilder.addMethod(release.build());
+    } else {
+      builder.addCode(code.build());
+    }
+    shellBuilder.addMethod(builder.build());
+  }
+
+  private void generatePool(Traversable<DeclaredType> throwing) {
+    var poolClassName = shellClassName.nestedClass(POOL_CLASS_NAME);
+    var freeType = ParameterizedTypeName.get(ClassName.get(AtomicReferenceArray.class), shellClassName);
+    var pool = TypeSpec.classBuilder(poolClassName)
+        .addJavadoc("A fixed-size, lock-free pool of shells. Acquiring a shell from the pool\n"
+            + "and releasing it back doesn't allocate, as long as the pool isn't exhausted.\n")
+        .addModifiers(Modifier.STATIC, Modifier.FINAL)
+        .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
+        .addField(freeType, "free", Modifier.PRIVATE, Modifier.FINAL)
+        .addMethod(MethodSpec.constructorBuilder()
+            .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
+            .addParameter(TypeName.INT, "capacity")
+            .addStatement("this.free = new $T<>(capacity)", AtomicReferenceArray.class)
+            .build());
+    var args = shellParameters.map(Tuple3::_3).mkString(", ");
+    var acquire = MethodSpec.methodBuilder("acquire")
+        .addJavadoc("Acquire a shell from the pool, or create a new one if the pool is empty.\n")
+        .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
+        .returns(ClassName.get(sourceType));
+    shellParameters.forEach(tpl -> acquire.addParameter(tpl._1, tpl._3));
+    throwing.forEach(e -> acquire.addException(TypeName.get(e)));
+    pool.addMethod(acquire
+        .beginControlFlow("for (int i = 0; i < free.length(); i++)")
+        .addStatement("$T shell = free.get(i)", shellClassName)
+        .beginControlFlow("if (shell != null && free.compareAndSet(i, shell, null))")
+        .addStatement("shell.$L($L)", RESET_METHOD, args)
+        .addStatement("return shell")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return new $T($L)", shellClassName, args)
+        .build());
+    pool.addMethod(MethodSpec.methodBuilder("release")
+        .addJavadoc("Release a shell back to the pool, clearing its singletons. The shell\n"
+            + "must not be used anymore after releasing it.\n\n"
+            + "@throws IllegalStateException if the shell has already been released\n")
+        .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
+        .addParameter(ClassName.get(sourceType), "instance")
+        .beginControlFlow("if (!(instance instanceof $T))", shellClassName)
+        .addStatement("throw new $T($S + instance)", IllegalArgumentException.class, "Not a pooled shell: ")
+        .endControlFlow()
+        .addStatement("$T shell = ($T) instance", shellClassName, shellClassName)
+        .addStatement("shell.$L()", RELEASE_METHOD)
+        .beginControlFlow("for (int i = 0; i < free.length(); i++)")
+        .beginControlFlow("if (free.get(i) == null && free.compareAndSet(i, null, shell))")
+        .addStatement("return")
+        .endControlFlow()
+        .endControlFlow()
+        .build());
+    shellBuilder.addType(pool.build());
   }
 
-  private void generateBuilder(Traversable<DeclaredType> throwing) {
+  private void generateBuilder(Traversable<DeclaredType> throwing, Traversable<DeclaredType> eagerInitThrowing) {
     var builder = TypeSpec.classBuilder(builderClassName);
     builder.addModifiers(Modifier.STATIC);
     builder.addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.FINAL));
@@ -281,15 +431,27 @@ public class Generator {
             .addStatement("return this")
             .build())
         .build())));
+    if (!lightweight) {
+      generateBuilderEagerInit(builder);
+    }
     MethodSpec.Builder buildBuilder = MethodSpec.methodBuilder(BUILD_METHOD_NAME)
         .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
         .returns(ClassName.get(sourceType));
-    throwing.forEach(e -> buildBuilder.addException(TypeName.get(e)));
+    new CatchHelper(env).add(throwing.toJavaStream()).add(eagerInitThrowing.toJavaStream()).checked()
+        .forEach(e -> buildBuilder.addException(TypeName.get(e)));
     shellParameters
         .map(Tuple3::_2)
         .forEach(f -> buildBuilder.addStatement("if ($L == null) throw new $T($S)",
             f, IllegalStateException.class, f + " is not set"));
-    buildBuilder.addStatement("return $L().$L", BUILD_NEW_SHELL_METHOD, DISPATCHER_FIELD_NAME);
+    buildBuilder.addStatement("$T shell = $L()", shellClassName, BUILD_NEW_SHELL_METHOD);
+    if (lightweight) {
+      buildBuilder.addStatement("return shell");
+    } else {
+      buildBuilder.beginControlFlow("if ($L != null)", EAGER_INIT_EXECUTOR_FIELD)
+          .addStatement("shell.$L($L, $L)", EAGER_INIT_METHOD, EAGER_INIT_EXECUTOR_FIELD, EAGER_INIT_TIMINGS_FIELD)
+          .endControlFlow();
+      buildBuilder.addStatement("return shell.$L", DISPATCHER_FIELD_NAME);
+    }
     builder.addMethod(buildBuilder.build());
     MethodSpec.Builder newShellBuilder = MethodSpec.methodBuilder(BUILD_NEW_SHELL_METHOD)
         .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
@@ -302,6 +464,32 @@ public class Generator {
     shellBuilder.addType(builder.build());
   }
 
+  private void generateBuilderEagerInit(TypeSpec.Builder builder) {
+    var timingsType = ParameterizedTypeName.get(ClassName.get(BiConsumer.class),
+        WildcardTypeName.supertypeOf(String.class), WildcardTypeName.supertypeOf(Duration.class));
+    builder.addField(Executor.class, EAGER_INIT_EXECUTOR_FIELD, conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE));
+    builder.addField(timingsType, EAGER_INIT_TIMINGS_FIELD, conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE));
+    builder.addMethod(MethodSpec.methodBuilder(EAGER_INIT_METHOD)
+        .addJavadoc("Initialise all singleton provisions concurrently using the given executor\n"
+            + "after setup, {@code build()} waits until all of them are done.\n")
+        .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
+        .addParameter(Executor.class, "executor")
+        .returns(builderClassName)
+        .addStatement("return $L(executor, (n, d) -> {})", EAGER_INIT_METHOD)
+        .build());
+    builder.addMethod(MethodSpec.methodBuilder(EAGER_INIT_METHOD)
+        .addJavadoc("Initialise all singleton provisions concurrently using the given executor\n"
+            + "after setup, reporting the time each provision took to initialise.\n")
+        .addModifiers(conditionalModifiers(!configurationConfig.packageLocal(), Modifier.PUBLIC))
+        .addParameter(Executor.class, "executor")
+        .addParameter(timingsType, "timings")
+        .returns(builderClassName)
+        .addStatement("this.$L = $T.requireNonNull(executor, $S)", EAGER_INIT_EXECUTOR_FIELD, Objects.class, "executor")
+        .addStatement("this.$L = $T.requireNonNull(timings, $S)", EAGER_INIT_TIMINGS_FIELD, Objects.class, "timings")
+        .addStatement("return this")
+        .build());
+  }
+
   void generateDispatcher() {
     dispatcherBuilder.superclass(TypeName.get(sourceElement.asType()))
         .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE, Modifier.FINAL));
@@ -309,11 +497,13 @@ public class Generator {
   }
 
   private void generateDispatcherMembers(TypeSpec.Builder builder) {
-    generateDispatcherConstructor(builder);
-    generateSelfProvisions(builder, sourceModel, sourceElement);
+    if (!lightweight) {
+      generateDispatcherConstructor(builder);
+    }
+    generateSelfProvisions(builder, sourceModel, sourceElement, DISPATCHER_FIELD_NAME);
     generateForwardedProvisions(builder, sourceModel);
     generateMountMethods(builder);
-    generateParameterMethods(builder, sourceModel, sourceElement);
+    generateParameterMethods(builder, sourceModel, sourceElement, DISPATCHER_FIELD_NAME);
   }
 
   private void generateDispatcherConstructor(TypeSpec.Builder builder) {
@@ -329,14 +519,13 @@ public class Generator {
       sourceModel.setupMethods().forEach(cm -> cm.via().fold(
           () -> {
             catchHelper.add(cm.element().source(ExecutableElement.class).getThrownTypes().stream());
-            return Tuple.of("$T.this.$L.$L", List.of(shellClassName, DISPATCHER_FIELD_NAME,
-                cm.element().name()));
+            return Tuple.of("$L.$L", List.<Object>of(ownerRef(DISPATCHER_FIELD_NAME), cm.element().name()));
           },
           (via) -> {
             catchHelper.add(
                 asExecutableType(env.types().asMemberOf(asDeclaredType(via.element().type().mirror()), cm.element().source()))
                     .getThrownTypes().stream());
-            return Tuple.of("$T.this.$L.$L", List.of(shellClassName,
+            return Tuple.of("$T.this.$L.$L", List.<Object>of(shellClassName,
                 MemberNames.forMount(via.element()), cm.element().name()));
           })
           .apply((call, callArgs) -> {
@@ -349,11 +538,10 @@ public class Generator {
                   catchHelper.add(method.element().source(ExecutableElement.class).getThrownTypes().stream());
                   return "$T.this.$L.$L()";
                 }).getOrElse(() -> {
-                  args.add(shellClassName);
-                  args.add(DISPATCHER_FIELD_NAME);
+                  args.add(ownerRef(DISPATCHER_FIELD_NAME));
                   args.add(method.element().name());
                   catchHelper.add(method.element().source(ExecutableElement.class).getThrownTypes().stream());
-                  return "$T.this.$L.$L()";
+                  return "$L.$L()";
                 }),
                 builtin -> {
                   //noinspection SwitchStatementWithTooFewBranches
@@ -369,11 +557,19 @@ public class Generator {
                 }
             )).mkString(call + "(\n", ",\n", ")");
             //noinspection ToArrayCallWithZeroLengthArrayArgument
+            if (profile) {
+              code.beginControlFlow("try ($T probe = $L.enter($S))", PROBE_CLASS_NAME, PROFILE_FIELD_NAME,
+                  "@Setup " + cm.via().map(v -> v.element().name() + ".").getOrElse("") + cm.element().name());
+            }
             code.addStatement(pattern, args.toArray(new Object[args.size()]));
+            if (profile) {
+              code.endControlFlow();
+            }
             return Void.class;
           }));
     }
-    var methodBuilder = MethodSpec.methodBuilder(SETUP_METHOD)
+    generateEagerProvisions(code, catchHelper);
+    var methodBuilder = MethodSpec.methodBuilder(setupMethodName)
         .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE));
     catchHelper.checked().forEach(e -> methodBuilder.addException(TypeName.get(e)));
     builder.addMethod(methodBuilder
@@ -382,6 +578,134 @@ public class Generator {
     return catchHelper.checked();
   }
 
+  private void generateEagerProvisions(CodeBlock.Builder code, CatchHelper catchHelper) {
+    singletonProvisions()
+        .filter(p -> p._3.element().provisionConfig().strategy() == Provision.Strategy.EAGER)
+        .forEach(p -> {
+          catchHelper.add(p._4.stream());
+          code.addStatement("$L.$L()", ownerRef(p._1), p._3.element().name());
+        });
+  }
+
+  /**
+   * All singleton provisions implemented by the configuration or its
+   * mounted features as tuples of (owner field, display name, method,
+   * thrown types).
+   */
+  private Seq<Tuple4<String, String, ModelMethod<Element, TypeRef>, java.util.List<? extends TypeMirror>>> singletonProvisions() {
+    Seq<Tuple4<String, String, ModelMethod<Element, TypeRef>, java.util.List<? extends TypeMirror>>> result =
+        sourceModel.provisionMethods()
+            .filter(m -> !m.element().isAbstract())
+            .filter(m -> m.via().isEmpty())
+            .filter(m -> m.element().provisionConfigOption().exists(ProvisionConfig::singleton))
+            .map(m -> Tuple.of(DISPATCHER_FIELD_NAME, m.element().name(), m,
+                m.element().source(ExecutableElement.class).getThrownTypes()));
+    return result.appendAll(sourceModel.mountMethods()
+        .filter(m -> !m.element().mountConfig().injected())
+        .flatMap(mount -> {
+          var mountedType = asDeclaredType(mount.element().type().mirror());
+          return env.model().modelOf(env.typeRef(mountedType)).provisionMethods()
+              .filter(m -> !m.element().isAbstract())
+              .filter(m -> m.via().isEmpty())
+              .filter(m -> m.element().provisionConfigOption().exists(ProvisionConfig::singleton))
+              .map(m -> Tuple.of(MemberNames.forMount(mount.element()),
+                  mount.element().name() + "." + m.element().name(), m,
+                  asExecutableType(env.types().asMemberOf(mountedType, m.element().source())).getThrownTypes()));
+        }));
+  }
+
+  /**
+   * Singleton provisions initialised by {@code eagerInit()}: EAGER ones
+   * are already initialised in setup, THREAD_LOCAL ones would only be
+   * initialised for the respective executor thread.
+   */
+  private Seq<Tuple4<String, String, ModelMethod<Element, TypeRef>, java.util.List<? extends TypeMirror>>> eagerInitProvisions() {
+    return singletonProvisions()
+        .filter(p -> {
+          var strategy = p._3.element().provisionConfig().strategy();
+          return strategy != Provision.Strategy.EAGER && strategy != Provision.Strategy.THREAD_LOCAL;
+        });
+  }
+
+  private Traversable<DeclaredType> generateEagerInit() {
+    var provisions = eagerInitProvisions();
+    var catchHelper = new CatchHelper(env);
+    var timingsType = ParameterizedTypeName.get(ClassName.get(BiConsumer.class),
+        WildcardTypeName.supertypeOf(String.class), WildcardTypeName.supertypeOf(Duration.class));
+    var method = MethodSpec.methodBuilder(EAGER_INIT_METHOD)
+        .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+        .addParameter(Executor.class, "executor")
+        .addParameter(timingsType, "timings");
+    provisions.forEach(p -> catchHelper.add(p._4.stream()));
+    catchHelper.checked().forEach(e -> method.addException(TypeName.get(e)));
+    if (provisions.nonEmpty()) {
+      var taskType = ParameterizedTypeName.get(ClassName.get(FutureTask.class), WildcardTypeName.subtypeOf(Object.class));
+      var code = CodeBlock.builder();
+      if (profile) {
+        code.beginControlFlow("try ($T probe = $L.enter($S))", PROBE_CLASS_NAME, PROFILE_FIELD_NAME, EAGER_INIT_METHOD);
+      }
+      code.add("$T[] tasks = {\n", taskType).indent();
+      provisions.forEach(p -> code.add("$L($S, timings, $L() -> $T.this.$L.$L()),\n",
+          EAGER_INIT_TASK_METHOD, p._2, profile ? "probe, " : "", shellClassName, p._1, p._3.element().name()));
+      code.unindent().add("};\n")
+          .beginControlFlow("for ($T t : tasks)", taskType)
+          .addStatement("executor.execute(t)")
+          .endControlFlow()
+          .addStatement("$T failure = null", env.known().throwable())
+          .beginControlFlow("for ($T t : tasks)", taskType)
+          .beginControlFlow("try")
+          .addStatement("t.get()")
+          .nextControlFlow("catch ($T e)", ExecutionException.class)
+          .beginControlFlow("if (failure == null)")
+          .addStatement("failure = e.getCause()")
+          .nextControlFlow("else")
+          .addStatement("failure.addSuppressed(e.getCause())")
+          .endControlFlow()
+          .nextControlFlow("catch ($T e)", InterruptedException.class)
+          .addStatement("$T.currentThread().interrupt()", Thread.class)
+          .beginControlFlow("for ($T c : tasks)", taskType)
+          .addStatement("c.cancel(true)")
+          .endControlFlow()
+          .addStatement("$T.sneakyThrow(e)", singletonClassName)
+          .endControlFlow()
+          .endControlFlow()
+          .beginControlFlow("if (failure != null)")
+          .addStatement("$T.sneakyThrow(failure)", singletonClassName)
+          .endControlFlow();
+      if (profile) {
+        code.endControlFlow();
+      }
+      method.addCode(code.build());
+      var taskMethod = MethodSpec.methodBuilder(EAGER_INIT_TASK_METHOD)
+          .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+          .returns(ParameterizedTypeName.get(FutureTask.class, Void.class))
+          .addParameter(String.class, "name")
+          .addParameter(timingsType, "timings");
+      if (profile) {
+        taskMethod.addParameter(PROBE_CLASS_NAME, "probe");
+      }
+      shellBuilder.addMethod(taskMethod
+          .addParameter(ParameterizedTypeName.get(providerClassName, WildcardTypeName.subtypeOf(Object.class)), "provider")
+          .addCode(CodeBlock.builder()
+              .add("return new $T<>(() -> {\n", FutureTask.class).indent()
+              .addStatement("long start = $T.nanoTime()", System.class)
+              .add(profile
+                   ? CodeBlock.builder().beginControlFlow("try ($T attachment = probe.attach())", ATTACHMENT_CLASS_NAME).build()
+                   : CodeBlock.builder().beginControlFlow("try").build())
+              .addStatement("provider.get()")
+              .nextControlFlow("catch ($T e)", env.known().throwable())
+              .addStatement("$T.sneakyThrow(e)", singletonClassName)
+              .endControlFlow()
+              .addStatement("timings.accept(name, $T.ofNanos($T.nanoTime() - start))", Duration.class, System.class)
+              .addStatement("return null")
+              .unindent().add("});\n")
+              .build())
+          .build());
+    }
+    shellBuilder.addMethod(method.build());
+    return catchHelper.checked();
+  }
+
   private void generateForwardedProvisions(TypeSpec.Builder builder, ModelType<Element, TypeRef> model) {
     Seq<ModelMethod<Element, TypeRef>> allProvisions = model.provisionMethods().appendAll(model.extensionPointMethods());
     allProvisions
@@ -402,7 +726,8 @@ public class Generator {
         }));
   }
 
-  private void generateSelfProvisions(TypeSpec.Builder builder, ModelType<Element, TypeRef> model, Element superElement) {
+  private void generateSelfProvisions(TypeSpec.Builder builder, ModelType<Element, TypeRef> model, Element superElement,
+                                      String owner) {
     model.provisionMethods().appendAll(model.extensionPointMethods())
         .filter(m -> !m.element().isAbstract())
         .filter(m -> m.via().isEmpty())
@@ -410,15 +735,31 @@ public class Generator {
           var methodBuilder = MethodSpec.overriding(
               m.element().source(ExecutableElement.class), asDeclaredType(model.type().mirror()), env.types())
               .addAnnotations(generatedAnnotations(m));
-          if (m.element().provisionConfigOption().map(ProvisionConfig::singleton).getOrElse(true)) {
-            generateSingleton = true;
+          var config = m.element().provisionConfigOption();
+          var strategy = config.map(ProvisionConfig::effectiveStrategy).getOrElse(Provision.Strategy.LAZY_LOCKING);
+          // pooled shells are confined to one thread while in use, thread-locals would survive the release
+          if (lightweight && (poolable || strategy != Provision.Strategy.THREAD_LOCAL)
+              && config.map(ProvisionConfig::singleton).getOrElse(true)) {
+            generatePlainSingleton(builder, methodBuilder, m, superElement, owner);
+          } else if (config.map(ProvisionConfig::singleton).getOrElse(true)) {
+            var holderClassName = singletonHolder(strategy);
             builder.addField(
                 FieldSpec.builder(
-                        ParameterizedTypeName.get(singletonClassName, TypeName.get(m.element().type().mirror())),
+                        ParameterizedTypeName.get(holderClassName, TypeName.get(m.element().type().mirror())),
                         m.element().name(),
                         Modifier.PRIVATE, Modifier.FINAL)
-                    .initializer("new $T<>(() -> " + superRef(superElement) + ".$L())",
-                        singletonClassName, m.element().name())
+                    .initializer(profile
+                                 ? CodeBlock.builder()
+                                     .add("new $T<>(() -> {\n", holderClassName).indent()
+                                     .beginControlFlow("try ($T probe = $T.this.$L.enter($S))", PROBE_CLASS_NAME,
+                                         shellClassName, PROFILE_FIELD_NAME,
+                                         superElement.getSimpleName() + "." + m.element().name())
+                                     .addStatement("return " + superRef(superElement) + ".$L()", m.element().name())
+                                     .endControlFlow()
+                                     .unindent().add("})")
+                                     .build()
+                                 : CodeBlock.of("new $T<>(() -> " + superRef(superElement) + ".$L())",
+                                     holderClassName, m.element().name()))
                     .build());
             methodBuilder.addStatement("return $L.$L()", m.element().name(), SINGLETON_GETTER_NAME);
           } else {
@@ -428,6 +769,54 @@ public class Generator {
         });
   }
 
+  /**
+   * Lightweight shells store singletons in plain fields, they're confined
+   * to one thread.
+   */
+  private void generatePlainSingleton(TypeSpec.Builder builder, MethodSpec.Builder methodBuilder,
+                                      ModelMethod<Element, TypeRef> m, Element superElement, String owner) {
+    var name = m.element().name();
+    var field = MemberNames.forSingleton(m.element());
+    releaseSingletons.addStatement("$L.$L = null", ownerRef(owner), field);
+    builder.addField(FieldSpec.builder(TypeName.get(m.element().type().mirror()), field, Modifier.PRIVATE).build());
+    methodBuilder.beginControlFlow("if ($L == null)", field);
+    if (profile) {
+      methodBuilder.beginControlFlow("try ($T probe = $T.this.$L.enter($S))", PROBE_CLASS_NAME,
+          shellClassName, PROFILE_FIELD_NAME, superElement.getSimpleName() + "." + name);
+    }
+    methodBuilder.addStatement("$L = $T.requireNonNull(" + superRef(superElement) + ".$L(), $S)",
+        field, Objects.class, name, name + "()");
+    if (profile) {
+      methodBuilder.endControlFlow();
+    }
+    methodBuilder.endControlFlow();
+    methodBuilder.addStatement("return $L", field);
+  }
+
+  /**
+   * Reference to the object implementing the members of the given owner
+   * (the dispatcher or a mount), for lightweight shells, the dispatcher is
+   * the shell itself.
+   */
+  private CodeBlock ownerRef(String owner) {
+    return lightweight && owner.equals(DISPATCHER_FIELD_NAME)
+           ? CodeBlock.of("$T.this", shellClassName)
+           : CodeBlock.of("$T.this.$L", shellClassName, owner);
+  }
+
+  private ClassName singletonHolder(Provision.Strategy strategy) {
+    singletonStrategies = singletonStrategies.add(strategy);
+    switch (strategy) {
+      case LAZY_RACY:
+        return racySingletonClassName;
+      case THREAD_LOCAL:
+        return threadLocalSingletonClassName;
+      default:
+        // EAGER uses a locking singleton that will be initialized in setup()
+        return singletonClassName;
+    }
+  }
+
   private Seq<AnnotationSpec> generatedAnnotations(ModelMethod<Element, ?> method) {
     // TODO (2019-04-14) implement this
     return List.empty();
@@ -469,17 +858,17 @@ public class Generator {
               .forEach(m -> builder.addMethod(
                   MethodSpec.overriding(m.element().source(ExecutableElement.class), asDeclaredType(mountedModel.type().mirror()), env.types())
                       .addAnnotations(generatedAnnotations(m))
-                      .addStatement("return $T.this.$L.$L()",
-                          shellClassName, DISPATCHER_FIELD_NAME, m.element().name())
+                      .addStatement("return $L.$L()", ownerRef(DISPATCHER_FIELD_NAME), m.element().name())
                       .build()));
-          generateSelfProvisions(builder, mountedModel, superElement);
-          generateParameterMethods(builder, mountedModel, superElement);
+          generateSelfProvisions(builder, mountedModel, superElement, MemberNames.forMount(mount.element()));
+          generateParameterMethods(builder, mountedModel, superElement, MemberNames.forMount(mount.element()));
           generateSetupExposureOverrides(builder, mountedModel, superElement);
           return builder;
         });
   }
 
-  private void generateParameterMethods(TypeSpec.Builder builder, ModelType<Element, TypeRef> model, Element superElement) {
+  private void generateParameterMethods(TypeSpec.Builder builder, ModelType<Element, TypeRef> model, Element superElement,
+                                        String owner) {
     if (!sourceModel.supportsParameters()) {
       return;
     }
@@ -489,7 +878,10 @@ public class Generator {
           var mbuilder = MethodSpec.overriding(
               cm.element().source(ExecutableElement.class), asDeclaredType(model.type().mirror()), env.types());
           mbuilder.addAnnotations(generatedAnnotations(cm));
-          var configRef = model.model().configSupportedTypeOption(cm.element().type()).getOrNull();
+          // resolve type variables against the mounted type, like the overriding method
+          var type = asExecutableType(
+              env.types().asMemberOf(asDeclaredType(model.type().mirror()), cm.element().source())).getReturnType();
+          var configRef = model.model().configSupportedTypeOption(env.typeRef(type)).getOrNull();
           if (configRef == null) {
             // abort
             return;
@@ -498,21 +890,37 @@ public class Generator {
           if (n.equals(Parameter.ALL)) {
             mbuilder.addStatement("return $T.this.$L", shellClassName, CONFIG_FIELD_NAME);
           } else {
-            if (!cm.element().isAbstract()) {
-              mbuilder.beginControlFlow("if ($T.this.$L.hasPath($S))", shellClassName, CONFIG_FIELD_NAME, n);
-            }
+            var field = MemberNames.forParameter(owner, cm.element());
+            var fieldType = TypeName.get(type);
+            shellBuilder.addField(FieldSpec.builder(fieldType, field)
+                .addModifiers(conditionalModifiers(!poolable, Modifier.FINAL))
+                .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+                .build());
+            CodeBlock read;
             if (configRef.targetTypeArgument() != null) {
               //noinspection ConstantConditions
-              mbuilder.addStatement("return $T.this.$L.$L($T.class, $S)", shellClassName, CONFIG_FIELD_NAME,
+              read = CodeBlock.of("this.$L.$L($T.class, $S)", CONFIG_FIELD_NAME,
                   configRef.configMethodName(),
                   // checked for null above, but IDEA doesn't understand that this won't change
                   // I'm not using requireNonNull because *if* it was null, I'd prefer the nice new NPE
                   configRef.targetTypeArgument().mirror(), n);
             } else {
-              mbuilder.addStatement("return $T.this.$L.$L($S)", shellClassName, CONFIG_FIELD_NAME,
-                  configRef.configMethodName(), n);
+              read = CodeBlock.of("this.$L.$L($S)", CONFIG_FIELD_NAME, configRef.configMethodName(), n);
             }
-            if (!cm.element().isAbstract()) {
+            if (cm.element().isAbstract()) {
+              resolveParameters.addStatement("this.$L = $L", field, read);
+              mbuilder.addStatement("return $T.this.$L", shellClassName, field);
+            } else {
+              var presentField = MemberNames.forParameterPresent(owner, cm.element());
+              shellBuilder.addField(FieldSpec.builder(TypeName.BOOLEAN, presentField)
+                  .addModifiers(conditionalModifiers(!poolable, Modifier.FINAL))
+                  .addModifiers(conditionalModifiers(!DEVEL_MODE, Modifier.PRIVATE))
+                  .build());
+              resolveParameters.addStatement("this.$L = this.$L.hasPath($S)", presentField, CONFIG_FIELD_NAME, n);
+              resolveParameters.addStatement("this.$L = this.$L ? $L : $L", field, presentField, read,
+                  fieldType.isPrimitive() ? (fieldType.equals(TypeName.BOOLEAN) ? "false" : "0") : "null");
+              mbuilder.beginControlFlow("if ($T.this.$L)", shellClassName, presentField);
+              mbuilder.addStatement("return $T.this.$L", shellClassName, field);
               mbuilder.endControlFlow();
               mbuilder.beginControlFlow("else");
               mbuilder.addStatement("return " + superRef(superElement) + ".$L()", cm.element().name());
@@ -624,6 +1032,77 @@ public class Generator {
     shellBuilder.addType(type.build());
   }
 
+  private void generateRacySingleton() {
+    ClassName objects = ClassName.get("java.util", "Objects");
+    var typeVar = TypeVariableName.get("T");
+    var type = TypeSpec.classBuilder(racySingletonClassName).addTypeVariable(typeVar)
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+    type.addField(FieldSpec.builder(ParameterizedTypeName.get(providerClassName, WildcardTypeName.subtypeOf(typeVar)),
+        "provider", Modifier.PRIVATE, Modifier.FINAL).build());
+    type.addField(FieldSpec.builder(
+            ParameterizedTypeName.get(ClassName.get("java.util.concurrent.atomic", "AtomicReference"), typeVar),
+            "instance", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T<>()", ClassName.get("java.util.concurrent.atomic", "AtomicReference"))
+        .build());
+    type.addMethod(MethodSpec.constructorBuilder()
+        .addParameter(ParameterizedTypeName.get(providerClassName, WildcardTypeName.subtypeOf(typeVar)), "provider")
+        .addStatement("this.provider = $T.requireNonNull(provider, $S)", objects, "provider")
+        .build());
+    type.addMethod(MethodSpec.methodBuilder(SINGLETON_GETTER_NAME)
+        .returns(typeVar)
+        .addCode(CodeBlock.builder()
+            .addStatement("$T current = instance.get()", typeVar)
+            .beginControlFlow("if (current == null)")
+            .beginControlFlow("try")
+            .addStatement("$T created = $T.requireNonNull(provider.get(), $S)", typeVar, objects, "provider.get()")
+            .addStatement("current = instance.compareAndExchange(null, created)")
+            .beginControlFlow("if (current == null)")
+            .addStatement("current = created")
+            .endControlFlow()
+            .nextControlFlow("catch ($T e)", env.known().throwable())
+            .addStatement("$T.sneakyThrow(e)", singletonClassName)
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("return current")
+            .build())
+        .build());
+    shellBuilder.addType(type.build());
+  }
+
+  private void generateThreadLocalSingleton() {
+    ClassName objects = ClassName.get("java.util", "Objects");
+    var typeVar = TypeVariableName.get("T");
+    var type = TypeSpec.classBuilder(threadLocalSingletonClassName).addTypeVariable(typeVar)
+        .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+    type.addField(FieldSpec.builder(ParameterizedTypeName.get(providerClassName, WildcardTypeName.subtypeOf(typeVar)),
+        "provider", Modifier.PRIVATE, Modifier.FINAL).build());
+    type.addField(FieldSpec.builder(
+            ParameterizedTypeName.get(ClassName.get("java.lang", "ThreadLocal"), typeVar),
+            "instance", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("new $T<>()", ClassName.get("java.lang", "ThreadLocal"))
+        .build());
+    type.addMethod(MethodSpec.constructorBuilder()
+        .addParameter(ParameterizedTypeName.get(providerClassName, WildcardTypeName.subtypeOf(typeVar)), "provider")
+        .addStatement("this.provider = $T.requireNonNull(provider, $S)", objects, "provider")
+        .build());
+    type.addMethod(MethodSpec.methodBuilder(SINGLETON_GETTER_NAME)
+        .returns(typeVar)
+        .addCode(CodeBlock.builder()
+            .addStatement("$T current = instance.get()", typeVar)
+            .beginControlFlow("if (current == null)")
+            .beginControlFlow("try")
+            .addStatement("current = $T.requireNonNull(provider.get(), $S)", objects, "provider.get()")
+            .addStatement("instance.set(current)")
+            .nextControlFlow("catch ($T e)", env.known().throwable())
+            .addStatement("$T.sneakyThrow(e)", singletonClassName)
+            .endControlFlow()
+            .endControlFlow()
+            .addStatement("return current")
+            .build())
+        .build());
+    shellBuilder.addType(type.build());
+  }
+
   private String superRef(Element superElement) {
     if (superElement.getKind().isInterface()) {
       return ((TypeElement)superElement).getQualifiedName() + ".super";
@@ -44,9 +44,12 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 import java.util.Set;
 
@@ -73,6 +76,8 @@ public class MeldProcessor extends AbstractProcessor {
   public static final String OPT_INCLUDE_MSG_ID = "ch.raffael.meldioc.includeMessageId";
   public static final String OPT_GENERATE_ON_ERRORS = "ch.raffael.meldioc.generateOnErrors";
   public static final String OPT_VERBOSE = "ch.raffael.meldioc.verbose";
+  public static final String OPT_PROFILE = "ch.raffael.meldioc.profile";
+  public static final String OPT_DEPENDENCY_MANIFEST = "ch.raffael.meldioc.dependencyManifest";
 
   private static final String LANG_VERSION_PREFIX = "RELEASE_";
   private static final io.vavr.collection.Set<String> OLD_LANG_VERSIONS = List.rangeClosed(0, 10)
@@ -80,6 +85,17 @@ public class MeldProcessor extends AbstractProcessor {
   private static final io.vavr.collection.Set<String> KNOWN_LANG_VERSIONS = List.rangeClosed(11, 19)
       .map(v -> LANG_VERSION_PREFIX + v).toSet();
 
+  private StageListener stageListener = StageListener.NONE;
+
+  /**
+   * Set a listener to be notified about the processing stages, used by
+   * the benchmarks.
+   */
+  public MeldProcessor stageListener(StageListener stageListener) {
+    this.stageListener = stageListener;
+    return this;
+  }
+
   @Override
   public boolean process(@NotNull Set<? extends TypeElement> annotations, @NotNull RoundEnvironment roundEnv) {
     if (OLD_LANG_VERSIONS.contains(processingEnv.getSourceVersion().name())) {
@@ -97,9 +113,13 @@ public class MeldProcessor extends AbstractProcessor {
             .getOrElse(false));
     Optional<? extends TypeElement> configurationAnnotation = annotations.stream()
         .filter(e -> e.getQualifiedName().toString().equals(Configuration.class.getCanonicalName())).findAny();
+    stageListener.started(Stage.MODEL);
     validateParticipants(annotations, roundEnv, env, configurationAnnotation);
+    stageListener.finished(Stage.MODEL);
+    stageListener.started(Stage.GENERATION);
     configurationAnnotation.ifPresent(
         a -> roundEnv.getElementsAnnotatedWith(a).forEach(elem -> generateConfigurationShell(env, elem)));
+    stageListener.finished(Stage.GENERATION);
     return true;
   }
 
@@ -132,7 +152,8 @@ public class MeldProcessor extends AbstractProcessor {
   private void generateConfigurationShell(Environment env , Element element) {
     try {
       if (element instanceof TypeElement && element.getAnnotation(Generated.class) == null) {
-        writeSourceFile(new Generator(MeldProcessor.class, env, (TypeElement) element));
+        writeSourceFile(new Generator(MeldProcessor.class, env, (TypeElement) element,
+            "true".equals(processingEnv.getOptions().get(OPT_PROFILE))));
       } else {
         processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Expected a class", element);
       }
@@ -165,6 +186,8 @@ public class MeldProcessor extends AbstractProcessor {
     }
     try {
       var source = generator.generate();
+      // the processor is registered as isolating for Gradle, which requires exactly one originating element;
+      // changes to mounted or inherited features trigger a recompilation of the configuration anyway
       var out = processingEnv.getFiler().createSourceFile(generator.targetClassName(), generator.sourceElement());
       try (var writer = out.openWriter()) {
         writer.write(source);
@@ -172,6 +195,26 @@ public class MeldProcessor extends AbstractProcessor {
     } catch (IOException e) {
       processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
           "Cannot write source file for " + generator.targetClassName() + ": " + e.getLocalizedMessage());
+      return;
+    }
+    if ("true".equals(processingEnv.getOptions().get(OPT_DEPENDENCY_MANIFEST))) {
+      writeDependencyManifest(generator);
+    }
+  }
+
+  private void writeDependencyManifest(Generator generator) {
+    var name = generator.targetClassName();
+    var pkg = name.lastIndexOf('.') < 0 ? "" : name.substring(0, name.lastIndexOf('.'));
+    try {
+      var out = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, pkg,
+          name.substring(pkg.isEmpty() ? 0 : pkg.length() + 1) + Generated.DEPENDENCY_MANIFEST_SUFFIX,
+          generator.sourceElement());
+      try (var writer = new OutputStreamWriter(out.openOutputStream(), StandardCharsets.UTF_8)) {
+        writer.write(generator.dependencyManifest());
+      }
+    } catch (IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+          "Cannot write dependency manifest for " + name + ": " + e.getLocalizedMessage(), generator.sourceElement());
     }
   }
 
@@ -187,11 +230,6 @@ public class MeldProcessor extends AbstractProcessor {
     return out.toString();
   }
 
-  @Override
-  public Set<String> getSupportedOptions() {
-    return Set.of();
-  }
-
   @Override
   public Set<String> getSupportedAnnotationTypes() {
     return Set.of(
@@ -208,4 +246,36 @@ public class MeldProcessor extends AbstractProcessor {
   public SourceVersion getSupportedSourceVersion() {
     return SourceVersion.latestSupported();
   }
+
+  /**
+   * The stages of a processing round.
+   */
+  public enum Stage {
+    /**
+     * Building and validating the model types of all participants.
+     */
+    MODEL,
+    /**
+     * Generating the shells of the configurations.
+     */
+    GENERATION
+  }
+
+  /**
+   * Listens to the processing stages.
+   */
+  public interface StageListener {
+    StageListener NONE = new StageListener() {
+      @Override
+      public void started(Stage stage) {
+      }
+      @Override
+      public void finished(Stage stage) {
+      }
+    };
+
+    void started(Stage stage);
+
+    void finished(Stage stage);
+  }
 }
@@ -42,6 +42,18 @@ final class MemberNames {
     return prefixedSnake("$Mount", element);
   }
 
+  static String forSingleton(SrcElement<?, ?> element) {
+    return prefixedSnake("singleton", element);
+  }
+
+  static String forParameter(String owner, SrcElement<?, ?> element) {
+    return "param_" + owner + "_" + element.name();
+  }
+
+  static String forParameterPresent(String owner, SrcElement<?, ?> element) {
+    return forParameter(owner, element) + "_present";
+  }
+
   private static String prefixedSnake(String prefix, SrcElement<?, ?> element) {
     return prefix + "_" + element.name();
   }
@@ -22,6 +22,7 @@
 
 package ch.raffael.meldioc.processor.env;
 
+import ch.raffael.meldioc.Provision;
 import ch.raffael.meldioc.model.AccessPolicy;
 import ch.raffael.meldioc.model.ClassRef;
 import ch.raffael.meldioc.model.SrcElement;
@@ -59,6 +60,7 @@ import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.type.TypeVariable;
 import javax.tools.Diagnostic;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -84,6 +86,8 @@ public final class Adaptor extends Environment.WithEnv
 
   private final boolean includeMessageId;
   private final TypeRef noneTypeRef;
+  // every method references its class element, build these only once per type
+  private final Map<TypeRef, SrcElement<Element, TypeRef>> classElements = new HashMap<>();
 
   private int errorCount = 0;
   private int warningCount = 0;
@@ -201,6 +205,16 @@ public final class Adaptor extends Environment.WithEnv
 
   @Override
   public SrcElement<Element, TypeRef> classElement(TypeRef type) {
+    // not using computeIfAbsent(): this is recursive for the enclosing elements
+    var classElem = classElements.get(type);
+    if (classElem == null) {
+      classElem = buildClassElement(type);
+      classElements.put(type, classElem);
+    }
+    return classElem;
+  }
+
+  private SrcElement<Element, TypeRef> buildClassElement(TypeRef type) {
     var declaredType = asDeclaredType(type.mirror());
     var element = Elements.asElement(declaredType);
     var classElem = srcElement(SrcElement.Kind.CLASS, declaredType, element);
@@ -410,6 +424,8 @@ public final class Adaptor extends Environment.WithEnv
                 .mount(requireListArg(v, env.known().configurationMount(), TypeMirror.class).map(env::classRef))
                 .packageLocal((boolean) requireArg(v, env.known().configurationPackageLocal()))
                 .shellName((String) requireArg(v, env.known().configurationShellName()))
+                .lightweight((boolean) requireArg(v, env.known().configurationLightweight()))
+                .poolable((boolean) requireArg(v, env.known().configurationPoolable()))
                 .build();
           } else if (t.equals(env.known().setup().asElement())) {
             config = SetupConfig.<Element>builder()
@@ -449,6 +465,8 @@ public final class Adaptor extends Environment.WithEnv
             config = ProvisionConfig.<Element>builder()
                 .source(element)
                 .singleton((boolean) requireArg(v, env.known().provisionSingleton()))
+                .strategy(Provision.Strategy.valueOf(
+                    ((VariableElement) requireArg(v, env.known().provisionStrategy())).getSimpleName().toString()))
                 .override((boolean) requireArg(v, env.known().provisionOverride()))
                 .build();
           }
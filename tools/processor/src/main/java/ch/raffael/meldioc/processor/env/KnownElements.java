@@ -214,6 +214,16 @@ public class KnownElements extends Environment.WithEnv {
     return configurationPackageLocal.get();
   }
 
+  private final Lazy<ExecutableElement> configurationLightweight = noParamMethod(configuration, ConfigurationConfig.LIGHTWEIGHT);
+  public ExecutableElement configurationLightweight() {
+    return configurationLightweight.get();
+  }
+
+  private final Lazy<ExecutableElement> configurationPoolable = noParamMethod(configuration, ConfigurationConfig.POOLABLE);
+  public ExecutableElement configurationPoolable() {
+    return configurationPoolable.get();
+  }
+
   private final Lazy<DeclaredType> setup = lazyDeclaredType(Setup.class);
   public DeclaredType setup() {
     return setup.get();
@@ -280,6 +290,11 @@ public class KnownElements extends Environment.WithEnv {
     return provisionSingleton.get();
   }
 
+  private final Lazy<ExecutableElement> provisionStrategy = noParamMethod(provision, ProvisionConfig.STRATEGY);
+  public ExecutableElement provisionStrategy() {
+    return provisionStrategy.get();
+  }
+
   private final Lazy<ExecutableElement> provisionOverride = noParamMethod(provision, ProvisionConfig.OVERRIDE);
   public ExecutableElement provisionOverride() {
     return provisionOverride.get();
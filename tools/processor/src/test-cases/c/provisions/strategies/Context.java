@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package c.provisions.strategies;
+
+import c.ProvisionA;
+import ch.raffael.meldioc.Configuration;
+import ch.raffael.meldioc.Provision;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public abstract class Context {
+
+  public final AtomicInteger eagerCount = new AtomicInteger();
+
+  @Provision(singleton = true, strategy = Provision.Strategy.EAGER)
+  public ProvisionA eager() {
+    eagerCount.incrementAndGet();
+    return new ProvisionA();
+  }
+
+  @Provision(singleton = true, strategy = Provision.Strategy.LAZY_LOCKING)
+  public ProvisionA locking() {
+    return new ProvisionA();
+  }
+
+  @Provision(singleton = true, strategy = Provision.Strategy.LAZY_RACY)
+  public ProvisionA racy() {
+    return new ProvisionA();
+  }
+
+  @Provision(singleton = true, strategy = Provision.Strategy.THREAD_LOCAL)
+  public ProvisionA threadLocal() {
+    return new ProvisionA();
+  }
+}
@@ -23,9 +23,17 @@
 package ch.raffael.meldioc.processor.test
 
 
+import ch.raffael.meldioc.library.base.lifecycle.StartupProfile
+import ch.raffael.meldioc.meta.Generated
+import ch.raffael.meldioc.processor.test.tools.ProcessorTestCase
+import ch.raffael.meldioc.processor.test.tools.TestEnvironment
 import spock.lang.Specification
 
+import java.lang.ref.Reference
+import java.util.concurrent.Executors
+
 import static ch.raffael.meldioc.processor.test.tools.ProcessorTestCase.compile
+import static ch.raffael.meldioc.processor.test.tools.TestCaseOptions.options
 
 class CodegenSpec extends Specification {
 
@@ -36,4 +44,162 @@ class CodegenSpec extends Specification {
     then:
     c.allGood
   }
+
+  def "With profiling enabled, setup methods and singleton instantiations are recorded as a tree"() {
+    when:
+    def c = compile('c/codegen/profile', options().profile())
+    def ctx = c.context()
+    def root = StartupProfile.profiles().last().root()
+    Reference.reachabilityFence(ctx) // profiles are registered weakly
+
+    then:
+    c.allGood
+    and:
+    root.name() == 'c.codegen.profile.ContextShell'
+    root.children()*.name() == ['@Setup setup']
+    root.children()[0].children()*.name() == ['Context.a']
+    root.children()[0].children()[0].children()*.name() == ['Context.b']
+  }
+
+  def "With profiling enabled, singletons initialised by eagerInit() on other threads are nested in an eagerInit step"() {
+    given:
+    def executor = Executors.newSingleThreadExecutor()
+
+    when:
+    def c = compile('c/codegen/profile', options().profile())
+    def ctx = c.shellBuilder().eagerInit(executor).build()
+    def root = StartupProfile.profiles().last().root()
+    Reference.reachabilityFence(ctx) // profiles are registered weakly
+
+    then:
+    c.allGood
+    and:
+    root.children()*.name() == ['@Setup setup', 'eagerInit']
+    root.children()[1].children()*.name() == ['Context.c']
+
+    cleanup:
+    executor?.shutdown()
+  }
+
+  def "Configurations mount features compiled in a previous compilation"() {
+    when:
+    def lib = compile('c/codegen/precompiled/lib')
+    def shell = shellSource(compile('c/codegen/precompiled/app', options().classpath('c/codegen/precompiled/lib')))
+
+    then:
+    lib.allGood
+    shell.any {it.contains('$MeldIoC_RacySingleton')}
+  }
+
+  def "A lightweight shell extends the configuration and stores singletons in plain fields"() {
+    when:
+    def c = compile('c/codegen/lightweight')
+    def app = c.loadClass('.AppFeature').newInstance()
+    def ctx = c.shellBuilder().mountApp(app).build()
+
+    then:
+    c.allGood
+    ctx.getClass() == c.loadClass('.ContextShell')
+    ctx.getClass().superclass == c.loadClass('.Context')
+    ctx.getClass().declaredClasses*.simpleName.toSet() == ['Builder', '$Mount_featureA'] as Set
+    and:
+    ctx.setupCount == 1
+    ctx.b().is ctx.b()
+    ctx.bCount == 1
+    ctx.config().is ctx.config()
+    ctx.a().is ctx.a()
+    ctx.shared().is app.shared()
+  }
+
+  def "A poolable shell is reused without allocating and clears its singletons on release"() {
+    when:
+    def c = compile('c/codegen/pool', options().noTypesafeConfig())
+    def app = c.loadClass('.AppFeature').newInstance()
+    def pool = c.loadClass('.ContextShell$Pool').newInstance(1)
+    def ctx = pool.acquire(app)
+    def b = ctx.b()
+    pool.release(ctx)
+    def reused = pool.acquire(app)
+
+    then:
+    c.allGood
+    reused.is ctx
+    reused.setupCount == 2
+    !reused.b().is(b)
+    reused.bCount == 2
+    reused.shared().is app.shared()
+
+    when:
+    pool.release(reused)
+    def driver = c.loadClass('.LoadDriver')
+    driver.allocatedBytes(pool, app, 10_000)
+    def allocated = driver.allocatedBytes(pool, app, 100_000)
+
+    then:
+    allocated < 100_000
+  }
+
+  def "Releasing a pooled shell twice throws until it has been acquired again"() {
+    when:
+    def c = compile('c/codegen/pool', options().noTypesafeConfig())
+    def app = c.loadClass('.AppFeature').newInstance()
+    def pool = c.loadClass('.ContextShell$Pool').newInstance(2)
+    def ctx = pool.acquire(app)
+    pool.release(ctx)
+    pool.release(ctx)
+
+    then:
+    c.allGood
+    thrown IllegalStateException
+
+    when:
+    def reused = pool.acquire(app)
+    pool.release(reused)
+
+    then:
+    reused.is ctx
+    noExceptionThrown()
+  }
+
+  def "With the dependency manifest enabled, it's written next to the shell"() {
+    when:
+    def c = compile('c/codegen/manifest', options().profile().dependencyManifest())
+    def ctx = c.context()
+    def manifest = manifestFile('c/codegen/manifest').getText('UTF-8')
+    def steps = StartupProfile.profiles().last().root().children()*.children().flatten()*.name()
+    Reference.reachabilityFence(ctx) // profiles are registered weakly
+
+    then:
+    c.allGood
+    manifest.startsWith('manifest\tformat=2\tconfiguration=c.codegen.manifest.Context\tshell=c.codegen.manifest.ContextShell\n')
+    manifest.contains('\tprobe=Context.used')
+    manifest.contains('\tprobe=Context.unused')
+    manifest.contains('\tprobe=Singleton.a')
+    manifest.contains('\tfeature=c.FeatureA.Singleton\tmount=featureA')
+    and:
+    steps == ['Context.used']
+  }
+
+  def "By default, no dependency manifest is written"() {
+    when:
+    def c = compile('c/codegen/manifest')
+
+    then:
+    c.allGood
+    !manifestFile('c/codegen/manifest').exists()
+  }
+
+  private static File manifestFile(String caseName) {
+    TestEnvironment.classOutputPath(caseName)
+        .resolve(caseName + '/ContextShell' + Generated.DEPENDENCY_MANIFEST_SUFFIX)
+        .toFile()
+  }
+
+  private static List<String> shellSource(ProcessorTestCase c) {
+    assert c.allGood
+    TestEnvironment.sourceOutputPath(c.caseName).resolve(c.caseName).resolve('ContextShell.java').toFile()
+        .readLines()
+        .findAll {!it.startsWith('// Generated by')}
+        .collect {it.replaceAll(/"\d{4}-\d{2}-\d{2}T[^"]*"/, '"<timestamp>"')}
+  }
 }
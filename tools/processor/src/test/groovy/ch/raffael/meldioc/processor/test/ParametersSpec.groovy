@@ -127,13 +127,20 @@ class ParametersSpec extends Specification {
       isResolved() >> true
     }
     empty.resolve() >> empty
+
+    when:
     def shell = good.shellBuilder("WithDefaultsContext").config(empty).build()
 
+    then: "All parameters are resolved when building the shell"
+    1 * empty.resolve() >> empty
+    1 * empty.hasPath(mapping[0]) >> false
+    _ * empty.hasPath(_) >> false
+    0 * empty._
+
     when:
     shell.mountAllParamTypes()."$method"()
 
-    then:
-    1 * empty.hasPath(mapping[0]) >> false
+    then: "Calling the parameter method doesn't access the configuration"
     0 * empty._
 
     where:
@@ -153,6 +160,16 @@ class ParametersSpec extends Specification {
     ctx.absoluteImplicitName() == 'absolute-implicit-name-param'
   }
 
+  def "Parameter types of generic features are resolved against the mount"() {
+    when:
+    def c = compile('c/parameters/generic')
+    def ctx = c.shellBuilder().config(ConfigFactory.parseMap(['my-param': 'generic-param'])).build()
+
+    then:
+    c.allGood
+    ctx.generic().value() == 'generic-param'.length()
+  }
+
   def "Various errors"() {
     when:
     def c = compile('c/parameters/bad')
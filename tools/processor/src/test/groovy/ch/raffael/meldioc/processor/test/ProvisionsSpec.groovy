@@ -25,6 +25,10 @@ package ch.raffael.meldioc.processor.test
 import ch.raffael.meldioc.model.messages.Message
 import spock.lang.Specification
 
+import java.time.Duration
+import java.util.concurrent.Executor
+import java.util.function.BiConsumer
+
 import static ch.raffael.meldioc.processor.test.tools.ProcessorTestCase.compile
 
 class ProvisionsSpec extends Specification {
@@ -44,6 +48,58 @@ class ProvisionsSpec extends Specification {
     s.b() == s.b()
   }
 
+  def "Eager initialisation initialises all singleton provisions using the given executor"() {
+    given:
+    def c = compile('c/provisions/implemented')
+    def executed = []
+    def timings = [:]
+
+    when:
+    def s = c.shellBuilder()
+        .eagerInit({Runnable r -> executed << r; r.run()} as Executor,
+            {String n, Duration d -> timings[n] = d} as BiConsumer)
+        .build()
+
+    then:
+    executed.size() == 1
+    timings.keySet() == ['b'] as Set
+    s.b() == s.b()
+  }
+
+  def "Singleton provisions support eager, locking, racy and thread-local strategies"() {
+    when:
+    def c = compile('c/provisions/strategies')
+    def s = c.context()
+
+    then: "Eager provisions are initialized when building the shell"
+    s.eagerCount.get() == 1
+    s.eager() == s.eager()
+    s.eagerCount.get() == 1
+    and:
+    s.locking() == s.locking()
+    s.racy() == s.racy()
+    and: "Thread-local provisions return one instance per thread"
+    def local = s.threadLocal()
+    local == s.threadLocal()
+    def other = null
+    def t = Thread.start {other = s.threadLocal()}
+    t.join()
+    other != null
+    other != local
+  }
+
+  def "Specifying a provision strategy without singleton=true is a compiler error"() {
+    when:
+    def c = compile('c/provisions/strategyWithoutSingleton')
+
+    then:
+    with(c.message()) {
+      id == Message.Id.ProvisionStrategyRequiresSingleton
+      pos == c.marker('strategy-without-singleton')
+    }
+    c.allGood
+  }
+
   def "A non-singleton provision overriding a singleton one without `override=true` is a compiler error"() {
     when:
     def c = compile('c/provisions/nonSingletonOverridesSingleton')
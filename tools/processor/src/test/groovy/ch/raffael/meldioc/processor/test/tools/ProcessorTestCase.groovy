@@ -76,10 +76,11 @@ class ProcessorTestCase {
     List<String> options = [
         '-d', prepareOutputDirectory(TestEnvironment.classOutputPath(caseName)) as String,
         '-s', prepareOutputDirectory(TestEnvironment.sourceOutputPath(caseName)) as String,
-        '-cp', (options.noTypesafeConfig
-            ? TestEnvironment.classpathNoConfig(caseName)
-            : TestEnvironment.classpath(caseName))
-            as String,
+        '-cp', ((this.options.classpathCases.collect {TestEnvironment.classOutputPath(it) as String})
+            + (this.options.noTypesafeConfig
+               ? TestEnvironment.classpathNoConfig(caseName)
+               : TestEnvironment.classpath(caseName)))
+            .join(File.pathSeparator),
         '-Xlint:unchecked', '-Xlint:deprecation', '-g',
         '-processor', [MarkerProcessor, MeldProcessor].collect {it.name}.join(','),
         "-A$MeldProcessor.OPT_INCLUDE_MSG_ID=true" as String,
@@ -89,6 +90,12 @@ class ProcessorTestCase {
     if (javaConf.getBoolean('preview')) {
       options.add '--enable-preview'
     }
+    if (this.options.profile) {
+      options.add "-A$MeldProcessor.OPT_PROFILE=true" as String
+    }
+    if (this.options.dependencyManifest) {
+      options.add "-A$MeldProcessor.OPT_DEPENDENCY_MANIFEST=true" as String
+    }
     Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(
         TestEnvironment.sourceFiles(caseName))
     println "Compiling: $compilationUnits"
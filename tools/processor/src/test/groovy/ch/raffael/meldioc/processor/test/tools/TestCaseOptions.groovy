@@ -25,6 +25,9 @@ package ch.raffael.meldioc.processor.test.tools
 class TestCaseOptions {
 
   boolean noTypesafeConfig = false
+  boolean profile = false
+  boolean dependencyManifest = false
+  List<String> classpathCases = []
 
   static TestCaseOptions options() {
     return new TestCaseOptions()
@@ -34,4 +37,23 @@ class TestCaseOptions {
     noTypesafeConfig = true
     return this
   }
+
+  TestCaseOptions profile() {
+    profile = true
+    return this
+  }
+
+  TestCaseOptions dependencyManifest() {
+    dependencyManifest = true
+    return this
+  }
+
+  /**
+   * Add the class output of a previously compiled test case to the class
+   * path.
+   */
+  TestCaseOptions classpath(String caseName) {
+    classpathCases.add(caseName)
+    return this
+  }
 }
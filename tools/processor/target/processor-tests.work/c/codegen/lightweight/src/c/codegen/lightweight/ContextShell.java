@@ -0,0 +1,124 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:29:46 UTC 2026
+package c.codegen.lightweight;
+
+import c.FeatureA;
+import c.ProvisionA;
+import c.ProvisionB;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.SuppressWarnings;
+import java.util.Objects;
+
+@Generated(
+    timestamp = "2026-10-19T03:29:46.085Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:29:46.085Z"
+)
+@SuppressWarnings("all")
+final class ContextShell extends Context {
+  private final $Mount_featureA mount_featureA = new $Mount_featureA();
+
+  private final Config config;
+
+  private final AppFeature mount_app;
+
+  private ProvisionB singleton_b;
+
+  private ProvisionB singleton_config;
+
+  private ContextShell(Config config, AppFeature mount_app) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    this.mount_app = Objects.requireNonNull(mount_app, "mount_app is null");
+    $MeldIoC_setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private void $MeldIoC_setup() {
+    ContextShell.this.setup(
+        );
+  }
+
+  @Override
+  public ProvisionB b() {
+    if (singleton_b == null) {
+      singleton_b = Objects.requireNonNull(super.b(), "b()");
+    }
+    return singleton_b;
+  }
+
+  @Override
+  public ProvisionB config() {
+    if (singleton_config == null) {
+      singleton_config = Objects.requireNonNull(super.config(), "config()");
+    }
+    return singleton_config;
+  }
+
+  ProvisionB shared() {
+    return ContextShell.this.mount_app.shared();
+  }
+
+  ProvisionA a() {
+    return ContextShell.this.mount_featureA.a();
+  }
+
+  @Override
+  AppFeature app() {
+    return ContextShell.this.mount_app;
+  }
+
+  @Override
+  FeatureA.Singleton featureA() {
+    return mount_featureA;
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private AppFeature mount_app;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    Builder mountApp(AppFeature mountApp) {
+      this.mount_app = mountApp;
+      return this;
+    }
+
+    Context build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      if (mount_app == null) throw new IllegalStateException("mount_app is not set");
+      ContextShell shell = newShell();
+      return shell;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(config, mount_app);
+    }
+  }
+
+  private final class $Mount_featureA extends FeatureA.Singleton {
+    private ProvisionA singleton_a;
+
+    @Override
+    public ProvisionA a() {
+      if (singleton_a == null) {
+        singleton_a = Objects.requireNonNull(super.a(), "a()");
+      }
+      return singleton_a;
+    }
+  }
+}
@@ -0,0 +1,238 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:29:49 UTC 2026
+package c.codegen.manifest;
+
+import c.FeatureA;
+import c.ProvisionA;
+import c.ProvisionB;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.lang.FunctionalInterface;
+import java.lang.IllegalStateException;
+import java.lang.InterruptedException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.lang.System;
+import java.lang.Thread;
+import java.lang.Throwable;
+import java.lang.Void;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:29:49.583Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:29:49.583Z"
+)
+@SuppressWarnings("all")
+final class ContextShell {
+  private final $Mount_featureA mount_featureA = new $Mount_featureA();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private ContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+    ContextShell.this.dispatcher.setup(
+        );
+  }
+
+  private static FutureTask<Void> eagerInitTask(String name,
+      BiConsumer<? super String, ? super Duration> timings, $MeldIoC_Provider<?> provider) {
+    return new FutureTask<>(() -> {
+      long start = System.nanoTime();
+      try {
+        provider.get();
+      } catch (Throwable e) {
+        $MeldIoC_Singleton.sneakyThrow(e);
+      }
+      timings.accept(name, Duration.ofNanos(System.nanoTime() - start));
+      return null;
+    });
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+    FutureTask<?>[] tasks = {
+      eagerInitTask("used", timings, () -> ContextShell.this.dispatcher.used()),
+      eagerInitTask("unused", timings, () -> ContextShell.this.dispatcher.unused()),
+      eagerInitTask("featureA.a", timings, () -> ContextShell.this.mount_featureA.a()),
+    };
+    for (FutureTask<?> t : tasks) {
+      executor.execute(t);
+    }
+    Throwable failure = null;
+    for (FutureTask<?> t : tasks) {
+      try {
+        t.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (FutureTask<?> c : tasks) {
+          c.cancel(true);
+        }
+        $MeldIoC_Singleton.sneakyThrow(e);
+      }
+    }
+    if (failure != null) {
+      $MeldIoC_Singleton.sneakyThrow(failure);
+    }
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    Context build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      ContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends Context {
+    private final $MeldIoC_Singleton<ProvisionB> used = new $MeldIoC_Singleton<>(() -> super.used());
+
+    private final $MeldIoC_Singleton<ProvisionB> unused = new $MeldIoC_Singleton<>(() -> super.unused());
+
+    private $Dispatcher() {
+    }
+
+    @Override
+    public ProvisionB used() {
+      return used.getSneakyRethrowing();
+    }
+
+    @Override
+    public ProvisionB unused() {
+      return unused.getSneakyRethrowing();
+    }
+
+    @Override
+    public ProvisionB plain() {
+      return super.plain();
+    }
+
+    ProvisionA a() {
+      return ContextShell.this.mount_featureA.a();
+    }
+
+    @Override
+    FeatureA.Singleton featureA() {
+      return mount_featureA;
+    }
+  }
+
+  private final class $Mount_featureA extends FeatureA.Singleton {
+    private final $MeldIoC_Singleton<ProvisionA> a = new $MeldIoC_Singleton<>(() -> super.a());
+
+    @Override
+    public ProvisionA a() {
+      return a.getSneakyRethrowing();
+    }
+  }
+
+  @FunctionalInterface
+  private interface $MeldIoC_Provider<T> {
+    T get() throws Throwable;
+  }
+
+  private static final class $MeldIoC_Singleton<T> {
+    private volatile $MeldIoC_Provider<? extends T> provider;
+
+    private T instance;
+
+    $MeldIoC_Singleton($MeldIoC_Provider<? extends T> provider) {
+      this.provider = Objects.requireNonNull(provider, "provider");
+    }
+
+    /**
+     * This sneakyThrows any exceptions thrown in the provider. 
+     * The user is responsible for declaring checked exceptions. 
+     * Calling generated code <em>will</em> redeclare all declared exceptions, 
+     * so undeclared checked exceptions are only thrown, when the user does so 
+     * in his code.
+     */
+    T getSneakyRethrowing() {
+      if (provider != null) {
+        synchronized (this) {
+          if (provider != null) {
+            try {
+              instance = Objects.requireNonNull(provider.get(), "provider.get()");
+              provider = null;
+            } catch (Throwable e) {
+              sneakyThrow(e);
+            }
+          }
+        }
+      }
+      return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable ex) throws E {
+      throw (E)ex;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:29:48 UTC 2026
+package c.codegen.pool;
+
+import c.FeatureA;
+import c.ProvisionA;
+import c.ProvisionB;
+import ch.raffael.meldioc.meta.Generated;
+import java.lang.IllegalArgumentException;
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.SuppressWarnings;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Generated(
+    timestamp = "2026-10-19T03:29:48.007Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:29:48.007Z"
+)
+@SuppressWarnings("all")
+final class ContextShell extends Context {
+  private final $Mount_featureA mount_featureA = new $Mount_featureA();
+
+  private AppFeature mount_app;
+
+  private ProvisionB singleton_b;
+
+  private boolean $MeldIoC_released;
+
+  private ContextShell(AppFeature mount_app) {
+    $MeldIoC_reset(mount_app);
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private void $MeldIoC_setup() {
+    ContextShell.this.setup(
+        );
+  }
+
+  @Override
+  public ProvisionB b() {
+    if (singleton_b == null) {
+      singleton_b = Objects.requireNonNull(super.b(), "b()");
+    }
+    return singleton_b;
+  }
+
+  ProvisionB shared() {
+    return ContextShell.this.mount_app.shared();
+  }
+
+  ProvisionA a() {
+    return ContextShell.this.mount_featureA.a();
+  }
+
+  @Override
+  AppFeature app() {
+    return ContextShell.this.mount_app;
+  }
+
+  @Override
+  FeatureA.Singleton featureA() {
+    return mount_featureA;
+  }
+
+  private void $MeldIoC_reset(AppFeature mount_app) {
+    $MeldIoC_released = false;
+    this.mount_app = Objects.requireNonNull(mount_app, "mount_app is null");
+    $MeldIoC_setup();
+  }
+
+  private void $MeldIoC_release() {
+    if ($MeldIoC_released) {
+      throw new IllegalStateException("Shell already released: " + this);
+    }
+    $MeldIoC_released = true;
+    ContextShell.this.mount_featureA.singleton_a = null;
+    ContextShell.this.singleton_b = null;
+    this.mount_app = null;
+  }
+
+  static final class Builder {
+    private AppFeature mount_app;
+
+    private Builder() {
+    }
+
+    Builder mountApp(AppFeature mountApp) {
+      this.mount_app = mountApp;
+      return this;
+    }
+
+    Context build() {
+      if (mount_app == null) throw new IllegalStateException("mount_app is not set");
+      ContextShell shell = newShell();
+      return shell;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(mount_app);
+    }
+  }
+
+  /**
+   * A fixed-size, lock-free pool of shells. Acquiring a shell from the pool
+   * and releasing it back doesn't allocate, as long as the pool isn't exhausted.
+   */
+  static final class Pool {
+    private final AtomicReferenceArray<ContextShell> free;
+
+    Pool(int capacity) {
+      this.free = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Acquire a shell from the pool, or create a new one if the pool is empty.
+     */
+    Context acquire(AppFeature mountApp) {
+      for (int i = 0; i < free.length(); i++) {
+        ContextShell shell = free.get(i);
+        if (shell != null && free.compareAndSet(i, shell, null)) {
+          shell.$MeldIoC_reset(mountApp);
+          return shell;
+        }
+      }
+      return new ContextShell(mountApp);
+    }
+
+    /**
+     * Release a shell back to the pool, clearing its singletons. The shell
+     * must not be used anymore after releasing it.
+     *
+     * @throws IllegalStateException if the shell has already been released
+     */
+    void release(Context instance) {
+      if (!(instance instanceof ContextShell)) {
+        throw new IllegalArgumentException("Not a pooled shell: " + instance);
+      }
+      ContextShell shell = (ContextShell) instance;
+      shell.$MeldIoC_release();
+      for (int i = 0; i < free.length(); i++) {
+        if (free.get(i) == null && free.compareAndSet(i, null, shell)) {
+          return;
+        }
+      }
+    }
+  }
+
+  private final class $Mount_featureA extends FeatureA.Singleton {
+    private ProvisionA singleton_a;
+
+    @Override
+    public ProvisionA a() {
+      if (singleton_a == null) {
+        singleton_a = Objects.requireNonNull(super.a(), "a()");
+      }
+      return singleton_a;
+    }
+  }
+}
@@ -0,0 +1,173 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:29:51 UTC 2026
+package c.extensionPoints.throwing;
+
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.io.IOException;
+import java.lang.FunctionalInterface;
+import java.lang.IllegalStateException;
+import java.lang.InterruptedException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.lang.Throwable;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:29:51.62Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:29:51.62Z"
+)
+@SuppressWarnings("all")
+final class ContextShell {
+  private final $Mount_epThrowing mount_epThrowing = new $Mount_epThrowing();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private ContextShell(Config config) throws InterruptedException, IOException {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() throws InterruptedException, IOException {
+    ContextShell.this.dispatcher.setup(
+        ContextShell.this.dispatcher.myConfiguration(),
+        ContextShell.this.mount_epThrowing.myConfigurationMounted());
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    Context build() throws InterruptedException, IOException {
+      if (config == null) throw new IllegalStateException("config is not set");
+      ContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private ContextShell newShell() throws InterruptedException, IOException {
+      return new ContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends Context {
+    private final $MeldIoC_Singleton<MyConfiguration> myConfiguration = new $MeldIoC_Singleton<>(() -> super.myConfiguration());
+
+    private $Dispatcher() {
+    }
+
+    @Override
+    MyConfiguration myConfiguration() throws InterruptedException {
+      return myConfiguration.getSneakyRethrowing();
+    }
+
+    @Override
+    ExtensionPointProvisionThrowing epThrowing() {
+      return mount_epThrowing;
+    }
+  }
+
+  private final class $Mount_epThrowing extends ExtensionPointProvisionThrowing {
+    private final $MeldIoC_Singleton<MyConfiguration.Mounted> myConfigurationMounted = new $MeldIoC_Singleton<>(() -> super.myConfigurationMounted());
+
+    @Override
+    protected MyConfiguration.Mounted myConfigurationMounted() throws IOException {
+      return myConfigurationMounted.getSneakyRethrowing();
+    }
+  }
+
+  @FunctionalInterface
+  private interface $MeldIoC_Provider<T> {
+    T get() throws Throwable;
+  }
+
+  private static final class $MeldIoC_Singleton<T> {
+    private volatile $MeldIoC_Provider<? extends T> provider;
+
+    private T instance;
+
+    $MeldIoC_Singleton($MeldIoC_Provider<? extends T> provider) {
+      this.provider = Objects.requireNonNull(provider, "provider");
+    }
+
+    /**
+     * This sneakyThrows any exceptions thrown in the provider. 
+     * The user is responsible for declaring checked exceptions. 
+     * Calling generated code <em>will</em> redeclare all declared exceptions, 
+     * so undeclared checked exceptions are only thrown, when the user does so 
+     * in his code.
+     */
+    T getSneakyRethrowing() {
+      if (provider != null) {
+        synchronized (this) {
+          if (provider != null) {
+            try {
+              instance = Objects.requireNonNull(provider.get(), "provider.get()");
+              provider = null;
+            } catch (Throwable e) {
+              sneakyThrow(e);
+            }
+          }
+        }
+      }
+      return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable ex) throws E {
+      throw (E)ex;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:29:54 UTC 2026
+package c.mountAttribute.allAttr;
+
+import c.FeatureA;
+import c.FeatureB;
+import c.ProvisionA;
+import c.ProvisionB;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.lang.FunctionalInterface;
+import java.lang.IllegalStateException;
+import java.lang.InterruptedException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.lang.System;
+import java.lang.Thread;
+import java.lang.Throwable;
+import java.lang.Void;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:29:54.123Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:29:54.123Z"
+)
+@SuppressWarnings("all")
+final class ContextShell {
+  private final $Mount_synthetic$$c$FeatureA$Singleton mount_synthetic$$c$FeatureA$Singleton = new $Mount_synthetic$$c$FeatureA$Singleton();
+
+  private final $Mount_synthetic$$c$FeatureB$NonSingleton mount_synthetic$$c$FeatureB$NonSingleton = new $Mount_synthetic$$c$FeatureB$NonSingleton();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private ContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private static FutureTask<Void> eagerInitTask(String name,
+      BiConsumer<? super String, ? super Duration> timings, $MeldIoC_Provider<?> provider) {
+    return new FutureTask<>(() -> {
+      long start = System.nanoTime();
+      try {
+        provider.get();
+      } catch (Throwable e) {
+        $MeldIoC_Singleton.sneakyThrow(e);
+      }
+      timings.accept(name, Duration.ofNanos(System.nanoTime() - start));
+      return null;
+    });
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+    FutureTask<?>[] tasks = {
+      eagerInitTask("synthetic$$c$FeatureA$Singleton.a", timings, () -> ContextShell.this.mount_synthetic$$c$FeatureA$Singleton.a()),
+    };
+    for (FutureTask<?> t : tasks) {
+      executor.execute(t);
+    }
+    Throwable failure = null;
+    for (FutureTask<?> t : tasks) {
+      try {
+        t.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (FutureTask<?> c : tasks) {
+          c.cancel(true);
+        }
+        $MeldIoC_Singleton.sneakyThrow(e);
+      }
+    }
+    if (failure != null) {
+      $MeldIoC_Singleton.sneakyThrow(failure);
+    }
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    Context build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      ContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends Context {
+    private $Dispatcher() {
+    }
+
+    @Override
+    ProvisionA a() {
+      return ContextShell.this.mount_synthetic$$c$FeatureA$Singleton.a();
+    }
+
+    @Override
+    ProvisionB b() {
+      return ContextShell.this.mount_synthetic$$c$FeatureB$NonSingleton.b();
+    }
+  }
+
+  private final class $Mount_synthetic$$c$FeatureA$Singleton extends FeatureA.Singleton {
+    private final $MeldIoC_Singleton<ProvisionA> a = new $MeldIoC_Singleton<>(() -> super.a());
+
+    @Override
+    public ProvisionA a() {
+      return a.getSneakyRethrowing();
+    }
+  }
+
+  private final class $Mount_synthetic$$c$FeatureB$NonSingleton extends FeatureB.NonSingleton {
+    @Override
+    public ProvisionB b() {
+      return super.b();
+    }
+  }
+
+  @FunctionalInterface
+  private interface $MeldIoC_Provider<T> {
+    T get() throws Throwable;
+  }
+
+  private static final class $MeldIoC_Singleton<T> {
+    private volatile $MeldIoC_Provider<? extends T> provider;
+
+    private T instance;
+
+    $MeldIoC_Singleton($MeldIoC_Provider<? extends T> provider) {
+      this.provider = Objects.requireNonNull(provider, "provider");
+    }
+
+    /**
+     * This sneakyThrows any exceptions thrown in the provider. 
+     * The user is responsible for declaring checked exceptions. 
+     * Calling generated code <em>will</em> redeclare all declared exceptions, 
+     * so undeclared checked exceptions are only thrown, when the user does so 
+     * in his code.
+     */
+    T getSneakyRethrowing() {
+      if (provider != null) {
+        synchronized (this) {
+          if (provider != null) {
+            try {
+              instance = Objects.requireNonNull(provider.get(), "provider.get()");
+              provider = null;
+            } catch (Throwable e) {
+              sneakyThrow(e);
+            }
+          }
+        }
+      }
+      return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable ex) throws E {
+      throw (E)ex;
+    }
+  }
+}
@@ -0,0 +1,121 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:30:01 UTC 2026
+package c.mounts.exceptions.impliedCopiesThrown;
+
+import c.ProvisionA;
+import c.mounts.exceptions.FeatureAThrowing;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.io.IOException;
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:30:01.831Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:30:01.831Z"
+)
+@SuppressWarnings("all")
+final class ContextShell {
+  private final $Mount_featureAThrowing mount_featureAThrowing = new $Mount_featureAThrowing();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private ContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    Context build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      ContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends Context {
+    private $Dispatcher() {
+    }
+
+    ProvisionA a() throws IOException {
+      return ContextShell.this.mount_featureAThrowing.a();
+    }
+
+    @Override
+    FeatureAThrowing.Default featureAThrowing() {
+      return mount_featureAThrowing;
+    }
+  }
+
+  private final class $Mount_featureAThrowing extends FeatureAThrowing.Default {
+    @Override
+    public ProvisionA a() throws IOException {
+      return super.a();
+    }
+  }
+}
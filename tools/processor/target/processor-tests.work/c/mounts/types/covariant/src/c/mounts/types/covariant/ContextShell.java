@@ -0,0 +1,136 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:29:59 UTC 2026
+package c.mounts.types.covariant;
+
+import c.FeatureA;
+import c.ProvisionA;
+import c.mounts.types.FeatureA2;
+import c.mounts.types.ProvisionA2;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:29:59.095Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:29:59.095Z"
+)
+@SuppressWarnings("all")
+final class ContextShell {
+  private final $Mount_mountA mount_mountA = new $Mount_mountA();
+
+  private final $Mount_mountA2 mount_mountA2 = new $Mount_mountA2();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private ContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    Context build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      ContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends Context {
+    private $Dispatcher() {
+    }
+
+    ProvisionA2 a() {
+      return ContextShell.this.mount_mountA2.a();
+    }
+
+    @Override
+    FeatureA mountA() {
+      return mount_mountA;
+    }
+
+    @Override
+    FeatureA2.Impl mountA2() {
+      return mount_mountA2;
+    }
+  }
+
+  private final class $Mount_mountA implements FeatureA {
+    @Override
+    public ProvisionA a() {
+      return ContextShell.this.dispatcher.a();
+    }
+  }
+
+  private final class $Mount_mountA2 extends FeatureA2.Impl {
+    @Override
+    public ProvisionA2 a() {
+      return super.a();
+    }
+  }
+}
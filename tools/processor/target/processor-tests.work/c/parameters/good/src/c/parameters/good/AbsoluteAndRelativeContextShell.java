@@ -0,0 +1,124 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:30:02 UTC 2026
+package c.parameters.good;
+
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.lang.IllegalStateException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:30:02.794Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:30:02.794Z"
+)
+@SuppressWarnings("all")
+final class AbsoluteAndRelativeContextShell {
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private final String param_dispatcher_myParam;
+
+  private final String param_dispatcher_absolute;
+
+  private final String param_dispatcher_absoluteImplicitName;
+
+  private AbsoluteAndRelativeContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    this.param_dispatcher_myParam = this.config.getString("relative.my-param");
+    this.param_dispatcher_absolute = this.config.getString("absolute");
+    this.param_dispatcher_absoluteImplicitName = this.config.getString("absolute-implicit-name");
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    AbsoluteAndRelativeContext build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      AbsoluteAndRelativeContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private AbsoluteAndRelativeContextShell newShell() {
+      return new AbsoluteAndRelativeContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends AbsoluteAndRelativeContext {
+    private $Dispatcher() {
+    }
+
+    @Override
+    public String myParam() {
+      return AbsoluteAndRelativeContextShell.this.param_dispatcher_myParam;
+    }
+
+    @Override
+    public String absolute() {
+      return AbsoluteAndRelativeContextShell.this.param_dispatcher_absolute;
+    }
+
+    @Override
+    public String absoluteImplicitName() {
+      return AbsoluteAndRelativeContextShell.this.param_dispatcher_absoluteImplicitName;
+    }
+  }
+}
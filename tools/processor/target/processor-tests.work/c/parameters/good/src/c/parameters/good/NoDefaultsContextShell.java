@@ -0,0 +1,392 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:30:02 UTC 2026
+package c.parameters.good;
+
+import c.parameters.MyEnum;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigMemorySize;
+import java.lang.Boolean;
+import java.lang.Double;
+import java.lang.IllegalStateException;
+import java.lang.Integer;
+import java.lang.Iterable;
+import java.lang.Long;
+import java.lang.Number;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.TemporalAmount;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:30:02.837Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:30:02.837Z"
+)
+@SuppressWarnings("all")
+final class NoDefaultsContextShell {
+  private final int param_mount_mountAllParamTypes_intParam;
+
+  private final Integer param_mount_mountAllParamTypes_boxedIntParam;
+
+  private final long param_mount_mountAllParamTypes_longParam;
+
+  private final Long param_mount_mountAllParamTypes_boxedLongParam;
+
+  private final double param_mount_mountAllParamTypes_doubleParam;
+
+  private final Double param_mount_mountAllParamTypes_boxedDoubleParam;
+
+  private final boolean param_mount_mountAllParamTypes_boolParam;
+
+  private final Boolean param_mount_mountAllParamTypes_boxedBoolParam;
+
+  private final Number param_mount_mountAllParamTypes_numberParam;
+
+  private final String param_mount_mountAllParamTypes_stringParam;
+
+  private final Duration param_mount_mountAllParamTypes_durationParam;
+
+  private final Period param_mount_mountAllParamTypes_periodParam;
+
+  private final TemporalAmount param_mount_mountAllParamTypes_temporalParam;
+
+  private final Config param_mount_mountAllParamTypes_configParam;
+
+  private final ConfigMemorySize param_mount_mountAllParamTypes_memSizeParam;
+
+  private final MyEnum param_mount_mountAllParamTypes_enumParam;
+
+  private final List<Integer> param_mount_mountAllParamTypes_intListParam;
+
+  private final List<Long> param_mount_mountAllParamTypes_longListParam;
+
+  private final List<Double> param_mount_mountAllParamTypes_doubleListParam;
+
+  private final List<Boolean> param_mount_mountAllParamTypes_boolListParam;
+
+  private final List<Number> param_mount_mountAllParamTypes_numberListParam;
+
+  private final List<String> param_mount_mountAllParamTypes_stringListParam;
+
+  private final List<Duration> param_mount_mountAllParamTypes_durationListParam;
+
+  private final List<ConfigMemorySize> param_mount_mountAllParamTypes_memSizeListParam;
+
+  private final List<MyEnum> param_mount_mountAllParamTypes_enumListParam;
+
+  private final Iterable<Integer> param_mount_mountAllParamTypes_intIterableParam;
+
+  private final Iterable<Long> param_mount_mountAllParamTypes_longIterableParam;
+
+  private final Iterable<Double> param_mount_mountAllParamTypes_doubleIterableParam;
+
+  private final Iterable<Boolean> param_mount_mountAllParamTypes_boolIterableParam;
+
+  private final Iterable<Number> param_mount_mountAllParamTypes_numberIterableParam;
+
+  private final Iterable<String> param_mount_mountAllParamTypes_stringIterableParam;
+
+  private final Iterable<Duration> param_mount_mountAllParamTypes_durationIterableParam;
+
+  private final Iterable<ConfigMemorySize> param_mount_mountAllParamTypes_memSizeIterableParam;
+
+  private final Iterable<MyEnum> param_mount_mountAllParamTypes_enumIterableParam;
+
+  private final $Mount_mountAllParamTypes mount_mountAllParamTypes = new $Mount_mountAllParamTypes();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private NoDefaultsContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    this.param_mount_mountAllParamTypes_intParam = this.config.getInt("int-param");
+    this.param_mount_mountAllParamTypes_boxedIntParam = this.config.getInt("boxed-int-param");
+    this.param_mount_mountAllParamTypes_longParam = this.config.getLong("long-param");
+    this.param_mount_mountAllParamTypes_boxedLongParam = this.config.getLong("boxed-long-param");
+    this.param_mount_mountAllParamTypes_doubleParam = this.config.getDouble("double-param");
+    this.param_mount_mountAllParamTypes_boxedDoubleParam = this.config.getDouble("boxed-double-param");
+    this.param_mount_mountAllParamTypes_boolParam = this.config.getBoolean("bool-param");
+    this.param_mount_mountAllParamTypes_boxedBoolParam = this.config.getBoolean("boxed-bool-param");
+    this.param_mount_mountAllParamTypes_numberParam = this.config.getInt("number-param");
+    this.param_mount_mountAllParamTypes_stringParam = this.config.getString("string-param");
+    this.param_mount_mountAllParamTypes_durationParam = this.config.getDuration("duration-param");
+    this.param_mount_mountAllParamTypes_periodParam = this.config.getPeriod("period-param");
+    this.param_mount_mountAllParamTypes_temporalParam = this.config.getDuration("temporal-param");
+    this.param_mount_mountAllParamTypes_configParam = this.config.getConfig("config-param");
+    this.param_mount_mountAllParamTypes_memSizeParam = this.config.getMemorySize("mem-size-param");
+    this.param_mount_mountAllParamTypes_enumParam = this.config.getEnum(MyEnum.class, "enum-param");
+    this.param_mount_mountAllParamTypes_intListParam = this.config.getIntList("int-list-param");
+    this.param_mount_mountAllParamTypes_longListParam = this.config.getLongList("long-list-param");
+    this.param_mount_mountAllParamTypes_doubleListParam = this.config.getDoubleList("double-list-param");
+    this.param_mount_mountAllParamTypes_boolListParam = this.config.getBooleanList("bool-list-param");
+    this.param_mount_mountAllParamTypes_numberListParam = this.config.getNumberList("number-list-param");
+    this.param_mount_mountAllParamTypes_stringListParam = this.config.getStringList("string-list-param");
+    this.param_mount_mountAllParamTypes_durationListParam = this.config.getDurationList("duration-list-param");
+    this.param_mount_mountAllParamTypes_memSizeListParam = this.config.getMemorySizeList("mem-size-list-param");
+    this.param_mount_mountAllParamTypes_enumListParam = this.config.getEnumList(MyEnum.class, "enum-list-param");
+    this.param_mount_mountAllParamTypes_intIterableParam = this.config.getIntList("int-iterable-param");
+    this.param_mount_mountAllParamTypes_longIterableParam = this.config.getLongList("long-iterable-param");
+    this.param_mount_mountAllParamTypes_doubleIterableParam = this.config.getDoubleList("double-iterable-param");
+    this.param_mount_mountAllParamTypes_boolIterableParam = this.config.getBooleanList("bool-iterable-param");
+    this.param_mount_mountAllParamTypes_numberIterableParam = this.config.getNumberList("number-iterable-param");
+    this.param_mount_mountAllParamTypes_stringIterableParam = this.config.getStringList("string-iterable-param");
+    this.param_mount_mountAllParamTypes_durationIterableParam = this.config.getDurationList("duration-iterable-param");
+    this.param_mount_mountAllParamTypes_memSizeIterableParam = this.config.getMemorySizeList("mem-size-iterable-param");
+    this.param_mount_mountAllParamTypes_enumIterableParam = this.config.getEnumList(MyEnum.class, "enum-iterable-param");
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    NoDefaultsContext build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      NoDefaultsContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private NoDefaultsContextShell newShell() {
+      return new NoDefaultsContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends NoDefaultsContext {
+    private $Dispatcher() {
+    }
+
+    @Override
+    AllParamTypesFeature mountAllParamTypes() {
+      return mount_mountAllParamTypes;
+    }
+  }
+
+  private final class $Mount_mountAllParamTypes extends AllParamTypesFeature {
+    @Override
+    int intParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_intParam;
+    }
+
+    @Override
+    Integer boxedIntParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedIntParam;
+    }
+
+    @Override
+    long longParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_longParam;
+    }
+
+    @Override
+    Long boxedLongParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedLongParam;
+    }
+
+    @Override
+    double doubleParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleParam;
+    }
+
+    @Override
+    Double boxedDoubleParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedDoubleParam;
+    }
+
+    @Override
+    boolean boolParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boolParam;
+    }
+
+    @Override
+    Boolean boxedBoolParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedBoolParam;
+    }
+
+    @Override
+    Number numberParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_numberParam;
+    }
+
+    @Override
+    String stringParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_stringParam;
+    }
+
+    @Override
+    Duration durationParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_durationParam;
+    }
+
+    @Override
+    Period periodParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_periodParam;
+    }
+
+    @Override
+    TemporalAmount temporalParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_temporalParam;
+    }
+
+    @Override
+    Config configParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_configParam;
+    }
+
+    @Override
+    ConfigMemorySize memSizeParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeParam;
+    }
+
+    @Override
+    MyEnum enumParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_enumParam;
+    }
+
+    @Override
+    List<Integer> intListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_intListParam;
+    }
+
+    @Override
+    List<Long> longListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_longListParam;
+    }
+
+    @Override
+    List<Double> doubleListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleListParam;
+    }
+
+    @Override
+    List<Boolean> boolListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boolListParam;
+    }
+
+    @Override
+    List<Number> numberListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_numberListParam;
+    }
+
+    @Override
+    List<String> stringListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_stringListParam;
+    }
+
+    @Override
+    List<Duration> durationListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_durationListParam;
+    }
+
+    @Override
+    List<ConfigMemorySize> memSizeListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeListParam;
+    }
+
+    @Override
+    List<MyEnum> enumListParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_enumListParam;
+    }
+
+    @Override
+    Iterable<Integer> intIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_intIterableParam;
+    }
+
+    @Override
+    Iterable<Long> longIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_longIterableParam;
+    }
+
+    @Override
+    Iterable<Double> doubleIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleIterableParam;
+    }
+
+    @Override
+    Iterable<Boolean> boolIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_boolIterableParam;
+    }
+
+    @Override
+    Iterable<Number> numberIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_numberIterableParam;
+    }
+
+    @Override
+    Iterable<String> stringIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_stringIterableParam;
+    }
+
+    @Override
+    Iterable<Duration> durationIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_durationIterableParam;
+    }
+
+    @Override
+    Iterable<ConfigMemorySize> memSizeIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeIterableParam;
+    }
+
+    @Override
+    Iterable<MyEnum> enumIterableParam() {
+      return NoDefaultsContextShell.this.param_mount_mountAllParamTypes_enumIterableParam;
+    }
+  }
+}
@@ -0,0 +1,664 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:30:02 UTC 2026
+package c.parameters.good;
+
+import c.parameters.MyEnum;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigMemorySize;
+import java.lang.Boolean;
+import java.lang.Double;
+import java.lang.IllegalStateException;
+import java.lang.Integer;
+import java.lang.Iterable;
+import java.lang.Long;
+import java.lang.Number;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.time.Duration;
+import java.time.Period;
+import java.time.temporal.TemporalAmount;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:30:02.701Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:30:02.701Z"
+)
+@SuppressWarnings("all")
+final class WithDefaultsContextShell {
+  private final int param_mount_mountAllParamTypes_intParam;
+
+  private final boolean param_mount_mountAllParamTypes_intParam_present;
+
+  private final Integer param_mount_mountAllParamTypes_boxedIntParam;
+
+  private final boolean param_mount_mountAllParamTypes_boxedIntParam_present;
+
+  private final long param_mount_mountAllParamTypes_longParam;
+
+  private final boolean param_mount_mountAllParamTypes_longParam_present;
+
+  private final Long param_mount_mountAllParamTypes_boxedLongParam;
+
+  private final boolean param_mount_mountAllParamTypes_boxedLongParam_present;
+
+  private final double param_mount_mountAllParamTypes_doubleParam;
+
+  private final boolean param_mount_mountAllParamTypes_doubleParam_present;
+
+  private final Double param_mount_mountAllParamTypes_boxedDoubleParam;
+
+  private final boolean param_mount_mountAllParamTypes_boxedDoubleParam_present;
+
+  private final boolean param_mount_mountAllParamTypes_boolParam;
+
+  private final boolean param_mount_mountAllParamTypes_boolParam_present;
+
+  private final Boolean param_mount_mountAllParamTypes_boxedBoolParam;
+
+  private final boolean param_mount_mountAllParamTypes_boxedBoolParam_present;
+
+  private final Number param_mount_mountAllParamTypes_numberParam;
+
+  private final boolean param_mount_mountAllParamTypes_numberParam_present;
+
+  private final String param_mount_mountAllParamTypes_stringParam;
+
+  private final boolean param_mount_mountAllParamTypes_stringParam_present;
+
+  private final Duration param_mount_mountAllParamTypes_durationParam;
+
+  private final boolean param_mount_mountAllParamTypes_durationParam_present;
+
+  private final Period param_mount_mountAllParamTypes_periodParam;
+
+  private final boolean param_mount_mountAllParamTypes_periodParam_present;
+
+  private final TemporalAmount param_mount_mountAllParamTypes_temporalParam;
+
+  private final boolean param_mount_mountAllParamTypes_temporalParam_present;
+
+  private final Config param_mount_mountAllParamTypes_configParam;
+
+  private final boolean param_mount_mountAllParamTypes_configParam_present;
+
+  private final ConfigMemorySize param_mount_mountAllParamTypes_memSizeParam;
+
+  private final boolean param_mount_mountAllParamTypes_memSizeParam_present;
+
+  private final MyEnum param_mount_mountAllParamTypes_enumParam;
+
+  private final boolean param_mount_mountAllParamTypes_enumParam_present;
+
+  private final List<Integer> param_mount_mountAllParamTypes_intListParam;
+
+  private final boolean param_mount_mountAllParamTypes_intListParam_present;
+
+  private final List<Long> param_mount_mountAllParamTypes_longListParam;
+
+  private final boolean param_mount_mountAllParamTypes_longListParam_present;
+
+  private final List<Double> param_mount_mountAllParamTypes_doubleListParam;
+
+  private final boolean param_mount_mountAllParamTypes_doubleListParam_present;
+
+  private final List<Boolean> param_mount_mountAllParamTypes_boolListParam;
+
+  private final boolean param_mount_mountAllParamTypes_boolListParam_present;
+
+  private final List<Number> param_mount_mountAllParamTypes_numberListParam;
+
+  private final boolean param_mount_mountAllParamTypes_numberListParam_present;
+
+  private final List<String> param_mount_mountAllParamTypes_stringListParam;
+
+  private final boolean param_mount_mountAllParamTypes_stringListParam_present;
+
+  private final List<Duration> param_mount_mountAllParamTypes_durationListParam;
+
+  private final boolean param_mount_mountAllParamTypes_durationListParam_present;
+
+  private final List<ConfigMemorySize> param_mount_mountAllParamTypes_memSizeListParam;
+
+  private final boolean param_mount_mountAllParamTypes_memSizeListParam_present;
+
+  private final List<MyEnum> param_mount_mountAllParamTypes_enumListParam;
+
+  private final boolean param_mount_mountAllParamTypes_enumListParam_present;
+
+  private final Iterable<Integer> param_mount_mountAllParamTypes_intIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_intIterableParam_present;
+
+  private final Iterable<Long> param_mount_mountAllParamTypes_longIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_longIterableParam_present;
+
+  private final Iterable<Double> param_mount_mountAllParamTypes_doubleIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_doubleIterableParam_present;
+
+  private final Iterable<Boolean> param_mount_mountAllParamTypes_boolIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_boolIterableParam_present;
+
+  private final Iterable<Number> param_mount_mountAllParamTypes_numberIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_numberIterableParam_present;
+
+  private final Iterable<String> param_mount_mountAllParamTypes_stringIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_stringIterableParam_present;
+
+  private final Iterable<Duration> param_mount_mountAllParamTypes_durationIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_durationIterableParam_present;
+
+  private final Iterable<ConfigMemorySize> param_mount_mountAllParamTypes_memSizeIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_memSizeIterableParam_present;
+
+  private final Iterable<MyEnum> param_mount_mountAllParamTypes_enumIterableParam;
+
+  private final boolean param_mount_mountAllParamTypes_enumIterableParam_present;
+
+  private final $Mount_mountAllParamTypes mount_mountAllParamTypes = new $Mount_mountAllParamTypes();
+
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private WithDefaultsContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    this.param_mount_mountAllParamTypes_intParam_present = this.config.hasPath("int-param");
+    this.param_mount_mountAllParamTypes_intParam = this.param_mount_mountAllParamTypes_intParam_present ? this.config.getInt("int-param") : 0;
+    this.param_mount_mountAllParamTypes_boxedIntParam_present = this.config.hasPath("boxed-int-param");
+    this.param_mount_mountAllParamTypes_boxedIntParam = this.param_mount_mountAllParamTypes_boxedIntParam_present ? this.config.getInt("boxed-int-param") : null;
+    this.param_mount_mountAllParamTypes_longParam_present = this.config.hasPath("long-param");
+    this.param_mount_mountAllParamTypes_longParam = this.param_mount_mountAllParamTypes_longParam_present ? this.config.getLong("long-param") : 0;
+    this.param_mount_mountAllParamTypes_boxedLongParam_present = this.config.hasPath("boxed-long-param");
+    this.param_mount_mountAllParamTypes_boxedLongParam = this.param_mount_mountAllParamTypes_boxedLongParam_present ? this.config.getLong("boxed-long-param") : null;
+    this.param_mount_mountAllParamTypes_doubleParam_present = this.config.hasPath("double-param");
+    this.param_mount_mountAllParamTypes_doubleParam = this.param_mount_mountAllParamTypes_doubleParam_present ? this.config.getDouble("double-param") : 0;
+    this.param_mount_mountAllParamTypes_boxedDoubleParam_present = this.config.hasPath("boxed-double-param");
+    this.param_mount_mountAllParamTypes_boxedDoubleParam = this.param_mount_mountAllParamTypes_boxedDoubleParam_present ? this.config.getDouble("boxed-double-param") : null;
+    this.param_mount_mountAllParamTypes_boolParam_present = this.config.hasPath("bool-param");
+    this.param_mount_mountAllParamTypes_boolParam = this.param_mount_mountAllParamTypes_boolParam_present ? this.config.getBoolean("bool-param") : false;
+    this.param_mount_mountAllParamTypes_boxedBoolParam_present = this.config.hasPath("boxed-bool-param");
+    this.param_mount_mountAllParamTypes_boxedBoolParam = this.param_mount_mountAllParamTypes_boxedBoolParam_present ? this.config.getBoolean("boxed-bool-param") : null;
+    this.param_mount_mountAllParamTypes_numberParam_present = this.config.hasPath("number-param");
+    this.param_mount_mountAllParamTypes_numberParam = this.param_mount_mountAllParamTypes_numberParam_present ? this.config.getInt("number-param") : null;
+    this.param_mount_mountAllParamTypes_stringParam_present = this.config.hasPath("string-param");
+    this.param_mount_mountAllParamTypes_stringParam = this.param_mount_mountAllParamTypes_stringParam_present ? this.config.getString("string-param") : null;
+    this.param_mount_mountAllParamTypes_durationParam_present = this.config.hasPath("duration-param");
+    this.param_mount_mountAllParamTypes_durationParam = this.param_mount_mountAllParamTypes_durationParam_present ? this.config.getDuration("duration-param") : null;
+    this.param_mount_mountAllParamTypes_periodParam_present = this.config.hasPath("period-param");
+    this.param_mount_mountAllParamTypes_periodParam = this.param_mount_mountAllParamTypes_periodParam_present ? this.config.getPeriod("period-param") : null;
+    this.param_mount_mountAllParamTypes_temporalParam_present = this.config.hasPath("temporal-param");
+    this.param_mount_mountAllParamTypes_temporalParam = this.param_mount_mountAllParamTypes_temporalParam_present ? this.config.getDuration("temporal-param") : null;
+    this.param_mount_mountAllParamTypes_configParam_present = this.config.hasPath("config-param");
+    this.param_mount_mountAllParamTypes_configParam = this.param_mount_mountAllParamTypes_configParam_present ? this.config.getConfig("config-param") : null;
+    this.param_mount_mountAllParamTypes_memSizeParam_present = this.config.hasPath("mem-size-param");
+    this.param_mount_mountAllParamTypes_memSizeParam = this.param_mount_mountAllParamTypes_memSizeParam_present ? this.config.getMemorySize("mem-size-param") : null;
+    this.param_mount_mountAllParamTypes_enumParam_present = this.config.hasPath("enum-param");
+    this.param_mount_mountAllParamTypes_enumParam = this.param_mount_mountAllParamTypes_enumParam_present ? this.config.getEnum(MyEnum.class, "enum-param") : null;
+    this.param_mount_mountAllParamTypes_intListParam_present = this.config.hasPath("int-list-param");
+    this.param_mount_mountAllParamTypes_intListParam = this.param_mount_mountAllParamTypes_intListParam_present ? this.config.getIntList("int-list-param") : null;
+    this.param_mount_mountAllParamTypes_longListParam_present = this.config.hasPath("long-list-param");
+    this.param_mount_mountAllParamTypes_longListParam = this.param_mount_mountAllParamTypes_longListParam_present ? this.config.getLongList("long-list-param") : null;
+    this.param_mount_mountAllParamTypes_doubleListParam_present = this.config.hasPath("double-list-param");
+    this.param_mount_mountAllParamTypes_doubleListParam = this.param_mount_mountAllParamTypes_doubleListParam_present ? this.config.getDoubleList("double-list-param") : null;
+    this.param_mount_mountAllParamTypes_boolListParam_present = this.config.hasPath("bool-list-param");
+    this.param_mount_mountAllParamTypes_boolListParam = this.param_mount_mountAllParamTypes_boolListParam_present ? this.config.getBooleanList("bool-list-param") : null;
+    this.param_mount_mountAllParamTypes_numberListParam_present = this.config.hasPath("number-list-param");
+    this.param_mount_mountAllParamTypes_numberListParam = this.param_mount_mountAllParamTypes_numberListParam_present ? this.config.getNumberList("number-list-param") : null;
+    this.param_mount_mountAllParamTypes_stringListParam_present = this.config.hasPath("string-list-param");
+    this.param_mount_mountAllParamTypes_stringListParam = this.param_mount_mountAllParamTypes_stringListParam_present ? this.config.getStringList("string-list-param") : null;
+    this.param_mount_mountAllParamTypes_durationListParam_present = this.config.hasPath("duration-list-param");
+    this.param_mount_mountAllParamTypes_durationListParam = this.param_mount_mountAllParamTypes_durationListParam_present ? this.config.getDurationList("duration-list-param") : null;
+    this.param_mount_mountAllParamTypes_memSizeListParam_present = this.config.hasPath("mem-size-list-param");
+    this.param_mount_mountAllParamTypes_memSizeListParam = this.param_mount_mountAllParamTypes_memSizeListParam_present ? this.config.getMemorySizeList("mem-size-list-param") : null;
+    this.param_mount_mountAllParamTypes_enumListParam_present = this.config.hasPath("enum-list-param");
+    this.param_mount_mountAllParamTypes_enumListParam = this.param_mount_mountAllParamTypes_enumListParam_present ? this.config.getEnumList(MyEnum.class, "enum-list-param") : null;
+    this.param_mount_mountAllParamTypes_intIterableParam_present = this.config.hasPath("int-iterable-param");
+    this.param_mount_mountAllParamTypes_intIterableParam = this.param_mount_mountAllParamTypes_intIterableParam_present ? this.config.getIntList("int-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_longIterableParam_present = this.config.hasPath("long-iterable-param");
+    this.param_mount_mountAllParamTypes_longIterableParam = this.param_mount_mountAllParamTypes_longIterableParam_present ? this.config.getLongList("long-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_doubleIterableParam_present = this.config.hasPath("double-iterable-param");
+    this.param_mount_mountAllParamTypes_doubleIterableParam = this.param_mount_mountAllParamTypes_doubleIterableParam_present ? this.config.getDoubleList("double-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_boolIterableParam_present = this.config.hasPath("bool-iterable-param");
+    this.param_mount_mountAllParamTypes_boolIterableParam = this.param_mount_mountAllParamTypes_boolIterableParam_present ? this.config.getBooleanList("bool-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_numberIterableParam_present = this.config.hasPath("number-iterable-param");
+    this.param_mount_mountAllParamTypes_numberIterableParam = this.param_mount_mountAllParamTypes_numberIterableParam_present ? this.config.getNumberList("number-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_stringIterableParam_present = this.config.hasPath("string-iterable-param");
+    this.param_mount_mountAllParamTypes_stringIterableParam = this.param_mount_mountAllParamTypes_stringIterableParam_present ? this.config.getStringList("string-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_durationIterableParam_present = this.config.hasPath("duration-iterable-param");
+    this.param_mount_mountAllParamTypes_durationIterableParam = this.param_mount_mountAllParamTypes_durationIterableParam_present ? this.config.getDurationList("duration-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_memSizeIterableParam_present = this.config.hasPath("mem-size-iterable-param");
+    this.param_mount_mountAllParamTypes_memSizeIterableParam = this.param_mount_mountAllParamTypes_memSizeIterableParam_present ? this.config.getMemorySizeList("mem-size-iterable-param") : null;
+    this.param_mount_mountAllParamTypes_enumIterableParam_present = this.config.hasPath("enum-iterable-param");
+    this.param_mount_mountAllParamTypes_enumIterableParam = this.param_mount_mountAllParamTypes_enumIterableParam_present ? this.config.getEnumList(MyEnum.class, "enum-iterable-param") : null;
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    WithDefaultsContext build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      WithDefaultsContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private WithDefaultsContextShell newShell() {
+      return new WithDefaultsContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends WithDefaultsContext {
+    private $Dispatcher() {
+    }
+
+    @Override
+    AllParamTypesWithDefaultsFeature mountAllParamTypes() {
+      return mount_mountAllParamTypes;
+    }
+  }
+
+  private final class $Mount_mountAllParamTypes extends AllParamTypesWithDefaultsFeature {
+    @Override
+    int intParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_intParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_intParam;
+      }
+      else {
+        return super.intParam();
+      }
+    }
+
+    @Override
+    Integer boxedIntParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedIntParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedIntParam;
+      }
+      else {
+        return super.boxedIntParam();
+      }
+    }
+
+    @Override
+    long longParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_longParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_longParam;
+      }
+      else {
+        return super.longParam();
+      }
+    }
+
+    @Override
+    Long boxedLongParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedLongParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedLongParam;
+      }
+      else {
+        return super.boxedLongParam();
+      }
+    }
+
+    @Override
+    double doubleParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleParam;
+      }
+      else {
+        return super.doubleParam();
+      }
+    }
+
+    @Override
+    Double boxedDoubleParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedDoubleParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedDoubleParam;
+      }
+      else {
+        return super.boxedDoubleParam();
+      }
+    }
+
+    @Override
+    boolean boolParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boolParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boolParam;
+      }
+      else {
+        return super.boolParam();
+      }
+    }
+
+    @Override
+    Boolean boxedBoolParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedBoolParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boxedBoolParam;
+      }
+      else {
+        return super.boxedBoolParam();
+      }
+    }
+
+    @Override
+    Number numberParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_numberParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_numberParam;
+      }
+      else {
+        return super.numberParam();
+      }
+    }
+
+    @Override
+    String stringParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_stringParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_stringParam;
+      }
+      else {
+        return super.stringParam();
+      }
+    }
+
+    @Override
+    Duration durationParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_durationParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_durationParam;
+      }
+      else {
+        return super.durationParam();
+      }
+    }
+
+    @Override
+    Period periodParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_periodParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_periodParam;
+      }
+      else {
+        return super.periodParam();
+      }
+    }
+
+    @Override
+    TemporalAmount temporalParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_temporalParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_temporalParam;
+      }
+      else {
+        return super.temporalParam();
+      }
+    }
+
+    @Override
+    Config configParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_configParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_configParam;
+      }
+      else {
+        return super.configParam();
+      }
+    }
+
+    @Override
+    ConfigMemorySize memSizeParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeParam;
+      }
+      else {
+        return super.memSizeParam();
+      }
+    }
+
+    @Override
+    MyEnum enumParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_enumParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_enumParam;
+      }
+      else {
+        return super.enumParam();
+      }
+    }
+
+    @Override
+    List<Integer> intListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_intListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_intListParam;
+      }
+      else {
+        return super.intListParam();
+      }
+    }
+
+    @Override
+    List<Long> longListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_longListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_longListParam;
+      }
+      else {
+        return super.longListParam();
+      }
+    }
+
+    @Override
+    List<Double> doubleListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleListParam;
+      }
+      else {
+        return super.doubleListParam();
+      }
+    }
+
+    @Override
+    List<Boolean> boolListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boolListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boolListParam;
+      }
+      else {
+        return super.boolListParam();
+      }
+    }
+
+    @Override
+    List<Number> numberListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_numberListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_numberListParam;
+      }
+      else {
+        return super.numberListParam();
+      }
+    }
+
+    @Override
+    List<String> stringListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_stringListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_stringListParam;
+      }
+      else {
+        return super.stringListParam();
+      }
+    }
+
+    @Override
+    List<Duration> durationListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_durationListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_durationListParam;
+      }
+      else {
+        return super.durationListParam();
+      }
+    }
+
+    @Override
+    List<ConfigMemorySize> memSizeListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeListParam;
+      }
+      else {
+        return super.memSizeListParam();
+      }
+    }
+
+    @Override
+    List<MyEnum> enumListParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_enumListParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_enumListParam;
+      }
+      else {
+        return super.enumListParam();
+      }
+    }
+
+    @Override
+    Iterable<Integer> intIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_intIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_intIterableParam;
+      }
+      else {
+        return super.intIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<Long> longIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_longIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_longIterableParam;
+      }
+      else {
+        return super.longIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<Double> doubleIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_doubleIterableParam;
+      }
+      else {
+        return super.doubleIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<Boolean> boolIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boolIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_boolIterableParam;
+      }
+      else {
+        return super.boolIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<Number> numberIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_numberIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_numberIterableParam;
+      }
+      else {
+        return super.numberIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<String> stringIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_stringIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_stringIterableParam;
+      }
+      else {
+        return super.stringIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<Duration> durationIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_durationIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_durationIterableParam;
+      }
+      else {
+        return super.durationIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<ConfigMemorySize> memSizeIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_memSizeIterableParam;
+      }
+      else {
+        return super.memSizeIterableParam();
+      }
+    }
+
+    @Override
+    Iterable<MyEnum> enumIterableParam() {
+      if (WithDefaultsContextShell.this.param_mount_mountAllParamTypes_enumIterableParam_present) {
+        return WithDefaultsContextShell.this.param_mount_mountAllParamTypes_enumIterableParam;
+      }
+      else {
+        return super.enumIterableParam();
+      }
+    }
+  }
+}
@@ -0,0 +1,111 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:30:05 UTC 2026
+package c.parameters.noConfig.good;
+
+import c.ProvisionA;
+import ch.raffael.meldioc.meta.Generated;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:30:05.914Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:30:05.914Z"
+)
+@SuppressWarnings("all")
+final class UsingParamsWithDefaultShell {
+  private final $Mount_myFeatureA mount_myFeatureA = new $Mount_myFeatureA();
+
+  private final $Dispatcher dispatcher;
+
+  private UsingParamsWithDefaultShell() {
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+  }
+
+  static final class Builder {
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    UsingParamsWithDefault build() {
+      UsingParamsWithDefaultShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private UsingParamsWithDefaultShell newShell() {
+      return new UsingParamsWithDefaultShell();
+    }
+  }
+
+  private final class $Dispatcher extends UsingParamsWithDefault {
+    private $Dispatcher() {
+    }
+
+    @Override
+    ProvisionA myProvision() {
+      return super.myProvision();
+    }
+
+    ProvisionA a() {
+      return UsingParamsWithDefaultShell.this.mount_myFeatureA.a();
+    }
+
+    @Override
+    FeatureAWithParamDefault myFeatureA() {
+      return mount_myFeatureA;
+    }
+  }
+
+  private final class $Mount_myFeatureA extends FeatureAWithParamDefault {
+    @Override
+    public ProvisionA a() {
+      return super.a();
+    }
+  }
+}
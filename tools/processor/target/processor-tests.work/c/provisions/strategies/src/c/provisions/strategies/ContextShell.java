@@ -0,0 +1,274 @@
+// Generated by ch.raffael.meldioc, Mon Oct 19 03:30:07 UTC 2026
+package c.provisions.strategies;
+
+import c.ProvisionA;
+import ch.raffael.meldioc.meta.Generated;
+import com.typesafe.config.Config;
+import java.lang.FunctionalInterface;
+import java.lang.IllegalStateException;
+import java.lang.InterruptedException;
+import java.lang.Override;
+import java.lang.String;
+import java.lang.SuppressWarnings;
+import java.lang.System;
+import java.lang.Thread;
+import java.lang.ThreadLocal;
+import java.lang.Throwable;
+import java.lang.Void;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+@Generated(
+    timestamp = "2026-10-19T03:30:07.342Z",
+    version = "0.0-local"
+)
+@javax.annotation.processing.Generated(
+    value = "ch.raffael.meldioc.processor.MeldProcessor",
+    date = "2026-10-19T03:30:07.342Z"
+)
+@SuppressWarnings("all")
+final class ContextShell {
+  private final Config config;
+
+  private final $Dispatcher dispatcher;
+
+  private ContextShell(Config config) {
+    this.config = Objects.requireNonNull(config, "config is null").resolve();
+    dispatcher = newDispatcher();
+    setup();
+  }
+
+  static Builder builder() {
+    return new Builder();
+  }
+
+  private $Dispatcher newDispatcher() {
+    return new $Dispatcher();
+  }
+
+  private void setup() {
+    ContextShell.this.dispatcher.eager();
+  }
+
+  private static FutureTask<Void> eagerInitTask(String name,
+      BiConsumer<? super String, ? super Duration> timings, $MeldIoC_Provider<?> provider) {
+    return new FutureTask<>(() -> {
+      long start = System.nanoTime();
+      try {
+        provider.get();
+      } catch (Throwable e) {
+        $MeldIoC_Singleton.sneakyThrow(e);
+      }
+      timings.accept(name, Duration.ofNanos(System.nanoTime() - start));
+      return null;
+    });
+  }
+
+  private void eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+    FutureTask<?>[] tasks = {
+      eagerInitTask("locking", timings, () -> ContextShell.this.dispatcher.locking()),
+      eagerInitTask("racy", timings, () -> ContextShell.this.dispatcher.racy()),
+    };
+    for (FutureTask<?> t : tasks) {
+      executor.execute(t);
+    }
+    Throwable failure = null;
+    for (FutureTask<?> t : tasks) {
+      try {
+        t.get();
+      } catch (ExecutionException e) {
+        if (failure == null) {
+          failure = e.getCause();
+        } else {
+          failure.addSuppressed(e.getCause());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (FutureTask<?> c : tasks) {
+          c.cancel(true);
+        }
+        $MeldIoC_Singleton.sneakyThrow(e);
+      }
+    }
+    if (failure != null) {
+      $MeldIoC_Singleton.sneakyThrow(failure);
+    }
+  }
+
+  static final class Builder {
+    private Config config;
+
+    private Executor eagerInitExecutor;
+
+    private BiConsumer<? super String, ? super Duration> eagerInitTimings;
+
+    private Builder() {
+    }
+
+    Builder config(Config config) {
+      this.config = config;
+      return this;
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, {@code build()} waits until all of them are done.
+     */
+    Builder eagerInit(Executor executor) {
+      return eagerInit(executor, (n, d) -> {});
+    }
+
+    /**
+     * Initialise all singleton provisions concurrently using the given executor
+     * after setup, reporting the time each provision took to initialise.
+     */
+    Builder eagerInit(Executor executor, BiConsumer<? super String, ? super Duration> timings) {
+      this.eagerInitExecutor = Objects.requireNonNull(executor, "executor");
+      this.eagerInitTimings = Objects.requireNonNull(timings, "timings");
+      return this;
+    }
+
+    Context build() {
+      if (config == null) throw new IllegalStateException("config is not set");
+      ContextShell shell = newShell();
+      if (eagerInitExecutor != null) {
+        shell.eagerInit(eagerInitExecutor, eagerInitTimings);
+      }
+      return shell.dispatcher;
+    }
+
+    private ContextShell newShell() {
+      return new ContextShell(config);
+    }
+  }
+
+  private final class $Dispatcher extends Context {
+    private final $MeldIoC_Singleton<ProvisionA> eager = new $MeldIoC_Singleton<>(() -> super.eager());
+
+    private final $MeldIoC_Singleton<ProvisionA> locking = new $MeldIoC_Singleton<>(() -> super.locking());
+
+    private final $MeldIoC_RacySingleton<ProvisionA> racy = new $MeldIoC_RacySingleton<>(() -> super.racy());
+
+    private final $MeldIoC_ThreadLocalSingleton<ProvisionA> threadLocal = new $MeldIoC_ThreadLocalSingleton<>(() -> super.threadLocal());
+
+    private $Dispatcher() {
+    }
+
+    @Override
+    public ProvisionA eager() {
+      return eager.getSneakyRethrowing();
+    }
+
+    @Override
+    public ProvisionA locking() {
+      return locking.getSneakyRethrowing();
+    }
+
+    @Override
+    public ProvisionA racy() {
+      return racy.getSneakyRethrowing();
+    }
+
+    @Override
+    public ProvisionA threadLocal() {
+      return threadLocal.getSneakyRethrowing();
+    }
+  }
+
+  @FunctionalInterface
+  private interface $MeldIoC_Provider<T> {
+    T get() throws Throwable;
+  }
+
+  private static final class $MeldIoC_Singleton<T> {
+    private volatile $MeldIoC_Provider<? extends T> provider;
+
+    private T instance;
+
+    $MeldIoC_Singleton($MeldIoC_Provider<? extends T> provider) {
+      this.provider = Objects.requireNonNull(provider, "provider");
+    }
+
+    /**
+     * This sneakyThrows any exceptions thrown in the provider. 
+     * The user is responsible for declaring checked exceptions. 
+     * Calling generated code <em>will</em> redeclare all declared exceptions, 
+     * so undeclared checked exceptions are only thrown, when the user does so 
+     * in his code.
+     */
+    T getSneakyRethrowing() {
+      if (provider != null) {
+        synchronized (this) {
+          if (provider != null) {
+            try {
+              instance = Objects.requireNonNull(provider.get(), "provider.get()");
+              provider = null;
+            } catch (Throwable e) {
+              sneakyThrow(e);
+            }
+          }
+        }
+      }
+      return instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E extends Throwable> void sneakyThrow(Throwable ex) throws E {
+      throw (E)ex;
+    }
+  }
+
+  private static final class $MeldIoC_RacySingleton<T> {
+    private final $MeldIoC_Provider<? extends T> provider;
+
+    private final AtomicReference<T> instance = new AtomicReference<>();
+
+    $MeldIoC_RacySingleton($MeldIoC_Provider<? extends T> provider) {
+      this.provider = Objects.requireNonNull(provider, "provider");
+    }
+
+    T getSneakyRethrowing() {
+      T current = instance.get();
+      if (current == null) {
+        try {
+          T created = Objects.requireNonNull(provider.get(), "provider.get()");
+          current = instance.compareAndExchange(null, created);
+          if (current == null) {
+            current = created;
+          }
+        } catch (Throwable e) {
+          $MeldIoC_Singleton.sneakyThrow(e);
+        }
+      }
+      return current;
+    }
+  }
+
+  private static final class $MeldIoC_ThreadLocalSingleton<T> {
+    private final $MeldIoC_Provider<? extends T> provider;
+
+    private final ThreadLocal<T> instance = new ThreadLocal<>();
+
+    $MeldIoC_ThreadLocalSingleton($MeldIoC_Provider<? extends T> provider) {
+      this.provider = Objects.requireNonNull(provider, "provider");
+    }
+
+    T getSneakyRethrowing() {
+      T current = instance.get();
+      if (current == null) {
+        try {
+          current = Objects.requireNonNull(provider.get(), "provider.get()");
+          instance.set(current);
+        } catch (Throwable e) {
+          $MeldIoC_Singleton.sneakyThrow(e);
+        }
+      }
+      return current;
+    }
+  }
+}
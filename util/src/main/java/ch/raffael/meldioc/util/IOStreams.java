@@ -66,18 +66,15 @@ public class IOStreams {
   public static <R> Tuple2<Option<R>, InputStream> probe(InputStream stream, byte[] buffer, int probeSize,
                                                          BiFunction<? super byte[], Integer, ? extends R> probeFun)
       throws IOException {
-    if (probeSize < buffer.length) {
-      throw new IllegalArgumentException("Probe size " + probeSize + " is less than buffer size" + buffer.length);
+    if (probeSize > buffer.length) {
+      throw new IllegalArgumentException("Probe size " + probeSize + " exceeds buffer size " + buffer.length);
     }
     int read = 0;
     int c;
-    Option<R> probeResult = none();
-    while ((c = stream.read(buffer, read, buffer.length - read)) >= 0) {
+    while (read < probeSize && (c = stream.read(buffer, read, buffer.length - read)) >= 0) {
       read += c;
-      if (read >= probeSize) {
-        probeResult = some(probeFun.apply(buffer, read));
-      }
     }
+    Option<R> probeResult = read >= probeSize ? some(probeFun.apply(buffer, read)) : none();
     byte[] head = Arrays.copyOf(buffer, read);
     return Tuple.of(probeResult, new SequenceInputStream(new ByteArrayInputStream(head), stream));
   }
@@ -33,27 +33,62 @@ import java.util.concurrent.ExecutorService;
 public class AdvisingExecutorService<D extends ExecutorService> extends DecoratingExecutorService<D> {
 
   private final AroundAdvice advice;
+  private final ContextPropagation contextPropagation;
+  private final boolean bypass;
 
   public AdvisingExecutorService(D delegate, AroundAdvice advice) {
+    this(delegate, advice, ContextPropagation.none());
+  }
+
+  /**
+   * Advise the tasks and propagate the context of the submitting thread
+   * to the tasks.
+   */
+  public AdvisingExecutorService(D delegate, AroundAdvice advice, ContextPropagation contextPropagation) {
     super(delegate);
     this.advice = advice;
+    this.contextPropagation = contextPropagation;
+    bypass = contextPropagation.isEmpty() && (advice instanceof AroundAdvice.Nop
+        || (advice instanceof CompositeAroundAdvice && ((CompositeAroundAdvice) advice).isEmpty()));
   }
 
   @Override
   @SuppressWarnings("try")
   protected Runnable decorateRunnable(Runnable original) {
+    if (bypass) {
+      return original;
+    }
+    if (contextPropagation.isEmpty()) {
+      return () -> {
+        try (var __ = advice.before()) {
+          original.run();
+        }
+      };
+    }
+    var context = contextPropagation.capture();
     return () -> {
-      try (var __ = advice.before()) {
+      try (var __ = context.apply(); var ___ = advice.before()) {
         original.run();
       }
     };
   }
 
   @Override
-  @SuppressWarnings("try")
+  @SuppressWarnings({"try", "unchecked"})
   protected <T> Callable<T> decorateCallable(Callable<? extends T> original) {
+    if (bypass) {
+      return (Callable<T>) original;
+    }
+    if (contextPropagation.isEmpty()) {
+      return () -> {
+        try (var __ = advice.before()) {
+          return original.call();
+        }
+      };
+    }
+    var context = contextPropagation.capture();
     return () -> {
-      try (var __ = advice.before()) {
+      try (var __ = context.apply(); var ___ = advice.before()) {
         return original.call();
       }
     };
@@ -25,19 +25,16 @@ package ch.raffael.meldioc.util.advice;
 import ch.raffael.meldioc.util.Exceptions;
 import io.vavr.collection.List;
 import io.vavr.collection.Seq;
-import io.vavr.control.Option;
 
-import java.util.function.Function;
 import java.util.function.Supplier;
 
-import static io.vavr.control.Option.none;
-import static io.vavr.control.Option.some;
-
 /**
  * TODO JavaDoc
  */
 public class CompositeAroundAdvice extends AroundAdvice.Basic {
 
+  private static final Runnable NOP = () -> {};
+
   private final Runnable before;
   private final Runnable after;
 
@@ -46,6 +43,13 @@ public class CompositeAroundAdvice extends AroundAdvice.Basic {
     this.after = after;
   }
 
+  /**
+   * {@code true}, if this advice does nothing and can be bypassed.
+   */
+  public boolean isEmpty() {
+    return before == NOP && after == NOP;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -61,9 +65,6 @@ public class CompositeAroundAdvice extends AroundAdvice.Basic {
   }
 
   public static abstract class AbstractProfile<SELF> {
-    private static final Runnable BEFORE_TERMINATOR = () -> {};
-    private static final Function<Option<AdviceException>, Option<AdviceException>> AFTER_TERMINATOR = Function.identity();
-
     private Seq<Supplier<? extends Runnable>> before = List.of();
     private Seq<Supplier<? extends Runnable>> after = List.of();
 
@@ -104,36 +105,53 @@ public class CompositeAroundAdvice extends AroundAdvice.Basic {
       return new CompositeAroundAdvice(beforeRunnable(), afterRunnable());
     }
 
+    /**
+     * Runs the before hooks in order in a flat loop, stopping at the first
+     * exception.
+     */
     protected Runnable beforeRunnable() {
-      return before.map(Supplier::get).foldLeft(BEFORE_TERMINATOR, (n, r) ->
-          () -> {
-            n.run();
-            try {
-              r.run();
-            } catch (Throwable e) {
-              throw AdviceException.onBefore(e);
-            }
-          });
+      var hooks = before.<Runnable>map(Supplier::get).toJavaArray(Runnable[]::new);
+      if (hooks.length == 0) {
+        return NOP;
+      }
+      return () -> {
+        for (var hook : hooks) {
+          try {
+            hook.run();
+          } catch (Throwable e) {
+            throw AdviceException.onBefore(e);
+          }
+        }
+      };
     }
 
+    /**
+     * Runs the after hooks in reverse order in a flat loop. All hooks are
+     * run, the first exception is thrown with the others suppressed.
+     */
     protected Runnable afterRunnable() {
-      var teardownChain = after.map(Supplier::get).foldRight(AFTER_TERMINATOR, (r, n) ->
-          exc -> {
-            exc = n.apply(exc);
-            try {
-              r.run();
-              return exc;
-            } catch (Throwable e) {
-              Exceptions.rethrowIfFatal(e, exc.getOrNull());
-              return exc.map(ae -> {
-                ae.addSuppressed(e);
-                return ae;
-              }).orElse(() -> some(AdviceException.onAfter(e)));
+      var hooks = after.<Runnable>map(Supplier::get).toJavaArray(Runnable[]::new);
+      if (hooks.length == 0) {
+        return NOP;
+      }
+      return () -> {
+        AdviceException exception = null;
+        for (int i = hooks.length - 1; i >= 0; i--) {
+          try {
+            hooks[i].run();
+          } catch (Throwable e) {
+            Exceptions.rethrowIfFatal(e, exception);
+            if (exception == null) {
+              exception = AdviceException.onAfter(e);
+            } else {
+              exception.addSuppressed(e);
             }
-          });
-      return () -> teardownChain.apply(none()).forEach(e -> {
-        throw e;
-      });
+          }
+        }
+        if (exception != null) {
+          throw exception;
+        }
+      };
     }
   }
 
@@ -0,0 +1,244 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.advice;
+
+import io.vavr.collection.Array;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Propagates thread-bound context (e.g. MDC entries, request IDs,
+ * {@link Deadline deadlines}) to other threads.
+ *
+ * <p>The registered {@link ContextSlot slots} are captured into a compact
+ * {@link Snapshot} on the submitting thread and restored on the executing
+ * thread. The previous context of the executing thread is restored
+ * afterwards. If all slots are empty, capturing doesn't allocate.
+ */
+@SuppressWarnings("try")
+public final class ContextPropagation {
+
+  private static final ContextPropagation NONE = new ContextPropagation(new ContextSlot<?>[0]);
+  private static final AroundAdvice.AdviceCloseable NOP_CLOSEABLE = () -> {};
+
+  private final ContextSlot<Object>[] slots;
+  private final Snapshot emptySnapshot;
+  private final AroundAdvice.AdviceCloseable clear;
+
+  @SuppressWarnings("unchecked")
+  private ContextPropagation(ContextSlot<?>[] slots) {
+    this.slots = (ContextSlot<Object>[]) slots;
+    emptySnapshot = new Snapshot(new Object[slots.length]);
+    clear = () -> {
+      for (var slot : this.slots) {
+        slot.restore(null);
+      }
+    };
+  }
+
+  public static ContextPropagation none() {
+    return NONE;
+  }
+
+  public static ContextPropagation of(ContextSlot<?>... slots) {
+    return slots.length == 0 ? NONE : new ContextPropagation(slots.clone());
+  }
+
+  public static ContextPropagation of(Iterable<? extends ContextSlot<?>> slots) {
+    return of(Array.<ContextSlot<?>>ofAll(slots).toJavaArray(ContextSlot<?>[]::new));
+  }
+
+  public ContextPropagation with(ContextSlot<?> slot) {
+    var newSlots = new ContextSlot<?>[slots.length + 1];
+    System.arraycopy(slots, 0, newSlots, 0, slots.length);
+    newSlots[slots.length] = slot;
+    return new ContextPropagation(newSlots);
+  }
+
+  public boolean isEmpty() {
+    return slots.length == 0;
+  }
+
+  /**
+   * Capture the context of the current thread.
+   */
+  public Snapshot capture() {
+    Object[] values = null;
+    for (int i = 0; i < slots.length; i++) {
+      var value = slots[i].capture();
+      if (value != null) {
+        if (values == null) {
+          values = new Object[slots.length];
+        }
+        values[i] = value;
+      }
+    }
+    return values == null ? emptySnapshot : new Snapshot(values);
+  }
+
+  public Runnable runnable(Runnable runnable) {
+    if (isEmpty()) {
+      return runnable;
+    }
+    var snapshot = capture();
+    return () -> {
+      try (var __ = snapshot.apply()) {
+        runnable.run();
+      }
+    };
+  }
+
+  public <T> Callable<T> callable(Callable<T> callable) {
+    if (isEmpty()) {
+      return callable;
+    }
+    var snapshot = capture();
+    return () -> {
+      try (var __ = snapshot.apply()) {
+        return callable.call();
+      }
+    };
+  }
+
+  public <T> Supplier<T> supplier(Supplier<T> supplier) {
+    if (isEmpty()) {
+      return supplier;
+    }
+    var snapshot = capture();
+    return () -> {
+      try (var __ = snapshot.apply()) {
+        return supplier.get();
+      }
+    };
+  }
+
+  /**
+   * Wrap a function, e.g. for {@code CompletionStage.thenApply()}.
+   */
+  public <T, R> Function<T, R> function(Function<T, R> function) {
+    if (isEmpty()) {
+      return function;
+    }
+    var snapshot = capture();
+    return (v) -> {
+      try (var __ = snapshot.apply()) {
+        return function.apply(v);
+      }
+    };
+  }
+
+  /**
+   * Wrap a consumer, e.g. for {@code CompletionStage.thenAccept()}.
+   */
+  public <T> Consumer<T> consumer(Consumer<T> consumer) {
+    if (isEmpty()) {
+      return consumer;
+    }
+    var snapshot = capture();
+    return (v) -> {
+      try (var __ = snapshot.apply()) {
+        consumer.accept(v);
+      }
+    };
+  }
+
+  /**
+   * Wrap a bi-function, e.g. for {@code CompletionStage.handle()}.
+   */
+  public <T, U, R> BiFunction<T, U, R> biFunction(BiFunction<T, U, R> function) {
+    if (isEmpty()) {
+      return function;
+    }
+    var snapshot = capture();
+    return (t, u) -> {
+      try (var __ = snapshot.apply()) {
+        return function.apply(t, u);
+      }
+    };
+  }
+
+  /**
+   * An executor that captures the context on {@code execute()}, e.g. for
+   * the {@code *Async()} methods of {@code CompletionStage}.
+   */
+  public Executor executor(Executor executor) {
+    if (isEmpty()) {
+      return executor;
+    }
+    return (r) -> executor.execute(runnable(r));
+  }
+
+  /**
+   * An immutable snapshot of the captured context.
+   */
+  public final class Snapshot {
+    private final Object[] values;
+
+    private Snapshot(Object[] values) {
+      this.values = values;
+    }
+
+    /**
+     * Apply the captured context to the current thread. Closing the
+     * returned closeable restores the previous context. Only allocates if
+     * the current thread already has some context.
+     */
+    public AroundAdvice.AdviceCloseable apply() {
+      if (slots.length == 0) {
+        return NOP_CLOSEABLE;
+      }
+      Object[] previous = null;
+      for (int i = 0; i < slots.length; i++) {
+        var prev = slots[i].capture();
+        if (prev != null) {
+          if (previous == null) {
+            previous = new Object[slots.length];
+          }
+          previous[i] = prev;
+        }
+        slots[i].restore(values[i]);
+      }
+      return previous == null ? clear : new Restore(previous);
+    }
+  }
+
+  private final class Restore implements AroundAdvice.AdviceCloseable {
+    private final Object[] previous;
+
+    private Restore(Object[] previous) {
+      this.previous = previous;
+    }
+
+    @Override
+    public void close() {
+      for (int i = 0; i < slots.length; i++) {
+        slots[i].restore(previous[i]);
+      }
+    }
+  }
+}
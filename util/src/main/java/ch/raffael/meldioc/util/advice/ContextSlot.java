@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.advice;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A piece of thread-bound context that can be propagated to other threads
+ * using a {@link ContextPropagation}. {@code null} means no context.
+ */
+public interface ContextSlot<T> {
+
+  @Nullable
+  T capture();
+
+  void restore(@Nullable T value);
+
+  static <T> ContextSlot<T> threadLocal(ThreadLocal<T> threadLocal) {
+    return new ContextSlot<>() {
+      @Nullable
+      @Override
+      public T capture() {
+        return threadLocal.get();
+      }
+
+      @Override
+      public void restore(@Nullable T value) {
+        if (value == null) {
+          threadLocal.remove();
+        } else {
+          threadLocal.set(value);
+        }
+      }
+    };
+  }
+}
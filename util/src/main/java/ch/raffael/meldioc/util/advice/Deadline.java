@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.advice;
+
+import io.vavr.control.Option;
+
+import java.time.Duration;
+
+/**
+ * A deadline for the current unit of work, propagated to other threads
+ * using the {@link #slot() deadline slot}.
+ */
+public final class Deadline {
+
+  private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+  private static final ContextSlot<Deadline> SLOT = ContextSlot.threadLocal(CURRENT);
+
+  private final long nanos;
+
+  private Deadline(long nanos) {
+    this.nanos = nanos;
+  }
+
+  public static Deadline in(Duration timeout) {
+    return new Deadline(System.nanoTime() + timeout.toNanos());
+  }
+
+  public static Option<Deadline> current() {
+    return Option.of(CURRENT.get());
+  }
+
+  public static ContextSlot<Deadline> slot() {
+    return SLOT;
+  }
+
+  public Duration remaining() {
+    return Duration.ofNanos(Math.max(0, nanos - System.nanoTime()));
+  }
+
+  public boolean isExpired() {
+    return nanos - System.nanoTime() <= 0;
+  }
+
+  /**
+   * Make this the current deadline until the returned closeable is closed.
+   */
+  public AroundAdvice.AdviceCloseable enter() {
+    var previous = CURRENT.get();
+    CURRENT.set(this);
+    return () -> SLOT.restore(previous);
+  }
+
+  @Override
+  public String toString() {
+    return "Deadline[" + remaining() + "]";
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.concurrent;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records how long tasks wait in the queue and how long they run. Tasks
+ * are timestamped when they're {@link #decorate(Runnable) decorated},
+ * i.e. on submission.
+ *
+ * <p>Reading the clock is the dominant cost per task, so only one in
+ * {@code sampleInterval} randomly chosen tasks is timed. The histograms
+ * contain these samples only, the task counts are exact.
+ *
+ * @see InstrumentedExecutorService
+ */
+public final class ExecutorInstrumentation implements ExecutorInstrumentationMXBean {
+
+  /**
+   * The sample interval used by the work executors, time one in 8 tasks.
+   */
+  public static final int DEFAULT_SAMPLE_INTERVAL = 8;
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+  private final int sampleMask;
+  private final LatencyHistogram queueWait = new LatencyHistogram();
+  private final LatencyHistogram runTime = new LatencyHistogram();
+  private final LongAdder completed = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder dropped = new LongAdder();
+  private final LongAdder queued = new LongAdder();
+  private final LongAdder running = new LongAdder();
+
+  /**
+   * Time every task.
+   */
+  public ExecutorInstrumentation() {
+    this(1);
+  }
+
+  /**
+   * Time one in {@code sampleInterval} tasks, rounded up to the next
+   * power of two.
+   */
+  public ExecutorInstrumentation(int sampleInterval) {
+    if (sampleInterval < 1 || sampleInterval > 1 << 30) {
+      throw new IllegalArgumentException("Invalid sample interval: " + sampleInterval);
+    }
+    sampleMask = (sampleInterval == 1 ? 1 : Integer.highestOneBit(sampleInterval - 1) << 1) - 1;
+  }
+
+  public Runnable decorate(Runnable task) {
+    queued.increment();
+    if (!sample()) {
+      return () -> {
+        started();
+        try {
+          task.run();
+        } finally {
+          finished();
+        }
+      };
+    }
+    long submittedAt = System.nanoTime();
+    return () -> {
+      long startedAt = started(submittedAt);
+      try {
+        task.run();
+      } finally {
+        finished(startedAt);
+      }
+    };
+  }
+
+  public <T> Callable<T> decorate(Callable<? extends T> task) {
+    queued.increment();
+    if (!sample()) {
+      return () -> {
+        started();
+        try {
+          return task.call();
+        } finally {
+          finished();
+        }
+      };
+    }
+    long submittedAt = System.nanoTime();
+    return () -> {
+      long startedAt = started(submittedAt);
+      try {
+        return task.call();
+      } finally {
+        finished(startedAt);
+      }
+    };
+  }
+
+  /**
+   * Call this if the executor rejected a decorated task.
+   */
+  public void rejected() {
+    queued.decrement();
+    rejected.increment();
+  }
+
+  /**
+   * Call this for decorated tasks the executor dropped without running
+   * them or throwing a {@code RejectedExecutionException}, e.g. tasks
+   * discarded by the rejection policy or drained by {@code shutdownNow()}.
+   */
+  public void dropped(int count) {
+    if (count > 0) {
+      queued.add(-count);
+      dropped.add(count);
+    }
+  }
+
+  public int sampleInterval() {
+    return sampleMask + 1;
+  }
+
+  public LatencyHistogram queueWait() {
+    return queueWait;
+  }
+
+  public LatencyHistogram runTime() {
+    return runTime;
+  }
+
+  private boolean sample() {
+    return sampleMask == 0 || (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+  }
+
+  private void started() {
+    queued.decrement();
+    running.increment();
+  }
+
+  private long started(long submittedAt) {
+    long now = System.nanoTime();
+    started();
+    queueWait.record(now - submittedAt);
+    return now;
+  }
+
+  private void finished() {
+    running.decrement();
+    completed.increment();
+  }
+
+  private void finished(long startedAt) {
+    runTime.record(System.nanoTime() - startedAt);
+    finished();
+  }
+
+  @Override
+  public long getSubmittedTaskCount() {
+    return completed.sum() + getInFlightTaskCount() + rejected.sum() + dropped.sum();
+  }
+
+  @Override
+  public long getCompletedTaskCount() {
+    return completed.sum();
+  }
+
+  @Override
+  public long getRejectedTaskCount() {
+    return rejected.sum();
+  }
+
+  @Override
+  public long getDroppedTaskCount() {
+    return dropped.sum();
+  }
+
+  @Override
+  public long getQueuedTaskCount() {
+    return Math.max(0, queued.sum());
+  }
+
+  @Override
+  public long getRunningTaskCount() {
+    return Math.max(0, running.sum());
+  }
+
+  @Override
+  public long getInFlightTaskCount() {
+    return getQueuedTaskCount() + getRunningTaskCount();
+  }
+
+  @Override
+  public int getSampleInterval() {
+    return sampleInterval();
+  }
+
+  @Override
+  public double getQueueWaitMean() {
+    return queueWait.meanNanos() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getQueueWaitMedian() {
+    return queueWait.percentileNanos(0.5) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getQueueWait99thPercentile() {
+    return queueWait.percentileNanos(0.99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getQueueWaitMax() {
+    return queueWait.maxNanos() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getRunTimeMean() {
+    return runTime.meanNanos() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getRunTimeMedian() {
+    return runTime.percentileNanos(0.5) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getRunTime99thPercentile() {
+    return runTime.percentileNanos(0.99) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getRunTimeMax() {
+    return runTime.maxNanos() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public void reset() {
+    queueWait.reset();
+    runTime.reset();
+    completed.reset();
+    rejected.reset();
+    dropped.reset();
+  }
+}
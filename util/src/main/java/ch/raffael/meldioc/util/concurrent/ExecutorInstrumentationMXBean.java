@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.concurrent;
+
+/**
+ * Management interface of {@link ExecutorInstrumentation}. Durations are
+ * reported in milliseconds.
+ */
+public interface ExecutorInstrumentationMXBean {
+
+  long getSubmittedTaskCount();
+
+  long getCompletedTaskCount();
+
+  long getRejectedTaskCount();
+
+  long getDroppedTaskCount();
+
+  long getQueuedTaskCount();
+
+  long getRunningTaskCount();
+
+  long getInFlightTaskCount();
+
+  /**
+   * Only one in this many tasks is timed, the durations are based on
+   * these samples.
+   */
+  int getSampleInterval();
+
+  double getQueueWaitMean();
+
+  double getQueueWaitMedian();
+
+  double getQueueWait99thPercentile();
+
+  double getQueueWaitMax();
+
+  double getRunTimeMean();
+
+  double getRunTimeMedian();
+
+  double getRunTime99thPercentile();
+
+  double getRunTimeMax();
+
+  /**
+   * Reset the histograms and the task counts, except the queued and
+   * running tasks.
+   */
+  void reset();
+}
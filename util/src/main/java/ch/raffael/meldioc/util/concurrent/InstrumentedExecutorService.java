@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.concurrent;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * An executor service that records queue wait and run time of its tasks
+ * using an {@link ExecutorInstrumentation}.
+ */
+public class InstrumentedExecutorService<D extends ExecutorService> extends DecoratingExecutorService<D> {
+
+  private final ExecutorInstrumentation instrumentation;
+
+  public InstrumentedExecutorService(D delegate) {
+    this(delegate, new ExecutorInstrumentation());
+  }
+
+  public InstrumentedExecutorService(D delegate, ExecutorInstrumentation instrumentation) {
+    super(delegate);
+    this.instrumentation = instrumentation;
+  }
+
+  public ExecutorInstrumentation instrumentation() {
+    return instrumentation;
+  }
+
+  @Override
+  protected Runnable decorateRunnable(Runnable original) {
+    return instrumentation.decorate(original);
+  }
+
+  @Override
+  protected <T> Callable<T> decorateCallable(Callable<? extends T> original) {
+    return instrumentation.decorate(original);
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    var tasks = super.shutdownNow();
+    instrumentation.dropped(tasks.size());
+    return tasks;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    try {
+      super.execute(command);
+    } catch (RejectedExecutionException e) {
+      instrumentation.rejected();
+      throw e;
+    }
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    try {
+      return super.submit(task);
+    } catch (RejectedExecutionException e) {
+      instrumentation.rejected();
+      throw e;
+    }
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    try {
+      return super.submit(task, result);
+    } catch (RejectedExecutionException e) {
+      instrumentation.rejected();
+      throw e;
+    }
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    try {
+      return super.submit(task);
+    } catch (RejectedExecutionException e) {
+      instrumentation.rejected();
+      throw e;
+    }
+  }
+}
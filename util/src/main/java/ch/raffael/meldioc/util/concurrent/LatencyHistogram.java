@@ -0,0 +1,128 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of durations in nanoseconds. Values are counted in
+ * power-of-two buckets, percentiles are therefore reported as the upper
+ * bound of the bucket they fall into (i.e. they're accurate within a
+ * factor of 2).
+ *
+ * <p>Each bucket is a {@link LongAdder}, tasks of similar duration
+ * finishing on many threads at once don't contend on a single counter.
+ */
+public final class LatencyHistogram {
+
+  private static final int BUCKETS = Long.SIZE;
+
+  private final LongAdder[] counts = new LongAdder[BUCKETS];
+  private final LongAdder total = new LongAdder();
+  private final AtomicLong max = new AtomicLong();
+
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  public void record(long nanos) {
+    if (nanos < 0) {
+      nanos = 0;
+    }
+    counts[bucket(nanos)].increment();
+    total.add(nanos);
+    long currentMax = max.get();
+    // only touch the shared max when it actually changes
+    while (nanos > currentMax && !max.compareAndSet(currentMax, nanos)) {
+      currentMax = max.get();
+    }
+  }
+
+  public long count() {
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      count += counts[i].sum();
+    }
+    return count;
+  }
+
+  public long totalNanos() {
+    return total.sum();
+  }
+
+  public long maxNanos() {
+    return max.get();
+  }
+
+  public double meanNanos() {
+    long count = count();
+    return count == 0 ? 0 : (double) total.sum() / count;
+  }
+
+  /**
+   * The upper bound of the bucket containing the value at the given
+   * quantile (0..1).
+   */
+  public long percentileNanos(double quantile) {
+    if (quantile < 0 || quantile > 1) {
+      throw new IllegalArgumentException("Quantile out of range: " + quantile);
+    }
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts[i].sum();
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i].reset();
+    }
+    total.reset();
+    max.set(0);
+  }
+
+  private static int bucket(long nanos) {
+    return Math.min(BUCKETS - Long.numberOfLeadingZeros(nanos), BUCKETS - 1);
+  }
+
+  private static long upperBound(int bucket) {
+    return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+}
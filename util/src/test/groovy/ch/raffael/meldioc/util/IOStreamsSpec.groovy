@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util
+
+import spock.lang.Specification
+
+import java.util.function.BiFunction
+
+class IOStreamsSpec extends Specification {
+
+  def "Probing reads the probe bytes and returns a stream including them"() {
+    given:
+    def data = new byte[20_000]
+    new Random(42).nextBytes(data)
+
+    when:
+    def probed = IOStreams.probe(new ByteArrayInputStream(data), 16, 2, {byte[] head, Integer len -> len} as BiFunction)
+
+    then:
+    probed._1.get() >= 2
+    probed._2.readAllBytes() == data
+  }
+
+  def "Probing streams shorter than the probe size yields no result"() {
+    when:
+    def probed = IOStreams.probe(new ByteArrayInputStream([42] as byte[]), 16, 2, {byte[] head, Integer len -> len} as BiFunction)
+
+    then:
+    probed._1.isEmpty()
+    probed._2.readAllBytes() == [42] as byte[]
+  }
+
+  def "The probe size must not exceed the buffer size"() {
+    when:
+    IOStreams.probe(new ByteArrayInputStream(new byte[0]), 2, 4, {byte[] head, Integer len -> len} as BiFunction)
+
+    then:
+    thrown IllegalArgumentException
+  }
+}
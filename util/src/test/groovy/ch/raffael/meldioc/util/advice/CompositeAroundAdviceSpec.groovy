@@ -22,6 +22,7 @@
 
 package ch.raffael.meldioc.util.advice
 
+import ch.raffael.meldioc.util.concurrent.SameThreadExecutorService
 import spock.lang.Specification
 
 class CompositeAroundAdviceSpec extends Specification {
@@ -110,4 +111,16 @@ class CompositeAroundAdviceSpec extends Specification {
     and: "More after exceptions are attached as suppressed to the first after exception"
     after.suppressed.collect {it.message} as List == ['-b', '-a']
   }
+
+  def "An advice without hooks is empty and bypassed by the AdvisingExecutorService"() {
+    given: "An executor service advised with an empty advice"
+    def executor = new AdvisingExecutorService(new SameThreadExecutorService(), CompositeAroundAdvice.builder().advice())
+    def task = {} as Runnable
+
+    expect: "The advice is empty"
+    CompositeAroundAdvice.builder().advice().empty
+    !CompositeAroundAdvice.builder().after({return {}}).advice().empty
+    and: "Tasks aren't decorated"
+    executor.decorateRunnable(task).is(task)
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.advice
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class ContextPropagationSpec extends Specification {
+
+  def a = new ThreadLocal<String>()
+  def b = new ThreadLocal<String>()
+  def propagation = ContextPropagation.of(ContextSlot.threadLocal(a), ContextSlot.threadLocal(b))
+
+  def cleanup() {
+    a.remove()
+    b.remove()
+  }
+
+  def "Captured context is applied and the previous context restored afterwards"() {
+    given: "A captured context"
+    a.set('captured-a')
+    def snapshot = propagation.capture()
+    and: "A different current context"
+    a.set('previous-a')
+    b.set('previous-b')
+
+    when: "Apply the snapshot"
+    def closeable = snapshot.apply()
+
+    then: "The captured context is current"
+    a.get() == 'captured-a'
+    b.get() == null
+
+    when: "Close it"
+    closeable.close()
+
+    then: "The previous context has been restored"
+    a.get() == 'previous-a'
+    b.get() == 'previous-b'
+  }
+
+  def "Capturing an empty context returns a shared snapshot"() {
+    expect:
+    propagation.capture().is(propagation.capture())
+  }
+
+  def "The AdvisingExecutorService propagates the context to its tasks"() {
+    given:
+    def executor = new AdvisingExecutorService(Executors.newSingleThreadExecutor(), AroundAdvice.nop(), propagation)
+    def deadline = Deadline.in(Duration.ofMinutes(1))
+    def deadlineExecutor = new AdvisingExecutorService(executor, AroundAdvice.nop(),
+        ContextPropagation.of(Deadline.slot()))
+
+    when:
+    a.set('a')
+    def result = executor.submit({ [a.get(), b.get()] } as Callable).get(5, TimeUnit.SECONDS)
+    a.remove()
+    def afterwards = executor.submit({ a.get() } as Callable).get(5, TimeUnit.SECONDS)
+    def propagatedDeadline
+    deadline.enter().withCloseable {
+      propagatedDeadline = deadlineExecutor.submit({ Deadline.current().getOrNull() } as Callable)
+          .get(5, TimeUnit.SECONDS)
+    }
+
+    then:
+    result == ['a', null]
+    afterwards == null
+    propagatedDeadline.is(deadline)
+    Deadline.current().empty
+
+    cleanup:
+    executor.shutdownNow()
+  }
+}
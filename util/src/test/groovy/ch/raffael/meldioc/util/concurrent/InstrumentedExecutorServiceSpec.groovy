@@ -0,0 +1,163 @@
+/*
+ *  Copyright (c) 2022 Raffael Herzog
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy
+ *  of this software and associated documentation files (the "Software"), to
+ *  deal in the Software without restriction, including without limitation the
+ *  rights to use, copy, modify, merge, publish, distribute, sublicense, and/or
+ *  sell copies of the Software, and to permit persons to whom the Software is
+ *  furnished to do so, subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in
+ *  all copies or substantial portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ *  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ *  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ *  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ *  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING
+ *  FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS
+ *  IN THE SOFTWARE.
+ */
+
+package ch.raffael.meldioc.util.concurrent
+
+import spock.lang.Specification
+
+import java.util.concurrent.ArrayBlockingQueue
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.ThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+
+class InstrumentedExecutorServiceSpec extends Specification {
+
+  def pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(1))
+  def executor = new InstrumentedExecutorService<>(pool)
+  def instrumentation = executor.instrumentation()
+
+  def cleanup() {
+    pool.shutdownNow()
+  }
+
+  def "Queued, running and rejected tasks are counted"() {
+    given: "A blocked worker"
+    def started = new CountDownLatch(1)
+    def release = new CountDownLatch(1)
+    executor.execute({ started.countDown(); release.await() })
+    started.await()
+
+    when: "Submit one more task than the queue can take"
+    executor.submit({ 42 } as Callable)
+    executor.execute({})
+
+    then: "The last task is rejected"
+    thrown RejectedExecutionException
+    instrumentation.submittedTaskCount == 3
+    instrumentation.runningTaskCount == 1
+    instrumentation.queuedTaskCount == 1
+    instrumentation.inFlightTaskCount == 2
+    instrumentation.rejectedTaskCount == 1
+
+    when: "Release the worker"
+    release.countDown()
+    pool.shutdown()
+    pool.awaitTermination(5, TimeUnit.SECONDS)
+
+    then: "All tasks completed"
+    instrumentation.inFlightTaskCount == 0
+    instrumentation.completedTaskCount == 2
+    instrumentation.queueWait().count() == 2
+    instrumentation.runTime().count() == 2
+  }
+
+  def "Tasks drained by shutdownNow() are counted as dropped"() {
+    given: "A blocked worker and a queued task"
+    def started = new CountDownLatch(1)
+    executor.execute({ started.countDown(); new CountDownLatch(1).await() })
+    started.await()
+    executor.execute({})
+
+    when:
+    def drained = executor.shutdownNow()
+
+    then:
+    drained.size() == 1
+    instrumentation.queuedTaskCount == 0
+    instrumentation.droppedTaskCount == 1
+    instrumentation.submittedTaskCount == 2
+  }
+
+  def "Queue wait and run time are recorded separately"() {
+    given:
+    def release = new CountDownLatch(1)
+
+    when: "A task waits for a blocking task to finish"
+    executor.execute({ release.await(); Thread.sleep(50) })
+    executor.execute({})
+    release.countDown()
+    pool.shutdown()
+    pool.awaitTermination(5, TimeUnit.SECONDS)
+
+    then: "The second task's queue wait includes the first task's run time"
+    instrumentation.runTimeMax >= 50
+    instrumentation.queueWaitMax >= 50
+  }
+
+  def "With sampling, only some tasks are timed but all are counted"() {
+    given:
+    def sampled = new InstrumentedExecutorService<>(Executors.newSingleThreadExecutor(), new ExecutorInstrumentation(8))
+    def instrumentation = sampled.instrumentation()
+
+    when:
+    1000.times { sampled.execute({}) }
+    sampled.shutdown()
+    sampled.awaitTermination(5, TimeUnit.SECONDS)
+
+    then:
+    instrumentation.sampleInterval == 8
+    instrumentation.completedTaskCount == 1000
+    instrumentation.submittedTaskCount == 1000
+    instrumentation.inFlightTaskCount == 0
+    instrumentation.runTime().count() > 0
+    instrumentation.runTime().count() < 1000
+    instrumentation.queueWait().count() == instrumentation.runTime().count()
+  }
+
+  def "The sample interval is rounded up to a power of two"() {
+    expect:
+    new ExecutorInstrumentation(interval).sampleInterval() == expected
+
+    where:
+    interval | expected
+    1        | 1
+    2        | 2
+    3        | 4
+    8        | 8
+    9        | 16
+  }
+
+  def "Percentiles report the upper bound of the power of two bucket"() {
+    given:
+    def histogram = new LatencyHistogram()
+
+    when:
+    (1..100).each { histogram.record(it * 1000L) }
+
+    then:
+    histogram.count() == 100
+    histogram.meanNanos() == 50500
+    histogram.percentileNanos(0.5) == 65535
+    histogram.percentileNanos(0.99) == 100000
+    histogram.maxNanos() == 100000
+
+    when:
+    histogram.reset()
+
+    then:
+    histogram.count() == 0
+    histogram.percentileNanos(0.5) == 0
+  }
+}